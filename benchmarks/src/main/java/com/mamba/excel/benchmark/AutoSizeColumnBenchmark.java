@@ -0,0 +1,54 @@
+package com.mamba.excel.benchmark;
+
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.benchmark.fixture.BenchPersonDTO;
+import com.mamba.excel.config.ExcelConfig;
+import com.mamba.excel.kit.ExcelKit;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 11:00
+ * @description: ExcelKit.setAutoSizeColumn基准测试。POI的sheet全部在内存中，行数只测到10万
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class AutoSizeColumnBenchmark {
+
+    /** sheet的数据行数 */
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ExcelExporter exporter;
+    private Sheet sheet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<ExcelConfig.ColumnConfig> columnConfigList = ExcelConfig.getColumnConfig(BenchPersonDTO.class);
+        exporter = new ExcelExporter();
+        exporter.fillHeader(columnConfigList);
+        exporter.fillContent(columnConfigList, SyntheticWorkbookGenerator.getPersonList(rows, 0));
+        sheet = exporter.getWriter().getSheet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        exporter.getWriter().close();
+    }
+
+    @Benchmark
+    public Sheet setAutoSizeColumn() {
+        ExcelKit.setAutoSizeColumn(sheet);
+        return sheet;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mamba.excel.benchmark;
+
+import com.mamba.excel.benchmark.fixture.BenchPersonDTO;
+import com.mamba.excel.config.ColumnConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 10:30
+ * @description: 单元格取值基准测试。ExcelExporter.getCellValue委托给列的ColumnConverter，这里按属性类型分别测量
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CellValueBenchmark {
+
+    /** 属性名，覆盖字符串、数字、Date、LocalDate、LocalDateTime和枚举 */
+    @Param({"name", "age", "birthday", "joinDay", "createTime", "updateTime", "jobState"})
+    private String field;
+
+    private BenchPersonDTO person;
+    private ColumnConverter converter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        person = SyntheticWorkbookGenerator.getPersonList(1, 0).get(0);
+        converter = ColumnConverter.of(BenchPersonDTO.class, field);
+    }
+
+    @Benchmark
+    public Object getCellValue() {
+        return converter.toCellValue(person);
+    }
+
+    @Benchmark
+    public Object getFieldValue() {
+        return converter.toFieldValue(converter.toCellValue(person));
+    }
+}
@@ -0,0 +1,43 @@
+package com.mamba.excel.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.mamba.excel.benchmark.fixture.BenchJobState;
+import com.mamba.excel.benchmark.fixture.BenchPersonDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 10:50
+ * @description: EnumConverter基准测试。导入时行数据经过fastjson绑定到DTO，枚举属性由EnumConverter按comment反序列化
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumConverterBenchmark {
+
+    private BenchPersonDTO person;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        person = new BenchPersonDTO();
+        person.setJobState(BenchJobState.CompleteWithError);
+        json = "{\"jobState\":\"" + BenchJobState.CompleteWithError.getComment() + "\"}";
+    }
+
+    @Benchmark
+    public String serialize() {
+        return JSON.toJSONString(person);
+    }
+
+    @Benchmark
+    public BenchPersonDTO deserialize() {
+        return JSON.parseObject(json, BenchPersonDTO.class);
+    }
+}
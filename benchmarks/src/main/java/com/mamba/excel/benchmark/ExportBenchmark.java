@@ -0,0 +1,69 @@
+package com.mamba.excel.benchmark;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.benchmark.fixture.BenchPersonDTO;
+import com.mamba.excel.benchmark.fixture.BenchPositionDTO;
+import com.mamba.excel.config.WriterType;
+import com.mamba.excel.kit.ExcelSheetData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 10:20
+ * @description: ExcelExporter.exportData基准测试，输出到本地临时文件
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ExportBenchmark {
+
+    /** 人员sheet的数据行数 */
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+    /** 导出引擎 */
+    @Param({"POI", "NATIVE"})
+    private WriterType writerType;
+    /** 是否并行生成sheet */
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private List<BenchPersonDTO> personList;
+    private List<BenchPositionDTO> positionList;
+    private File target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        personList = SyntheticWorkbookGenerator.getPersonList(rows, 0);
+        positionList = SyntheticWorkbookGenerator.getPositionList(Math.max(1, rows / 10), 0);
+        target = Files.createTempFile("fox-excel-bench", ".xlsx").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtil.del(target);
+    }
+
+    @Benchmark
+    public long exportData() {
+        ExcelExporter exporter = new ExcelExporter();
+        exporter.setWriterType(writerType);
+        exporter.setParallel(parallel);
+        exporter.exportData(Arrays.asList(
+            new ExcelSheetData<BenchPersonDTO>().setSheetDefinition(BenchPersonDTO.class).setData(personList),
+            new ExcelSheetData<BenchPositionDTO>().setSheetDefinition(BenchPositionDTO.class).setData(positionList)),
+            target.getPath());
+        return target.length();
+    }
+}
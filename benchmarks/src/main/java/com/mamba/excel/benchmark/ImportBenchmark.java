@@ -0,0 +1,70 @@
+package com.mamba.excel.benchmark;
+
+import cn.hutool.core.collection.ListUtil;
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.benchmark.fixture.BenchPersonDTO;
+import com.mamba.excel.benchmark.fixture.BenchPositionDTO;
+import com.mamba.excel.config.ReaderType;
+import com.mamba.excel.kit.ImportResultDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 10:05
+ * @description: ExcelImporter.importData基准测试，包含读取、绑定、校验和异常数据excel的生成
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ImportBenchmark {
+
+    /** 人员sheet的数据行数 */
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+    /** 人员sheet的总列数，超出映射列的部分为未映射的备注列 */
+    @Param({"9", "40"})
+    private int columns;
+    /** 校验不通过的行占比 */
+    @Param({"0", "0.05"})
+    private double errorRatio;
+    /** 导入引擎 */
+    @Param({"POI", "NATIVE"})
+    private ReaderType readerType;
+
+    private File workbook;
+    private File errorWorkbook;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        workbook = Files.createTempFile("fox-excel-bench", ".xlsx").toFile();
+        errorWorkbook = Files.createTempFile("fox-excel-bench-error", ".xlsx").toFile();
+        SyntheticWorkbookGenerator.writeWorkbook(workbook, rows, columns, errorRatio);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtil.del(workbook);
+        FileUtil.del(errorWorkbook);
+    }
+
+    @Benchmark
+    public ImportResultDTO importData() {
+        ExcelImporter importer = new ExcelImporter(workbook.getPath());
+        importer.setReaderType(readerType);
+        importer.setIgnoreUnmappedColumns(columns > SyntheticWorkbookGenerator.PERSON_COLUMN_COUNT);
+        List<Class> sheetDefinitionList = ListUtil.of(BenchPersonDTO.class, BenchPositionDTO.class);
+        importer.importData(sheetDefinitionList, errorWorkbook.getPath(), (result, exporter) -> true);
+        return importer.getImportResultDTO();
+    }
+}
@@ -0,0 +1,126 @@
+package com.mamba.excel.benchmark;
+
+import com.mamba.excel.collection.LongIntMap;
+import com.mamba.excel.collection.StringIntMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/19 10:30
+ * @description: 导入索引集合基准测试。对比StringIntMap、LongIntMap与HashMap建立索引和查找的耗时，
+ *               键为工号格式的字符串和随机的64位整行哈希，查找一半命中一半不命中。
+ *               内存占用可以加-prof gc看分配量
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexCollectionBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private String[] stringKeys;
+    private String[] stringProbes;
+    private long[] longKeys;
+    private long[] longProbes;
+    private StringIntMap stringIntMap;
+    private Map<String, Integer> stringHashMap;
+    private LongIntMap longIntMap;
+    private Map<Long, Integer> longHashMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(20250319L);
+        stringKeys = new String[size];
+        stringProbes = new String[size];
+        longKeys = new long[size];
+        longProbes = new long[size];
+        for (int i = 0; i < size; i++) {
+            stringKeys[i] = String.format("S%08d", i);
+            longKeys[i] = random.nextLong();
+        }
+        for (int i = 0; i < size; i++) {
+            // 新建字符串对象，避免查找时命中同一个引用
+            stringProbes[i] = i % 2 == 0 ? new String(stringKeys[random.nextInt(size)]) : String.format("T%08d", i);
+            longProbes[i] = i % 2 == 0 ? longKeys[random.nextInt(size)] : random.nextLong();
+        }
+        stringIntMap = buildStringIntMap();
+        stringHashMap = buildStringHashMap();
+        longIntMap = buildLongIntMap();
+        longHashMap = buildLongHashMap();
+    }
+
+    @Benchmark
+    public StringIntMap buildStringIntMap() {
+        StringIntMap map = new StringIntMap();
+        for (int i = 0; i < stringKeys.length; i++) {
+            map.putIfAbsent(stringKeys[i], i + 2, 0);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<String, Integer> buildStringHashMap() {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < stringKeys.length; i++) {
+            map.putIfAbsent(stringKeys[i], i + 2);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void lookupStringIntMap(Blackhole blackhole) {
+        for (String probe : stringProbes) {
+            blackhole.consume(stringIntMap.get(probe, -1));
+        }
+    }
+
+    @Benchmark
+    public void lookupStringHashMap(Blackhole blackhole) {
+        for (String probe : stringProbes) {
+            blackhole.consume(stringHashMap.get(probe));
+        }
+    }
+
+    @Benchmark
+    public LongIntMap buildLongIntMap() {
+        LongIntMap map = new LongIntMap();
+        for (int i = 0; i < longKeys.length; i++) {
+            map.putIfAbsent(longKeys[i], i + 2, 0);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public Map<Long, Integer> buildLongHashMap() {
+        Map<Long, Integer> map = new HashMap<>();
+        for (int i = 0; i < longKeys.length; i++) {
+            map.putIfAbsent(longKeys[i], i + 2);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void lookupLongIntMap(Blackhole blackhole) {
+        for (long probe : longProbes) {
+            blackhole.consume(longIntMap.get(probe, -1));
+        }
+    }
+
+    @Benchmark
+    public void lookupLongHashMap(Blackhole blackhole) {
+        for (long probe : longProbes) {
+            blackhole.consume(longHashMap.get(probe));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.mamba.excel.benchmark;
+
+import com.mamba.excel.benchmark.fixture.BenchJobState;
+import com.mamba.excel.benchmark.fixture.BenchPersonDTO;
+import com.mamba.excel.benchmark.fixture.BenchPositionDTO;
+import com.mamba.excel.config.ExcelConfig;
+import com.mamba.excel.xlsx.XlsxSheetPart;
+import com.mamba.excel.xlsx.XlsxWriter;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 9:40
+ * @description: 基准测试数据生成器。按固定种子生成人员、职务数据，可以按比例混入校验不通过的行，
+ *               并用原生导出引擎写成导入用的xlsx，人员sheet可以追加未映射的列模拟宽表模板
+ */
+public class SyntheticWorkbookGenerator {
+
+    /** 人员DTO映射的列数 */
+    public static final int PERSON_COLUMN_COUNT = 9;
+    /** 随机种子，同样的参数每次生成同样的数据 */
+    private static final long SEED = 20250312L;
+    private static final String[] CITIES = {"上海市", "北京市", "广州市", "深圳市", "杭州市", "南京市", "成都市"};
+    private static final String[] POSITIONS = {"工程师", "高级工程师", "架构师", "产品经理", "测试工程师"};
+
+    private SyntheticWorkbookGenerator() {
+    }
+
+    /**
+     * 生成人员数据
+     *
+     * @param rows 行数
+     * @param errorRatio 校验不通过的行占比，0~1
+     * @return 人员数据
+     */
+    public static List<BenchPersonDTO> getPersonList(int rows, double errorRatio) {
+        Random random = new Random(SEED);
+        BenchJobState[] states = BenchJobState.values();
+        LocalDateTime base = LocalDateTime.of(2024, 12, 21, 12, 30);
+        List<BenchPersonDTO> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            BenchPersonDTO person = new BenchPersonDTO();
+            person.setName("员工" + i);
+            person.setAge(20 + random.nextInt(40));
+            person.setAddress(CITIES[random.nextInt(CITIES.length)] + "测试路" + random.nextInt(1000) + "号");
+            person.setStaffCode(String.format("S%08d", i));
+            LocalDateTime time = base.minusMinutes(random.nextInt(60 * 24 * 365 * 20));
+            person.setBirthday(Date.from(time.atZone(ZoneId.systemDefault()).toInstant()));
+            person.setJoinDay(Date.from(time.toLocalDate().atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            person.setCreateTime(LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365)));
+            person.setUpdateTime(time);
+            person.setJobState(states[random.nextInt(states.length)]);
+            if (random.nextDouble() < errorRatio) {
+                // 交替制造必填为空和超出范围两种校验错误
+                if (random.nextBoolean()) {
+                    person.setName(null);
+                } else {
+                    person.setAge(100 + random.nextInt(50) + 1);
+                }
+            }
+            list.add(person);
+        }
+        return list;
+    }
+
+    /**
+     * 生成职务数据
+     *
+     * @param rows 行数
+     * @param errorRatio 校验不通过的行占比，0~1
+     * @return 职务数据
+     */
+    public static List<BenchPositionDTO> getPositionList(int rows, double errorRatio) {
+        Random random = new Random(SEED + 1);
+        List<BenchPositionDTO> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            BenchPositionDTO position = new BenchPositionDTO();
+            position.setStaffCode(random.nextDouble() < errorRatio ? null : String.format("S%08d", i));
+            position.setName(POSITIONS[random.nextInt(POSITIONS.length)]);
+            list.add(position);
+        }
+        return list;
+    }
+
+    /**
+     * 生成导入用的xlsx：人员sheet和职务sheet，职务行数为人员行数的1/10
+     *
+     * @param file 输出文件
+     * @param rows 人员行数
+     * @param columns 人员sheet的总列数，超过PERSON_COLUMN_COUNT的部分是未映射的备注列
+     * @param errorRatio 校验不通过的行占比，0~1
+     * @throws IOException 写入出错时抛出
+     */
+    public static void writeWorkbook(File file, int rows, int columns, double errorRatio) throws IOException {
+        List<ExcelConfig.ColumnConfig> personColumns = ExcelConfig.getColumnConfig(BenchPersonDTO.class);
+        List<ExcelConfig.ColumnConfig> positionColumns = ExcelConfig.getColumnConfig(BenchPositionDTO.class);
+        int columnCount = Math.max(columns, personColumns.size());
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+            XlsxWriter xlsxWriter = new XlsxWriter(out, true)) {
+            XlsxSheetPart personSheet = xlsxWriter.createSheetPart("人员信息", columnCount);
+            Object[] values = new Object[columnCount];
+            for (int k = 0; k < columnCount; k++) {
+                values[k] = k < personColumns.size() ? personColumns.get(k).getHeader() : "备注" + k;
+            }
+            personSheet.writeRow(values);
+            int index = 0;
+            for (BenchPersonDTO person : getPersonList(rows, errorRatio)) {
+                for (int k = 0; k < columnCount; k++) {
+                    values[k] = k < personColumns.size() ? personColumns.get(k).getConverter().toCellValue(person)
+                        : "备注内容" + (index + k) % 97;
+                }
+                personSheet.writeRow(values);
+                index++;
+            }
+            personSheet.finish();
+            xlsxWriter.addSheet(personSheet);
+
+            XlsxSheetPart positionSheet = xlsxWriter.createSheetPart("人员职务信息", positionColumns.size());
+            values = new Object[positionColumns.size()];
+            for (int k = 0; k < positionColumns.size(); k++) {
+                values[k] = positionColumns.get(k).getHeader();
+            }
+            positionSheet.writeRow(values);
+            for (BenchPositionDTO position : getPositionList(Math.max(1, rows / 10), errorRatio)) {
+                for (int k = 0; k < positionColumns.size(); k++) {
+                    values[k] = positionColumns.get(k).getConverter().toCellValue(position);
+                }
+                positionSheet.writeRow(values);
+            }
+            positionSheet.finish();
+            xlsxWriter.addSheet(positionSheet);
+            xlsxWriter.finish();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.mamba.excel.benchmark;
+
+import com.mamba.excel.benchmark.fixture.BenchPersonDTO;
+import com.mamba.excel.benchmark.fixture.BenchPersonExcelDataHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 10:40
+ * @description: AbstractExcelDataHandler.validateData基准测试，分别测量校验通过和不通过的数据
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidateBenchmark {
+
+    /** 数据是否校验不通过 */
+    @Param({"false", "true"})
+    private boolean invalid;
+
+    private final BenchPersonExcelDataHandler handler = new BenchPersonExcelDataHandler();
+    private BenchPersonDTO person;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        person = SyntheticWorkbookGenerator.getPersonList(1, 0).get(0);
+        if (invalid) {
+            person.setName(null);
+            person.setAge(120);
+        }
+    }
+
+    @Benchmark
+    public Map<String, List<String>> validateData() {
+        return handler.validate(person);
+    }
+}
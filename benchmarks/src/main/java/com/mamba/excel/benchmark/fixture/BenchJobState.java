@@ -0,0 +1,39 @@
+package com.mamba.excel.benchmark.fixture;
+
+import com.mamba.serializer.EnumDefinition;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 9:33
+ * @description: 基准测试用的任务状态枚举
+ */
+public enum BenchJobState implements EnumDefinition<String> {
+
+    /** 运行 */
+    Running("1", "运行中"),
+    /** 成功 */
+    Success("2", "成功"),
+    /** 失败 */
+    Failed("3", "失败"),
+    /** 数据异常 */
+    CompleteWithError("4", "数据异常");
+
+    private final String code;
+    private final String comment;
+
+    BenchJobState(final String code, final String comment) {
+        this.code = code;
+        this.comment = comment;
+    }
+
+    @Override
+    public String getCode() {
+        return code;
+    }
+
+    @Override
+    public String getComment() {
+        return comment;
+    }
+}
@@ -0,0 +1,53 @@
+package com.mamba.excel.benchmark.fixture;
+
+import com.alibaba.fastjson.annotation.JSONField;
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.annotation.ExcelSheet;
+import com.mamba.serializer.EnumConverter;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 9:30
+ * @description: 基准测试用的人员DTO，列定义与测试用例中的PersonDTO一致
+ */
+@Data
+@ExcelSheet(value = "人员信息", index = 0)
+public class BenchPersonDTO {
+
+    @NotBlank(message = "姓名不能为空")
+    @ExcelColumn(value = "姓名", index = 0, note = "姓名备注")
+    private String name;
+    @Max(value = 100, message = "年龄不能超过100")
+    @ExcelColumn(value = "年龄", index = 1, note = "年龄备注")
+    private Integer age;
+    @ExcelColumn(value = "地址", index = 2)
+    private String address;
+    @ExcelColumn(value = "工号", index = 3, note = "工号备注")
+    private String staffCode;
+
+    @ExcelColumn(value = "生日", index = 4)
+    private Date birthday;
+
+    @ExcelColumn(value = "入职日期", index = 5)
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private Date joinDay;
+
+    @ExcelColumn(value = "创建时间", index = 6)
+    private LocalDate createTime;
+
+    @ExcelColumn(value = "更新时间", index = 7)
+    private LocalDateTime updateTime;
+
+    @ExcelColumn(value = "任务状态", index = 8, enumDefinition = BenchJobState.class)
+    @JSONField(serializeUsing = EnumConverter.class, deserializeUsing = EnumConverter.class)
+    private BenchJobState jobState;
+}
@@ -0,0 +1,43 @@
+package com.mamba.excel.benchmark.fixture;
+
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.handler.AbstractExcelDataHandler;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 9:35
+ * @description: BenchPersonDTO 导入处理器，只做注解校验，不入库
+ */
+@NoArgsConstructor
+public class BenchPersonExcelDataHandler extends AbstractExcelDataHandler<BenchPersonDTO> {
+
+    @Override
+    public String getDataClazz() {
+        return BenchPersonDTO.class.getName();
+    }
+
+    @Override
+    public Map<String, List<String>> checkData(BenchPersonDTO personDTO, ExcelImporter importer) {
+        return this.validateData(personDTO);
+    }
+
+    /**
+     * 公开注解校验，供ValidateBenchmark直接调用
+     *
+     * @param personDTO 人员数据
+     * @return 校验不通过的字段和原因
+     */
+    public Map<String, List<String>> validate(BenchPersonDTO personDTO) {
+        return this.validateData(personDTO);
+    }
+
+    @Override
+    public void validDataList(List<BenchPersonDTO> validDataList) {
+        // 基准测试不入库
+    }
+}
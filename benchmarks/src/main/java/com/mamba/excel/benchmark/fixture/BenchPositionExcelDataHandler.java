@@ -0,0 +1,33 @@
+package com.mamba.excel.benchmark.fixture;
+
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.handler.AbstractExcelDataHandler;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/12 9:36
+ * @description: BenchPositionDTO 导入处理器，只做注解校验，不入库
+ */
+@NoArgsConstructor
+public class BenchPositionExcelDataHandler extends AbstractExcelDataHandler<BenchPositionDTO> {
+
+    @Override
+    public String getDataClazz() {
+        return BenchPositionDTO.class.getName();
+    }
+
+    @Override
+    public Map<String, List<String>> checkData(BenchPositionDTO positionDTO, ExcelImporter importer) {
+        return this.validateData(positionDTO);
+    }
+
+    @Override
+    public void validDataList(List<BenchPositionDTO> validDataList) {
+        // 基准测试不入库
+    }
+}
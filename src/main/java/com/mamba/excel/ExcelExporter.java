@@ -2,36 +2,58 @@ package com.mamba.excel;
 
 import cn.hutool.core.collection.CollectionUtil;
 import cn.hutool.core.convert.Convert;
-import cn.hutool.core.date.DatePattern;
-import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IORuntimeException;
 import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.lang.Assert;
 import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.ObjectUtil;
 import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.poi.excel.BigExcelWriter;
 import cn.hutool.poi.excel.ExcelUtil;
 import cn.hutool.poi.excel.ExcelWriter;
+import com.mamba.excel.codec.SheetCodec;
+import com.mamba.excel.config.ColumnConverter;
 import com.mamba.excel.config.ExcelConfig;
+import com.mamba.excel.config.SheetPlan;
+import com.mamba.excel.config.WriterType;
+import com.mamba.excel.csv.CsvFormat;
+import com.mamba.excel.csv.CsvWriter;
+import com.mamba.excel.jfr.FlushEvent;
 import com.mamba.excel.kit.ExcelKit;
 import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.kit.ExportResultDTO;
+import com.mamba.excel.metrics.ExportMetrics;
+import com.mamba.excel.metrics.MetricsKit.CountingOutputStream;
+import com.mamba.excel.metrics.MetricsListenerRegistry;
+import com.mamba.excel.metrics.SheetExportMetrics;
+import com.mamba.excel.xlsx.XlsxSheetPart;
+import com.mamba.excel.xlsx.XlsxWriter;
 import com.mamba.serializer.EnumDefinition;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.format.annotation.DateTimeFormat;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
 import java.net.URLEncoder;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * @author 00351634
@@ -46,15 +68,49 @@ public class ExcelExporter {
     private static final int HEADER_INDEX = 0;
     /** excel中头的行数，默认1行 */
     private static final int HEADER_ROW_NUMBER = 1;
+    /** excel单个sheet允许的最大行数（含表头） */
+    private static final int MAX_SHEET_ROW_NUMBER = 1048576;
+    /** excel sheet名称的最大长度 */
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+    /** excel下拉框显式列表的最大字符数（选项用逗号拼接后） */
+    private static final int MAX_DROPDOWN_LIST_LENGTH = 255;
     /** 表头索引 */
     @Setter
     private int headerIndex;
     /** excel中表头的行数 */
     @Setter
     private int headerRowNumber;
-    /** 数据导出工具类 */
+    /** 数据导出工具类，第一次使用时创建，原生导出引擎不会创建；先调用getWriter时为内存workbook，否则为流式workbook */
+    private ExcelWriter writer;
+    /** 流式workbook在内存中保留的行数，超出的行写入临时文件 */
+    private static final int STREAMING_WINDOW_SIZE = 100;
+    /** 单个sheet最多写入的数据行数，超过后自动续写到"名称 (2)"、"名称 (3)"等sheet */
+    @Setter
+    private int maxRowsPerSheet = MAX_SHEET_ROW_NUMBER - HEADER_ROW_NUMBER;
+    /** 原生导出引擎多sheet导出时，是否在线程池中并行生成各sheet的xml；POI引擎的workbook不是线程安全的，始终顺序写入 */
+    @Setter
+    private boolean parallel = false;
+    /** 并行生成sheet数据的线程池，默认使用ForkJoinPool.commonPool() */
+    @Setter
+    private Executor executor = ForkJoinPool.commonPool();
+    /** 导出引擎，默认使用POI */
+    @Setter
+    private WriterType writerType = WriterType.POI;
+    /** 原生导出引擎是否使用共享字符串表，默认使用内联字符串 */
+    @Setter
+    private boolean useSharedStrings = false;
+    /** 导出结果，包含导出指标 */
     @Getter
-    private final ExcelWriter writer;
+    private final ExportResultDTO exportResultDTO = new ExportResultDTO();
+    /** 转换出错的列（属性名@数据类名），同一列的错误只记录一次日志，原生引擎并行生成sheet时会并发访问 */
+    private final Set<String> failedColumnSet = ConcurrentHashMap.newKeySet();
+    /** 选项过长而跳过下拉框的枚举类名，同一个枚举只记录一次日志 */
+    private final Set<String> skippedDropdownSet = ConcurrentHashMap.newKeySet();
+    /** 日期单元格格式 -> 单元格样式，同一个workbook中相同格式的样式只创建一次 */
+    private final Map<String, CellStyle> dateCellStyleMap = new HashMap<>(8);
+    /** sheet计划的来源，默认每次导出时解析，ExportEngine创建的会话使用引擎中预编译的计划 */
+    @Setter(AccessLevel.PACKAGE)
+    private Function<Class, SheetPlan> sheetPlanProvider = SheetPlan::of;
 
     /**
      * Excel导出器构造函数。
@@ -65,7 +121,34 @@ public class ExcelExporter {
     public ExcelExporter(int headerIndex, int headerRowNumber) {
         this.headerIndex = headerIndex;
         this.headerRowNumber = headerRowNumber;
-        this.writer = ExcelUtil.getWriter(true);
+    }
+
+    /**
+     * 获取数据导出工具类，exportData、exportZip和导入异常数据都写入这个工具类。
+     * 导出前调用时创建内存中的workbook，调用方可以先写入自定义内容，导出时沿用这个workbook，不再使用流式workbook；
+     * 导出前没有调用时，导出使用流式workbook，导出后返回的就是写入数据的流式工具类，已写出的行不能再读取。
+     * 原生导出引擎和CSV导出不使用这个工具类
+     *
+     * @return 数据导出工具类
+     */
+    public ExcelWriter getWriter() {
+        if (writer == null) {
+            writer = ExcelUtil.getWriter(true);
+        }
+        return writer;
+    }
+
+    /**
+     * 获取流式数据导出工具类，第一次调用时创建SXSSF workbook，已写出的行不能再读取；
+     * 只用于按顺序写入的exportData、exportZip，导出前已经调用过getWriter时沿用getWriter创建的workbook
+     *
+     * @return 数据导出工具类
+     */
+    private ExcelWriter getStreamingWriter() {
+        if (writer == null) {
+            writer = ExcelUtil.getBigWriter(STREAMING_WINDOW_SIZE);
+        }
+        return writer;
     }
 
     /**
@@ -74,7 +157,6 @@ public class ExcelExporter {
     public ExcelExporter() {
         this.headerIndex = HEADER_INDEX;
         this.headerRowNumber = HEADER_ROW_NUMBER;
-        this.writer = ExcelUtil.getWriter(true);
     }
 
     /**
@@ -85,8 +167,16 @@ public class ExcelExporter {
      * @param fileName 导出的Excel文件的名称
      */
     public void exportData(List<ExcelSheetData> excelSheetDataList, HttpServletResponse response, String fileName) {
-        fillData(excelSheetDataList);
-        doExport(response, fileName);
+        long start = System.nanoTime();
+        if (writerType.getCsvFormat() != null) {
+            doExportCsv(excelSheetDataList, response, fileName);
+        } else if (writerType == WriterType.NATIVE) {
+            doExportNative(excelSheetDataList, response, fileName);
+        } else {
+            fillData(excelSheetDataList);
+            doExport(response, fileName);
+        }
+        publishMetrics(start);
     }
 
     /**
@@ -96,32 +186,332 @@ public class ExcelExporter {
      * @param filePath 导出的Excel文件的路径
      */
     public void exportData(List<ExcelSheetData> excelSheetDataList, String filePath) {
-        fillData(excelSheetDataList);
-        doExport(filePath);
+        long start = System.nanoTime();
+        if (writerType.getCsvFormat() != null) {
+            doExportCsv(excelSheetDataList, filePath);
+        } else if (writerType == WriterType.NATIVE) {
+            doExportNative(excelSheetDataList, filePath);
+        } else {
+            fillData(excelSheetDataList);
+            doExport(filePath);
+        }
+        publishMetrics(start);
     }
 
     /**
-     * 填充Excel数据
+     * 记录导出总耗时并发布导出指标
+     *
+     * @param start 导出开始时间，System.nanoTime()
+     */
+    private void publishMetrics(long start) {
+        ExportMetrics metrics = exportResultDTO.getMetrics();
+        metrics.setTotalNanos(System.nanoTime() - start);
+        MetricsListenerRegistry.publish(metrics);
+    }
+
+    /**
+     * 导出数据到zip压缩包并发送给客户端，数据按maxRowsPerFile拆分成多个excel文件
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表
+     * @param response HttpServletResponse对象，用于将生成的zip文件发送给客户端
+     * @param fileName 导出的zip文件的名称
+     * @param maxRowsPerFile 单个excel文件中每个sheet最多包含的数据行数
+     */
+    public void exportZip(List<ExcelSheetData> excelSheetDataList, HttpServletResponse response, String fileName,
+        int maxRowsPerFile) {
+        long start = System.nanoTime();
+        OutputStream out = null;
+        try {
+            if (StrUtil.isBlank(fileName)) {
+                fileName = IdUtil.fastSimpleUUID() + ".zip";
+            }
+            if (fileName.indexOf(".zip") == -1) {
+                fileName += ".zip";
+            }
+            response.setContentType("application/zip;charset=utf-8");
+            response.setHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(fileName, "UTF-8"));
+            out = response.getOutputStream();
+            writeZip(excelSheetDataList, out, FileUtil.mainName(fileName), maxRowsPerFile);
+        } catch (IOException e) {
+            log.error("导出excel异常", e);
+        }
+        IoUtil.close(out);
+        publishMetrics(start);
+    }
+
+    /**
+     * 导出数据到指定路径的zip压缩包中，数据按maxRowsPerFile拆分成多个excel文件
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表
+     * @param filePath 导出的zip文件的路径
+     * @param maxRowsPerFile 单个excel文件中每个sheet最多包含的数据行数
+     */
+    public void exportZip(List<ExcelSheetData> excelSheetDataList, String filePath, int maxRowsPerFile) {
+        long start = System.nanoTime();
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(filePath);
+            writeZip(excelSheetDataList, out, FileUtil.mainName(filePath), maxRowsPerFile);
+        } catch (IOException e) {
+            log.error("导出excel异常", e);
+        }
+        IoUtil.close(out);
+        publishMetrics(start);
+    }
+
+    /**
+     * 将数据分片写入zip输出流。第N个excel文件包含每个sheet的第N段数据，每个文件都有独立的表头、下拉框和列宽，
+     * 写完一个文件即释放其workbook，内存占用只与单个分片大小有关。
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表
+     * @param out zip输出流的目标流，不会被关闭
+     * @param entryBaseName zip内excel文件名前缀
+     * @param maxRowsPerFile 单个excel文件中每个sheet最多包含的数据行数
+     * @throws IOException 写入zip出错时抛出
+     */
+    private void writeZip(List<ExcelSheetData> excelSheetDataList, OutputStream out, String entryBaseName,
+        int maxRowsPerFile) throws IOException {
+        Assert.isTrue(maxRowsPerFile > 0, "maxRowsPerFile必须大于0");
+        int fileCount = 1;
+        for (ExcelSheetData excelSheetData : excelSheetDataList) {
+            fileCount = Math.max(fileCount, getShardCount(getData(excelSheetData).size(), maxRowsPerFile));
+        }
+        ExportMetrics metrics = exportResultDTO.getMetrics();
+        CountingOutputStream countingOut = new CountingOutputStream(out);
+        ZipOutputStream zip = new ZipOutputStream(countingOut);
+        for (int i = 0; i < fileCount; i++) {
+            List<ExcelSheetData> shardList = new ArrayList<>();
+            for (ExcelSheetData excelSheetData : excelSheetDataList) {
+                shardList.add(new ExcelSheetData().setSheetDefinition(excelSheetData.getSheetDefinition())
+                    .setData(getShard(getData(excelSheetData), i, maxRowsPerFile)));
+            }
+            ExcelExporter shardExporter = new ExcelExporter(headerIndex, headerRowNumber);
+            shardExporter.setMaxRowsPerSheet(maxRowsPerSheet);
+            shardExporter.setParallel(parallel);
+            shardExporter.setExecutor(executor);
+            shardExporter.setUseSharedStrings(useSharedStrings);
+            shardExporter.setSheetPlanProvider(sheetPlanProvider);
+            try {
+                CsvFormat csvFormat = writerType.getCsvFormat();
+                zip.putNextEntry(new ZipEntry(entryBaseName + "-" + (i + 1) + "."
+                    + (csvFormat == null ? "xlsx" : csvFormat.getExtension())));
+                if (csvFormat != null) {
+                    shardExporter.writeCsv(shardList, zip);
+                } else if (writerType == WriterType.NATIVE) {
+                    shardExporter.writeNative(shardList, zip);
+                } else {
+                    shardExporter.fillData(shardList);
+                    long writeStart = System.nanoTime();
+                    shardExporter.getWriter().flush(zip, false);
+                    shardExporter.getExportResultDTO().getMetrics().setWriteNanos(System.nanoTime() - writeStart);
+                }
+                zip.closeEntry();
+            } finally {
+                IoUtil.close(shardExporter.writer);
+            }
+            ExportMetrics shardMetrics = shardExporter.getExportResultDTO().getMetrics();
+            metrics.getSheetMetricsList().addAll(shardMetrics.getSheetMetricsList());
+            metrics.setWriteNanos(metrics.getWriteNanos() + shardMetrics.getWriteNanos());
+        }
+        zip.finish();
+        zip.flush();
+        metrics.setBytesWritten(countingOut.getCount());
+    }
+
+    /**
+     * 填充Excel数据。数据行数超过maxRowsPerSheet时，自动续写到"名称 (2)"、"名称 (3)"等sheet，
+     * 续写的sheet紧跟在原sheet之后，并且都有独立的表头、下拉框和列宽。
+     * 使用流式workbook，内存中只保留最近写入的行。
      *
      * @param excelSheetDataList ExcelSheetData列表
      */
     private void fillData(List<ExcelSheetData> excelSheetDataList) {
+        getStreamingWriter();
+        // 先按注解下标创建好所有sheet，避免续写的sheet占用后面sheet的下标
+        for (ExcelSheetData excelSheetData : excelSheetDataList) {
+            ExcelConfig.SheetConfig sheetConfig =
+                sheetPlanProvider.apply(excelSheetData.getSheetDefinition()).getSheetConfig();
+            getWriter().setSheet(sheetConfig.getIndex());
+            getWriter().renameSheet(sheetConfig.getIndex(), sheetConfig.getName());
+        }
+        // key为原sheet名称，value为续写的sheet名称
+        Map<String, List<String>> rolloverSheetMap = new HashMap<>(16);
+        List<SheetShard> sheetShardList = getSheetShardList(excelSheetDataList, rolloverSheetMap);
+        for (SheetShard shard : sheetShardList) {
+            long start = System.nanoTime();
+            selectSheet(shard);
+            fillSheet(shard.getColumnConfigList(), shard.getData());
+            shard.getMetrics().setRenderNanos(System.nanoTime() - start);
+        }
+        if (CollectionUtil.isNotEmpty(rolloverSheetMap)) {
+            sortRolloverSheet(rolloverSheetMap);
+        }
+    }
+
+    /**
+     * 按maxRowsPerSheet将数据拆分成sheet分片
+     *
+     * @param excelSheetDataList ExcelSheetData列表
+     * @param rolloverSheetMap 收集续写的sheet，key为原sheet名称，value为续写的sheet名称
+     * @return sheet分片列表
+     */
+    private List<SheetShard> getSheetShardList(List<ExcelSheetData> excelSheetDataList,
+        Map<String, List<String>> rolloverSheetMap) {
+        Assert.isTrue(maxRowsPerSheet > 0 && maxRowsPerSheet <= MAX_SHEET_ROW_NUMBER - HEADER_ROW_NUMBER,
+            "maxRowsPerSheet超出excel单sheet行数限制");
+        List<SheetShard> sheetShardList = new ArrayList<>();
+        // 已使用的sheet名称，excel的sheet名称不区分大小写，续写的sheet不能与原sheet或其他续写的sheet重名
+        Set<String> usedSheetNameSet = new HashSet<>();
         for (ExcelSheetData excelSheetData : excelSheetDataList) {
-            ExcelConfig.SheetConfig sheetConfig = ExcelConfig.getSheetConfig(excelSheetData.getSheetDefinition());
-            List<ExcelConfig.ColumnConfig> columnConfigList =
-                ExcelConfig.getColumnConfig(excelSheetData.getSheetDefinition());
-            writer.setSheet(sheetConfig.getIndex());
-            writer.renameSheet(sheetConfig.getIndex(), sheetConfig.getName());
-            // 设置标题
-            fillHeader(columnConfigList);
-            if (CollectionUtil.isNotEmpty(excelSheetData.getData())) {
-                fillDropdown(columnConfigList, excelSheetData.getData().size());
-                fillContent(columnConfigList, excelSheetData.getData());
-                ExcelKit.setAutoSizeColumn(writer.getSheet());
+            usedSheetNameSet.add(sheetPlanProvider.apply(excelSheetData.getSheetDefinition()).getSheetConfig()
+                .getName().toLowerCase(Locale.ROOT));
+        }
+        for (ExcelSheetData excelSheetData : excelSheetDataList) {
+            SheetPlan sheetPlan = sheetPlanProvider.apply(excelSheetData.getSheetDefinition());
+            ExcelConfig.SheetConfig sheetConfig = sheetPlan.getSheetConfig();
+            List<ExcelConfig.ColumnConfig> columnConfigList = sheetPlan.getColumnConfigList();
+            List data = getData(excelSheetData);
+            int shardCount = getShardCount(data.size(), maxRowsPerSheet);
+            for (int i = 0; i < shardCount; i++) {
+                String sheetName = sheetConfig.getName();
+                if (i > 0) {
+                    sheetName = getRolloverSheetName(sheetConfig.getName(), i, usedSheetNameSet);
+                    rolloverSheetMap.computeIfAbsent(sheetConfig.getName(), k -> new ArrayList<>()).add(sheetName);
+                }
+                List shardData = getShard(data, i, maxRowsPerSheet);
+                SheetExportMetrics sheetMetrics = new SheetExportMetrics();
+                sheetMetrics.setSheetName(sheetName);
+                sheetMetrics.setRowCount(shardData.size());
+                exportResultDTO.getMetrics().getSheetMetricsList().add(sheetMetrics);
+                sheetShardList.add(new SheetShard(sheetConfig.getIndex(), sheetName, i > 0, columnConfigList,
+                    shardData, sheetMetrics));
+            }
+        }
+        return sheetShardList;
+    }
+
+    /**
+     * 切换到分片对应的sheet，续写的sheet不存在时自动创建
+     *
+     * @param shard sheet分片
+     */
+    private void selectSheet(SheetShard shard) {
+        if (shard.isRollover()) {
+            getWriter().setSheet(shard.getSheetName());
+        } else {
+            getWriter().setSheet(shard.getSheetIndex());
+        }
+    }
+
+    /**
+     * 填充当前sheet的表头、下拉框、内容和列宽。流式workbook写出的行不能再读取，
+     * 列宽在写入时统计，规则与ExcelKit.setAutoSizeColumn一致
+     *
+     * @param columnConfigList 列配置列表
+     * @param data 当前sheet的数据
+     */
+    private void fillSheet(List<ExcelConfig.ColumnConfig> columnConfigList, List data) {
+        // 设置标题
+        fillHeader(columnConfigList);
+        if (CollectionUtil.isNotEmpty(data)) {
+            fillDropdown(columnConfigList, data.size());
+            int[] columnWidths = new int[columnConfigList.size()];
+            for (int k = 0; k < columnConfigList.size(); k++) {
+                columnWidths[k] = getColumnWidth(columnConfigList.get(k).getHeader(), 0);
+            }
+            for (int j = 0; j < data.size(); j++) {
+                for (int k = 0; k < columnConfigList.size(); k++) {
+                    Object value = getCellValue(data.get(j), columnConfigList.get(k));
+                    writeContentCell(columnConfigList.get(k), k, j + HEADER_ROW_NUMBER, value);
+                    columnWidths[k] = getColumnWidth(value, columnWidths[k]);
+                }
             }
+            fillColumnWidth(columnWidths);
+            fillDateColumnWidth(columnConfigList);
+        }
+    }
+
+    /**
+     * 设置当前sheet的列宽，不小于已有列宽
+     *
+     * @param columnWidths 列宽，单位为字符数
+     */
+    private void fillColumnWidth(int[] columnWidths) {
+        for (int k = 0; k < columnWidths.length; k++) {
+            int columnWidth = Math.max(getWriter().getSheet().getColumnWidth(k) / 256, columnWidths[k]);
+            getWriter().getSheet().setColumnWidth(k, columnWidth * 256);
         }
     }
 
+    /**
+     * 统计列宽，规则与ExcelKit.setAutoSizeColumn一致，按UTF-8字节数计算，与运行环境的默认编码无关
+     *
+     * @param cellValue 单元格值
+     * @param columnWidth 当前列宽，单位为字符数
+     * @return 新的列宽
+     */
+    private static int getColumnWidth(Object cellValue, int columnWidth) {
+        if (cellValue instanceof String) {
+            return Math.max(columnWidth, ((String)cellValue).getBytes(StandardCharsets.UTF_8).length);
+        }
+        return columnWidth;
+    }
+
+    /**
+     * 调整sheet顺序，让续写的sheet紧跟在原sheet之后
+     *
+     * @param rolloverSheetMap key为原sheet名称，value为续写的sheet名称
+     */
+    private void sortRolloverSheet(Map<String, List<String>> rolloverSheetMap) {
+        Set<String> rolloverSheetNames = new HashSet<>();
+        rolloverSheetMap.values().forEach(rolloverSheetNames::addAll);
+        Workbook workbook = getWriter().getWorkbook();
+        int position = 0;
+        for (String sheetName : getWriter().getSheetNames()) {
+            if (rolloverSheetNames.contains(sheetName)) {
+                continue;
+            }
+            workbook.setSheetOrder(sheetName, position++);
+            for (String rolloverSheetName : rolloverSheetMap.getOrDefault(sheetName, Collections.emptyList())) {
+                workbook.setSheetOrder(rolloverSheetName, position++);
+            }
+        }
+        workbook.setActiveSheet(0);
+    }
+
+    /**
+     * 获取续写sheet的名称，例如"人员信息 (2)"，超出excel sheet名称长度限制时截断原名称。
+     * 名称已被使用时（例如已有名为"人员信息 (2)"的sheet，或截断后前缀相同的长名称）继续递增序号，直到不重名
+     *
+     * @param sheetName 原sheet名称
+     * @param shardIndex 分片下标，从0开始
+     * @param usedSheetNameSet 已使用的sheet名称（小写），生成的名称会加入其中
+     * @return 续写sheet的名称
+     */
+    private static String getRolloverSheetName(String sheetName, int shardIndex, Set<String> usedSheetNameSet) {
+        for (int number = shardIndex + 1; ; number++) {
+            String suffix = " (" + number + ")";
+            String rolloverSheetName = StrUtil.sub(sheetName, 0, MAX_SHEET_NAME_LENGTH - suffix.length()) + suffix;
+            if (usedSheetNameSet.add(rolloverSheetName.toLowerCase(Locale.ROOT))) {
+                return rolloverSheetName;
+            }
+        }
+    }
+
+    private static List getData(ExcelSheetData excelSheetData) {
+        return Optional.ofNullable(excelSheetData.getData()).orElse(Collections.emptyList());
+    }
+
+    private static int getShardCount(int dataSize, int shardSize) {
+        return Math.max(1, (dataSize + shardSize - 1) / shardSize);
+    }
+
+    private static List getShard(List data, int shardIndex, int shardSize) {
+        int fromIndex = Math.min(data.size(), shardIndex * shardSize);
+        int toIndex = Math.min(data.size(), fromIndex + shardSize);
+        return data.subList(fromIndex, toIndex);
+    }
+
     /**
      * 填充下拉框
      *
@@ -131,14 +521,9 @@ public class ExcelExporter {
     public void fillDropdown(List<ExcelConfig.ColumnConfig> columnConfigList, int dateSize) {
         for (int i = 0; i < columnConfigList.size(); i++) {
             ExcelConfig.ColumnConfig columnConfig = columnConfigList.get(i);
-            if (ObjectUtil.isNotNull(columnConfig.getEnumDefinition().getEnumConstants())) {
-                EnumDefinition[] enumConstants = columnConfig.getEnumDefinition().getEnumConstants();
-                String[] enumValues = new String[enumConstants.length];
-                for (int j = 0; j < enumConstants.length; j++) {
-                    String str = Convert.toStr(enumConstants[j].getComment());
-                    enumValues[j] = str;
-                }
-                ExcelKit.setDropdownList(writer.getSheet(), HEADER_ROW_NUMBER, columnConfig.getIndex(),
+            String[] enumValues = getDropdownValues(columnConfig);
+            if (ObjectUtil.isNotNull(enumValues)) {
+                ExcelKit.setDropdownList(getWriter().getSheet(), HEADER_ROW_NUMBER, columnConfig.getIndex(),
                         HEADER_ROW_NUMBER + dateSize - 1, columnConfig.getIndex(), enumValues);
             }
         }
@@ -153,60 +538,110 @@ public class ExcelExporter {
     public void fillDropdownRow(List<ExcelConfig.ColumnConfig> columnConfigList, int row) {
         for (int i = 0; i < columnConfigList.size(); i++) {
             ExcelConfig.ColumnConfig columnConfig = columnConfigList.get(i);
-            if (ObjectUtil.isNotNull(columnConfig.getEnumDefinition().getEnumConstants())) {
-                EnumDefinition[] enumConstants = columnConfig.getEnumDefinition().getEnumConstants();
-                String[] enumValues = new String[enumConstants.length];
-                for (int j = 0; j < enumConstants.length; j++) {
-                    String str = Convert.toStr(enumConstants[j].getComment());
-                    enumValues[j] = str;
-                }
-                ExcelKit.setDropdownList(writer.getSheet(), row + HEADER_ROW_NUMBER, columnConfig.getIndex(),
+            String[] enumValues = getDropdownValues(columnConfig);
+            if (ObjectUtil.isNotNull(enumValues)) {
+                ExcelKit.setDropdownList(getWriter().getSheet(), row + HEADER_ROW_NUMBER, columnConfig.getIndex(),
                         row + HEADER_ROW_NUMBER, columnConfig.getIndex(), enumValues);
             }
         }
     }
 
     /**
-     * 根据对象字段名获取单元格值
+     * 获取列的下拉框选项
+     *
+     * @param columnConfig 列配置
+     * @return 枚举的comment数组，列没有配置枚举或者选项超过excel显式列表的长度限制时返回null
+     */
+    private String[] getDropdownValues(ExcelConfig.ColumnConfig columnConfig) {
+        EnumDefinition[] enumConstants = columnConfig.getEnumDefinition().getEnumConstants();
+        if (ObjectUtil.isNull(enumConstants)) {
+            return null;
+        }
+        String[] enumValues = new String[enumConstants.length];
+        for (int j = 0; j < enumConstants.length; j++) {
+            enumValues[j] = Convert.toStr(enumConstants[j].getComment());
+        }
+        // 超过255个字符的显式列表excel打开时会提示文件损坏，不生成下拉框
+        if (String.join(",", enumValues).length() > MAX_DROPDOWN_LIST_LENGTH) {
+            if (skippedDropdownSet.add(columnConfig.getEnumDefinition().getName())) {
+                log.warn("列{}的下拉框选项超过{}个字符，不生成下拉框", columnConfig.getHeader(), MAX_DROPDOWN_LIST_LENGTH);
+            }
+            return null;
+        }
+        return enumValues;
+    }
+
+    /**
+     * 根据列配置获取单元格值，数据对象是sheet定义类的实例且有编译期生成的编解码器时直接调用getter
      *
      * @param object 要获取值的对象
-     * @param field 字段名
+     * @param columnConfig 列配置
      * @return 返回单元格值，如果字段值为空，则返回null
      */
-    private Object getCellValue(Object object, String field) {
-        Object value = ReflectUtil.getFieldValue(object, field);
-        if (ObjectUtil.isEmpty(value)) {
-            return null;
+    private Object getCellValue(Object object, ExcelConfig.ColumnConfig columnConfig) {
+        SheetCodec codec = columnConfig.getCodec();
+        if (codec != null && codec.getSheetClass() == object.getClass()) {
+            return codec.getCellValue(object, columnConfig.getCodecColumn());
         }
-        // 根据类型取出对应类型的值
-        Object cellValue = value;
         try {
-            Field declaredField = object.getClass().getDeclaredField(field);
-            Class<?> fieldType = declaredField.getType();
-            if (fieldType == LocalDate.class || fieldType == Date.class || fieldType == LocalDateTime.class) {
-                DateTimeFormat format = declaredField.getDeclaredAnnotation(DateTimeFormat.class);
-                String pattern =
-                    fieldType == LocalDate.class ? DatePattern.NORM_DATE_PATTERN : DatePattern.NORM_DATETIME_PATTERN;
-                if (ObjectUtil.isNotNull(format) && StrUtil.isNotBlank(format.pattern())) {
-                    pattern = format.pattern();
-                }
-                cellValue = DateUtil.format(Convert.toDate(value), pattern);
-            } else if (fieldType.isEnum()) {
-                boolean isEnumDefinition =
-                    Arrays.stream(Optional.ofNullable(fieldType.getInterfaces()).orElse(new Class[0]))
-                        .anyMatch(cls -> cls == EnumDefinition.class);
-                if (isEnumDefinition) {
-                    EnumDefinition d = (EnumDefinition)value;
-                    cellValue = d.getComment();
-                } else {
-                    Enum e = (Enum)value;
-                    cellValue = e.name();
-                }
-            }
+            return getConverter(object, columnConfig).toCellValue(object);
         } catch (Exception e) {
-            log.error("反射处理导出单元格值出错", e);
+            // 同一列每行都会出错，每次导出只记录一次
+            if (failedColumnSet.add(columnConfig.getFieldName() + "@" + object.getClass().getName())) {
+                log.error("反射处理导出单元格值出错，列：{}", columnConfig.getHeader(), e);
+            }
+            return ReflectUtil.getFieldValue(object, columnConfig.getFieldName());
+        }
+    }
+
+    /**
+     * 获取列的转换器。列配置由ExcelConfig创建时已经带有转换器；手工创建的列配置按数据对象的属性获取，
+     * 不回写到列配置，列配置可能被多个导出会话共享
+     *
+     * @param object 数据对象
+     * @param columnConfig 列配置
+     * @return 转换器
+     */
+    private static ColumnConverter getConverter(Object object, ExcelConfig.ColumnConfig columnConfig) {
+        ColumnConverter converter = columnConfig.getConverter();
+        return converter != null ? converter : ColumnConverter.of(object.getClass(), columnConfig.getFieldName());
+    }
+
+    /**
+     * 写入数据单元格，日期单元格列设置对应格式的单元格样式
+     *
+     * @param columnConfig 列配置
+     * @param x 列下标
+     * @param y 行下标
+     * @param value 单元格值
+     */
+    private void writeContentCell(ExcelConfig.ColumnConfig columnConfig, int x, int y, Object value) {
+        getWriter().writeCellValue(x, y, value);
+        ColumnConverter converter = columnConfig.getConverter();
+        if (value instanceof Number && converter != null && converter.isDateCell()) {
+            getWriter().getCell(x, y).setCellStyle(dateCellStyleMap.computeIfAbsent(converter.getExcelFormat(), format -> {
+                Workbook workbook = getWriter().getWorkbook();
+                CellStyle cellStyle = workbook.createCellStyle();
+                cellStyle.cloneStyleFrom(getWriter().getStyleSet().getCellStyle());
+                cellStyle.setDataFormat(workbook.createDataFormat().getFormat(format));
+                return cellStyle;
+            }));
+        }
+    }
+
+    /**
+     * 日期单元格列的内容是数值，自适应列宽统计不到，按日期格式的长度设置列宽
+     *
+     * @param columnConfigList 列配置列表
+     */
+    private void fillDateColumnWidth(List<ExcelConfig.ColumnConfig> columnConfigList) {
+        for (int k = 0; k < columnConfigList.size(); k++) {
+            ColumnConverter converter = columnConfigList.get(k).getConverter();
+            if (converter != null && converter.isDateCell()) {
+                int columnWidth = Math.max(getWriter().getSheet().getColumnWidth(k) / 256, converter.getPattern().length());
+                getWriter().getSheet().setColumnWidth(k, columnWidth * 256);
+            }
         }
-        return cellValue;
     }
 
     /**
@@ -218,8 +653,9 @@ public class ExcelExporter {
     public void fillContent(List<ExcelConfig.ColumnConfig> columnConfigList, List contentList) {
         for (int j = 0; j < contentList.size(); j++) {
             for (int k = 0; k < columnConfigList.size(); k++) {
-                writer.writeCellValue(k, j + HEADER_ROW_NUMBER,
-                    getCellValue(contentList.get(j), columnConfigList.get(k).getFieldName()));
+                ExcelConfig.ColumnConfig columnConfig = columnConfigList.get(k);
+                writeContentCell(columnConfig, k, j + HEADER_ROW_NUMBER,
+                    getCellValue(contentList.get(j), columnConfig));
             }
         }
     }
@@ -233,8 +669,8 @@ public class ExcelExporter {
      */
     public void fillContent(List<ExcelConfig.ColumnConfig> columnConfigList, Object content, int row) {
         for (int k = 0; k < columnConfigList.size(); k++) {
-            writer.writeCellValue(k, row + HEADER_ROW_NUMBER,
-                getCellValue(content, columnConfigList.get(k).getFieldName()));
+            ExcelConfig.ColumnConfig columnConfig = columnConfigList.get(k);
+            writeContentCell(columnConfig, k, row + HEADER_ROW_NUMBER, getCellValue(content, columnConfig));
         }
     }
 
@@ -245,8 +681,8 @@ public class ExcelExporter {
      */
     public void fillHeader(List<ExcelConfig.ColumnConfig> columnConfigList) {
         for (int i = 0; i < columnConfigList.size(); i++) {
-            writer.writeCellValue(i, HEADER_INDEX, columnConfigList.get(i).getHeader());
-            ExcelKit.setCellComment(writer, HEADER_INDEX, i, columnConfigList.get(i).getNote());
+            getWriter().writeCellValue(i, HEADER_INDEX, columnConfigList.get(i).getHeader());
+            ExcelKit.setCellComment(getWriter(), HEADER_INDEX, i, columnConfigList.get(i).getNote());
         }
     }
 
@@ -260,22 +696,311 @@ public class ExcelExporter {
     public void doExport(HttpServletResponse response, String fileName) {
         OutputStream out = null;
         try {
-            if (StrUtil.isBlank(fileName)) {
-                fileName = IdUtil.fastSimpleUUID() + ".xlsx";
+            out = getResponseOutputStream(response, fileName);
+            flushWorkbook(out);
+        } catch (IOException e) {
+            log.error("导出excel异常", e);
+        }
+        IoUtil.close(out);
+    }
+
+    /**
+     * 执行Excel导出操作到输出流
+     *
+     * @param out 输出流，由调用方关闭
+     */
+    public void doExport(OutputStream out) {
+        flushWorkbook(out);
+    }
+
+    /**
+     * 把已经生成好的excel内容发送给客户端
+     *
+     * @param response HttpServletResponse对象
+     * @param fileName excel文件的名称
+     * @param workbook excel文件内容
+     */
+    public static void writeWorkbook(HttpServletResponse response, String fileName, byte[] workbook) {
+        OutputStream out = null;
+        try {
+            out = getResponseOutputStream(response, fileName);
+            out.write(workbook);
+        } catch (IOException e) {
+            log.error("导出excel异常", e);
+        }
+        IoUtil.close(out);
+    }
+
+    /**
+     * 设置excel下载的响应头并获取输出流，文件名为空时生成随机文件名，没有.xlsx后缀时补上
+     *
+     * @param response HttpServletResponse对象
+     * @param fileName excel文件的名称
+     * @return 响应输出流
+     * @throws IOException 获取输出流出错时抛出
+     */
+    private static OutputStream getResponseOutputStream(HttpServletResponse response, String fileName)
+        throws IOException {
+        return getResponseOutputStream(response, fileName, "xlsx", "application/vnd.ms-excel;charset=utf-8");
+    }
+
+    /**
+     * 设置文件下载的响应头并获取输出流，文件名为空时生成随机文件名，没有扩展名后缀时补上
+     *
+     * @param response HttpServletResponse对象
+     * @param fileName 文件的名称
+     * @param extension 文件扩展名
+     * @param contentType 响应的Content-Type
+     * @return 响应输出流
+     * @throws IOException 获取输出流出错时抛出
+     */
+    static OutputStream getResponseOutputStream(HttpServletResponse response, String fileName, String extension,
+        String contentType) throws IOException {
+        if (StrUtil.isBlank(fileName)) {
+            fileName = IdUtil.fastSimpleUUID() + "." + extension;
+        }
+        if (fileName.indexOf("." + extension) == -1) {
+            fileName += "." + extension;
+        }
+        response.setContentType(contentType);
+        response.setHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(fileName, "UTF-8"));
+        return response.getOutputStream();
+    }
+
+    /**
+     * 使用原生导出引擎导出数据并发送给客户端
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表
+     * @param response HttpServletResponse对象，用于将生成的Excel文件发送给客户端
+     * @param fileName 导出的Excel文件的名称
+     */
+    private void doExportNative(List<ExcelSheetData> excelSheetDataList, HttpServletResponse response,
+        String fileName) {
+        OutputStream out = null;
+        try {
+            out = getResponseOutputStream(response, fileName);
+            writeNative(excelSheetDataList, out);
+        } catch (IOException e) {
+            log.error("导出excel异常", e);
+        }
+        IoUtil.close(out);
+    }
+
+    /**
+     * 使用原生导出引擎导出数据到指定文件路径
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表
+     * @param filePath 要导出Excel文件的路径
+     */
+    private void doExportNative(List<ExcelSheetData> excelSheetDataList, String filePath) {
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(filePath);
+            writeNative(excelSheetDataList, out);
+        } catch (IOException e) {
+            log.error("导出excel异常", e);
+        }
+        IoUtil.close(out);
+    }
+
+    /**
+     * 使用原生导出引擎输出xlsx。每个sheet分片的xml写入各自的临时文件，并行模式下由线程池同时生成，
+     * 最后按sheet下标顺序组装成一个xlsx包
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表
+     * @param out 输出流，不会被关闭
+     * @throws IOException 写入出错时抛出
+     */
+    private void writeNative(List<ExcelSheetData> excelSheetDataList, OutputStream out) throws IOException {
+        ExportMetrics metrics = exportResultDTO.getMetrics();
+        List<SheetShard> sheetShardList = getSheetShardList(excelSheetDataList, new HashMap<>(16));
+        // 与POI导出保持一致：按sheet下标排序，续写的sheet紧跟在原sheet之后
+        sheetShardList.sort(Comparator.comparingInt(SheetShard::getSheetIndex));
+        CountingOutputStream countingOut = new CountingOutputStream(out);
+        FlushEvent event = new FlushEvent();
+        event.begin();
+        long writeNanos = 0;
+        try (XlsxWriter xlsxWriter = new XlsxWriter(countingOut, useSharedStrings)) {
+            if (parallel && sheetShardList.size() > 1) {
+                List<CompletableFuture<XlsxSheetPart>> futureList = sheetShardList.stream()
+                    .map(shard -> CompletableFuture.supplyAsync(() -> renderSheetPart(xlsxWriter, shard), executor))
+                    .collect(Collectors.toList());
+                try {
+                    for (CompletableFuture<XlsxSheetPart> future : futureList) {
+                        XlsxSheetPart sheetPart = future.join();
+                        long start = System.nanoTime();
+                        xlsxWriter.addSheet(sheetPart);
+                        writeNanos += System.nanoTime() - start;
+                    }
+                } catch (RuntimeException | IOException e) {
+                    // 清理其他sheet的临时文件
+                    futureList.forEach(future -> future.thenAccept(IoUtil::close));
+                    throw e;
+                }
+            } else {
+                for (SheetShard shard : sheetShardList) {
+                    XlsxSheetPart sheetPart = renderSheetPart(xlsxWriter, shard);
+                    long start = System.nanoTime();
+                    xlsxWriter.addSheet(sheetPart);
+                    writeNanos += System.nanoTime() - start;
+                }
+            }
+            long start = System.nanoTime();
+            xlsxWriter.finish();
+            writeNanos += System.nanoTime() - start;
+        }
+        metrics.setWriteNanos(metrics.getWriteNanos() + writeNanos);
+        metrics.setBytesWritten(metrics.getBytesWritten() + countingOut.getCount());
+        event.end();
+        if (event.shouldCommit()) {
+            event.writerType = WriterType.NATIVE.name();
+            event.sheetCount = sheetShardList.size();
+            event.bytes = countingOut.getCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * 生成sheet分片的xml，不访问workbook，可以在工作线程中执行
+     *
+     * @param xlsxWriter 原生导出引擎
+     * @param shard sheet分片
+     * @return 生成好的sheet
+     */
+    private XlsxSheetPart renderSheetPart(XlsxWriter xlsxWriter, SheetShard shard) {
+        long start = System.nanoTime();
+        List<ExcelConfig.ColumnConfig> columnConfigList = shard.getColumnConfigList();
+        List data = shard.getData();
+        XlsxSheetPart sheetPart = null;
+        try {
+            sheetPart = xlsxWriter.createSheetPart(shard.getSheetName(), columnConfigList.size());
+            for (int k = 0; k < columnConfigList.size(); k++) {
+                ColumnConverter converter = columnConfigList.get(k).getConverter();
+                if (converter != null && converter.isDateCell()) {
+                    sheetPart.setDateColumn(k, converter.getExcelFormat(), converter.getPattern().length());
+                }
             }
-            if (fileName.indexOf(".xlsx") == -1) {
-                fileName += ".xlsx";
+            // 行数据缓冲区，每行复用
+            Object[] values = new Object[columnConfigList.size()];
+            for (int k = 0; k < columnConfigList.size(); k++) {
+                values[k] = columnConfigList.get(k).getHeader();
             }
-            response.setContentType("application/vnd.ms-excel;charset=utf-8");
-            response.setHeader("Content-Disposition", "attachment;filename=" + URLEncoder.encode(fileName, "UTF-8"));
-            out = response.getOutputStream();
-            writer.flush(out, true);
+            sheetPart.writeRow(values);
+            for (Object content : data) {
+                for (int k = 0; k < columnConfigList.size(); k++) {
+                    values[k] = getCellValue(content, columnConfigList.get(k));
+                }
+                sheetPart.writeRow(values);
+            }
+            if (CollectionUtil.isNotEmpty(data)) {
+                for (ExcelConfig.ColumnConfig columnConfig : columnConfigList) {
+                    String[] enumValues = getDropdownValues(columnConfig);
+                    if (ObjectUtil.isNotNull(enumValues)) {
+                        sheetPart.addDropdown(columnConfig.getIndex(), HEADER_ROW_NUMBER,
+                            HEADER_ROW_NUMBER + data.size() - 1, enumValues);
+                    }
+                }
+            }
+            sheetPart.finish();
+            shard.getMetrics().setRenderNanos(System.nanoTime() - start);
+            return sheetPart;
+        } catch (IOException e) {
+            IoUtil.close(sheetPart);
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 使用CSV、TSV导出引擎导出数据并发送给客户端
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表，只能有一个sheet
+     * @param response HttpServletResponse对象，用于将生成的文件发送给客户端
+     * @param fileName 导出的文件的名称
+     */
+    private void doExportCsv(List<ExcelSheetData> excelSheetDataList, HttpServletResponse response,
+        String fileName) {
+        CsvFormat csvFormat = writerType.getCsvFormat();
+        OutputStream out = null;
+        try {
+            out = getResponseOutputStream(response, fileName, csvFormat.getExtension(), csvFormat.getContentType());
+            writeCsv(excelSheetDataList, out);
         } catch (IOException e) {
             log.error("导出excel异常", e);
         }
         IoUtil.close(out);
     }
 
+    /**
+     * 使用CSV、TSV导出引擎导出数据到指定文件路径
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表，只能有一个sheet
+     * @param filePath 要导出文件的路径
+     */
+    private void doExportCsv(List<ExcelSheetData> excelSheetDataList, String filePath) {
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(filePath);
+            writeCsv(excelSheetDataList, out);
+        } catch (IOException e) {
+            log.error("导出excel异常", e);
+        }
+        IoUtil.close(out);
+    }
+
+    /**
+     * 使用CSV、TSV导出引擎输出表头和数据行，不受maxRowsPerSheet限制，下拉框和表头备注不输出
+     *
+     * @param excelSheetDataList 需要导出的ExcelSheetData列表，只能有一个sheet
+     * @param out 输出流，不会被关闭
+     * @throws IOException 写入出错时抛出
+     */
+    private void writeCsv(List<ExcelSheetData> excelSheetDataList, OutputStream out) throws IOException {
+        Assert.isTrue(excelSheetDataList.size() == 1, "{}文件只能导出一个sheet", writerType);
+        ExcelSheetData excelSheetData = excelSheetDataList.get(0);
+        SheetPlan sheetPlan = sheetPlanProvider.apply(excelSheetData.getSheetDefinition());
+        List<ExcelConfig.ColumnConfig> columnConfigList = sheetPlan.getColumnConfigList();
+        List data = getData(excelSheetData);
+        ExportMetrics metrics = exportResultDTO.getMetrics();
+        SheetExportMetrics sheetMetrics = new SheetExportMetrics();
+        sheetMetrics.setSheetName(sheetPlan.getSheetConfig().getName());
+        sheetMetrics.setRowCount(data.size());
+        metrics.getSheetMetricsList().add(sheetMetrics);
+        CountingOutputStream countingOut = new CountingOutputStream(out);
+        FlushEvent event = new FlushEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try (CsvWriter csvWriter = new CsvWriter(countingOut, writerType.getCsvFormat())) {
+            // 行数据缓冲区，每行复用
+            Object[] values = new Object[columnConfigList.size()];
+            for (int k = 0; k < columnConfigList.size(); k++) {
+                ColumnConverter converter = columnConfigList.get(k).getConverter();
+                if (converter != null && converter.isDateCell()) {
+                    csvWriter.setDateColumn(k, converter.getPattern());
+                }
+                values[k] = columnConfigList.get(k).getHeader();
+            }
+            csvWriter.writeRow(values);
+            for (Object content : data) {
+                for (int k = 0; k < columnConfigList.size(); k++) {
+                    values[k] = getCellValue(content, columnConfigList.get(k));
+                }
+                csvWriter.writeRow(values);
+            }
+        }
+        // 边生成边输出，生成耗时即输出耗时
+        long writeNanos = System.nanoTime() - start;
+        sheetMetrics.setRenderNanos(writeNanos);
+        metrics.setWriteNanos(metrics.getWriteNanos() + writeNanos);
+        metrics.setBytesWritten(metrics.getBytesWritten() + countingOut.getCount());
+        event.end();
+        if (event.shouldCommit()) {
+            event.writerType = writerType.name();
+            event.sheetCount = 1;
+            event.bytes = countingOut.getCount();
+            event.commit();
+        }
+    }
+
     /**
      * 执行Excel导出操作到指定文件路径
      *
@@ -286,11 +1011,58 @@ public class ExcelExporter {
         OutputStream out = null;
         try {
             out = new FileOutputStream(filePath);
-            writer.flush(out, true);
+            flushWorkbook(out);
         } catch (IOException e) {
             log.error("导出excel异常", e);
         }
         IoUtil.close(out);
     }
 
+    /**
+     * 将workbook写入输出流并关闭workbook，记录输出耗时和字节数
+     *
+     * @param out 输出流，由调用方关闭
+     */
+    private void flushWorkbook(OutputStream out) {
+        ExportMetrics metrics = exportResultDTO.getMetrics();
+        CountingOutputStream countingOut = new CountingOutputStream(out);
+        FlushEvent event = new FlushEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int sheetCount = getWriter().getWorkbook().getNumberOfSheets();
+        getWriter().flush(countingOut, true);
+        if (getWriter() instanceof BigExcelWriter) {
+            // 流式workbook写出后删除临时文件
+            getWriter().close();
+        }
+        metrics.setWriteNanos(metrics.getWriteNanos() + System.nanoTime() - start);
+        metrics.setBytesWritten(metrics.getBytesWritten() + countingOut.getCount());
+        event.end();
+        if (event.shouldCommit()) {
+            event.writerType = WriterType.POI.name();
+            event.sheetCount = sheetCount;
+            event.bytes = countingOut.getCount();
+            event.commit();
+        }
+    }
+
+    /**
+     * sheet分片，对应一个主sheet或者续写的sheet
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class SheetShard {
+        /** 主sheet下标 */
+        private final int sheetIndex;
+        /** sheet名称 */
+        private final String sheetName;
+        /** 是否续写的sheet */
+        private final boolean rollover;
+        /** 列配置 */
+        private final List<ExcelConfig.ColumnConfig> columnConfigList;
+        /** 分片数据 */
+        private final List data;
+        /** 分片的导出指标 */
+        private final SheetExportMetrics metrics;
+    }
 }
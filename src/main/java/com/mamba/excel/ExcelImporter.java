@@ -1,27 +1,85 @@
 package com.mamba.excel;
 
 import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.IdUtil;
 import cn.hutool.core.util.ObjectUtil;
-import cn.hutool.poi.excel.ExcelReader;
-import cn.hutool.poi.excel.ExcelUtil;
+import cn.hutool.core.util.ReflectUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import cn.hutool.poi.excel.ExcelWriter;
+import cn.hutool.poi.excel.sax.handler.RowHandler;
 import com.alibaba.fastjson.JSON;
 import com.mamba.excel.annotation.ExcelSheet;
+import com.mamba.excel.cache.ImportCacheEntry;
+import com.mamba.excel.cache.ImportCacheStore;
+import com.mamba.excel.checkpoint.CheckpointStore;
+import com.mamba.excel.checkpoint.ImportCheckpoint;
+import com.mamba.excel.codec.SheetCodec;
+import com.mamba.excel.collection.IntList;
+import com.mamba.excel.collection.LongIntMap;
+import com.mamba.excel.config.ColumnConverter;
 import com.mamba.excel.config.ExcelConfig;
+import com.mamba.excel.config.ReaderType;
+import com.mamba.excel.config.SheetPlan;
+import com.mamba.excel.csv.CsvFormat;
+import com.mamba.excel.csv.CsvReader;
+import com.mamba.excel.csv.CsvWriter;
 import com.mamba.excel.handler.AbstractExcelDataHandler;
 import com.mamba.excel.handler.ExcelDataHandlerFactory;
+import com.mamba.excel.handler.LookupContext;
+import com.mamba.excel.jfr.*;
 import com.mamba.excel.kit.ExcelKit;
 import com.mamba.excel.kit.ImportResultDTO;
+import com.mamba.excel.kit.RowHasher;
+import com.mamba.excel.listener.ImportListener;
+import com.mamba.excel.listener.ImportSheetContext;
+import com.mamba.excel.metrics.ImportMetrics;
+import com.mamba.excel.metrics.MetricsKit.CountingOutputStream;
+import com.mamba.excel.metrics.MetricsListenerRegistry;
+import com.mamba.excel.metrics.SheetImportMetrics;
+import com.mamba.excel.partition.ImportPartition;
+import com.mamba.excel.reader.PoiSheetReader;
+import com.mamba.excel.reference.ReferenceIndex;
+import com.mamba.excel.reference.SheetImportPlan;
+import com.mamba.excel.reader.SheetReader;
+import com.mamba.excel.session.ImportSession;
+import com.mamba.excel.session.ImportSessionStore;
+import com.mamba.excel.xls.XlsReader;
+import com.mamba.excel.xlsx.XlsxReader;
 import com.mamba.utils.WebUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.SheetVisibility;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -38,6 +96,8 @@ public class ExcelImporter {
     private static final int HEADER_INDEX = 0;
     /** excel中表头的行数，默认1行 */
     private static final int HEADER_ROW_NUMBER = 1;
+    /** CSV、TSV错误报告中错误提示列的表头，再次导入时忽略该列 */
+    public static final String ERROR_MESSAGE_HEADER = "错误信息";
     /** 表头索引 */
     @Setter
     private int headerIndex;
@@ -55,8 +115,82 @@ public class ExcelImporter {
     private boolean hasErrorData = false;
     /** 错误数据导出工具类 */
     private final ExcelExporter errorExcelExporter;
-    /** Excel读取工具类 */
-    private final ExcelReader reader;
+    /** 导入引擎，默认使用POI */
+    @Setter
+    private ReaderType readerType = ReaderType.POI;
+    /** 是否允许excel中存在@ExcelColumn未映射的列，允许时按表头名称匹配列，未映射的列在解析时直接跳过 */
+    @Setter
+    private boolean ignoreUnmappedColumns = false;
+    /** 是否流式导入：读取过程中逐行校验，每batchSize行回调一次处理器和监听器，不保留完整的数据列表，
+     * 此时checkData中通过getAllDataMap拿不到当前sheet的数据 */
+    @Setter
+    private boolean streaming = false;
+    /** 批次大小：处理器prefetch的批次，以及流式导入时处理器回调、监听器onBatch的批次 */
+    @Setter
+    private int batchSize = 1000;
+    /** 是否检测整行重复：解析时对映射列的规范化值计算64位哈希，与前面的行重复时按校验不通过处理 */
+    @Setter
+    private boolean detectDuplicateRows = false;
+    /** 行级导入监听器 */
+    private final List<ImportListener> listenerList = new ArrayList<>();
+    /** 跨sheet引用索引，checkData中也可以用它代替遍历getAllDataMap做存在性检查 */
+    @Getter
+    private final ReferenceIndex referenceIndex = new ReferenceIndex();
+    /** sheet导入计划 */
+    private SheetImportPlan importPlan;
+    /** 导入计划的来源，默认每次导入时解析，ImportEngine创建的会话使用引擎中预编译的计划 */
+    @Setter(AccessLevel.PACKAGE)
+    private Function<List<Class>, SheetImportPlan> importPlanProvider = SheetImportPlan::of;
+    /** 错误单元格样式，同一个错误excel只创建一次 */
+    private CellStyle checkFailStyle;
+    /** 当前批次的查询缓存，由处理器的prefetch写入，checkData中读取 */
+    @Getter
+    private final LookupContext lookupContext = new LookupContext();
+    /** 错误报告格式，为null时输出错误excel；设置后输出CSV、TSV，单元格的错误提示合并到最后一列，只支持单个sheet */
+    @Setter
+    private CsvFormat errorReportFormat;
+    /** 导入结果缓存，为null时不缓存。所有sheet的处理器cacheable()都返回true时才会使用 */
+    @Setter
+    private ImportCacheStore cacheStore;
+    /** 导入会话存储，为null时不支持增量再次导入。设置后错误excel中写入隐藏的会话sheet，修改后再次导入时只校验错误excel中的行，
+     * 引用和整行重复基于上次导入保存的索引检查。CSV、TSV错误报告没有隐藏sheet，不支持 */
+    @Setter
+    private ImportSessionStore sessionStore;
+    /** 导入会话id，输出错误excel时生成，再次导入时沿用错误excel中的id */
+    @Getter
+    private String sessionId;
+    /** 再次导入时恢复的会话，首次导入或会话已过期时为null */
+    private ImportSession restoredSession;
+    /** 再次导入时，sheet名称 -> 错误excel中的行下标 -> 原始excel中的行下标 */
+    private final Map<String, LongIntMap> sourceRowIndexMap = new HashMap<>(4);
+    /** sheet定义类名 -> 整行哈希，输出错误excel时保存到会话中 */
+    private final Map<String, LongIntMap> sheetRowHashMap = new HashMap<>(4);
+    /** 错误行在原始excel中的位置：[sheet名称, 错误excel中的行下标, 原始excel中的行下标] */
+    private final List<Object[]> errorRowList = new ArrayList<>();
+    /** 断点存储，为null时不记录断点。只在流式导入时生效：每批数据交给处理器后记录sheet、最后提交的行下标和处理器状态，
+     * 进程重启后用同一个文件再次导入时跳过已提交的行继续处理，导入完成后删除断点 */
+    @Setter
+    private CheckpointStore checkpointStore;
+    /** 断点id，为null时使用文件内容的SHA-256和sheet定义类 */
+    @Setter
+    private String checkpointId;
+    /** 续传时读取到的最后一条断点记录，没有断点时为null */
+    private ImportCheckpoint resumedCheckpoint;
+    /** 已经全部提交的sheet定义类名 */
+    private final List<String> completedSheetList = new ArrayList<>();
+    /** sheet定义类名 -> 行下标 -> 校验不通过的属性名和错误提示，续传时从全部断点记录中合并，跳过已提交的行时使用 */
+    private final Map<String, Map<Long, Map<String, List<String>>>> errorRowMap = new HashMap<>(4);
+    /** 导入分区，为null时导入全部行。设置后只有分区范围内的行交给处理器、监听器并生成错误行：分区之前的行只记录整行哈希，
+     * 引用检查使用分区中扫描时建立的引用索引，不在分区内的sheet不读取，分区之后的行停止读取。
+     * 分区没有带引用索引时，被引用的sheet范围之外的行自行校验并写入引用索引，这些行需要全部读取 */
+    @Setter
+    private ImportPartition partition;
+    /** 导入的excel文件 */
+    private final File file;
+    /** 是否web上传落盘的临时文件，导入完成后删除 */
+    private final boolean tempFile;
+    /** sheet行读取器，导入时打开，导入完成后关闭 */
+    private SheetReader sheetReader;
     /** sheet配置 */
     private ExcelConfig.SheetConfig sheetConfig;
     /** 列配置 */
@@ -73,7 +207,8 @@ public class ExcelImporter {
         this.headerIndex = headerIndex;
         this.headerRowNumber = headerRowNumber;
         this.errorExcelExporter = new ExcelExporter(headerIndex, headerRowNumber);
-        this.reader = ExcelUtil.getReader(filePath);
+        this.file = FileUtil.file(filePath);
+        this.tempFile = false;
     }
 
     /**
@@ -85,26 +220,127 @@ public class ExcelImporter {
         this.headerIndex = HEADER_INDEX;
         this.headerRowNumber = HEADER_ROW_NUMBER;
         this.errorExcelExporter = new ExcelExporter(headerIndex, headerRowNumber);
-        this.reader = ExcelUtil.getReader(filePath);
+        this.file = FileUtil.file(filePath);
+        this.tempFile = false;
     }
 
     /**
-     * 构造方法，使用web上传的excel初始化ExcelImporter对象。
+     * 构造方法，使用web上传的excel初始化ExcelImporter对象。上传的文件先落盘到临时文件，导入完成后删除。
      *
      * @param file 上传的MultipartFile文件
      * @throws RuntimeException 如果读取文件输入流时发生IO异常，将抛出运行时异常
      */
     public ExcelImporter(MultipartFile file) {
-        this.headerIndex = HEADER_INDEX;
-        this.headerRowNumber = HEADER_ROW_NUMBER;
+        this(file, HEADER_INDEX, HEADER_ROW_NUMBER);
+    }
+
+    /**
+     * 构造方法，使用web上传的excel初始化ExcelImporter对象。上传的文件先落盘到临时文件，导入完成后删除。
+     *
+     * @param file 上传的MultipartFile文件
+     * @param headerIndex 表头在文件中的索引位置，从0开始。
+     * @param headerRowNumber 表头所在的行号，从0开始。
+     * @throws RuntimeException 如果读取文件输入流时发生IO异常，将抛出运行时异常
+     */
+    public ExcelImporter(MultipartFile file, int headerIndex, int headerRowNumber) {
+        this.headerIndex = headerIndex;
+        this.headerRowNumber = headerRowNumber;
         this.errorExcelExporter = new ExcelExporter(headerIndex, headerRowNumber);
-        try {
-            this.reader = ExcelUtil.getReader(file.getInputStream());
+        this.tempFile = true;
+        try (InputStream in = file.getInputStream()) {
+            this.file = Files.createTempFile("fox-excel-upload", "." + StrUtil.blankToDefault(
+                FileUtil.extName(file.getOriginalFilename()), "xlsx")).toFile();
+            Files.copy(in, this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * 注册行级导入监听器，多个监听器按注册顺序调用
+     *
+     * @param listener 监听器
+     */
+    public void addListener(ImportListener listener) {
+        listenerList.add(listener);
+    }
+
+    /**
+     * 扫描一遍文件，记录每个sheet非空数据行的行下标，按数据行数均分成partitionCount个分区。分区按导入顺序跨越sheet，
+     * 每个分区可以交给独立的线程、进程或节点，用同一个文件和同样的参数创建导入器，通过setPartition流式导入，
+     * 最后用PartitionMerger合并导入结果和错误excel。
+     * <p>
+     * 被其他sheet引用的sheet在扫描时同时绑定、校验全部行（prefetch、checkData和注解校验），校验通过的行写入引用索引，
+     * 随每个分区交给工作节点，分区导入时不再校验范围之外的被引用行。被引用sheet的校验只在这里做一次，
+     * 代价是扫描变慢，分区序列化后的大小随被引用的不同值个数增长。本导入器扫描后不要再用来导入
+     *
+     * @param sheetDefinitionList 表格定义列表
+     * @param partitionCount 分区数
+     * @return 分区列表，数据行少于分区数时后面的分区为空
+     * @throws RuntimeException 分区数小于1或者表头不符合预期时抛出
+     */
+    public List<ImportPartition> partition(List<Class> sheetDefinitionList, int partitionCount) {
+        if (partitionCount < 1) {
+            throw new RuntimeException("分区数必须大于0");
+        }
+        try {
+            importPlan = importPlanProvider.apply(sheetDefinitionList);
+            importPlan.registerReferences(referenceIndex);
+            sheetReader = openSheetReader();
+            List<Class> sheetList = importPlan.getSheetList();
+            List<IntList> rowIndexesList = new ArrayList<>(sheetList.size());
+            long totalRowCount = 0;
+            boolean referenced = false;
+            for (Class sheetDefinition : sheetList) {
+                SheetPlan sheetPlan = importPlan.getSheetPlan(sheetDefinition);
+                sheetConfig = sheetPlan.getSheetConfig();
+                columnConfigList = sheetPlan.getColumnConfigList();
+                RowBoundaryHandler rowHandler = new RowBoundaryHandler();
+                if (referenceIndex.isReferenced(sheetDefinition)) {
+                    // 被引用的sheet读取一遍，同时记录行下标和建立引用索引
+                    referenced = true;
+                    ImportSheetContext context = new ImportSheetContext(sheetDefinition, sheetConfig.getName(),
+                        sheetConfig.getIndex(), new SheetImportMetrics());
+                    OriginDataRowHandler indexHandler =
+                        new OriginDataRowHandler(sheetDefinition, context, null, -1, true);
+                    sheetReader.read(sheetConfig.getIndex(), (sheetIndex, rowIndex, rowCells) -> {
+                        rowHandler.handle(sheetIndex, rowIndex, rowCells);
+                        indexHandler.handle(sheetIndex, rowIndex, rowCells);
+                    });
+                    indexHandler.finishIndex();
+                } else {
+                    sheetReader.read(sheetConfig.getIndex(), rowHandler);
+                }
+                rowIndexesList.add(rowHandler.getRowIndexes());
+                totalRowCount += rowHandler.getRowIndexes().size();
+            }
+            List<ImportPartition> partitionList = new ArrayList<>(partitionCount);
+            for (int i = 0; i < partitionCount; i++) {
+                // 分区内的数据行序号范围[from, to)，序号按导入顺序跨越sheet
+                long from = totalRowCount * i / partitionCount;
+                long to = totalRowCount * (i + 1) / partitionCount;
+                List<ImportPartition.RowRange> rangeList = new ArrayList<>();
+                long offset = 0;
+                for (int k = 0; k < sheetList.size(); k++) {
+                    IntList rowIndexes = rowIndexesList.get(k);
+                    long start = Math.max(from, offset);
+                    long end = Math.min(to, offset + rowIndexes.size());
+                    if (start < end) {
+                        rangeList.add(new ImportPartition.RowRange(sheetList.get(k).getName(),
+                            rowIndexes.get((int)(start - offset)), rowIndexes.get((int)(end - 1 - offset)), end - start));
+                    }
+                    offset += rowIndexes.size();
+                }
+                partitionList.add(
+                    new ImportPartition(i, partitionCount, rangeList, referenced ? referenceIndex : null));
+            }
+            return partitionList;
+        } finally {
+            IoUtil.close(sheetReader);
+            sheetReader = null;
+        }
+    }
+
     /**
      * 导入数据，并将异常数据excel导出到本地磁盘。
      *
@@ -113,13 +349,50 @@ public class ExcelImporter {
      * @param function 用于处理导入结果回调
      */
     public void importData(List<Class> sheetDefinitionList, String errorExcelPath, BiFunction<ImportResultDTO, ExcelExporter, Boolean> function) {
-        importData(sheetDefinitionList);
+        long start = System.nanoTime();
+        String cacheKey = getCacheKey(sheetDefinitionList);
+        ImportCacheEntry cacheEntry = restoreFromCache(cacheKey);
+        if (cacheEntry != null) {
+            // 命中缓存时同样回调function，传入恢复的导入结果
+            Boolean sheetCheck = function.apply(importResultDTO, errorExcelExporter);
+            if (cacheEntry.getErrorWorkbook() != null) {
+                FileUtil.writeBytes(cacheEntry.getErrorWorkbook(), errorExcelPath);
+            } else if (Boolean.FALSE.equals(sheetCheck)) {
+                // 上次导入没有错误excel，本次回调返回false时输出回调中写入的内容
+                this.errorExcelExporter.doExport(errorExcelPath);
+            }
+            publishMetrics(start);
+            return;
+        }
+        importSheets(sheetDefinitionList);
         Boolean sheetCheck = function.apply(importResultDTO, errorExcelExporter);
+        byte[] errorWorkbook = null;
         // 如果有异常数据或者自定义的function返回false，则导出异常数据到客户端
         if (hasErrorData || Boolean.FALSE.equals(sheetCheck)) {
-            ExcelKit.setAutoSizeColumn(this.errorExcelExporter.getWriter());
-            this.errorExcelExporter.doExport(errorExcelPath);
+            saveSession();
+            ErrorWorkbookEvent event = new ErrorWorkbookEvent();
+            event.begin();
+            long errorStart = System.nanoTime();
+            long errorBytes;
+            if (errorReportFormat != null) {
+                try (OutputStream out = new FileOutputStream(errorExcelPath)) {
+                    errorBytes = writeErrorReport(out);
+                } catch (IOException e) {
+                    throw new IORuntimeException(e);
+                }
+            } else {
+                ExcelKit.setAutoSizeColumn(this.errorExcelExporter.getWriter());
+                this.errorExcelExporter.doExport(errorExcelPath);
+                errorBytes = errorExcelExporter.getExportResultDTO().getMetrics().getBytesWritten();
+            }
+            recordErrorWorkbook(errorStart, event, FileUtil.getName(errorExcelPath), errorBytes);
+            if (cacheKey != null) {
+                errorWorkbook = FileUtil.readBytes(errorExcelPath);
+            }
         }
+        clearCheckpoint();
+        saveToCache(cacheKey, errorWorkbook);
+        publishMetrics(start);
     }
 
     /**
@@ -133,15 +406,62 @@ public class ExcelImporter {
      */
     public void importData(List<Class> sheetDefinitionList, HttpServletResponse response, String errorExcelName,
         Supplier success, BiFunction<ImportResultDTO, ExcelExporter, Boolean> function) {
-        importData(sheetDefinitionList);
+        long start = System.nanoTime();
+        String cacheKey = getCacheKey(sheetDefinitionList);
+        ImportCacheEntry cacheEntry = restoreFromCache(cacheKey);
+        if (cacheEntry != null) {
+            // 命中缓存时同样回调function，传入恢复的导入结果
+            Boolean sheetCheck = function.apply(importResultDTO, errorExcelExporter);
+            if (cacheEntry.getErrorWorkbook() != null) {
+                writeErrorReport(response, errorExcelName, cacheEntry.getErrorWorkbook());
+            } else if (Boolean.FALSE.equals(sheetCheck)) {
+                // 上次导入没有错误excel，本次回调返回false时输出回调中写入的内容
+                this.errorExcelExporter.doExport(response, errorExcelName);
+            } else {
+                WebUtil.writeJson2Response(response, success.get());
+            }
+            publishMetrics(start);
+            return;
+        }
+        importSheets(sheetDefinitionList);
         Boolean sheetCheck = function.apply(importResultDTO, errorExcelExporter);
+        byte[] errorWorkbook = null;
         // 如果有异常数据或者自定义的function返回false，则导出异常数据到客户端
         if (hasErrorData || Boolean.FALSE.equals(sheetCheck)) {
-            ExcelKit.setAutoSizeColumn(this.errorExcelExporter.getWriter());
-            this.errorExcelExporter.doExport(response, errorExcelName);
+            saveSession();
+            ErrorWorkbookEvent event = new ErrorWorkbookEvent();
+            event.begin();
+            long errorStart = System.nanoTime();
+            long errorBytes;
+            if (errorReportFormat != null) {
+                // 错误报告通常不大，先输出到内存，再发送给客户端
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                errorBytes = writeErrorReport(out);
+                byte[] errorReport = out.toByteArray();
+                if (cacheKey != null) {
+                    errorWorkbook = errorReport;
+                }
+                writeErrorReport(response, errorExcelName, errorReport);
+            } else {
+                ExcelKit.setAutoSizeColumn(this.errorExcelExporter.getWriter());
+                if (cacheKey != null) {
+                    // 需要缓存时先输出到内存，再发送给客户端
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    this.errorExcelExporter.doExport(out);
+                    errorWorkbook = out.toByteArray();
+                    ExcelExporter.writeWorkbook(response, errorExcelName, errorWorkbook);
+                } else {
+                    this.errorExcelExporter.doExport(response, errorExcelName);
+                }
+                errorBytes = errorExcelExporter.getExportResultDTO().getMetrics().getBytesWritten();
+            }
+            recordErrorWorkbook(errorStart, event, errorExcelName, errorBytes);
         } else {
             WebUtil.writeJson2Response(response, success.get());
         }
+        clearCheckpoint();
+        saveToCache(cacheKey, errorWorkbook);
+        publishMetrics(start);
     }
 
     /**
@@ -150,46 +470,463 @@ public class ExcelImporter {
      * @param sheetDefinitionList 表格定义列表，每个元素代表一个表格的类定义
      */
     public void importData(List<Class> sheetDefinitionList) {
+        long start = System.nanoTime();
+        String cacheKey = getCacheKey(sheetDefinitionList);
+        if (restoreFromCache(cacheKey) == null) {
+            importSheets(sheetDefinitionList);
+            clearCheckpoint();
+            saveToCache(cacheKey, null);
+        }
+        publishMetrics(start);
+    }
+
+    /**
+     * 生成导入结果缓存键：文件内容的SHA-256、sheet定义类和影响导入结果的参数。分区导入只得到分区内的结果，
+     * 分区序号和分区数同样计入缓存键，与不分区导入、其他分区的结果互不命中
+     *
+     * @param sheetDefinitionList 表格定义列表
+     * @return 缓存键，没有配置缓存或者有处理器不允许缓存时返回null
+     */
+    private String getCacheKey(List<Class> sheetDefinitionList) {
+        if (cacheStore == null) {
+            return null;
+        }
         for (Class sheetDefinition : sheetDefinitionList) {
-            ExcelSheet excelSheet = (ExcelSheet) sheetDefinition.getAnnotation(ExcelSheet.class);
-            AbstractExcelDataHandler excelDataHandler = ExcelDataHandlerFactory.getExcelDataHandler(sheetDefinition);
-            sheetConfig = ExcelConfig.getSheetConfig(sheetDefinition);
-            columnConfigList = ExcelConfig.getColumnConfig(sheetDefinition);
-            List originExcelDataList = getOriginExcelData(sheetDefinition);
-            allDataMap.put(sheetDefinition.getName(),
-                    CollectionUtil.defaultIfEmpty(originExcelDataList, Collections.emptyList()));
-            generateErrorExcelHeader();
-            Map<String, Integer> columnConfigMap = columnConfigList.stream()
-                    .collect(Collectors.toMap(ExcelConfig.ColumnConfig::getFieldName, ExcelConfig.ColumnConfig::getIndex));
-            if (CollectionUtil.isNotEmpty(originExcelDataList)) {
-                // 有效数据
-                List validDataList = new ArrayList();
-                // 无效数据
-                List invalidDataList = new ArrayList();
-                int errorDataSize = 0;
-                for (Object originExcelData : originExcelDataList) {
-                    if (originExcelData == null) {
+            if (!ExcelDataHandlerFactory.getExcelDataHandler(sheetDefinition).cacheable()) {
+                return null;
+            }
+        }
+        return DigestUtil.sha256Hex(file) + "|"
+            + sheetDefinitionList.stream().map(Class::getName).collect(Collectors.joining(",")) + "|" + readerType
+            + "," + headerIndex + "," + headerRowNumber + "," + ignoreUnmappedColumns + "," + detectDuplicateRows
+            + "," + streaming + "," + errorReportFormat
+            + (partition == null ? "" : "|" + partition.getPartitionIndex() + "/" + partition.getPartitionCount());
+    }
+
+    /**
+     * 从缓存中恢复导入结果，命中时web上传的临时文件同时删除
+     *
+     * @param cacheKey 缓存键，为null时不查缓存
+     * @return 缓存项，没有命中时返回null
+     */
+    private ImportCacheEntry restoreFromCache(String cacheKey) {
+        ImportCacheEntry cacheEntry = cacheKey == null ? null : cacheStore.get(cacheKey);
+        if (cacheEntry == null) {
+            return null;
+        }
+        ImportResultDTO cachedResult = cacheEntry.getImportResultDTO();
+        hasErrorData = cachedResult.isHasErrorData();
+        importResultDTO.setHasErrorData(hasErrorData);
+        importResultDTO.setSheetResultList(cachedResult.getSheetResultList());
+        allDataMap = cacheEntry.getAllDataMap();
+        ImportMetrics metrics = importResultDTO.getMetrics();
+        metrics.setFileName(file.getName());
+        metrics.setBytesRead(file.length());
+        metrics.setCacheHit(true);
+        if (cacheEntry.getErrorWorkbook() != null) {
+            metrics.setErrorWorkbookBytes(cacheEntry.getErrorWorkbook().length);
+        }
+        if (tempFile) {
+            FileUtil.del(file);
+        }
+        return cacheEntry;
+    }
+
+    /**
+     * 缓存导入结果
+     *
+     * @param cacheKey 缓存键，为null时不缓存
+     * @param errorWorkbook 错误excel的内容，没有输出错误excel时为null
+     */
+    private void saveToCache(String cacheKey, byte[] errorWorkbook) {
+        if (cacheKey != null) {
+            cacheStore.put(cacheKey, new ImportCacheEntry(importResultDTO, allDataMap, errorWorkbook,
+                System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * 读取错误excel中隐藏的会话sheet，恢复上次导入保存的索引和错误行在原始excel中的行下标。没有会话sheet时按首次导入处理；
+     * 会话已过期时仍然换算原始行下标，但引用和整行重复只在本次导入的数据中检查
+     */
+    private void restoreSession() {
+        if (sessionStore == null) {
+            return;
+        }
+        int sessionSheetIndex = sheetReader.getSheetIndex(ImportSession.SESSION_SHEET_NAME);
+        if (sessionSheetIndex < 0) {
+            return;
+        }
+        sheetReader.read(sessionSheetIndex, (sheetIndex, rowIndex, rowCells) -> {
+            if (rowIndex == 0) {
+                sessionId = StrUtil.toStringOrNull(rowCells.get(1));
+                return;
+            }
+            sourceRowIndexMap.computeIfAbsent(StrUtil.toStringOrNull(rowCells.get(0)), k -> new LongIntMap(64))
+                .put(Convert.toLong(rowCells.get(1)), Convert.toInt(rowCells.get(2)));
+        });
+        restoredSession = sessionId == null ? null : sessionStore.get(sessionId);
+        if (restoredSession == null) {
+            log.warn("导入会话{}不存在或已过期，引用和整行重复只在本次导入的数据中检查", sessionId);
+            return;
+        }
+        referenceIndex.putAll(restoredSession.getReferenceIndex());
+    }
+
+    /**
+     * 保存导入会话，并在错误excel中写入隐藏的会话sheet：第一行是会话id，之后每行是[sheet名称, 错误excel中的行下标, 原始excel中的行下标]
+     */
+    private void saveSession() {
+        if (sessionStore == null || errorReportFormat != null) {
+            return;
+        }
+        if (sessionId == null) {
+            sessionId = IdUtil.fastSimpleUUID();
+        }
+        sessionStore.put(new ImportSession(sessionId, referenceIndex, sheetRowHashMap, System.currentTimeMillis()));
+        Workbook workbook = errorExcelExporter.getWriter().getWorkbook();
+        Sheet sheet = workbook.createSheet(ImportSession.SESSION_SHEET_NAME);
+        workbook.setSheetVisibility(workbook.getSheetIndex(sheet), SheetVisibility.VERY_HIDDEN);
+        Row row = sheet.createRow(0);
+        row.createCell(0).setCellValue("sessionId");
+        row.createCell(1).setCellValue(sessionId);
+        for (int i = 0; i < errorRowList.size(); i++) {
+            Object[] errorRow = errorRowList.get(i);
+            row = sheet.createRow(i + 1);
+            row.createCell(0).setCellValue((String)errorRow[0]);
+            row.createCell(1).setCellValue((Integer)errorRow[1]);
+            row.createCell(2).setCellValue((Long)errorRow[2]);
+        }
+    }
+
+    /**
+     * 获取sheet的整行哈希表，再次导入时从会话中复制一份，需要保存会话时记录下来
+     *
+     * @param sheetDefinition 表格定义类
+     * @return 整行哈希表
+     */
+    private LongIntMap newRowHashMap(Class sheetDefinition) {
+        LongIntMap savedMap = restoredSession == null ? null
+            : restoredSession.getRowHashMap().get(sheetDefinition.getName());
+        LongIntMap rowHashMap = savedMap == null ? new LongIntMap() : savedMap.copy();
+        if (sessionStore != null) {
+            sheetRowHashMap.put(sheetDefinition.getName(), rowHashMap);
+        }
+        return rowHashMap;
+    }
+
+    /**
+     * 是否记录断点，只有流式导入才会每批提交给处理器
+     *
+     * @return 是否记录断点
+     */
+    private boolean isCheckpointEnabled() {
+        return checkpointStore != null && streaming;
+    }
+
+    /**
+     * 读取断点，续传时恢复已经全部提交的sheet和已提交行的错误提示
+     *
+     * @param sheetDefinitionList 表格定义列表
+     */
+    private void restoreCheckpoint(List<Class> sheetDefinitionList) {
+        if (!isCheckpointEnabled()) {
+            return;
+        }
+        if (checkpointId == null) {
+            checkpointId = DigestUtil.sha256Hex(file) + "|"
+                + sheetDefinitionList.stream().map(Class::getName).collect(Collectors.joining(","))
+                + (partition == null ? "" : "|" + partition.getPartitionIndex() + "/" + partition.getPartitionCount());
+        }
+        List<ImportCheckpoint> checkpointList = checkpointStore.get(checkpointId);
+        if (checkpointList.isEmpty()) {
+            return;
+        }
+        resumedCheckpoint = checkpointList.get(checkpointList.size() - 1);
+        log.info("从断点续传导入{}，已完成的sheet：{}，{}已提交到第{}行", file.getName(),
+            resumedCheckpoint.getCompletedSheetList(), resumedCheckpoint.getSheetDefinition(),
+            resumedCheckpoint.getRowIndex() + 1);
+        completedSheetList.addAll(resumedCheckpoint.getCompletedSheetList());
+        // 每条记录只保存本批次的错误行，按追加顺序合并
+        for (ImportCheckpoint checkpoint : checkpointList) {
+            if (!checkpoint.getErrorRowMap().isEmpty()) {
+                errorRowMap.computeIfAbsent(checkpoint.getSheetDefinition(), k -> new TreeMap<>())
+                    .putAll(checkpoint.getErrorRowMap());
+            }
+        }
+    }
+
+    /**
+     * 获取sheet已经提交的最后一个行下标
+     *
+     * @param sheetDefinition 表格定义类
+     * @return 行下标，整个sheet都已提交时返回Long.MAX_VALUE，没有断点时返回-1
+     */
+    private long getCommittedRowIndex(Class sheetDefinition) {
+        if (completedSheetList.contains(sheetDefinition.getName())) {
+            return Long.MAX_VALUE;
+        }
+        if (resumedCheckpoint != null && sheetDefinition.getName().equals(resumedCheckpoint.getSheetDefinition())) {
+            return resumedCheckpoint.getRowIndex();
+        }
+        return -1;
+    }
+
+    /**
+     * 追加一条断点记录，只写入本批次的错误行，存储实现可以直接持有断点对象
+     *
+     * @param sheetDefinition 正在导入的sheet定义类，sheet全部提交后为null
+     * @param rowIndex 最后提交的行下标
+     * @param handlerState 处理器状态
+     * @param batchErrorRowMap 本批次中校验不通过的行，调用方之后不再修改
+     */
+    private void saveCheckpoint(Class sheetDefinition, long rowIndex, Serializable handlerState,
+        Map<Long, Map<String, List<String>>> batchErrorRowMap) {
+        checkpointStore.append(new ImportCheckpoint(checkpointId, new ArrayList<>(completedSheetList),
+            sheetDefinition == null ? null : sheetDefinition.getName(), rowIndex, handlerState, batchErrorRowMap,
+            System.currentTimeMillis()));
+    }
+
+    /**
+     * 导入完成，删除断点
+     */
+    private void clearCheckpoint() {
+        if (isCheckpointEnabled() && checkpointId != null) {
+            checkpointStore.remove(checkpointId);
+        }
+    }
+
+    /**
+     * 记录错误excel的输出耗时和字节数
+     *
+     * @param start 开始输出的时间，System.nanoTime()
+     * @param event 开始输出时创建的JFR事件
+     * @param fileName 错误excel文件名
+     * @param bytes 错误excel的字节数
+     */
+    private void recordErrorWorkbook(long start, ErrorWorkbookEvent event, String fileName, long bytes) {
+        ImportMetrics metrics = importResultDTO.getMetrics();
+        metrics.setErrorWorkbookNanos(System.nanoTime() - start);
+        metrics.setErrorWorkbookBytes(bytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.fileName = fileName;
+            event.errorRowCount = metrics.getInvalidCount();
+            event.bytes = metrics.getErrorWorkbookBytes();
+            event.commit();
+        }
+    }
+
+    /**
+     * 把错误excel当前sheet转成CSV、TSV错误报告。单元格按excel中显示的文本输出，
+     * 数据行中单元格备注里的错误提示按"表头: 提示"合并到最后的错误信息列
+     *
+     * @param out 输出流，不会被关闭
+     * @return 输出的字节数
+     */
+    private long writeErrorReport(OutputStream out) {
+        Sheet sheet = errorExcelExporter.getWriter().getWorkbook().getSheet(sheetConfig.getName());
+        DataFormatter formatter = new DataFormatter();
+        CountingOutputStream countingOut = new CountingOutputStream(out);
+        int columnCount = columnConfigList.size();
+        Object[] values = new Object[columnCount + 1];
+        try (CsvWriter csvWriter = new CsvWriter(countingOut, errorReportFormat)) {
+            for (int i = 0; i <= sheet.getLastRowNum(); i++) {
+                Arrays.fill(values, null);
+                Row row = sheet.getRow(i);
+                StringBuilder message = new StringBuilder();
+                for (int k = 0; row != null && k < columnCount; k++) {
+                    Cell cell = row.getCell(k);
+                    if (cell == null) {
                         continue;
                     }
-                    Map<String, List<String>> checkResultMap = excelDataHandler.checkData(originExcelData, this);
-                    if (checkResultMap.size() > 0) {
-                        hasErrorData = true;
-                        importResultDTO.setHasErrorData(hasErrorData);
-                        errorDataSize++;
-                        generateErrorExcelRow(originExcelData, errorDataSize, columnConfigMap, checkResultMap);
-                        invalidDataList.add(originExcelData);
-                    } else {
-                        validDataList.add(excelDataHandler.fillExtraData(originExcelData));
+                    values[k] = StrUtil.emptyToNull(formatter.formatCellValue(cell));
+                    Comment comment = cell.getCellComment();
+                    if (i >= headerRowNumber && comment != null) {
+                        message.append(message.length() == 0 ? "" : "；").append(columnConfigList.get(k).getHeader())
+                            .append(": ").append(comment.getString().getString());
                     }
                 }
+                values[columnCount] = i == headerIndex ? ERROR_MESSAGE_HEADER : StrUtil.emptyToNull(message);
+                csvWriter.writeRow(values);
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        return countingOut.getCount();
+    }
+
+    /**
+     * 把已经生成好的错误报告发送给客户端
+     *
+     * @param response HttpServletResponse对象
+     * @param fileName 错误报告文件名
+     * @param errorReport 错误报告内容
+     */
+    private void writeErrorReport(HttpServletResponse response, String fileName, byte[] errorReport) {
+        if (errorReportFormat == null) {
+            ExcelExporter.writeWorkbook(response, fileName, errorReport);
+            return;
+        }
+        OutputStream out = null;
+        try {
+            out = ExcelExporter.getResponseOutputStream(response, FileUtil.mainName(fileName),
+                errorReportFormat.getExtension(), errorReportFormat.getContentType());
+            out.write(errorReport);
+        } catch (IOException e) {
+            log.error("导出excel异常", e);
+        }
+        IoUtil.close(out);
+    }
+
+    /**
+     * 记录导入总耗时并发布导入指标
+     *
+     * @param start 导入开始时间，System.nanoTime()
+     */
+    private void publishMetrics(long start) {
+        ImportMetrics metrics = importResultDTO.getMetrics();
+        metrics.setTotalNanos(System.nanoTime() - start);
+        MetricsListenerRegistry.publish(metrics);
+    }
+
+    /**
+     * 打开文件逐个导入sheet，导入完成后关闭文件，web上传的临时文件同时删除
+     *
+     * @param sheetDefinitionList 表格定义列表，每个元素代表一个表格的类定义
+     */
+    private void importSheets(List<Class> sheetDefinitionList) {
+        ImportMetrics metrics = importResultDTO.getMetrics();
+        metrics.setFileName(file.getName());
+        metrics.setBytesRead(file.length());
+        if (readerType.getCsvFormat() != null && sheetDefinitionList.size() != 1) {
+            throw new RuntimeException(readerType + "文件只能导入一个sheet");
+        }
+        if (errorReportFormat != null && sheetDefinitionList.size() != 1) {
+            throw new RuntimeException(errorReportFormat + "错误报告只支持导入一个sheet");
+        }
+        try {
+            importPlan = importPlanProvider.apply(sheetDefinitionList);
+            importPlan.registerReferences(referenceIndex);
+            if (partition != null && partition.getReferenceIndex() != null) {
+                referenceIndex.putAll(partition.getReferenceIndex());
+            }
+            WorkbookOpenEvent event = new WorkbookOpenEvent();
+            event.begin();
+            sheetReader = openSheetReader();
+            event.end();
+            if (event.shouldCommit()) {
+                event.fileName = file.getName();
+                event.readerType = readerType.name();
+                event.bytes = metrics.getBytesRead();
+                event.commit();
+            }
+            restoreSession();
+            restoreCheckpoint(sheetDefinitionList);
+            doImportData(importPlan.getSheetList());
+        } finally {
+            IoUtil.close(sheetReader);
+            sheetReader = null;
+            if (tempFile) {
+                FileUtil.del(file);
+            }
+        }
+    }
+
+    /**
+     * 根据导入引擎打开sheet行读取器，原生引擎按文件头的魔数区分xls和xlsx，不依赖文件扩展名。
+     * POI引擎只解析导入计划中的sheet，原生引擎本身按需读取sheet
+     *
+     * @return sheet行读取器
+     */
+    private SheetReader openSheetReader() {
+        if (readerType.getCsvFormat() != null) {
+            return new CsvReader(file, readerType.getCsvFormat());
+        }
+        if (readerType == ReaderType.NATIVE) {
+            return isXls() ? new XlsReader(file) : new XlsxReader(file);
+        }
+        return new PoiSheetReader(file, (index, name) -> importPlan.isSheetRequested(index, name)
+            || sessionStore != null && ImportSession.SESSION_SHEET_NAME.equals(name));
+    }
+
+    /**
+     * 判断导入文件是否xls（OLE2复合文档）
+     *
+     * @return 是否xls
+     */
+    private boolean isXls() {
+        try {
+            return FileMagic.valueOf(file) == FileMagic.OLE2;
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 逐个sheet导入数据并处理。
+     *
+     * @param sheetDefinitionList 按引用关系排好序的表格定义列表，每个元素代表一个表格的类定义
+     */
+    private void doImportData(List<Class> sheetDefinitionList) {
+        for (Class sheetDefinition : sheetDefinitionList) {
+            ExcelSheet excelSheet = (ExcelSheet) sheetDefinition.getAnnotation(ExcelSheet.class);
+            AbstractExcelDataHandler excelDataHandler = ExcelDataHandlerFactory.getExcelDataHandler(sheetDefinition);
+            SheetPlan sheetPlan = importPlan.getSheetPlan(sheetDefinition);
+            sheetConfig = sheetPlan.getSheetConfig();
+            columnConfigList = sheetPlan.getColumnConfigList();
+            SheetImportMetrics sheetMetrics = new SheetImportMetrics();
+            sheetMetrics.setSheetName(sheetConfig.getName());
+            importResultDTO.getMetrics().getSheetMetricsList().add(sheetMetrics);
+            ImportSheetContext context =
+                new ImportSheetContext(sheetDefinition, sheetConfig.getName(), sheetConfig.getIndex(), sheetMetrics);
+            listenerList.forEach(listener -> listener.onSheetStart(context));
+            generateErrorExcelHeader();
+            SheetValidator validator = new SheetValidator(excelDataHandler, context);
+            if (streaming) {
+                allDataMap.put(sheetDefinition.getName(), Collections.emptyList());
+            }
+            long committedRowIndex = isCheckpointEnabled() ? getCommittedRowIndex(sheetDefinition) : -1;
+            if (committedRowIndex >= 0 && committedRowIndex < Long.MAX_VALUE) {
+                excelDataHandler.restoreCheckpointState(resumedCheckpoint.getHandlerState());
+            }
+            // 流式导入时在读取过程中逐行校验，不保留原始数据列表
+            OriginDataRowHandler rowHandler = new OriginDataRowHandler(sheetDefinition, context,
+                streaming ? validator : null, committedRowIndex, false);
+            if (rowHandler.isReadRequired()) {
+                readSheet(rowHandler, validator, context);
+                rowHandler.finishIndex();
+            }
+            List originExcelDataList = rowHandler.getResult();
+            if (streaming) {
+                validator.finish();
+                if (isCheckpointEnabled() && !completedSheetList.contains(sheetDefinition.getName())) {
+                    completedSheetList.add(sheetDefinition.getName());
+                    saveCheckpoint(null, -1, null, Collections.emptyMap());
+                }
                 importResultDTO.getSheetResultList().add(ImportResultDTO.SheetResult.builder().excelSheet(excelSheet)
-                        .validDataList(validDataList).invalidDataList(invalidDataList).build());
-                excelDataHandler.validDataList(validDataList);
-                excelDataHandler.invalidDataList(invalidDataList);
+                        .validDataList(new ArrayList()).invalidDataList(new ArrayList()).build());
             } else {
-                importResultDTO.getSheetResultList()
-                        .add(ImportResultDTO.SheetResult.builder().excelSheet(excelSheet).build());
+                allDataMap.put(sheetDefinition.getName(),
+                        CollectionUtil.defaultIfEmpty(originExcelDataList, Collections.emptyList()));
+                if (CollectionUtil.isNotEmpty(originExcelDataList)) {
+                    IntList rowIndexes = rowHandler.getRowIndexes();
+                    IntList duplicateOfList = rowHandler.getDuplicateOfList();
+                    for (int i = 0; i < originExcelDataList.size(); i++) {
+                        validator.add(originExcelDataList.get(i), rowIndexes.get(i),
+                            duplicateOfList.isEmpty() ? 0 : duplicateOfList.get(i));
+                    }
+                    validator.finish();
+                    importResultDTO.getSheetResultList().add(ImportResultDTO.SheetResult.builder()
+                            .excelSheet(excelSheet).validDataList(validator.getValidDataList())
+                            .invalidDataList(validator.getInvalidDataList()).build());
+                } else {
+                    importResultDTO.getSheetResultList()
+                            .add(ImportResultDTO.SheetResult.builder().excelSheet(excelSheet).build());
+                }
+                sheetMetrics.setPeakRowBufferSize(originExcelDataList.size());
             }
+            listenerList.forEach(listener -> listener.onSheetEnd(context));
         }
     }
 
@@ -218,56 +955,766 @@ public class ExcelImporter {
         this.errorExcelExporter.fillContent(columnConfigList, originExcelData, errorDataSize - headerRowNumber);
         // 根据checkResultMap的key定位列下标，value生成错误提示
         int finalErrorDataSize = errorDataSize;
+        if (checkFailStyle == null) {
+            checkFailStyle = ExcelKit.getCheckFailRedStyle(writer);
+        }
         checkResultMap.forEach((key, value) -> {
             Integer columnIndex = columnConfigMap.get(key);
             ExcelKit.setCellComment(writer, finalErrorDataSize, columnIndex, value.toString());
             // 给校验异常的单元格设置背景色为醒目红色
-            writer.setStyle(ExcelKit.getCheckFailRedStyle(writer), columnIndex, finalErrorDataSize);
+            writer.setStyle(checkFailStyle, columnIndex, finalErrorDataSize);
         });
     }
 
     /**
-     * 获取Excel中的原始数据。
+     * 读取sheet中的数据。表头行按@ExcelColumn的表头映射到属性名，数据行转成Map后通过Fastjson转成DTO，空行忽略。
      *
-     * @param sheetDefinition 表格定义类
-     * @return Excel中的原始数据列表
+     * @param rowHandler 原始数据行处理器
+     * @param validator sheet数据校验器，流式导入时在读取过程中校验
+     * @param context sheet上下文，在sheet导入指标中记录解析和绑定耗时
      */
-    private List getOriginExcelData(Class sheetDefinition) {
-        reader.setSheet(sheetConfig.getIndex());
-        checkHeader(reader, columnConfigList);
-        Map<String, String> headerAlias = new HashMap<>(16);
-        for (ExcelConfig.ColumnConfig columnConfig : columnConfigList) {
-            headerAlias.put(columnConfig.getHeader(), columnConfig.getFieldName());
+    private void readSheet(OriginDataRowHandler rowHandler, SheetValidator validator, ImportSheetContext context) {
+        SheetParseEvent event = new SheetParseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            sheetReader.read(sheetConfig.getIndex(), rowHandler);
+        } catch (StopReadingException e) {
+            // 分区之后的行不需要读取
         }
-        reader.setHeaderAlias(headerAlias);
-        // excel中的原始数据
-        List<Map<String, Object>> data =
-            reader.read(HEADER_INDEX, HEADER_ROW_NUMBER, reader.getSheet().getLastRowNum());
-        List result = new ArrayList();
-        if (CollectionUtil.isNotEmpty(data)) {
-            for (Map<String, Object> map : data) {
-                result.add(JSON.parseObject(JSON.toJSONString(map), sheetDefinition));
-            }
+        // 行处理器内的耗时是绑定和流式校验，其余是读取和解析
+        SheetImportMetrics sheetMetrics = context.getMetrics();
+        sheetMetrics.setRowCount(rowHandler.getRowCount());
+        sheetMetrics.setSkippedRowCount(rowHandler.getSkippedRowCount());
+        sheetMetrics.setBindNanos(rowHandler.getBindNanos());
+        sheetMetrics.setParseNanos(System.nanoTime() - start - rowHandler.getBindNanos() - validator.getElapsedNanos());
+        event.end();
+        if (event.shouldCommit()) {
+            event.sheetName = context.getSheetName();
+            event.sheetIndex = context.getSheetIndex();
+            event.rowCount = rowHandler.getRowCount();
+            event.streaming = streaming;
+            event.commit();
         }
-        return result;
     }
 
     /**
-     * 检查Excel表格的表头是否符合预期。
+     * 检查Excel表格的表头是否符合预期。允许未映射的列时，只检查@ExcelColumn配置的表头都存在。
      *
-     * @param reader ExcelReader对象，用于读取Excel表格数据
+     * @param sheetName sheet名称
+     * @param headerList 表头行的单元格值
      * @param columnConfigList 列配置列表，包含每列的索引和预期的表头名称
      * @throws RuntimeException 如果表头不符合预期，则抛出运行时异常
      */
-    private void checkHeader(ExcelReader reader, List<ExcelConfig.ColumnConfig> columnConfigList) {
-        List<Object> headerList = reader.readRow(HEADER_INDEX);
+    private void checkHeader(String sheetName, List<Object> headerList,
+        List<ExcelConfig.ColumnConfig> columnConfigList) {
+        if (ignoreUnmappedColumns) {
+            for (ExcelConfig.ColumnConfig columnConfig : columnConfigList) {
+                if (!headerList.contains(columnConfig.getHeader())) {
+                    throw new RuntimeException(sheetName + "缺少表头【" + columnConfig.getHeader() + "】");
+                }
+            }
+            return;
+        }
         Map<Integer, String> headerConfigMap = columnConfigList.stream()
             .collect(Collectors.toMap(ExcelConfig.ColumnConfig::getIndex, ExcelConfig.ColumnConfig::getHeader));
-        for (int i = 0; i < headerList.size(); i++) {
+        // CSV、TSV错误报告最后的错误信息列不参与检查，修改后可以直接再次导入
+        int headerSize = headerList.size();
+        if (headerSize > columnConfigList.size() && ERROR_MESSAGE_HEADER.equals(headerList.get(headerSize - 1))) {
+            headerSize--;
+        }
+        for (int i = 0; i < headerSize; i++) {
             if (!ObjectUtil.equals(headerConfigMap.get(i), headerList.get(i))) {
-                throw new RuntimeException(reader.getSheet().getSheetName() + "表头【" + headerList.get(i) + "】应该是【"
+                throw new RuntimeException(sheetName + "表头【" + headerList.get(i) + "】应该是【"
                     + headerConfigMap.get(i) + "】");
             }
         }
     }
+
+    /**
+     * 判断是否空行：没有单元格，或者所有单元格都为null、空白字符串
+     *
+     * @param rowCells 行的单元格值
+     * @return 是否空行
+     */
+    private static boolean isEmptyRow(List<Object> rowCells) {
+        if (CollectionUtil.isEmpty(rowCells)) {
+            return true;
+        }
+        for (Object cell : rowCells) {
+            if (cell != null && !(cell instanceof CharSequence && StrUtil.isBlank((CharSequence)cell))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 原始数据行处理器：校验表头，根据表头生成列投影，把数据行按表头映射的属性名转成DTO。
+     * 没有映射到属性的列在解析时就被跳过，不做解码、类型转换和Map写入
+     */
+    private class OriginDataRowHandler implements RowHandler {
+        /** 表格定义类 */
+        private final Class sheetDefinition;
+        /** sheet上下文 */
+        private final ImportSheetContext context;
+        /** 流式导入时的校验器，为null时数据保存到result中 */
+        private final SheetValidator validator;
+        /** 表头 -> 列配置 */
+        private final Map<String, ExcelConfig.ColumnConfig> headerAlias = new HashMap<>(16);
+        /** 列下标 -> 列配置，根据表头行生成，未映射的列为null */
+        private ExcelConfig.ColumnConfig[] columns;
+        /** Excel中的原始数据列表 */
+        @Getter
+        private final List result = new ArrayList();
+        /** result中每条数据的行下标 */
+        @Getter
+        private final IntList rowIndexes = new IntList();
+        /** result中每条数据整行重复的excel行号，不重复为0，不检测重复时为空 */
+        @Getter
+        private final IntList duplicateOfList = new IntList();
+        /** 整行哈希 -> 第一次出现的excel行号，不检测重复时为null */
+        private final LongIntMap rowHashMap;
+        /** 再次导入时错误excel中的行下标 -> 原始excel中的行下标，首次导入时为null */
+        private final LongIntMap sourceRowIndexes;
+        /** 断点中已提交的最后一个行下标，没有断点时为-1 */
+        private final long committedRowIndex;
+        /** 已提交行中校验不通过的行下标 -> 错误提示，没有断点时为null */
+        private final Map<Long, Map<String, List<String>>> committedErrorMap;
+        /** 当前sheet是否被其他sheet引用 */
+        private final boolean referenced;
+        /** 分区范围的第一个行下标，之前的行不校验 */
+        private final long startRowIndex;
+        /** 分区范围的最后一个行下标，之后的行不校验 */
+        private final long endRowIndex;
+        /** 被引用sheet范围之外的行的校验器，只把校验通过的行写入引用索引。分区扫描时建立索引，
+         * 或者分区没有带引用索引时使用，不需要时为null */
+        private final SheetValidator indexValidator;
+        /** 列投影，根据表头行生成 */
+        private boolean[] projection;
+        /** 编译期生成的编解码器，为null时按JSON绑定 */
+        private SheetCodec codec;
+        /** 读取到的数据行数 */
+        @Getter
+        private long rowCount;
+        /** 数据行绑定成DTO的累计耗时 */
+        @Getter
+        private long bindNanos;
+        /** 断点续传时跳过的已提交行数 */
+        @Getter
+        private long skippedRowCount;
+
+        /**
+         * 构造方法
+         *
+         * @param sheetDefinition 表格定义类
+         * @param context sheet上下文
+         * @param validator 流式导入时的校验器，为null时数据保存到result中
+         * @param committedRowIndex 断点中已提交的最后一个行下标，没有断点时为-1
+         * @param indexOnly 是否只建立引用索引，分区扫描时使用：所有行都按范围之外处理，被引用sheet校验通过的行写入引用索引
+         */
+        private OriginDataRowHandler(Class sheetDefinition, ImportSheetContext context, SheetValidator validator,
+            long committedRowIndex, boolean indexOnly) {
+            this.sheetDefinition = sheetDefinition;
+            this.context = context;
+            this.validator = validator;
+            this.committedRowIndex = committedRowIndex;
+            this.committedErrorMap = committedRowIndex < 0 ? null : errorRowMap.get(sheetDefinition.getName());
+            this.referenced = referenceIndex.isReferenced(sheetDefinition);
+            ImportPartition.RowRange range = partition == null ? null : partition.getRange(sheetDefinition);
+            if (partition == null && !indexOnly) {
+                this.startRowIndex = 0;
+                this.endRowIndex = Long.MAX_VALUE;
+            } else if (range == null) {
+                this.startRowIndex = Long.MAX_VALUE;
+                this.endRowIndex = Long.MAX_VALUE;
+            } else {
+                this.startRowIndex = range.getStartRowIndex();
+                this.endRowIndex = range.getEndRowIndex();
+            }
+            // 分区带有扫描时建立的引用索引时，范围之外的被引用行不再校验
+            boolean indexRequired = indexOnly || partition != null && partition.getReferenceIndex() == null;
+            this.indexValidator = indexRequired && referenced
+                ? new SheetValidator(ExcelDataHandlerFactory.getExcelDataHandler(sheetDefinition), context, true) : null;
+            this.rowHashMap = detectDuplicateRows ? newRowHashMap(sheetDefinition) : null;
+            this.sourceRowIndexes = sourceRowIndexMap.get(context.getSheetName());
+            for (ExcelConfig.ColumnConfig columnConfig : columnConfigList) {
+                headerAlias.put(columnConfig.getHeader(), columnConfig);
+            }
+            if (!columnConfigList.isEmpty() && columnConfigList.get(0).getCodec() != null
+                && columnConfigList.get(0).getCodec().getSheetClass() == sheetDefinition) {
+                codec = columnConfigList.get(0).getCodec();
+            }
+        }
+
+        @Override
+        public void handle(int sheetIndex, long rowIndex, List<Object> rowCells) {
+            if (rowIndex == HEADER_INDEX) {
+                checkHeader(sheetReader.getSheetName(sheetIndex), rowCells, columnConfigList);
+                columns = new ExcelConfig.ColumnConfig[rowCells.size()];
+                projection = new boolean[rowCells.size()];
+                for (int i = 0; i < rowCells.size(); i++) {
+                    columns[i] = headerAlias.get(StrUtil.toStringOrNull(rowCells.get(i)));
+                    projection[i] = columns[i] != null;
+                }
+                sheetReader.setProjection(projection);
+                return;
+            }
+            if (rowIndex < HEADER_ROW_NUMBER || columns == null || isEmptyRow(rowCells)) {
+                return;
+            }
+            if (sourceRowIndexes != null) {
+                // 再次导入时换算成原始excel中的行下标，错误提示、监听器和索引中的行号与首次导入一致
+                rowIndex = sourceRowIndexes.get(rowIndex, (int)rowIndex);
+            }
+            if (rowIndex < startRowIndex || rowIndex > endRowIndex) {
+                skipOutsideRow(rowIndex, rowCells);
+                return;
+            }
+            if (rowIndex <= committedRowIndex) {
+                skipRow(rowIndex, rowCells);
+                return;
+            }
+            for (ImportListener listener : listenerList) {
+                listener.onRow(context, rowCells, rowIndex);
+            }
+            long start = System.nanoTime();
+            int duplicateOf = rowHashMap == null ? 0
+                : rowHashMap.putIfAbsent(RowHasher.hash(rowCells, projection), (int)rowIndex + 1, 0);
+            if (duplicateOf == rowIndex + 1) {
+                // 再次导入时没有修改的行，与上次导入保存的自身哈希相同，不算重复
+                duplicateOf = 0;
+            }
+            Object data;
+            try {
+                data = codec == null ? bindByJson(rowCells) : bindByCodec(rowCells);
+            } catch (RuntimeException e) {
+                fireError(context, e, rowIndex);
+                throw e;
+            }
+            bindNanos += System.nanoTime() - start;
+            rowCount++;
+            if (validator != null) {
+                validator.add(data, rowIndex, duplicateOf);
+                return;
+            }
+            rowIndexes.add((int)rowIndex);
+            if (rowHashMap != null) {
+                duplicateOfList.add(duplicateOf);
+            }
+            result.add(data);
+        }
+
+        /**
+         * 是否需要读取sheet：不在分区内且不被引用的sheet不读取
+         *
+         * @return 是否需要读取
+         */
+        private boolean isReadRequired() {
+            return startRowIndex < Long.MAX_VALUE || indexValidator != null;
+        }
+
+        /**
+         * 跳过分区范围之外的行。分区之前的行记录整行哈希，与前面分区重复的行照常按重复处理；需要建立引用索引时，
+         * 被引用的sheet范围之外的行同样校验，校验通过的写入引用索引，与不分区导入时的索引一致。不需要建立索引时分区之后的行停止读取
+         */
+        private void skipOutsideRow(long rowIndex, List<Object> rowCells) {
+            if (rowIndex > endRowIndex && indexValidator == null) {
+                throw StopReadingException.INSTANCE;
+            }
+            int duplicateOf = rowHashMap == null ? 0
+                : rowHashMap.putIfAbsent(RowHasher.hash(rowCells, projection), (int)rowIndex + 1, 0);
+            if (indexValidator != null) {
+                indexValidator.add(codec == null ? bindByJson(rowCells) : bindByCodec(rowCells), rowIndex, duplicateOf);
+            }
+        }
+
+        /**
+         * 校验分区范围之外最后一批被引用的行
+         */
+        private void finishIndex() {
+            if (indexValidator != null) {
+                indexValidator.validatePending();
+            }
+        }
+
+        /**
+         * 跳过断点之前已经提交的行，不校验也不交给处理器。整行哈希照常记录，被引用的sheet把校验通过的行写入引用索引，
+         * 校验不通过的行按断点中保存的错误提示重新写入错误excel
+         */
+        private void skipRow(long rowIndex, List<Object> rowCells) {
+            skippedRowCount++;
+            if (rowHashMap != null) {
+                rowHashMap.putIfAbsent(RowHasher.hash(rowCells, projection), (int)rowIndex + 1, 0);
+            }
+            Map<String, List<String>> checkResultMap = committedErrorMap == null ? null : committedErrorMap.get(rowIndex);
+            if (checkResultMap == null && !referenced) {
+                return;
+            }
+            Object data = codec == null ? bindByJson(rowCells) : bindByCodec(rowCells);
+            if (checkResultMap != null) {
+                validator.restoreError(data, rowIndex, checkResultMap);
+            } else {
+                validator.addReference(data, rowIndex);
+            }
+        }
+
+        /**
+         * 通过编译期生成的编解码器直接调用setter绑定
+         */
+        private Object bindByCodec(List<Object> rowCells) {
+            Object data = codec.newInstance();
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] != null) {
+                    codec.setCellValue(data, columns[i].getCodecColumn(), i < rowCells.size() ? rowCells.get(i) : null);
+                }
+            }
+            return data;
+        }
+
+        /**
+         * 没有编解码器时，单元格值转成JSON再反序列化成DTO
+         */
+        private Object bindByJson(List<Object> rowCells) {
+            Map<String, Object> map = new HashMap<>(16);
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] != null) {
+                    Object cellValue = i < rowCells.size() ? rowCells.get(i) : null;
+                    ColumnConverter converter = columns[i].getConverter();
+                    map.put(columns[i].getFieldName(),
+                        converter == null ? cellValue : converter.toFieldValue(cellValue));
+                }
+            }
+            return JSON.parseObject(JSON.toJSONString(map), sheetDefinition);
+        }
+    }
+
+    /**
+     * 分区扫描的行处理器：校验表头，根据表头生成列投影，只记录非空数据行的行下标，不绑定数据
+     */
+    private class RowBoundaryHandler implements RowHandler {
+        /** 非空数据行的行下标 */
+        @Getter
+        private final IntList rowIndexes = new IntList();
+        /** 表头是否已读取 */
+        private boolean headerRead;
+
+        @Override
+        public void handle(int sheetIndex, long rowIndex, List<Object> rowCells) {
+            if (rowIndex == HEADER_INDEX) {
+                checkHeader(sheetReader.getSheetName(sheetIndex), rowCells, columnConfigList);
+                Set<String> headerSet =
+                    columnConfigList.stream().map(ExcelConfig.ColumnConfig::getHeader).collect(Collectors.toSet());
+                boolean[] projection = new boolean[rowCells.size()];
+                for (int i = 0; i < rowCells.size(); i++) {
+                    projection[i] = headerSet.contains(StrUtil.toStringOrNull(rowCells.get(i)));
+                }
+                sheetReader.setProjection(projection);
+                headerRead = true;
+                return;
+            }
+            if (rowIndex >= HEADER_ROW_NUMBER && headerRead && !isEmptyRow(rowCells)) {
+                rowIndexes.add((int)rowIndex);
+            }
+        }
+    }
+
+    /**
+     * 分区之后的行不需要读取时，从行处理器中抛出，结束当前sheet的读取
+     */
+    private static class StopReadingException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final StopReadingException INSTANCE = new StopReadingException();
+
+        private StopReadingException() {
+            super("分区之后的行不需要读取", null, false, false);
+        }
+    }
+
+    /**
+     * 通知监听器导入出错
+     *
+     * @param context sheet上下文
+     * @param e 异常
+     * @param rowIndex 出错的行下标
+     */
+    private void fireError(ImportSheetContext context, Exception e, long rowIndex) {
+        for (ImportListener listener : listenerList) {
+            listener.onError(context, e, rowIndex);
+        }
+    }
+
+    /**
+     * sheet数据校验器：数据按batchSize分批，每批先调用处理器的prefetch，再逐行调用处理器校验数据，
+     * 收集有效、无效数据，生成错误excel行，并通知监听器。流式导入时每攒够batchSize行就交给处理器和监听器，然后释放
+     */
+    private class SheetValidator {
+        /** 导入数据处理器 */
+        private final AbstractExcelDataHandler excelDataHandler;
+        /** sheet上下文 */
+        private final ImportSheetContext context;
+        /** 属性名 -> 列下标 */
+        private final Map<String, Integer> columnConfigMap;
+        /** 配置了跨sheet引用的列 */
+        private final List<ExcelConfig.ColumnConfig> referenceColumnList;
+        /** 有效数据 */
+        @Getter
+        private List validDataList = new ArrayList();
+        /** 无效数据 */
+        @Getter
+        private List invalidDataList = new ArrayList();
+        /** 等待prefetch和校验的一批数据 */
+        private final List pendingList = new ArrayList();
+        /** pendingList中每条数据的行下标 */
+        private final IntList pendingRowIndexes = new IntList();
+        /** pendingList中每条数据整行重复的excel行号 */
+        private final IntList pendingDuplicateOf = new IntList();
+        /** 当前sheet的错误数据条数 */
+        private int errorDataSize;
+        /** 最后校验的行下标，流式导入每批提交后记录到断点中 */
+        private long lastRowIndex = -1;
+        /** 本批次中校验不通过的行的错误提示，流式导入每批提交后追加到断点中 */
+        private Map<Long, Map<String, List<String>>> batchErrorRowMap = new TreeMap<>();
+        /** 是否只把校验通过的行写入引用索引，不生成错误行，不交给处理器和监听器，也不计入指标 */
+        private final boolean indexOnly;
+        private long validCount;
+        private long invalidCount;
+        private long validateNanos;
+        private long errorRowNanos;
+        private long handlerNanos;
+        private long prefetchNanos;
+        private long peakRowBufferSize;
+        /** 当前校验批次的JFR事件，批次满batchSize行或sheet结束时提交 */
+        private ValidationBatchEvent batchEvent;
+        private long batchValidCount;
+        private long batchInvalidCount;
+
+        private SheetValidator(AbstractExcelDataHandler excelDataHandler, ImportSheetContext context) {
+            this(excelDataHandler, context, false);
+        }
+
+        private SheetValidator(AbstractExcelDataHandler excelDataHandler, ImportSheetContext context,
+            boolean indexOnly) {
+            this.excelDataHandler = excelDataHandler;
+            this.context = context;
+            this.indexOnly = indexOnly;
+            this.columnConfigMap = columnConfigList.stream()
+                    .collect(Collectors.toMap(ExcelConfig.ColumnConfig::getFieldName, ExcelConfig.ColumnConfig::getIndex));
+            this.referenceColumnList = importPlan.getReferenceColumnList(context.getSheetDefinition());
+        }
+
+        /**
+         * 加入一条待校验的数据，攒够batchSize行时整批prefetch并校验
+         *
+         * @param originExcelData 绑定后的DTO
+         * @param rowIndex 行下标
+         * @param duplicateOf 整行重复时前面相同行的excel行号，不重复为0
+         */
+        private void add(Object originExcelData, long rowIndex, int duplicateOf) {
+            if (originExcelData == null) {
+                return;
+            }
+            pendingList.add(originExcelData);
+            pendingRowIndexes.add((int)rowIndex);
+            pendingDuplicateOf.add(duplicateOf);
+            if (pendingList.size() >= batchSize) {
+                validatePending();
+            }
+        }
+
+        /**
+         * 对攒下的一批数据调用处理器的prefetch，然后逐行校验
+         */
+        private void validatePending() {
+            if (pendingList.isEmpty()) {
+                return;
+            }
+            peakRowBufferSize = Math.max(peakRowBufferSize,
+                pendingList.size() + validDataList.size() + invalidDataList.size());
+            long start = System.nanoTime();
+            lookupContext.clear();
+            try {
+                excelDataHandler.prefetch(Collections.unmodifiableList(pendingList), lookupContext);
+            } catch (RuntimeException e) {
+                fireError(context, e, pendingRowIndexes.get(0));
+                throw e;
+            }
+            prefetchNanos += System.nanoTime() - start;
+            for (int i = 0; i < pendingList.size(); i++) {
+                validate(pendingList.get(i), pendingRowIndexes.get(i), pendingDuplicateOf.get(i));
+            }
+            pendingList.clear();
+            pendingRowIndexes.clear();
+            pendingDuplicateOf.clear();
+        }
+
+        /**
+         * 校验一条数据
+         *
+         * @param originExcelData 绑定后的DTO
+         * @param rowIndex 行下标
+         * @param duplicateOf 整行重复时前面相同行的excel行号，不重复为0
+         */
+        private void validate(Object originExcelData, long rowIndex, int duplicateOf) {
+            if (indexOnly) {
+                if (check(originExcelData, duplicateOf).isEmpty()) {
+                    addReference(originExcelData, rowIndex);
+                }
+                return;
+            }
+            if (batchEvent == null) {
+                batchEvent = new ValidationBatchEvent();
+                batchEvent.begin();
+            }
+            long start = System.nanoTime();
+            long errorRowElapsed = 0;
+            lastRowIndex = rowIndex;
+            Object data = originExcelData;
+            Map<String, List<String>> checkResultMap;
+            try {
+                checkResultMap = check(originExcelData, duplicateOf);
+                if (checkResultMap.size() > 0) {
+                    hasErrorData = true;
+                    importResultDTO.setHasErrorData(hasErrorData);
+                    errorDataSize++;
+                    if (sessionStore != null) {
+                        errorRowList.add(new Object[] {context.getSheetName(), errorDataSize, rowIndex});
+                    }
+                    if (isCheckpointEnabled()) {
+                        recordErrorRow(rowIndex, checkResultMap);
+                    }
+                    long errorRowStart = System.nanoTime();
+                    generateErrorExcelRow(originExcelData, errorDataSize, columnConfigMap, checkResultMap);
+                    errorRowElapsed = System.nanoTime() - errorRowStart;
+                    invalidDataList.add(originExcelData);
+                    invalidCount++;
+                    batchInvalidCount++;
+                } else {
+                    data = excelDataHandler.fillExtraData(originExcelData);
+                    referenceIndex.add(context.getSheetDefinition(), data, rowIndex);
+                    validDataList.add(data);
+                    validCount++;
+                    batchValidCount++;
+                }
+            } catch (RuntimeException e) {
+                fireError(context, e, rowIndex);
+                throw e;
+            }
+            for (ImportListener listener : listenerList) {
+                listener.onRowValidated(context, data, rowIndex, checkResultMap);
+            }
+            errorRowNanos += errorRowElapsed;
+            validateNanos += System.nanoTime() - start - errorRowElapsed;
+            peakRowBufferSize = Math.max(peakRowBufferSize, validDataList.size() + invalidDataList.size());
+            if (batchValidCount + batchInvalidCount >= batchSize) {
+                commitBatchEvent();
+            }
+            if (streaming && validDataList.size() + invalidDataList.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * 调用处理器校验，合并引用检查和整行重复的结果
+         *
+         * @param originExcelData 绑定后的DTO
+         * @param duplicateOf 整行重复时前面相同行的excel行号，不重复为0
+         * @return 校验结果，为空时校验通过
+         */
+        private Map<String, List<String>> check(Object originExcelData, int duplicateOf) {
+            Map<String, List<String>> checkResultMap = checkReference(originExcelData,
+                excelDataHandler.checkData(originExcelData, ExcelImporter.this));
+            if (duplicateOf > 0) {
+                // 整行错误标在第一列上
+                checkResultMap = addError(checkResultMap, checkResultMap,
+                    columnConfigList.get(0).getFieldName(), "整行数据与第" + duplicateOf + "行重复");
+            }
+            return checkResultMap;
+        }
+
+        /**
+         * 断点续传时把已提交的错误行按断点中的错误提示重新写入错误excel，不再校验，也不再交给处理器
+         *
+         * @param originExcelData 绑定后的DTO
+         * @param rowIndex 行下标
+         * @param checkResultMap 断点中保存的错误提示
+         */
+        private void restoreError(Object originExcelData, long rowIndex, Map<String, List<String>> checkResultMap) {
+            hasErrorData = true;
+            importResultDTO.setHasErrorData(hasErrorData);
+            errorDataSize++;
+            if (sessionStore != null) {
+                errorRowList.add(new Object[] {context.getSheetName(), errorDataSize, rowIndex});
+            }
+            generateErrorExcelRow(originExcelData, errorDataSize, columnConfigMap, checkResultMap);
+        }
+
+        /**
+         * 把校验通过但不交给处理器的行写入引用索引，与正常校验一样先填充额外数据，索引的值与不跳过时一致
+         *
+         * @param originExcelData 绑定后的DTO
+         * @param rowIndex 行下标
+         */
+        private void addReference(Object originExcelData, long rowIndex) {
+            referenceIndex.add(context.getSheetDefinition(), excelDataHandler.fillExtraData(originExcelData), rowIndex);
+        }
+
+        /**
+         * 记录校验不通过的行的错误提示，复制成可以序列化的集合，本批次提交后写入断点
+         */
+        private void recordErrorRow(long rowIndex, Map<String, List<String>> checkResultMap) {
+            Map<String, List<String>> errorMap = new HashMap<>(checkResultMap.size() * 2);
+            checkResultMap.forEach((fieldName, messageList) -> errorMap.put(fieldName, new ArrayList<>(messageList)));
+            batchErrorRowMap.put(rowIndex, errorMap);
+        }
+
+        /**
+         * 检查引用列的值在被引用sheet的索引中存在，空值不检查，交给@NotBlank等注解处理
+         *
+         * @param data 绑定后的DTO
+         * @param checkResultMap 处理器的校验结果
+         * @return 合并了引用检查结果的校验结果
+         */
+        private Map<String, List<String>> checkReference(Object data, Map<String, List<String>> checkResultMap) {
+            Map<String, List<String>> resultMap = checkResultMap;
+            for (ExcelConfig.ColumnConfig columnConfig : referenceColumnList) {
+                Object value = ReflectUtil.getFieldValue(data, columnConfig.getFieldName());
+                if (ObjectUtil.isEmpty(value)
+                    || referenceIndex.contains(columnConfig.getRef(), columnConfig.getRefField(), value)) {
+                    continue;
+                }
+                resultMap = addError(checkResultMap, resultMap, columnConfig.getFieldName(),
+                    columnConfig.getHeader() + "【" + value + "】在"
+                        + ExcelConfig.getSheetConfig(columnConfig.getRef()).getName() + "中不存在");
+            }
+            return resultMap;
+        }
+
+        /**
+         * 在校验结果中追加一条错误。处理器返回的Map可能不可修改，第一次追加时复制一份
+         *
+         * @param checkResultMap 处理器的校验结果
+         * @param resultMap 当前的校验结果，可能就是checkResultMap
+         * @param fieldName 属性名
+         * @param message 错误信息
+         * @return 追加后的校验结果
+         */
+        private Map<String, List<String>> addError(Map<String, List<String>> checkResultMap,
+            Map<String, List<String>> resultMap, String fieldName, String message) {
+            if (resultMap == checkResultMap) {
+                resultMap = new HashMap<>(checkResultMap);
+            }
+            List<String> messageList = new ArrayList<>(resultMap.getOrDefault(fieldName, Collections.emptyList()));
+            messageList.add(message);
+            resultMap.put(fieldName, messageList);
+            return resultMap;
+        }
+
+        /**
+         * 提交当前校验批次的JFR事件，JFR未开启时只做计数清零
+         */
+        private void commitBatchEvent() {
+            if (batchEvent == null) {
+                return;
+            }
+            batchEvent.end();
+            if (batchEvent.shouldCommit()) {
+                batchEvent.sheetName = context.getSheetName();
+                batchEvent.rowCount = batchValidCount + batchInvalidCount;
+                batchEvent.validCount = batchValidCount;
+                batchEvent.invalidCount = batchInvalidCount;
+                batchEvent.commit();
+            }
+            batchEvent = null;
+            batchValidCount = 0;
+            batchInvalidCount = 0;
+        }
+
+        /**
+         * 调用处理器的数据回调
+         *
+         * @param callback 回调方法名，记录在JFR事件中
+         * @param dataList 回调的数据
+         * @param consumer 回调方法
+         */
+        private void callHandler(String callback, List dataList, Consumer<List> consumer) {
+            HandlerCallbackEvent event = new HandlerCallbackEvent();
+            event.begin();
+            consumer.accept(dataList);
+            event.end();
+            if (event.shouldCommit()) {
+                event.sheetName = context.getSheetName();
+                event.handler = excelDataHandler.getClass().getName();
+                event.callback = callback;
+                event.rowCount = dataList.size();
+                event.commit();
+            }
+        }
+
+        /**
+         * 流式导入时把当前批次交给处理器和监听器，然后释放
+         */
+        private void flush() {
+            long start = System.nanoTime();
+            if (!validDataList.isEmpty()) {
+                callHandler("validDataList", validDataList, excelDataHandler::validDataList);
+                for (ImportListener listener : listenerList) {
+                    listener.onBatch(context, validDataList);
+                }
+            }
+            if (!invalidDataList.isEmpty()) {
+                callHandler("invalidDataList", invalidDataList, excelDataHandler::invalidDataList);
+            }
+            boolean committed = !validDataList.isEmpty() || !invalidDataList.isEmpty();
+            // 处理器可能持有列表引用，换成新列表而不是清空
+            validDataList = new ArrayList();
+            invalidDataList = new ArrayList();
+            if (committed && isCheckpointEnabled()) {
+                saveCheckpoint(context.getSheetDefinition(), lastRowIndex, excelDataHandler.checkpointState(),
+                    batchErrorRowMap);
+                batchErrorRowMap = new TreeMap<>();
+            }
+            handlerNanos += System.nanoTime() - start;
+        }
+
+        /**
+         * 校验结束，调用处理器回调并记录指标
+         */
+        private void finish() {
+            validatePending();
+            lookupContext.clear();
+            commitBatchEvent();
+            if (streaming) {
+                flush();
+            } else {
+                long start = System.nanoTime();
+                callHandler("validDataList", validDataList, excelDataHandler::validDataList);
+                callHandler("invalidDataList", invalidDataList, excelDataHandler::invalidDataList);
+                for (int i = 0; i < validDataList.size() && !listenerList.isEmpty(); i += batchSize) {
+                    List batch = validDataList.subList(i, Math.min(validDataList.size(), i + batchSize));
+                    for (ImportListener listener : listenerList) {
+                        listener.onBatch(context, batch);
+                    }
+                }
+                handlerNanos += System.nanoTime() - start;
+            }
+            SheetImportMetrics sheetMetrics = context.getMetrics();
+            sheetMetrics.setValidCount(validCount);
+            sheetMetrics.setInvalidCount(invalidCount);
+            sheetMetrics.setValidateNanos(validateNanos);
+            sheetMetrics.setErrorRowNanos(errorRowNanos);
+            sheetMetrics.setHandlerNanos(handlerNanos);
+            sheetMetrics.setPrefetchNanos(prefetchNanos);
+            sheetMetrics.setPeakRowBufferSize(peakRowBufferSize);
+        }
+
+        /**
+         * @return 预取、校验、错误行写入和处理器回调的累计耗时
+         */
+        private long getElapsedNanos() {
+            return prefetchNanos + validateNanos + errorRowNanos + handlerNanos;
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package com.mamba.excel;
+
+import com.mamba.excel.config.SheetPlan;
+import com.mamba.excel.config.WriterType;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/24 9:30
+ * @description: 可复用的导出引擎，线程安全。保存不可变的导出参数、并行生成sheet的线程池和预编译的sheet计划，
+ *               每次导出通过newSession创建一个ExcelExporter会话，会话保存本次导出的workbook，不能跨线程共享。
+ *               原生导出引擎的会话不会创建POI workbook
+ */
+@Getter
+@Builder
+public class ExportEngine {
+
+    /** 表头索引 */
+    private final int headerIndex;
+    /** excel中表头的行数 */
+    private final int headerRowNumber;
+    /** 导出引擎 */
+    private final WriterType writerType;
+    /** 原生导出引擎是否使用共享字符串表 */
+    private final boolean useSharedStrings;
+    /** 单个sheet最多写入的数据行数，不大于0时使用ExcelExporter的默认值 */
+    private final int maxRowsPerSheet;
+    /** 原生导出引擎多sheet导出时是否并行生成各sheet */
+    private final boolean parallel;
+    /** 并行生成sheet数据的线程池，所有会话共享 */
+    private final Executor executor;
+    /** sheet定义类 -> 预编译的sheet计划 */
+    @Getter(AccessLevel.NONE)
+    private final Map<Class, SheetPlan> sheetPlanCache = new ConcurrentHashMap<>(16);
+
+    /**
+     * 创建导出会话
+     *
+     * @return 导出会话
+     */
+    public ExcelExporter newSession() {
+        ExcelExporter exporter = new ExcelExporter(headerIndex, headerRowNumber);
+        exporter.setWriterType(writerType);
+        exporter.setUseSharedStrings(useSharedStrings);
+        if (maxRowsPerSheet > 0) {
+            exporter.setMaxRowsPerSheet(maxRowsPerSheet);
+        }
+        exporter.setParallel(parallel);
+        exporter.setExecutor(executor);
+        exporter.setSheetPlanProvider(this::getSheetPlan);
+        return exporter;
+    }
+
+    /**
+     * 获取预编译的sheet计划，同一个sheet定义类只解析一次
+     *
+     * @param sheetDefinition sheet定义类
+     * @return sheet计划
+     */
+    public SheetPlan getSheetPlan(Class sheetDefinition) {
+        return sheetPlanCache.computeIfAbsent(sheetDefinition, SheetPlan::of);
+    }
+
+    /**
+     * 构建器，预置默认参数
+     */
+    public static class ExportEngineBuilder {
+        private int headerIndex = 0;
+        private int headerRowNumber = 1;
+        private WriterType writerType = WriterType.POI;
+        private Executor executor = ForkJoinPool.commonPool();
+    }
+}
@@ -26,6 +26,14 @@ import java.util.function.Supplier;
  */
 public class FoxExcel {
 
+    /**
+     * 门面方法共享的默认导入引擎，导入计划在多次导入之间复用
+     */
+    private static final ImportEngine IMPORT_ENGINE = ImportEngine.builder().build();
+    /**
+     * 门面方法共享的默认导出引擎，sheet计划在多次导出之间复用
+     */
+    private static final ExportEngine EXPORT_ENGINE = ExportEngine.builder().build();
     /**
      * 默认导入成功response
      */
@@ -77,7 +85,7 @@ public class FoxExcel {
                             BiFunction<ImportResultDTO, ExcelExporter, Boolean> function,
                             Class... sheetDefinition) {
         Assert.notEmpty(sheetDefinition);
-        ExcelImporter importer = new ExcelImporter(file);
+        ExcelImporter importer = IMPORT_ENGINE.newSession(file);
         importer.importData(Arrays.asList(sheetDefinition), response,
                 StrUtil.blankToDefault(errorExcelName, "异常-" + file.getOriginalFilename()), success, function);
     }
@@ -111,7 +119,7 @@ public class FoxExcel {
         Assert.notEmpty(sheetDefinition);
         File file = new File(filePath);
         Assert.notNull(file, "文件不存在");
-        ExcelImporter importer = new ExcelImporter(filePath);
+        ExcelImporter importer = IMPORT_ENGINE.newSession(filePath);
         importer.importData(Arrays.asList(sheetDefinition), errorExcelPath, function);
         return !importer.isHasErrorData();
     }
@@ -140,7 +148,7 @@ public class FoxExcel {
      */
     public static void write(String fileName, HttpServletResponse response, List<ExcelSheetData> excelSheetDataList) {
         Assert.notEmpty(excelSheetDataList);
-        ExcelExporter excelExporter = new ExcelExporter();
+        ExcelExporter excelExporter = EXPORT_ENGINE.newSession();
         excelExporter.exportData(excelSheetDataList, response, fileName);
     }
 
@@ -165,10 +173,40 @@ public class FoxExcel {
      */
     public static void write(String filePath, List<ExcelSheetData> excelSheetDataList) {
         Assert.notEmpty(excelSheetDataList);
-        ExcelExporter excelExporter = new ExcelExporter();
+        ExcelExporter excelExporter = EXPORT_ENGINE.newSession();
         excelExporter.exportData(excelSheetDataList, filePath);
     }
 
+    /**
+     * 将大数据量Excel数据按行数拆分成多个excel文件，打包成zip写入到HTTP响应中。
+     *
+     * @param fileName zip文件的名称
+     * @param response HttpServletResponse对象，用于将生成的zip文件作为HTTP响应发送给客户端
+     * @param maxRowsPerFile 单个excel文件中每个sheet最多包含的数据行数
+     * @param excelSheetDataList 包含要写入Excel文件的数据的列表。每个元素代表一个Excel工作表的数据。
+     * @throws IllegalArgumentException 如果excelSheetDataList为空，则抛出此异常。
+     */
+    public static void writeZip(String fileName, HttpServletResponse response, int maxRowsPerFile,
+                                List<ExcelSheetData> excelSheetDataList) {
+        Assert.notEmpty(excelSheetDataList);
+        ExcelExporter excelExporter = EXPORT_ENGINE.newSession();
+        excelExporter.exportZip(excelSheetDataList, response, fileName, maxRowsPerFile);
+    }
+
+    /**
+     * 将大数据量Excel数据按行数拆分成多个excel文件，打包成zip写入本地磁盘
+     *
+     * @param filePath zip文件的路径（本地磁盘路径+文件名）
+     * @param maxRowsPerFile 单个excel文件中每个sheet最多包含的数据行数
+     * @param excelSheetDataList 包含要写入Excel文件的数据的列表。每个元素代表一个Excel工作表的数据。
+     * @throws IllegalArgumentException 如果excelSheetDataList为空，则抛出此异常。
+     */
+    public static void writeZip(String filePath, int maxRowsPerFile, List<ExcelSheetData> excelSheetDataList) {
+        Assert.notEmpty(excelSheetDataList);
+        ExcelExporter excelExporter = EXPORT_ENGINE.newSession();
+        excelExporter.exportZip(excelSheetDataList, filePath, maxRowsPerFile);
+    }
+
     /**
      * 将Pair数组转换为ExcelSheetData列表
      *
@@ -0,0 +1,135 @@
+package com.mamba.excel;
+
+import com.mamba.excel.cache.ImportCacheStore;
+import com.mamba.excel.checkpoint.CheckpointStore;
+import com.mamba.excel.config.ReaderType;
+import com.mamba.excel.csv.CsvFormat;
+import com.mamba.excel.listener.ImportListener;
+import com.mamba.excel.reference.SheetImportPlan;
+import com.mamba.excel.session.ImportSessionStore;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/24 9:30
+ * @description: 可复用的导入引擎，线程安全。保存不可变的导入参数和预编译的导入计划（sheet顺序、列配置、引用列），
+ *               每次导入通过newSession创建一个ExcelImporter会话，会话保存本次导入的数据和错误excel，不能跨线程共享。
+ *               引擎应当全局共享，例如声明为Spring Bean，注册的监听器会被所有会话并发调用，需要自行保证线程安全
+ */
+@Getter
+@Builder
+public class ImportEngine {
+
+    /** 表头索引 */
+    private final int headerIndex;
+    /** excel中表头的行数 */
+    private final int headerRowNumber;
+    /** 导入引擎 */
+    private final ReaderType readerType;
+    /** 是否允许excel中存在@ExcelColumn未映射的列 */
+    private final boolean ignoreUnmappedColumns;
+    /** 是否流式导入 */
+    private final boolean streaming;
+    /** 批次大小 */
+    private final int batchSize;
+    /** 是否检测整行重复 */
+    private final boolean detectDuplicateRows;
+    /** 错误报告格式，为null时输出错误excel */
+    private final CsvFormat errorReportFormat;
+    /** 导入结果缓存，为null时不缓存 */
+    private final ImportCacheStore cacheStore;
+    /** 导入会话存储，为null时不支持增量再次导入 */
+    private final ImportSessionStore sessionStore;
+    /** 断点存储，为null时不记录断点，只在流式导入时生效 */
+    private final CheckpointStore checkpointStore;
+    /** 行级导入监听器 */
+    private final List<ImportListener> listeners;
+    /** 表格定义列表 -> 预编译的导入计划 */
+    @Getter(AccessLevel.NONE)
+    private final Map<List<Class>, SheetImportPlan> importPlanCache = new ConcurrentHashMap<>(16);
+
+    /**
+     * 创建本地磁盘excel的导入会话
+     *
+     * @param filePath Excel文件的路径
+     * @return 导入会话
+     */
+    public ExcelImporter newSession(String filePath) {
+        return configure(new ExcelImporter(filePath, headerIndex, headerRowNumber));
+    }
+
+    /**
+     * 创建web上传excel的导入会话，上传的文件先落盘到临时文件，导入完成后删除
+     *
+     * @param file 上传的MultipartFile文件
+     * @return 导入会话
+     */
+    public ExcelImporter newSession(MultipartFile file) {
+        return configure(new ExcelImporter(file, headerIndex, headerRowNumber));
+    }
+
+    /**
+     * 获取预编译的导入计划，同样的表格定义列表只解析一次
+     *
+     * @param sheetDefinitionList 表格定义列表
+     * @return 导入计划
+     * @throws RuntimeException 引用的sheet不在导入列表中，或者sheet之间存在循环引用时抛出
+     */
+    public SheetImportPlan getImportPlan(List<Class> sheetDefinitionList) {
+        SheetImportPlan importPlan = importPlanCache.get(sheetDefinitionList);
+        if (importPlan == null) {
+            List<Class> key = Collections.unmodifiableList(new ArrayList<>(sheetDefinitionList));
+            importPlan = importPlanCache.computeIfAbsent(key, SheetImportPlan::of);
+        }
+        return importPlan;
+    }
+
+    private ExcelImporter configure(ExcelImporter importer) {
+        importer.setReaderType(readerType);
+        importer.setIgnoreUnmappedColumns(ignoreUnmappedColumns);
+        importer.setStreaming(streaming);
+        importer.setBatchSize(batchSize);
+        importer.setDetectDuplicateRows(detectDuplicateRows);
+        importer.setErrorReportFormat(errorReportFormat);
+        importer.setCacheStore(cacheStore);
+        importer.setSessionStore(sessionStore);
+        importer.setCheckpointStore(checkpointStore);
+        importer.setImportPlanProvider(this::getImportPlan);
+        listeners.forEach(importer::addListener);
+        return importer;
+    }
+
+    /**
+     * 构建器，预置默认参数
+     */
+    public static class ImportEngineBuilder {
+        private int headerIndex = 0;
+        private int headerRowNumber = 1;
+        private ReaderType readerType = ReaderType.POI;
+        private int batchSize = 1000;
+        private List<ImportListener> listeners = Collections.emptyList();
+
+        /**
+         * 注册行级导入监听器
+         *
+         * @param listener 监听器
+         * @return 构建器
+         */
+        public ImportEngineBuilder listener(ImportListener listener) {
+            List<ImportListener> listenerList = new ArrayList<>(listeners);
+            listenerList.add(listener);
+            listeners = Collections.unmodifiableList(listenerList);
+            return this;
+        }
+    }
+}
@@ -37,4 +37,35 @@ public @interface ExcelColumn {
      * @return
      */
     Class<? extends EnumDefinition> enumDefinition() default EnumDefinition.class;
+
+    /**
+     * 日期格式，可选，只对Date、LocalDate、LocalDateTime类型的属性生效，优先于@DateTimeFormat的pattern。
+     * 不配置时LocalDate默认yyyy-MM-dd，其他默认yyyy-MM-dd HH:mm:ss
+     *
+     * @return
+     */
+    String format() default "";
+
+    /**
+     * 导出时是否写为excel日期单元格，可选。为true时单元格写入日期数值并以format作为单元格格式，可以在excel中按日期排序、筛选；
+     * 默认为false，写入按format格式化后的字符串
+     *
+     * @return
+     */
+    boolean dateCell() default false;
+
+    /**
+     * 引用的sheet定义类，可选。配置后导入时检查该列的值在引用sheet校验通过的数据中存在，类似数据库外键；
+     * 被引用的sheet会排在前面导入，导入时为引用的属性建立哈希索引，每行检查只需一次查找
+     *
+     * @return
+     */
+    Class<?> ref() default Void.class;
+
+    /**
+     * 引用sheet中对应的属性名，可选，默认与当前属性同名
+     *
+     * @return
+     */
+    String refField() default "";
 }
@@ -0,0 +1,16 @@
+package com.mamba.excel.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/22 9:30
+ * @description: 标记自定义校验注解没有副作用：校验结果只取决于属性值，不依赖其他属性、当前时间或外部数据源。
+ *               属性上的校验注解都是纯校验时，导入时每个不同的值只校验一次，结果按列缓存
+ */
+@Target(ElementType.ANNOTATION_TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PureConstraint {
+}
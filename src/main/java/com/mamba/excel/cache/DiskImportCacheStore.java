@@ -0,0 +1,112 @@
+package com.mamba.excel.cache;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.crypto.digest.DigestUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/20 9:30
+ * @description: 本地磁盘的导入结果缓存，每个缓存项用java序列化写成一个文件，应用重启后仍然有效。
+ *               写入时超过容量按文件修改时间淘汰最早的，读取时删除过期文件；DTO没有实现Serializable时不缓存
+ */
+@Slf4j
+public class DiskImportCacheStore implements ImportCacheStore {
+
+    /** 缓存文件后缀 */
+    private static final String SUFFIX = ".cache";
+
+    /** 缓存目录 */
+    private final File directory;
+    /** 最多缓存的导入结果个数 */
+    private final int maxEntries;
+    /** 存活时间，毫秒 */
+    private final long ttlMillis;
+
+    /**
+     * 构造方法
+     *
+     * @param directory 缓存目录，不存在时创建
+     * @param maxEntries 最多缓存的导入结果个数
+     * @param ttl 存活时间
+     */
+    public DiskImportCacheStore(File directory, int maxEntries, Duration ttl) {
+        this.directory = FileUtil.mkdir(directory);
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @Override
+    public synchronized ImportCacheEntry get(String key) {
+        File file = getFile(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            ImportCacheEntry entry = (ImportCacheEntry)in.readObject();
+            if (System.currentTimeMillis() - entry.getCreateTime() <= ttlMillis) {
+                return entry;
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // DTO类变更等原因无法反序列化时当作没有缓存
+            log.warn("读取导入结果缓存失败：{}", file, e);
+        }
+        FileUtil.del(file);
+        return null;
+    }
+
+    @Override
+    public synchronized void put(String key, ImportCacheEntry entry) {
+        File file = getFile(key);
+        File tempFile = new File(directory, file.getName() + ".tmp");
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            out.writeObject(entry);
+        } catch (IOException e) {
+            log.warn("写入导入结果缓存失败，DTO需要实现Serializable：{}", file, e);
+            FileUtil.del(tempFile);
+            return;
+        }
+        try {
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("写入导入结果缓存失败：{}", file, e);
+            FileUtil.del(tempFile);
+            return;
+        }
+        evict();
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        FileUtil.del(getFile(key));
+    }
+
+    /**
+     * 超过容量时删除修改时间最早的缓存文件
+     */
+    private void evict() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files == null || files.length <= maxEntries) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - maxEntries; i++) {
+            FileUtil.del(files[i]);
+        }
+    }
+
+    /**
+     * 缓存键中含有类名等字符，取SHA-256作为文件名
+     */
+    private File getFile(String key) {
+        return new File(directory, DigestUtil.sha256Hex(key) + SUFFIX);
+    }
+}
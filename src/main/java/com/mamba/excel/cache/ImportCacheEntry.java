@@ -0,0 +1,85 @@
+package com.mamba.excel.cache;
+
+import com.mamba.excel.kit.ImportResultDTO;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/20 9:30
+ * @description: 导入结果缓存项。磁盘存储使用java序列化，导入的DTO需要实现Serializable。
+ *               保存和读取导入结果时都复制各sheet的数据列表，导入器、处理器和每次命中的调用方对列表的修改互不影响，
+ *               列表中的DTO对象本身不复制
+ */
+@Getter
+public class ImportCacheEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 导入结果，只保存是否包含错误数据和各sheet的导入结果 */
+    private final ImportResultDTO importResultDTO;
+    /** 导入excel中的所有数据，同ExcelImporter.getAllDataMap() */
+    private final Map<String, List> allDataMap;
+    /** 错误excel的内容，没有输出错误excel时为null */
+    private final byte[] errorWorkbook;
+    /** 缓存时间，毫秒 */
+    private final long createTime;
+
+    /**
+     * 构造方法，导入结果和所有数据复制一份保存
+     *
+     * @param importResultDTO 导入结果
+     * @param allDataMap 导入excel中的所有数据
+     * @param errorWorkbook 错误excel的内容，没有输出错误excel时为null
+     * @param createTime 缓存时间，毫秒
+     */
+    public ImportCacheEntry(ImportResultDTO importResultDTO, Map<String, List> allDataMap, byte[] errorWorkbook,
+        long createTime) {
+        this.importResultDTO = copyImportResult(importResultDTO);
+        this.allDataMap = copyDataMap(allDataMap);
+        this.errorWorkbook = errorWorkbook;
+        this.createTime = createTime;
+    }
+
+    /**
+     * @return 导入结果的副本，每次调用返回新的结果列表，导入指标为空
+     */
+    public ImportResultDTO getImportResultDTO() {
+        return copyImportResult(importResultDTO);
+    }
+
+    /**
+     * @return 所有数据的副本，每次调用返回新的数据列表
+     */
+    public Map<String, List> getAllDataMap() {
+        return copyDataMap(allDataMap);
+    }
+
+    private static ImportResultDTO copyImportResult(ImportResultDTO importResultDTO) {
+        ImportResultDTO copy = new ImportResultDTO();
+        copy.setHasErrorData(importResultDTO.isHasErrorData());
+        for (ImportResultDTO.SheetResult sheetResult : importResultDTO.getSheetResultList()) {
+            copy.getSheetResultList().add(ImportResultDTO.SheetResult.builder()
+                .excelSheet(sheetResult.getExcelSheet())
+                .validDataList(copyList(sheetResult.getValidDataList()))
+                .invalidDataList(copyList(sheetResult.getInvalidDataList())).build());
+        }
+        return copy;
+    }
+
+    private static Map<String, List> copyDataMap(Map<String, List> allDataMap) {
+        Map<String, List> copy = new HashMap<>(allDataMap.size() * 2);
+        allDataMap.forEach((sheetDefinition, dataList) -> copy.put(sheetDefinition, copyList(dataList)));
+        return copy;
+    }
+
+    private static List copyList(List list) {
+        return list == null ? null : new ArrayList(list);
+    }
+}
@@ -0,0 +1,34 @@
+package com.mamba.excel.cache;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/20 9:30
+ * @description: 导入结果缓存存储，实现需要线程安全，过期和容量淘汰由实现负责。
+ *               默认实现：内存LRU MemoryImportCacheStore，本地磁盘DiskImportCacheStore
+ */
+public interface ImportCacheStore {
+
+    /**
+     * 获取缓存项
+     *
+     * @param key 缓存键：文件内容的SHA-256、sheet定义类和导入参数
+     * @return 缓存项，不存在或已过期时返回null
+     */
+    ImportCacheEntry get(String key);
+
+    /**
+     * 写入缓存项，键已存在时覆盖
+     *
+     * @param key 缓存键
+     * @param entry 缓存项
+     */
+    void put(String key, ImportCacheEntry entry);
+
+    /**
+     * 删除缓存项
+     *
+     * @param key 缓存键
+     */
+    void remove(String key);
+}
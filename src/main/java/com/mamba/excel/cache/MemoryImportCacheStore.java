@@ -0,0 +1,72 @@
+package com.mamba.excel.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/20 9:30
+ * @description: 内存中的导入结果缓存，按最近访问顺序淘汰，超过存活时间的缓存项在访问时删除。
+ *               缓存项持有完整的导入数据，容量按单次导入的数据量设置
+ */
+public class MemoryImportCacheStore implements ImportCacheStore {
+
+    /** 默认最多缓存的导入结果个数 */
+    public static final int DEFAULT_MAX_ENTRIES = 16;
+    /** 默认存活时间 */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    /** 存活时间，毫秒 */
+    private final long ttlMillis;
+    /** 缓存键 -> 缓存项，按访问顺序排列 */
+    private final Map<String, ImportCacheEntry> entryMap;
+
+    public MemoryImportCacheStore() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param maxEntries 最多缓存的导入结果个数
+     * @param ttl 存活时间
+     */
+    public MemoryImportCacheStore(int maxEntries, Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.entryMap = new LinkedHashMap<String, ImportCacheEntry>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportCacheEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized ImportCacheEntry get(String key) {
+        ImportCacheEntry entry = entryMap.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.getCreateTime() > ttlMillis) {
+            entryMap.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    @Override
+    public synchronized void put(String key, ImportCacheEntry entry) {
+        entryMap.put(key, entry);
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+        entryMap.remove(key);
+    }
+
+    /**
+     * @return 缓存项个数，包含已过期但还没有被访问到的
+     */
+    public synchronized int size() {
+        return entryMap.size();
+    }
+}
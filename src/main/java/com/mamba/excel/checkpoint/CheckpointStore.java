@@ -0,0 +1,36 @@
+package com.mamba.excel.checkpoint;
+
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/31 9:30
+ * @description: 导入断点存储，实现需要线程安全，重启后仍然能读到断点。每个断点是一串只追加的记录，每批数据只写入本批次的错误提示，
+ *               写入量不随已提交的错误行数增长。默认实现：本地文件FileCheckpointStore
+ */
+public interface CheckpointStore {
+
+    /**
+     * 获取断点的全部记录
+     *
+     * @param checkpointId 断点id
+     * @return 按追加顺序排列的记录，不存在时返回空列表
+     */
+    List<ImportCheckpoint> get(String checkpointId);
+
+    /**
+     * 追加一条断点记录。写入失败时抛出异常，避免重启后重复处理已经提交的数据；写入过程中进程退出时，
+     * 这条不完整的记录在读取时丢弃，断点停留在上一条记录
+     *
+     * @param checkpoint 断点记录
+     */
+    void append(ImportCheckpoint checkpoint);
+
+    /**
+     * 删除断点的全部记录，导入成功后调用
+     *
+     * @param checkpointId 断点id
+     */
+    void remove(String checkpointId);
+}
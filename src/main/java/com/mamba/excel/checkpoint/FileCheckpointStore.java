@@ -0,0 +1,118 @@
+package com.mamba.excel.checkpoint;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.crypto.digest.DigestUtil;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/31 9:30
+ * @description: 本地文件的导入断点存储，每个断点是一个只追加的文件，每条记录是4字节长度加java序列化的内容。
+ *               进程在写入过程中退出时，读取时丢弃最后不完整的记录并截断文件，断点停留在上一条记录。
+ *               目录需要在重启后保留，容器中应当挂载持久卷
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    /** 默认断点目录 */
+    public static final File DEFAULT_DIRECTORY = new File(System.getProperty("java.io.tmpdir"), "fox-excel-checkpoint");
+    /** 断点文件后缀 */
+    private static final String SUFFIX = ".checkpoint";
+    /** 记录长度占用的字节数 */
+    private static final int LENGTH_BYTES = 4;
+
+    /** 断点目录 */
+    private final File directory;
+
+    public FileCheckpointStore() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param directory 断点目录，不存在时创建
+     */
+    public FileCheckpointStore(File directory) {
+        this.directory = FileUtil.mkdir(directory);
+    }
+
+    @Override
+    public synchronized List<ImportCheckpoint> get(String checkpointId) {
+        File file = getFile(checkpointId);
+        List<ImportCheckpoint> checkpointList = new ArrayList<>();
+        if (!file.isFile()) {
+            return checkpointList;
+        }
+        long fileLength = file.length();
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (validLength + LENGTH_BYTES <= fileLength) {
+                int length = in.readInt();
+                if (length < 0 || validLength + LENGTH_BYTES + length > fileLength) {
+                    break;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                checkpointList.add(deserialize(bytes, file));
+                validLength += LENGTH_BYTES + length;
+            }
+        } catch (IOException e) {
+            // 读不到断点时不能从头导入，否则已经提交的数据会被重复处理
+            throw new IORuntimeException("读取导入断点失败：" + file, e);
+        }
+        if (validLength < fileLength) {
+            // 最后一条记录没有写完，截掉后新的记录才能接着追加
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            } catch (IOException e) {
+                throw new IORuntimeException("截断不完整的导入断点失败：" + file, e);
+            }
+        }
+        return checkpointList;
+    }
+
+    @Override
+    public synchronized void append(ImportCheckpoint checkpoint) {
+        File file = getFile(checkpoint.getCheckpointId());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(checkpoint);
+            }
+            try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+                out.writeInt(bytes.size());
+                bytes.writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException("写入导入断点失败，处理器状态需要实现Serializable：" + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void remove(String checkpointId) {
+        FileUtil.del(getFile(checkpointId));
+    }
+
+    private static ImportCheckpoint deserialize(byte[] bytes, File file) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (ImportCheckpoint)in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            throw new IORuntimeException("读取导入断点失败：" + file, e);
+        }
+    }
+
+    /**
+     * 断点id中含有类名等字符，取SHA-256作为文件名
+     */
+    private File getFile(String checkpointId) {
+        return new File(directory, DigestUtil.sha256Hex(checkpointId) + SUFFIX);
+    }
+}
@@ -0,0 +1,38 @@
+package com.mamba.excel.checkpoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/31 9:30
+ * @description: 导入断点记录，流式导入每批数据交给处理器后追加一条。保存已经全部提交的sheet、当前sheet最后提交的行下标和处理器状态，
+ *               以及本批次中校验不通过的行的错误提示。续传时以最后一条记录为准，错误提示按追加顺序合并全部记录，用来重新生成错误excel，
+ *               不再重新校验
+ */
+@Getter
+@AllArgsConstructor
+public class ImportCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 断点id */
+    private final String checkpointId;
+    /** 已经全部提交的sheet定义类名 */
+    private final List<String> completedSheetList;
+    /** 正在导入的sheet定义类名，没有时为null */
+    private final String sheetDefinition;
+    /** 当前sheet最后提交的行下标 */
+    private final long rowIndex;
+    /** 当前sheet处理器的状态，见AbstractExcelDataHandler.checkpointState() */
+    private final Serializable handlerState;
+    /** 本批次中校验不通过的行：行下标 -> 校验不通过的属性名和错误提示，属于sheetDefinition，没有时为空 */
+    private final Map<Long, Map<String, List<String>>> errorRowMap;
+    /** 记录时间，毫秒 */
+    private final long createTime;
+}
@@ -0,0 +1,52 @@
+package com.mamba.excel.codec;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/23 9:30
+ * @description: sheet编解码器，由SheetCodecProcessor在编译期为@ExcelSheet类生成，类名为"类名_SheetCodec"。
+ *               单元格读写直接调用getter、setter，不经过反射和JSON，ExcelImporter、ExcelExporter存在编解码器时优先使用。
+ *               列下标为编解码器中的列顺序（按@ExcelColumn的index排序），与ExcelConfig.getColumnConfig的顺序一致
+ */
+public interface SheetCodec<T> {
+
+    /**
+     * @return sheet定义类
+     */
+    Class<T> getSheetClass();
+
+    /**
+     * @return 按列顺序的属性名
+     */
+    String[] getFieldNames();
+
+    /**
+     * @return 按列顺序的表头
+     */
+    String[] getHeaders();
+
+    /**
+     * 创建空的数据对象
+     *
+     * @return 数据对象
+     */
+    T newInstance();
+
+    /**
+     * 获取导出的单元格值，规则同ColumnConverter.toCellValue
+     *
+     * @param data 数据对象
+     * @param column 列下标
+     * @return 单元格值
+     */
+    Object getCellValue(T data, int column);
+
+    /**
+     * 把导入的单元格值转成属性类型后写入数据对象，规则同ColumnConverter.bind
+     *
+     * @param data 数据对象
+     * @param column 列下标
+     * @param cellValue 单元格值
+     */
+    void setCellValue(T data, int column, Object cellValue);
+}
@@ -0,0 +1,373 @@
+package com.mamba.excel.codec;
+
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.annotation.ExcelSheet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/23 9:30
+ * @description: 编译期为@ExcelSheet类生成SheetCodec的注解处理器，通过META-INF/services自动注册，
+ *               依赖fox-excel的工程编译时即生成。属性通过getter、setter（可以由lombok生成）或非private属性直接访问，
+ *               属性类型只支持基本类型、字符串、数值、日期和枚举；不满足条件的类只输出提示，运行时仍使用反射绑定
+ */
+@SupportedAnnotationTypes("com.mamba.excel.annotation.ExcelSheet")
+public class SheetCodecProcessor extends AbstractProcessor {
+
+    private static final String JSON_FIELD = "com.alibaba.fastjson.annotation.JSONField";
+    private static final String ENUM_CONVERTER = "com.mamba.serializer.EnumConverter";
+    /** 支持的属性类型 */
+    private static final Set<String> VALUE_TYPES = new HashSet<>(Arrays.asList("java.lang.String",
+        "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte", "java.lang.Double",
+        "java.lang.Float", "java.lang.Boolean", "java.lang.Character", "java.math.BigDecimal",
+        "java.math.BigInteger", "java.util.Date", "java.time.LocalDate", "java.time.LocalDateTime",
+        "java.time.LocalTime"));
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(ExcelSheet.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement type = (TypeElement)element;
+            try {
+                List<Column> columnList = getColumnList(type);
+                if (columnList != null) {
+                    writeCodec(type, columnList);
+                }
+            } catch (SkipException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "未生成SheetCodec，使用反射绑定: " + e.getMessage(), type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "生成SheetCodec失败: " + e, type);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析类中的@ExcelColumn属性
+     *
+     * @param type sheet定义类
+     * @return 按列顺序排列的属性，没有@ExcelColumn属性时返回null
+     * @throws SkipException 类不满足生成条件时抛出
+     */
+    private List<Column> getColumnList(TypeElement type) throws SkipException {
+        checkType(type);
+        boolean data = hasAnnotation(type, "lombok.Data");
+        List<Column> columnList = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            ExcelColumn excelColumn = member.getAnnotation(ExcelColumn.class);
+            if (member.getKind() != ElementKind.FIELD || excelColumn == null) {
+                continue;
+            }
+            VariableElement field = (VariableElement)member;
+            String name = field.getSimpleName().toString();
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                throw new SkipException(name + "是静态属性");
+            }
+            checkJsonField(field);
+            Column column = new Column();
+            column.fieldName = name;
+            column.header = excelColumn.value();
+            column.index = excelColumn.index();
+            column.castType = getCastType(field.asType(), name);
+            boolean direct = !field.getModifiers().contains(Modifier.PRIVATE);
+            boolean bool = field.asType().getKind() == TypeKind.BOOLEAN;
+            String getter = (bool ? "is" : "get") + capitalize(name);
+            String setter = "set" + capitalize(name);
+            if (hasMethod(type, getter, 0) || hasAccessor(type, field, "lombok.Getter") || data) {
+                column.getter = getter + "()";
+            } else if (direct) {
+                column.getter = name;
+            } else {
+                throw new SkipException(name + "没有getter");
+            }
+            boolean writable = !field.getModifiers().contains(Modifier.FINAL);
+            if (hasMethod(type, setter, 1) || writable && (hasAccessor(type, field, "lombok.Setter") || data)) {
+                column.setter = setter + "(%s)";
+            } else if (direct && writable) {
+                column.setter = name + " = %s";
+            } else {
+                throw new SkipException(name + "没有setter");
+            }
+            columnList.add(column);
+        }
+        if (columnList.isEmpty()) {
+            return null;
+        }
+        columnList.sort(Comparator.comparingInt(column -> column.index));
+        return columnList;
+    }
+
+    /**
+     * 检查类可以在同一个包中访问并用无参构造方法创建
+     */
+    private void checkType(TypeElement type) throws SkipException {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new SkipException("抽象类");
+        }
+        if (hasAnnotation(type, "lombok.experimental.Accessors")) {
+            throw new SkipException("使用了@Accessors");
+        }
+        for (Element current = type; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new SkipException("private类");
+            }
+            if (current.getEnclosingElement() instanceof TypeElement
+                && !current.getModifiers().contains(Modifier.STATIC)) {
+                throw new SkipException("非静态内部类");
+            }
+        }
+        if (hasAccessor(type, null, "lombok.NoArgsConstructor")) {
+            return;
+        }
+        boolean explicit = false;
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR) {
+                explicit = true;
+                if (((ExecutableElement)member).getParameters().isEmpty()
+                    && !member.getModifiers().contains(Modifier.PRIVATE)) {
+                    return;
+                }
+            }
+        }
+        if (explicit || hasAnnotation(type, "lombok.AllArgsConstructor")
+            || hasAnnotation(type, "lombok.RequiredArgsConstructor") || hasAnnotation(type, "lombok.Builder")
+            || hasAnnotation(type, "lombok.Value")) {
+            throw new SkipException("没有无参构造方法");
+        }
+        if (hasAnnotation(type, "lombok.Data")) {
+            // @Data会为final属性生成有参构造方法
+            for (Element member : type.getEnclosedElements()) {
+                if (member.getKind() == ElementKind.FIELD && member.getModifiers().contains(Modifier.FINAL)
+                    && !member.getModifiers().contains(Modifier.STATIC)) {
+                    throw new SkipException("没有无参构造方法");
+                }
+            }
+        }
+    }
+
+    /**
+     * 属性上的@JSONField只允许使用EnumConverter，其他自定义反序列化、别名、格式的属性继续走JSON绑定
+     */
+    private void checkJsonField(VariableElement field) throws SkipException {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!JSON_FIELD.equals(getName(mirror))) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues()
+                .entrySet()) {
+                String key = entry.getKey().getSimpleName().toString();
+                String value = entry.getValue().getValue().toString();
+                boolean enumConverter = ("serializeUsing".equals(key) || "deserializeUsing".equals(key))
+                    && ENUM_CONVERTER.equals(value);
+                if (!enumConverter && !"serialize".equals(key)) {
+                    throw new SkipException(field.getSimpleName() + "的@JSONField配置了" + key);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取setter参数的强转类型，基本类型取包装类型
+     */
+    private String getCastType(TypeMirror typeMirror, String name) throws SkipException {
+        if (typeMirror.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType)typeMirror)
+                .getQualifiedName().toString();
+        }
+        if (typeMirror.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement)((DeclaredType)typeMirror).asElement();
+            String qualifiedName = element.getQualifiedName().toString();
+            if (VALUE_TYPES.contains(qualifiedName) || element.getKind() == ElementKind.ENUM) {
+                return qualifiedName;
+            }
+        }
+        throw new SkipException(name + "的类型" + typeMirror + "不支持");
+    }
+
+    private void writeCodec(TypeElement type, List<Column> columnList) throws IOException {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String codecName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+            .replace('$', '_') + SheetCodecs.SUFFIX;
+        String typeName = type.getQualifiedName().toString();
+        StringBuilder sb = new StringBuilder(4096);
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("import com.mamba.excel.codec.SheetCodec;\n");
+        sb.append("import com.mamba.excel.config.ColumnConverter;\n\n");
+        sb.append("/**\n * ").append(typeName).append("的sheet编解码器，由").append(getClass().getName())
+            .append("生成，不要修改\n */\n");
+        sb.append("public final class ").append(codecName).append(" implements SheetCodec<").append(typeName)
+            .append("> {\n\n");
+        sb.append("    private static final String[] FIELD_NAMES = {");
+        appendLiterals(sb, columnList, true);
+        sb.append("};\n");
+        sb.append("    private static final String[] HEADERS = {");
+        appendLiterals(sb, columnList, false);
+        sb.append("};\n\n");
+        sb.append("    private final ColumnConverter[] converters = new ColumnConverter[FIELD_NAMES.length];\n\n");
+        sb.append("    public ").append(codecName).append("() {\n");
+        sb.append("        for (int i = 0; i < FIELD_NAMES.length; i++) {\n");
+        sb.append("            converters[i] = ColumnConverter.of(").append(typeName)
+            .append(".class, FIELD_NAMES[i]);\n");
+        sb.append("        }\n    }\n\n");
+        sb.append("    @Override\n    public Class<").append(typeName).append("> getSheetClass() {\n");
+        sb.append("        return ").append(typeName).append(".class;\n    }\n\n");
+        sb.append("    @Override\n    public String[] getFieldNames() {\n");
+        sb.append("        return FIELD_NAMES.clone();\n    }\n\n");
+        sb.append("    @Override\n    public String[] getHeaders() {\n");
+        sb.append("        return HEADERS.clone();\n    }\n\n");
+        sb.append("    @Override\n    public ").append(typeName).append(" newInstance() {\n");
+        sb.append("        return new ").append(typeName).append("();\n    }\n\n");
+        sb.append("    @Override\n    public Object getCellValue(").append(typeName)
+            .append(" data, int column) {\n        switch (column) {\n");
+        for (int i = 0; i < columnList.size(); i++) {
+            sb.append("            case ").append(i).append(":\n                return converters[").append(i)
+                .append("].formatValue(data.").append(columnList.get(i).getter).append(");\n");
+        }
+        sb.append("            default:\n                throw new IndexOutOfBoundsException(\"列下标越界: \" + column);\n");
+        sb.append("        }\n    }\n\n");
+        sb.append("    @Override\n    public void setCellValue(").append(typeName)
+            .append(" data, int column, Object cellValue) {\n        Object value;\n        switch (column) {\n");
+        for (int i = 0; i < columnList.size(); i++) {
+            Column column = columnList.get(i);
+            sb.append("            case ").append(i).append(":\n");
+            sb.append("                value = converters[").append(i).append("].bind(cellValue);\n");
+            sb.append("                if (value != null) {\n");
+            sb.append("                    data.").append(String.format(column.setter, "(" + column.castType + ")value"))
+                .append(";\n");
+            sb.append("                }\n                break;\n");
+        }
+        sb.append("            default:\n                throw new IndexOutOfBoundsException(\"列下标越界: \" + column);\n");
+        sb.append("        }\n    }\n}\n");
+
+        JavaFileObject file = processingEnv.getFiler()
+            .createSourceFile(packageName.isEmpty() ? codecName : packageName + "." + codecName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    private static void appendLiterals(StringBuilder sb, List<Column> columnList, boolean fieldName) {
+        for (int i = 0; i < columnList.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            String value = fieldName ? columnList.get(i).fieldName : columnList.get(i).header;
+            sb.append('"');
+            // 非ASCII字符转义，生成的源文件与编译编码无关
+            for (char c : value.toCharArray()) {
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c < 0x20 || c > 0x7e) {
+                    sb.append(String.format("\\u%04x", (int)c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+    }
+
+    /**
+     * 类中是否有手写的非private方法
+     */
+    private static boolean hasMethod(TypeElement type, String name, int parameterCount) {
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.METHOD && member.getSimpleName().contentEquals(name)
+                && ((ExecutableElement)member).getParameters().size() == parameterCount
+                && !member.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 属性或类上是否有lombok访问器注解，访问级别为PRIVATE、NONE时不可用
+     */
+    private static boolean hasAccessor(TypeElement type, VariableElement field, String annotation) {
+        for (Element element : field == null ? Collections.singletonList(type) : Arrays.asList(field, type)) {
+            for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                if (!annotation.equals(getName(mirror))) {
+                    continue;
+                }
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror
+                    .getElementValues().entrySet()) {
+                    String key = entry.getKey().getSimpleName().toString();
+                    String value = entry.getValue().getValue().toString();
+                    if (("value".equals(key) || "access".equals(key))
+                        && ("PRIVATE".equals(value) || "NONE".equals(value))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (annotation.equals(getName(mirror))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getName(AnnotationMirror mirror) {
+        return ((TypeElement)mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * 属性的访问方式
+     */
+    private static class Column {
+        private String fieldName;
+        private String header;
+        private int index;
+        /** setter参数的强转类型 */
+        private String castType;
+        /** 读取表达式 */
+        private String getter;
+        /** 写入表达式模板，%s为值 */
+        private String setter;
+    }
+
+    /**
+     * 类不满足生成条件
+     */
+    private static class SkipException extends Exception {
+        private SkipException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.mamba.excel.codec;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/23 9:30
+ * @description: 编译期生成的sheet编解码器的查找入口，每个类只加载一次，没有生成编解码器的类也会缓存查找结果
+ */
+@Slf4j
+public final class SheetCodecs {
+
+    /** 生成的编解码器类名后缀 */
+    public static final String SUFFIX = "_SheetCodec";
+    /** sheet定义类 -> 编解码器 */
+    private static final Map<Class<?>, Optional<SheetCodec<?>>> CODEC_CACHE = new ConcurrentHashMap<>(32);
+
+    private SheetCodecs() {
+    }
+
+    /**
+     * 获取sheet定义类的编解码器
+     *
+     * @param clazz sheet定义类
+     * @return 编解码器，没有生成时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SheetCodec<T> get(Class<T> clazz) {
+        return (SheetCodec<T>)CODEC_CACHE.computeIfAbsent(clazz, SheetCodecs::load).orElse(null);
+    }
+
+    /**
+     * 获取编解码器中属性的列下标
+     *
+     * @param codec 编解码器
+     * @param fieldName 属性名
+     * @return 列下标，编解码器中没有该属性时返回-1
+     */
+    public static int indexOf(SheetCodec<?> codec, String fieldName) {
+        String[] fieldNames = codec.getFieldNames();
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (fieldNames[i].equals(fieldName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取编解码器类名：同一个包下，嵌套类的类名用"_"连接外部类名
+     *
+     * @param clazz sheet定义类
+     * @return 编解码器类名
+     */
+    public static String getCodecClassName(Class<?> clazz) {
+        return clazz.getName().replace('$', '_') + SUFFIX;
+    }
+
+    private static Optional<SheetCodec<?>> load(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        try {
+            Class<?> codecClass = Class.forName(getCodecClassName(clazz), true,
+                classLoader == null ? SheetCodecs.class.getClassLoader() : classLoader);
+            SheetCodec<?> codec = (SheetCodec<?>)codecClass.getDeclaredConstructor().newInstance();
+            return codec.getSheetClass() == clazz ? Optional.of(codec) : Optional.empty();
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            log.warn("加载sheet编解码器失败，使用反射绑定: {}", clazz.getName(), e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mamba.excel.collection;
+
+import java.util.Arrays;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/19 9:20
+ * @description: 紧凑的int列表，数据存放在一个int[]中，容量不足时按1.5倍扩容。导入内部使用，非线程安全
+ */
+public class IntList {
+
+    /** 元素 */
+    private int[] elements;
+    /** 元素个数 */
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param initialCapacity 初始容量
+     */
+    public IntList(int initialCapacity) {
+        elements = new int[Math.max(initialCapacity, 4)];
+    }
+
+    /**
+     * 追加元素
+     *
+     * @param value 元素
+     */
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size + (size >> 1));
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * @param index 下标
+     * @return 元素
+     * @throws IndexOutOfBoundsException 下标越界时抛出
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("下标越界: " + index + "，元素个数: " + size);
+        }
+        return elements[index];
+    }
+
+    /**
+     * @return 元素个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 是否没有元素
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 清空，保留已分配的容量
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return 包含全部元素的新数组
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
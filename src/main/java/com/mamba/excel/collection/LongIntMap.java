@@ -0,0 +1,227 @@
+package com.mamba.excel.collection;
+
+import java.util.Arrays;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/19 9:20
+ * @description: long到int的开放寻址哈希表，线性探测，每个键值对占用12~24字节，不装箱、没有Entry对象。
+ *               0作为空槽标记，键0单独记录。导入内部使用，非线程安全，不支持删除
+ */
+public class LongIntMap {
+
+    /** 最大装载因子，超过后容量翻倍 */
+    private static final float LOAD_FACTOR = 0.5F;
+    /** 最大容量 */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** 键，0表示空槽 */
+    private long[] keys;
+    /** 值 */
+    private int[] values;
+    /** 容量减1，容量总是2的幂 */
+    private int mask;
+    /** 键值对个数，不含键0 */
+    private int size;
+    /** 扩容阈值 */
+    private int threshold;
+    /** 是否有键0 */
+    private boolean containsZeroKey;
+    /** 键0对应的值 */
+    private int zeroValue;
+
+    public LongIntMap() {
+        this(1024);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param expectedSize 预计的键值对个数，按装载因子换算成初始容量
+     */
+    public LongIntMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize, LOAD_FACTOR));
+    }
+
+    /**
+     * 获取键对应的值
+     *
+     * @param key 键
+     * @param defaultValue 键不存在时返回的值
+     * @return 值
+     */
+    public int get(long key, int defaultValue) {
+        if (key == 0) {
+            return containsZeroKey ? zeroValue : defaultValue;
+        }
+        int index = mix(key) & mask;
+        long k;
+        while ((k = keys[index]) != 0) {
+            if (k == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * @param key 键
+     * @return 是否包含该键
+     */
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return containsZeroKey;
+        }
+        int index = mix(key) & mask;
+        long k;
+        while ((k = keys[index]) != 0) {
+            if (k == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 写入键值对，键已存在时覆盖
+     *
+     * @param key 键
+     * @param value 值
+     */
+    public void put(long key, int value) {
+        if (key == 0) {
+            containsZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int index = findSlot(key);
+        if (keys[index] == 0) {
+            insert(index, key, value);
+        } else {
+            values[index] = value;
+        }
+    }
+
+    /**
+     * 键不存在时写入键值对
+     *
+     * @param key 键
+     * @param value 值
+     * @param missingValue 键不存在时的返回值
+     * @return 键已存在时返回原来的值，否则返回missingValue
+     */
+    public int putIfAbsent(long key, int value, int missingValue) {
+        if (key == 0) {
+            if (containsZeroKey) {
+                return zeroValue;
+            }
+            containsZeroKey = true;
+            zeroValue = value;
+            return missingValue;
+        }
+        int index = findSlot(key);
+        if (keys[index] != 0) {
+            return values[index];
+        }
+        insert(index, key, value);
+        return missingValue;
+    }
+
+    /**
+     * @return 键值对个数
+     */
+    public int size() {
+        return containsZeroKey ? size + 1 : size;
+    }
+
+    /**
+     * 复制一份，副本与原表互不影响
+     *
+     * @return 副本
+     */
+    public LongIntMap copy() {
+        LongIntMap copy = new LongIntMap(1);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.mask = mask;
+        copy.size = size;
+        copy.threshold = threshold;
+        copy.containsZeroKey = containsZeroKey;
+        copy.zeroValue = zeroValue;
+        return copy;
+    }
+
+    /**
+     * 清空，保留已分配的容量
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        size = 0;
+        containsZeroKey = false;
+    }
+
+    /**
+     * 查找键所在的槽位，键不存在时返回应该插入的空槽
+     */
+    private int findSlot(long key) {
+        int index = mix(key) & mask;
+        long k;
+        while ((k = keys[index]) != 0) {
+            if (k == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void insert(int index, long key, int value) {
+        keys[index] = key;
+        values[index] = value;
+        if (++size > threshold) {
+            rehash();
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int)(capacity * LOAD_FACTOR);
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = mix(oldKeys[i]) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * 打散高位，键本身是哈希值或者连续整数时也不会聚集
+     */
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32));
+    }
+
+    /**
+     * 按预计元素个数和装载因子计算容量，容量为2的幂，最小16
+     */
+    static int tableSizeFor(int expectedSize, float loadFactor) {
+        long capacity = Math.max(16L, (long)Math.ceil(Math.max(expectedSize, 1) / (double)loadFactor));
+        return (int)Math.min(MAX_CAPACITY, Long.highestOneBit(capacity - 1) << 1);
+    }
+}
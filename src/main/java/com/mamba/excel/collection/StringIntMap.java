@@ -0,0 +1,194 @@
+package com.mamba.excel.collection;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/19 9:20
+ * @description: String到int的开放寻址哈希表，线性探测。键和值分别存放在数组中，同时缓存键的哈希值，
+ *               探测时先比较哈希再比较字符串；不装箱、没有Entry对象。导入导出内部使用，非线程安全，不支持删除
+ */
+public class StringIntMap implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 最大装载因子，超过后容量翻倍 */
+    private static final float LOAD_FACTOR = 0.5F;
+
+    /** 键，null表示空槽 */
+    private String[] keys;
+    /** 键的哈希值 */
+    private int[] hashes;
+    /** 值 */
+    private int[] values;
+    /** 容量减1，容量总是2的幂 */
+    private int mask;
+    /** 键值对个数 */
+    private int size;
+    /** 扩容阈值 */
+    private int threshold;
+
+    public StringIntMap() {
+        this(1024);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param expectedSize 预计的键值对个数，按装载因子换算成初始容量
+     */
+    public StringIntMap(int expectedSize) {
+        allocate(LongIntMap.tableSizeFor(expectedSize, LOAD_FACTOR));
+    }
+
+    /**
+     * 获取键对应的值
+     *
+     * @param key 键，不能为null
+     * @param defaultValue 键不存在时返回的值
+     * @return 值
+     */
+    public int get(String key, int defaultValue) {
+        int hash = LongIntMap.mix(key.hashCode());
+        int index = hash & mask;
+        String k;
+        while ((k = keys[index]) != null) {
+            if (hashes[index] == hash && k.equals(key)) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    /**
+     * @param key 键，不能为null
+     * @return 是否包含该键
+     */
+    public boolean containsKey(String key) {
+        int hash = LongIntMap.mix(key.hashCode());
+        int index = hash & mask;
+        String k;
+        while ((k = keys[index]) != null) {
+            if (hashes[index] == hash && k.equals(key)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 写入键值对，键已存在时覆盖
+     *
+     * @param key 键，不能为null
+     * @param value 值
+     */
+    public void put(String key, int value) {
+        int index = findSlot(key);
+        if (keys[index] == null) {
+            insert(index, key, value);
+        } else {
+            values[index] = value;
+        }
+    }
+
+    /**
+     * 键不存在时写入键值对
+     *
+     * @param key 键，不能为null
+     * @param value 值
+     * @param missingValue 键不存在时的返回值
+     * @return 键已存在时返回原来的值，否则返回missingValue
+     */
+    public int putIfAbsent(String key, int value, int missingValue) {
+        int index = findSlot(key);
+        if (keys[index] != null) {
+            return values[index];
+        }
+        insert(index, key, value);
+        return missingValue;
+    }
+
+    /**
+     * @return 键值对个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 遍历所有键值对，顺序不确定
+     *
+     * @param action 键值对处理
+     */
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * 清空，保留已分配的容量
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * 查找键所在的槽位，键不存在时返回应该插入的空槽
+     */
+    private int findSlot(String key) {
+        int hash = LongIntMap.mix(key.hashCode());
+        int index = hash & mask;
+        String k;
+        while ((k = keys[index]) != null) {
+            if (hashes[index] == hash && k.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void insert(int index, String key, int value) {
+        keys[index] = key;
+        hashes[index] = LongIntMap.mix(key.hashCode());
+        values[index] = value;
+        if (++size > threshold) {
+            rehash();
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int)(capacity * LOAD_FACTOR);
+    }
+
+    private void rehash() {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = oldHashes[i] & mask;
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                hashes[index] = oldHashes[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
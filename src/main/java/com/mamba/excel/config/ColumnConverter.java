@@ -0,0 +1,331 @@
+package com.mamba.excel.config;
+
+import cn.hutool.core.convert.BasicType;
+import cn.hutool.core.date.DatePattern;
+import cn.hutool.core.util.ObjectUtil;
+import cn.hutool.core.util.ReflectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson.parser.ParserConfig;
+import com.alibaba.fastjson.util.TypeUtils;
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.serializer.EnumDefinition;
+import lombok.Getter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.lang.reflect.Field;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/11 10:15
+ * @description: 预编译的列值转换器。按属性缓存，属性类型、日期格式和DateTimeFormatter只解析一次，
+ *               导出时LocalDate、LocalDateTime直接格式化，不再经过Date中转；导入时用同一个格式解析字符串日期
+ */
+public class ColumnConverter {
+
+    /** excel日期序列号的起点，1899-12-30 */
+    private static final long EXCEL_EPOCH_DAY = LocalDate.of(1899, 12, 30).toEpochDay();
+    /** 一天的纳秒数 */
+    private static final double NANOS_PER_DAY = 86400_000_000_000D;
+    /** 属性 -> 转换器 */
+    private static final Map<Field, ColumnConverter> CONVERTER_CACHE = new ConcurrentHashMap<>(64);
+    /** 枚举类 -> comment、name -> 枚举常量 */
+    private static final Map<Class<?>, Map<String, Object>> ENUM_CACHE = new ConcurrentHashMap<>(16);
+
+    /** 属性 */
+    private final Field field;
+    /** 属性类型分类 */
+    private final Kind kind;
+    /** 日期格式，非日期属性为null */
+    @Getter
+    private final String pattern;
+    /** 日期格式化器，非日期属性为null */
+    private final DateTimeFormatter formatter;
+    /** LocalDate属性的格式包含时间字段，需要补上00:00:00再格式化 */
+    private final boolean formatAtStartOfDay;
+    /** 导出时是否写为excel日期单元格 */
+    @Getter
+    private final boolean dateCell;
+
+    private ColumnConverter(Field field) {
+        this.field = field;
+        Class<?> fieldType = field.getType();
+        if (fieldType == Date.class) {
+            kind = Kind.DATE;
+        } else if (fieldType == LocalDate.class) {
+            kind = Kind.LOCAL_DATE;
+        } else if (fieldType == LocalDateTime.class) {
+            kind = Kind.LOCAL_DATE_TIME;
+        } else if (fieldType.isEnum()) {
+            kind = Arrays.asList(fieldType.getInterfaces()).contains(EnumDefinition.class) ? Kind.ENUM_DEFINITION
+                : Kind.ENUM;
+        } else {
+            kind = Kind.OTHER;
+        }
+        ExcelColumn excelColumn = field.getDeclaredAnnotation(ExcelColumn.class);
+        if (kind.isDate()) {
+            pattern = getPattern(field, excelColumn, kind);
+            formatter = DatePattern.createFormatter(pattern);
+            formatAtStartOfDay = kind == Kind.LOCAL_DATE && !supportsDate(formatter);
+            dateCell = excelColumn != null && excelColumn.dateCell();
+        } else {
+            pattern = null;
+            formatter = null;
+            formatAtStartOfDay = false;
+            dateCell = false;
+        }
+    }
+
+    /**
+     * 获取属性对应的转换器，同一个属性只生成一次
+     *
+     * @param field 属性
+     * @return 转换器
+     */
+    public static ColumnConverter of(Field field) {
+        return CONVERTER_CACHE.computeIfAbsent(field, f -> {
+            f.setAccessible(true);
+            return new ColumnConverter(f);
+        });
+    }
+
+    /**
+     * 获取类中属性对应的转换器，同一个属性只生成一次
+     *
+     * @param clazz 类
+     * @param fieldName 属性名
+     * @return 转换器
+     * @throws IllegalArgumentException 类中没有该属性时抛出
+     */
+    public static ColumnConverter of(Class<?> clazz, String fieldName) {
+        Field field = ReflectUtil.getField(clazz, fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(clazz.getName() + "中没有属性" + fieldName);
+        }
+        return of(field);
+    }
+
+    /**
+     * 获取导出的单元格值。日期按格式转成字符串，配置了dateCell时转成excel日期序列号；
+     * 实现EnumDefinition的枚举取comment，其他枚举取name
+     *
+     * @param object 数据对象
+     * @return 单元格值，属性值为空时返回null
+     */
+    public Object toCellValue(Object object) {
+        return formatValue(field.getDeclaringClass().isInstance(object) ? ReflectUtil.getFieldValue(object, field)
+            : ReflectUtil.getFieldValue(object, field.getName()));
+    }
+
+    /**
+     * 把属性值转成导出的单元格值，规则同toCellValue，供SheetCodec直接传入getter的返回值
+     *
+     * @param value 属性值
+     * @return 单元格值，属性值为空时返回null
+     */
+    public Object formatValue(Object value) {
+        if (ObjectUtil.isEmpty(value)) {
+            return null;
+        }
+        switch (kind) {
+            case DATE:
+                Instant instant = Instant.ofEpochMilli(((Date)value).getTime());
+                return dateCell ? toExcelDate(LocalDateTime.ofInstant(instant, ZoneId.systemDefault()))
+                    : formatter.format(instant);
+            case LOCAL_DATE:
+                LocalDate localDate = (LocalDate)value;
+                if (dateCell) {
+                    return (double)(localDate.toEpochDay() - EXCEL_EPOCH_DAY);
+                }
+                return formatAtStartOfDay ? formatter.format(localDate.atStartOfDay()) : formatter.format(localDate);
+            case LOCAL_DATE_TIME:
+                return dateCell ? toExcelDate((LocalDateTime)value) : formatter.format((LocalDateTime)value);
+            case ENUM_DEFINITION:
+                return ((EnumDefinition)value).getComment();
+            case ENUM:
+                return ((Enum)value).name();
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * 获取导入的属性值。字符串日期用缓存的格式解析，excel日期单元格直接转成属性类型，
+     * 解析失败时原样返回，交给后续的数据绑定处理
+     *
+     * @param cellValue 单元格值
+     * @return 属性值
+     */
+    public Object toFieldValue(Object cellValue) {
+        if (cellValue == null || !kind.isDate()) {
+            return cellValue;
+        }
+        LocalDateTime dateTime;
+        if (cellValue instanceof Date) {
+            dateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(((Date)cellValue).getTime()),
+                ZoneId.systemDefault());
+        } else if (cellValue instanceof CharSequence && StrUtil.isNotBlank((CharSequence)cellValue)) {
+            try {
+                TemporalAccessor temporal = formatter.parse(StrUtil.trim((CharSequence)cellValue));
+                LocalDate date = LocalDate.from(temporal);
+                dateTime = temporal.isSupported(ChronoField.NANO_OF_DAY)
+                    ? LocalDateTime.of(date, LocalTime.from(temporal)) : date.atStartOfDay();
+            } catch (DateTimeParseException e) {
+                return cellValue;
+            }
+        } else {
+            return cellValue;
+        }
+        switch (kind) {
+            case LOCAL_DATE:
+                return dateTime.toLocalDate();
+            case LOCAL_DATE_TIME:
+                return dateTime;
+            default:
+                return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+
+    /**
+     * 把导入的单元格值转成属性类型，供SheetCodec直接传给setter。先按toFieldValue处理日期，
+     * 实现EnumDefinition的枚举按comment匹配（匹配不到时再按name），其他枚举按name匹配，
+     * 其余类型的转换规则同fastjson，与按JSON绑定的结果一致
+     *
+     * @param cellValue 单元格值
+     * @return 属性值，基本类型返回包装类型
+     * @throws IllegalStateException 实现EnumDefinition的枚举匹配不到时抛出
+     */
+    public Object bind(Object cellValue) {
+        Object value = toFieldValue(cellValue);
+        if (value == null) {
+            return null;
+        }
+        Class<?> fieldType = BasicType.wrap(field.getType());
+        switch (kind) {
+            case ENUM_DEFINITION:
+            case ENUM:
+                return bindEnum(fieldType, value);
+            case DATE:
+                if (value instanceof Date) {
+                    return new Date(((Date)value).getTime());
+                }
+                break;
+            default:
+                if (fieldType.isInstance(value)) {
+                    return value;
+                }
+        }
+        return TypeUtils.cast(value, fieldType, ParserConfig.getGlobalInstance());
+    }
+
+    private Object bindEnum(Class<?> fieldType, Object value) {
+        String name = value.toString();
+        if (name.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> enumMap = ENUM_CACHE.computeIfAbsent(fieldType, ColumnConverter::getEnumMap);
+        Object enumConstant = enumMap.get(name);
+        if (enumConstant == null && kind == Kind.ENUM_DEFINITION) {
+            throw new IllegalStateException(field.getName() + "枚举参数异常: " + name);
+        }
+        return enumConstant;
+    }
+
+    /**
+     * 枚举的comment和name到常量的映射，comment优先
+     */
+    private static Map<String, Object> getEnumMap(Class<?> enumClass) {
+        Map<String, Object> map = new HashMap<>(16);
+        for (Object enumConstant : enumClass.getEnumConstants()) {
+            if (enumConstant instanceof EnumDefinition) {
+                map.putIfAbsent(String.valueOf(((EnumDefinition)enumConstant).getComment()), enumConstant);
+            }
+        }
+        for (Object enumConstant : enumClass.getEnumConstants()) {
+            map.putIfAbsent(((Enum)enumConstant).name(), enumConstant);
+        }
+        return map;
+    }
+
+    /**
+     * 获取excel单元格格式，把java日期格式中excel不支持的部分替换掉：毫秒S替换成0，上下午标记a替换成AM/PM，
+     * 单引号包围的文本转成excel的双引号文本，其中的字符原样保留，连续两个单引号表示单引号本身
+     *
+     * @return excel单元格格式，非日期属性返回null
+     */
+    public String getExcelFormat() {
+        if (pattern == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(pattern.length() + 8);
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                sb.append(quoted ? "'" : "\"'\"");
+                i++;
+            } else if (c == '\'') {
+                quoted = !quoted;
+                sb.append('"');
+            } else if (quoted) {
+                sb.append(c);
+            } else if (c == 'S') {
+                sb.append('0');
+            } else if (c == 'a') {
+                sb.append("AM/PM");
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 转成excel日期序列号，整数部分为距1899-12-30的天数，小数部分为一天中的时间
+     */
+    private static double toExcelDate(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay() - EXCEL_EPOCH_DAY
+            + dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_DAY;
+    }
+
+    private static String getPattern(Field field, ExcelColumn excelColumn, Kind kind) {
+        if (excelColumn != null && StrUtil.isNotBlank(excelColumn.format())) {
+            return excelColumn.format();
+        }
+        DateTimeFormat format = field.getDeclaredAnnotation(DateTimeFormat.class);
+        if (format != null && StrUtil.isNotBlank(format.pattern())) {
+            return format.pattern();
+        }
+        return kind == Kind.LOCAL_DATE ? DatePattern.NORM_DATE_PATTERN : DatePattern.NORM_DATETIME_PATTERN;
+    }
+
+    private static boolean supportsDate(DateTimeFormatter formatter) {
+        try {
+            formatter.format(LocalDate.of(2000, 1, 1));
+            return true;
+        } catch (DateTimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 属性类型分类
+     */
+    private enum Kind {
+        DATE, LOCAL_DATE, LOCAL_DATE_TIME, ENUM_DEFINITION, ENUM, OTHER;
+
+        private boolean isDate() {
+            return this == DATE || this == LOCAL_DATE || this == LOCAL_DATE_TIME;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.mamba.excel.config;
 
 import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.util.ReflectUtil;
 import cn.hutool.core.util.StrUtil;
 import com.mamba.excel.annotation.ExcelColumn;
 import com.mamba.excel.annotation.ExcelSheet;
+import com.mamba.excel.codec.SheetCodec;
+import com.mamba.excel.codec.SheetCodecs;
 import com.mamba.serializer.EnumDefinition;
 import lombok.Builder;
 import lombok.Data;
@@ -36,16 +39,36 @@ public class ExcelConfig {
         if (clazz == null) {
             return excelColumnList;
         }
+        SheetCodec codec = SheetCodecs.get(clazz);
         for (Field field : clazz.getDeclaredFields()) {
             ExcelColumn c = field.getDeclaredAnnotation(ExcelColumn.class);
             if (c != null) {
                 if (StrUtil.isBlank(c.value()) || c.index() < 0) {
                     throw new IllegalArgumentException("ExcelColumn注解的value和index不能为空");
                 }
-                excelColumnList.add(ColumnConfig.builder().header(c.value()).fieldName(field.getName()).note(c.note())
-                        .index(c.index()).enumDefinition(c.enumDefinition()).build());
+                ColumnConfig.ColumnConfigBuilder builder = ColumnConfig.builder().header(c.value())
+                        .fieldName(field.getName()).note(c.note()).index(c.index())
+                        .enumDefinition(c.enumDefinition()).converter(ColumnConverter.of(field));
+                int codecColumn = codec == null ? -1 : SheetCodecs.indexOf(codec, field.getName());
+                if (codecColumn < 0) {
+                    // 编解码器与类不一致（例如没有重新编译）时整个sheet都不使用编解码器
+                    codec = null;
+                }
+                builder.codecColumn(codecColumn);
+                if (c.ref() != Void.class) {
+                    String refField = StrUtil.blankToDefault(c.refField(), field.getName());
+                    if (ReflectUtil.getField(c.ref(), refField) == null) {
+                        throw new IllegalArgumentException(clazz.getName() + "." + field.getName() + "引用的"
+                                + c.ref().getName() + "中没有属性" + refField);
+                    }
+                    builder.ref(c.ref()).refField(refField);
+                }
+                excelColumnList.add(builder.build());
             }
         }
+        for (ColumnConfig columnConfig : excelColumnList) {
+            columnConfig.setCodec(codec);
+        }
         if (CollectionUtil.isNotEmpty(excelColumnList)) {
             return excelColumnList.stream().sorted((o1, o2) -> {
                 return o1.getIndex() - o2.getIndex();
@@ -99,5 +122,15 @@ public class ExcelConfig {
         private Integer index;
         /** 枚举类型，可选，用来生成单元格下拉框 */
         private Class<? extends EnumDefinition> enumDefinition;
+        /** 预编译的单元格值转换器，getColumnConfig创建列配置时生成；为null时按数据对象的属性获取，不回写 */
+        private ColumnConverter converter;
+        /** 引用的sheet定义类，没有配置引用时为null */
+        private Class<?> ref;
+        /** 引用sheet中对应的属性名 */
+        private String refField;
+        /** 编译期生成的sheet编解码器，sheet定义类没有生成时为null */
+        private SheetCodec codec;
+        /** 属性在编解码器中的列下标 */
+        private int codecColumn;
     }
 }
@@ -0,0 +1,27 @@
+package com.mamba.excel.config;
+
+import com.mamba.excel.csv.CsvFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/9 14:05
+ * @description: excel导入引擎类型
+ */
+@Getter
+@AllArgsConstructor
+public enum ReaderType {
+    /** 基于hutool ExcelReader + POI usermodel，整个workbook加载到内存 */
+    POI(null),
+    /** 流式引擎，不创建POI单元格对象：xlsx直接解析压缩包中的sheet xml，xls基于HSSF事件模型，按文件头的魔数自动区分 */
+    NATIVE(null),
+    /** 逗号分隔的UTF-8平面文件，只能导入一个sheet */
+    CSV(CsvFormat.CSV),
+    /** 制表符分隔的UTF-8平面文件，只能导入一个sheet */
+    TSV(CsvFormat.TSV);
+
+    /** 平面文件格式，xlsx引擎为null */
+    private final CsvFormat csvFormat;
+}
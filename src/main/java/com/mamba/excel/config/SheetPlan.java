@@ -0,0 +1,40 @@
+package com.mamba.excel.config;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/24 9:30
+ * @description: 预编译的sheet计划：sheet配置和按列顺序排列的列配置，生成后只读，可以在多个线程、多次导入导出之间共享
+ */
+@Getter
+public class SheetPlan {
+
+    /** sheet定义类 */
+    private final Class<?> sheetDefinition;
+    /** sheet配置 */
+    private final ExcelConfig.SheetConfig sheetConfig;
+    /** 列配置，只读 */
+    private final List<ExcelConfig.ColumnConfig> columnConfigList;
+
+    private SheetPlan(Class<?> sheetDefinition) {
+        this.sheetDefinition = sheetDefinition;
+        this.sheetConfig = ExcelConfig.getSheetConfig(sheetDefinition);
+        this.columnConfigList = Collections.unmodifiableList(ExcelConfig.getColumnConfig(sheetDefinition));
+    }
+
+    /**
+     * 解析sheet定义类生成sheet计划
+     *
+     * @param sheetDefinition sheet定义类
+     * @return sheet计划
+     * @throws IllegalArgumentException ExcelSheet、ExcelColumn注解配置不正确时抛出
+     */
+    public static SheetPlan of(Class<?> sheetDefinition) {
+        return new SheetPlan(sheetDefinition);
+    }
+}
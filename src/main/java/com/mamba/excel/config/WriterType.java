@@ -0,0 +1,27 @@
+package com.mamba.excel.config;
+
+import com.mamba.excel.csv.CsvFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/8 10:12
+ * @description: excel导出引擎类型
+ */
+@Getter
+@AllArgsConstructor
+public enum WriterType {
+    /** 基于hutool ExcelWriter + POI usermodel，支持单元格备注、自定义样式等全部功能 */
+    POI(null),
+    /** 直接输出SpreadsheetML的轻量引擎，适合只有表头和数据的普通导出，不支持单元格备注 */
+    NATIVE(null),
+    /** 逗号分隔的UTF-8平面文件，只能导出一个sheet，不支持下拉框和备注 */
+    CSV(CsvFormat.CSV),
+    /** 制表符分隔的UTF-8平面文件，只能导出一个sheet，不支持下拉框和备注 */
+    TSV(CsvFormat.TSV);
+
+    /** 平面文件格式，xlsx引擎为null */
+    private final CsvFormat csvFormat;
+}
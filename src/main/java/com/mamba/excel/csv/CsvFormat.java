@@ -0,0 +1,27 @@
+package com.mamba.excel.csv;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/25 9:30
+ * @description: 平面文件格式。字段中包含分隔符、双引号或换行时用双引号包裹，双引号转义为两个双引号（RFC 4180），
+ *               CSV和TSV只有分隔符不同
+ */
+@Getter
+@AllArgsConstructor
+public enum CsvFormat {
+    /** 逗号分隔 */
+    CSV(',', "csv", "text/csv;charset=utf-8"),
+    /** 制表符分隔 */
+    TSV('\t', "tsv", "text/tab-separated-values;charset=utf-8");
+
+    /** 字段分隔符 */
+    private final char delimiter;
+    /** 文件扩展名 */
+    private final String extension;
+    /** http响应的Content-Type */
+    private final String contentType;
+}
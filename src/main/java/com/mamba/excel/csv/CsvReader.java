@@ -0,0 +1,266 @@
+package com.mamba.excel.csv;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.poi.excel.sax.handler.RowHandler;
+import com.mamba.excel.reader.SheetReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/25 9:40
+ * @description: CSV、TSV行读取器。通过FileChannel按块读取UTF-8字节，解码到复用的字符缓冲区后直接在缓冲区上切分字段，
+ *               只有投影中的列才创建字符串，其余列只扫描不复制。整个文件视为一个sheet，单元格值都是字符串，空字段为null，
+ *               类型转换交给列转换器和数据绑定，与xlsx中的文本单元格一致
+ */
+public class CsvReader implements SheetReader {
+
+    /** 字节缓冲区大小 */
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+    /** 字符缓冲区初始大小，单行超过时自动扩容 */
+    private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+    /** UTF-8 BOM */
+    private static final char BOM = '\uFEFF';
+
+    /** 文件 */
+    private final File file;
+    /** 文件格式 */
+    private final CsvFormat format;
+    /** 文件通道 */
+    private final FileChannel channel;
+    /** UTF-8解码器 */
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+    /** 读取字节的缓冲区 */
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    /** 解码后的字符缓冲区，[position, limit)为未处理的字符 */
+    private char[] chars = new char[CHAR_BUFFER_SIZE];
+    /** 下一个未处理字符的下标 */
+    private int position;
+    /** 已解码字符的结束下标 */
+    private int limit;
+    /** 文件是否已经读完 */
+    private boolean endOfInput;
+    /** 列投影，为null时解析所有列 */
+    private boolean[] projection;
+
+    public CsvReader(File file, CsvFormat format) {
+        this.file = file;
+        this.format = format;
+        try {
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 逐行读取整个文件，文件中只有一个sheet，忽略sheetIndex
+     *
+     * @param sheetIndex sheet下标
+     * @param rowHandler 行处理器
+     */
+    @Override
+    public void read(int sheetIndex, RowHandler rowHandler) {
+        projection = null;
+        try {
+            rewind();
+            long rowIndex = 0;
+            List<Object> rowCells;
+            while ((rowCells = readRow()) != null) {
+                rowHandler.handle(sheetIndex, rowIndex++, rowCells);
+            }
+        } catch (CharacterCodingException e) {
+            throw new IORuntimeException(file.getName() + "不是UTF-8编码", e);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        rowHandler.doAfterAllAnalysed();
+    }
+
+    @Override
+    public void setProjection(boolean[] projection) {
+        this.projection = projection;
+    }
+
+    @Override
+    public String getSheetName(int sheetIndex) {
+        return FileUtil.mainName(file);
+    }
+
+    @Override
+    public int getSheetIndex(String sheetName) {
+        return FileUtil.mainName(file).equals(sheetName) ? 0 : -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 回到文件开头，跳过BOM
+     */
+    private void rewind() throws IOException {
+        channel.position(0);
+        bytes.clear();
+        decoder.reset();
+        position = 0;
+        limit = 0;
+        endOfInput = false;
+        fill();
+        if (limit > 0 && chars[0] == BOM) {
+            position = 1;
+        }
+    }
+
+    /**
+     * 读取一行。行在缓冲区末尾被截断时，把这一行移到缓冲区开头，读入更多字符后重新解析
+     *
+     * @return 行的单元格值，文件结束时返回null
+     */
+    private List<Object> readRow() throws IOException {
+        while (true) {
+            if (position == limit && endOfInput) {
+                return null;
+            }
+            List<Object> rowCells = new ArrayList<>();
+            if (parseRow(rowCells)) {
+                return rowCells;
+            }
+            compact();
+            fill();
+        }
+    }
+
+    /**
+     * 从position开始解析一行，解析完整时移动position到下一行开头
+     *
+     * @param rowCells 行的单元格值
+     * @return 缓冲区中的字符不足一行时返回false，position不变
+     */
+    private boolean parseRow(List<Object> rowCells) {
+        char delimiter = format.getDelimiter();
+        int i = position;
+        while (true) {
+            int column = rowCells.size();
+            boolean projected = projection == null || column < projection.length && projection[column];
+            Object value = null;
+            if (i < limit && chars[i] == '"') {
+                // 带引号的字段，找到结束引号，两个连续的引号是转义
+                boolean escaped = false;
+                int j = i + 1;
+                while (true) {
+                    if (j >= limit) {
+                        if (!endOfInput) {
+                            return false;
+                        }
+                        break;
+                    }
+                    if (chars[j] == '"') {
+                        if (j + 1 < limit && chars[j + 1] == '"') {
+                            escaped = true;
+                            j += 2;
+                            continue;
+                        }
+                        if (j + 1 == limit && !endOfInput) {
+                            return false;
+                        }
+                        break;
+                    }
+                    j++;
+                }
+                if (projected && j > i + 1) {
+                    String text = new String(chars, i + 1, Math.min(j, limit) - i - 1);
+                    value = escaped ? text.replace("\"\"", "\"") : text;
+                }
+                // 结束引号之后到分隔符之间的字符忽略
+                i = j + 1;
+                while (i < limit && chars[i] != delimiter && chars[i] != '\r' && chars[i] != '\n') {
+                    i++;
+                }
+            } else {
+                int start = i;
+                while (i < limit && chars[i] != delimiter && chars[i] != '\r' && chars[i] != '\n') {
+                    i++;
+                }
+                if (projected && i > start) {
+                    value = new String(chars, start, i - start);
+                }
+            }
+            if (i >= limit) {
+                if (!endOfInput) {
+                    return false;
+                }
+                rowCells.add(value);
+                position = limit;
+                return true;
+            }
+            rowCells.add(value);
+            char c = chars[i];
+            if (c == delimiter) {
+                i++;
+                continue;
+            }
+            if (c == '\r') {
+                if (i + 1 == limit && !endOfInput) {
+                    return false;
+                }
+                if (i + 1 < limit && chars[i + 1] == '\n') {
+                    i++;
+                }
+            }
+            position = i + 1;
+            return true;
+        }
+    }
+
+    /**
+     * 把未处理的字符移到缓冲区开头，缓冲区被一行占满时扩容
+     */
+    private void compact() {
+        if (position > 0) {
+            System.arraycopy(chars, position, chars, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        if (limit == chars.length) {
+            chars = Arrays.copyOf(chars, chars.length * 2);
+        }
+    }
+
+    /**
+     * 读取字节并解码到字符缓冲区的空闲部分，至少解码出一个字符或者文件结束
+     */
+    private void fill() throws IOException {
+        CharBuffer charBuffer = CharBuffer.wrap(chars, limit, chars.length - limit);
+        while (charBuffer.position() == limit && !endOfInput) {
+            if (channel.read(bytes) < 0) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, charBuffer, endOfInput);
+            bytes.compact();
+            if (result.isError()) {
+                result.throwException();
+            }
+            if (endOfInput) {
+                decoder.flush(charBuffer);
+            }
+        }
+        limit = charBuffer.position();
+    }
+}
@@ -0,0 +1,127 @@
+package com.mamba.excel.csv;
+
+import cn.hutool.core.util.NumberUtil;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/25 10:20
+ * @description: CSV、TSV导出，单元格值经过缓冲区直接编码成UTF-8写入输出流。文件开头写入BOM，excel打开时能识别中文；
+ *               只在字段包含分隔符、双引号或换行时加引号。excel日期序列号按列的日期格式转回字符串
+ */
+public class CsvWriter implements Closeable {
+
+    /** 输出缓冲区大小 */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** 输出 */
+    private final Writer out;
+    /** 字段分隔符 */
+    private final char delimiter;
+    /** 列下标 -> 日期格式化器，非日期列为null */
+    private DateTimeFormatter[] dateFormatters = new DateTimeFormatter[0];
+
+    /**
+     * 构造方法
+     *
+     * @param out 输出流，close时不会被关闭
+     * @param format 文件格式
+     * @throws IOException 写入BOM出错时抛出
+     */
+    public CsvWriter(OutputStream out, CsvFormat format) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.delimiter = format.getDelimiter();
+        this.out.write('\uFEFF');
+    }
+
+    /**
+     * 设置日期列的格式，写入数值时当作excel日期序列号格式化
+     *
+     * @param column 列下标
+     * @param pattern 日期格式
+     */
+    public void setDateColumn(int column, String pattern) {
+        if (column >= dateFormatters.length) {
+            DateTimeFormatter[] newFormatters = new DateTimeFormatter[column + 1];
+            System.arraycopy(dateFormatters, 0, newFormatters, 0, dateFormatters.length);
+            dateFormatters = newFormatters;
+        }
+        dateFormatters[column] = DateTimeFormatter.ofPattern(pattern);
+    }
+
+    /**
+     * 写入一行，null写为空字段
+     *
+     * @param values 单元格值
+     * @throws IOException 写入出错时抛出
+     */
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(delimiter);
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Number && i < dateFormatters.length && dateFormatters[i] != null) {
+                value = dateFormatters[i].format(DateUtil.getLocalDateTime(((Number)value).doubleValue()));
+            }
+            writeField(value instanceof Number ? NumberUtil.toStr((Number)value) : value.toString());
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * 写入一个字段，包含分隔符、双引号或换行时用双引号包裹，双引号转义为两个双引号
+     */
+    private void writeField(String text) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == delimiter || c == '"' || c == '\r' || c == '\n') {
+                quote = true;
+                break;
+            }
+        }
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                out.write(text, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(text, start, text.length() - start);
+        out.write('"');
+    }
+
+    /**
+     * 输出缓冲区中的数据，不关闭输出流
+     *
+     * @throws IOException 写入出错时抛出
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+}
@@ -1,17 +1,14 @@
 package com.mamba.excel.handler;
 
 import cn.hutool.core.collection.CollectionUtil;
-import cn.hutool.core.util.ReflectUtil;
 import com.mamba.excel.ExcelImporter;
-import com.mamba.utils.ValidateUtils;
 
-import javax.validation.ConstraintViolation;
-import java.lang.reflect.Field;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author 00351634
@@ -39,6 +36,17 @@ public abstract class AbstractExcelDataHandler<T> {
         return t;
     }
 
+    /**
+     * 批量预取，每批数据调用checkData之前调用一次，批次大小同ExcelImporter的batchSize。
+     * 需要逐行查询数据库等外部数据源的校验，可以在这里收集整批数据的键做一次批量查询，结果写入context，
+     * checkData中通过importer.getLookupContext()读取。context只在当前批次内有效，chunk只能在本方法内使用
+     *
+     * @param chunk 一批已绑定的数据，只读
+     * @param context 当前批次的查询缓存
+     */
+    public void prefetch(Collection<T> chunk, LookupContext context) {
+    }
+
     /**
      * 校验数据，返回校验不通过的字段和校验不通过的原因
      *
@@ -49,24 +57,50 @@ public abstract class AbstractExcelDataHandler<T> {
     public abstract Map<String, List<String>> checkData(T t, ExcelImporter importer);
 
     /**
-     * 使用javax.validation注解验证指定对象的数据有效性
+     * 使用javax.validation注解验证指定对象的数据有效性。只有纯校验约束的属性按值缓存校验结果，
+     * 同一列中相同的值只校验一次，参见ColumnConstraint
      *
      * @param t 需要验证的对象
      * @return 包含验证结果和错误信息的Map集合，键为错误字段名称，值为对应的错误信息列表
      */
     protected Map<String, List<String>> validateData(T t) {
         Map<String, List<String>> map = new HashMap<>();
-        Field[] fields = ReflectUtil.getFieldsDirectly(t.getClass(), false);
-        for (Field field : fields) {
-            Set<ConstraintViolation<Object>> violations = ValidateUtils.validateProperty(t, field.getName());
-            if (CollectionUtil.isNotEmpty(violations)) {
-                map.put(field.getName(),
-                    violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toList()));
+        for (ColumnConstraint columnConstraint : ColumnConstraint.of(t.getClass())) {
+            List<String> messageList = columnConstraint.validate(t);
+            if (CollectionUtil.isNotEmpty(messageList)) {
+                map.put(columnConstraint.getFieldName(), new ArrayList<>(messageList));
             }
         }
         return map;
     }
 
+    /**
+     * 是否允许缓存导入结果。同一个文件重复导入时，所有sheet的处理器都允许缓存才会直接返回上次的导入结果和错误excel，
+     * 不再解析、校验，也不会再调用validDataList和invalidDataList，导入结果回调function照常调用，默认不允许
+     *
+     * @return 是否允许缓存导入结果
+     */
+    public boolean cacheable() {
+        return false;
+    }
+
+    /**
+     * 断点续传时需要保存的处理器状态，例如已入库的批次号、累计金额。流式导入开启断点后，每批数据的validDataList、
+     * invalidDataList返回后调用一次，与最后提交的行下标一起写入断点，默认没有状态
+     *
+     * @return 处理器状态，需要可以序列化
+     */
+    public Serializable checkpointState() {
+        return null;
+    }
+
+    /**
+     * 从断点续传时恢复处理器状态，在续传的sheet跳过已提交的行之前调用一次
+     *
+     * @param state 断点中保存的处理器状态，可能为null
+     */
+    public void restoreCheckpointState(Serializable state) {}
+
     /**
      * 获取正常数据
      *
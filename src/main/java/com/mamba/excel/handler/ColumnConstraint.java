@@ -0,0 +1,151 @@
+package com.mamba.excel.handler;
+
+import cn.hutool.core.util.ReflectUtil;
+import com.mamba.excel.annotation.PureConstraint;
+import com.mamba.utils.ValidateUtils;
+import lombok.Getter;
+import org.hibernate.validator.constraints.Length;
+import org.hibernate.validator.constraints.Range;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.constraints.*;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/22 9:30
+ * @description: 预编译的属性校验。属性上的约束都是纯校验（格式、长度、范围、非空等内置注解，以及标记了@PureConstraint
+ *               的自定义注解）时，按列缓存每个不同值的校验结果，状态、部门、枚举这类取值很少的列只校验取值个数次；
+ *               缓存的不同值超过MAX_DISTINCT_VALUES后不再新增，其余值照常校验。其他属性每行调用validateProperty
+ */
+public class ColumnConstraint {
+
+    /** 每列缓存的不同值个数上限 */
+    public static final int MAX_DISTINCT_VALUES = 4096;
+    /** 没有副作用的内置约束，@Past、@Future等依赖当前时间的约束不在其中 */
+    private static final Set<Class<? extends Annotation>> PURE_CONSTRAINTS = new HashSet<>(Arrays.asList(
+        NotNull.class, Null.class, NotBlank.class, NotEmpty.class, Pattern.class, Size.class, Email.class,
+        Min.class, Max.class, DecimalMin.class, DecimalMax.class, Digits.class, Positive.class,
+        PositiveOrZero.class, Negative.class, NegativeOrZero.class, AssertTrue.class, AssertFalse.class,
+        Length.class, Range.class));
+    /** 不可变的值类型，只有这些类型的值可以作为缓存键 */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(String.class,
+        Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class, Boolean.class,
+        Character.class, BigDecimal.class, BigInteger.class));
+    /** null值的缓存键 */
+    private static final Object NULL_KEY = new Object();
+    /** 类 -> 有约束的属性 */
+    private static final Map<Class<?>, List<ColumnConstraint>> CONSTRAINT_CACHE = new ConcurrentHashMap<>(64);
+
+    /** 属性所在的类 */
+    private final Class<?> beanClass;
+    /** 属性 */
+    private final Field field;
+    /** 属性名 */
+    @Getter
+    private final String fieldName;
+    /** 值 -> 校验不通过的原因，非纯校验的属性为null */
+    private final Map<Object, List<String>> memo;
+    /** 实际执行校验的次数 */
+    private final AtomicInteger evaluateCount = new AtomicInteger();
+
+    private ColumnConstraint(Class<?> beanClass, Field field, boolean pure) {
+        this.beanClass = beanClass;
+        this.field = field;
+        this.fieldName = field.getName();
+        this.memo = pure ? new ConcurrentHashMap<>(64) : null;
+    }
+
+    /**
+     * 获取类中有约束的属性，只包含本类声明的属性，同一个类只解析一次
+     *
+     * @param beanClass 类
+     * @return 有约束的属性
+     */
+    public static List<ColumnConstraint> of(Class<?> beanClass) {
+        return CONSTRAINT_CACHE.computeIfAbsent(beanClass, clazz -> {
+            List<ColumnConstraint> list = new ArrayList<>();
+            for (Field field : ReflectUtil.getFieldsDirectly(clazz, false)) {
+                PropertyDescriptor descriptor = ValidateUtils.getConstraintsForProperty(clazz, field.getName());
+                if (descriptor == null) {
+                    continue;
+                }
+                field.setAccessible(true);
+                boolean pure = !descriptor.isCascaded() && descriptor.getConstraintDescriptors().stream()
+                    .allMatch(ColumnConstraint::isPure);
+                list.add(new ColumnConstraint(clazz, field, pure));
+            }
+            return Collections.unmodifiableList(list);
+        });
+    }
+
+    /**
+     * 校验对象中的属性值
+     *
+     * @param object 数据对象
+     * @return 校验不通过的原因，校验通过返回空列表
+     */
+    public List<String> validate(Object object) {
+        Object value = ReflectUtil.getFieldValue(object, field);
+        if (memo == null || (value != null && !isImmutable(value))) {
+            evaluateCount.incrementAndGet();
+            return toMessageList(ValidateUtils.validateProperty(object, fieldName));
+        }
+        Object key = value == null ? NULL_KEY : value;
+        List<String> messageList = memo.get(key);
+        if (messageList == null) {
+            evaluateCount.incrementAndGet();
+            messageList = toMessageList(ValidateUtils.validateValue(beanClass, fieldName, value));
+            if (memo.size() < MAX_DISTINCT_VALUES) {
+                memo.putIfAbsent(key, messageList);
+            }
+        }
+        return messageList;
+    }
+
+    /**
+     * @return 是否按值缓存校验结果
+     */
+    public boolean isMemoized() {
+        return memo != null;
+    }
+
+    /**
+     * @return 实际执行校验的次数，命中缓存的不计入
+     */
+    public int getEvaluateCount() {
+        return evaluateCount.get();
+    }
+
+    private static boolean isPure(ConstraintDescriptor<?> descriptor) {
+        Class<? extends Annotation> annotationType = descriptor.getAnnotation().annotationType();
+        if (!PURE_CONSTRAINTS.contains(annotationType) && !annotationType.isAnnotationPresent(PureConstraint.class)) {
+            return false;
+        }
+        return descriptor.getComposingConstraints().stream().allMatch(ColumnConstraint::isPure);
+    }
+
+    private static boolean isImmutable(Object value) {
+        return IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum
+            || value instanceof TemporalAccessor && value.getClass().getName().startsWith("java.time.");
+    }
+
+    private static <T> List<String> toMessageList(Set<ConstraintViolation<T>> violations) {
+        if (violations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(
+            violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.mamba.excel.handler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/21 9:30
+ * @description: 批量预取的查询缓存，作用域为一批数据。导入器在每批数据调用prefetch前清空，
+ *               prefetch中批量查询的结果按命名空间写入，checkData中通过ExcelImporter.getLookupContext()读取
+ */
+public class LookupContext {
+
+    /** 命名空间 -> 键 -> 值 */
+    private final Map<String, Map<Object, Object>> namespaceMap = new HashMap<>(8);
+
+    /**
+     * 写入一条查询结果
+     *
+     * @param namespace 命名空间，例如"department"
+     * @param key 键
+     * @param value 值
+     */
+    public void put(String namespace, Object key, Object value) {
+        namespaceMap.computeIfAbsent(namespace, k -> new HashMap<>(256)).put(key, value);
+    }
+
+    /**
+     * 批量写入查询结果
+     *
+     * @param namespace 命名空间
+     * @param values 键 -> 值
+     */
+    public void putAll(String namespace, Map<?, ?> values) {
+        namespaceMap.computeIfAbsent(namespace, k -> new HashMap<>(Math.max(16, values.size() * 2))).putAll(values);
+    }
+
+    /**
+     * 获取查询结果
+     *
+     * @param namespace 命名空间
+     * @param key 键
+     * @param <V> 值类型
+     * @return 值，没有查到时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String namespace, Object key) {
+        Map<Object, Object> values = namespaceMap.get(namespace);
+        return values == null ? null : (V)values.get(key);
+    }
+
+    /**
+     * @param namespace 命名空间
+     * @param key 键
+     * @return 是否查到了该键
+     */
+    public boolean contains(String namespace, Object key) {
+        Map<Object, Object> values = namespaceMap.get(namespace);
+        return values != null && values.containsKey(key);
+    }
+
+    /**
+     * 清空所有命名空间
+     */
+    public void clear() {
+        namespaceMap.clear();
+    }
+}
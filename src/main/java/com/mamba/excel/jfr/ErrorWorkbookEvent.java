@@ -0,0 +1,31 @@
+package com.mamba.excel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/15 9:30
+ * @description: JFR事件：导入结束后生成错误excel，包含列宽自适应和输出
+ */
+@Name("com.mamba.excel.ErrorWorkbook")
+@Label("Excel Error Workbook")
+@Category({"Fox Excel", "Import"})
+@Description("生成并输出错误excel")
+public class ErrorWorkbookEvent extends Event {
+
+    @Label("File Name")
+    public String fileName;
+
+    @Label("Error Row Count")
+    public long errorRowCount;
+
+    @Label("Bytes Written")
+    @DataAmount(DataAmount.BYTES)
+    public long bytes;
+}
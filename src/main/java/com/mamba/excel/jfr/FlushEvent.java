@@ -0,0 +1,31 @@
+package com.mamba.excel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/15 9:30
+ * @description: JFR事件：导出时把workbook写入输出流。原生引擎边生成sheet边组装，耗时包含sheet生成
+ */
+@Name("com.mamba.excel.Flush")
+@Label("Excel Flush")
+@Category({"Fox Excel", "Export"})
+@Description("把workbook写入输出流")
+public class FlushEvent extends Event {
+
+    @Label("Writer Type")
+    public String writerType;
+
+    @Label("Sheet Count")
+    public int sheetCount;
+
+    @Label("Bytes Written")
+    @DataAmount(DataAmount.BYTES)
+    public long bytes;
+}
@@ -0,0 +1,32 @@
+package com.mamba.excel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/15 9:30
+ * @description: JFR事件：调用导入处理器的validDataList或invalidDataList，通常是业务入库的耗时
+ */
+@Name("com.mamba.excel.HandlerCallback")
+@Label("Excel Handler Callback")
+@Category({"Fox Excel", "Import"})
+@Description("调用导入处理器的数据回调")
+public class HandlerCallbackEvent extends Event {
+
+    @Label("Sheet Name")
+    public String sheetName;
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Callback")
+    public String callback;
+
+    @Label("Row Count")
+    public long rowCount;
+}
@@ -0,0 +1,32 @@
+package com.mamba.excel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/15 9:30
+ * @description: JFR事件：读取一个sheet的全部行并绑定成DTO，流式导入时还包含逐行校验和分批回调
+ */
+@Name("com.mamba.excel.SheetParse")
+@Label("Excel Sheet Parse")
+@Category({"Fox Excel", "Import"})
+@Description("读取sheet并绑定成DTO")
+public class SheetParseEvent extends Event {
+
+    @Label("Sheet Name")
+    public String sheetName;
+
+    @Label("Sheet Index")
+    public int sheetIndex;
+
+    @Label("Row Count")
+    public long rowCount;
+
+    @Label("Streaming")
+    public boolean streaming;
+}
@@ -0,0 +1,32 @@
+package com.mamba.excel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/15 9:30
+ * @description: JFR事件：校验一批数据，每batchSize行一个事件，包含checkData、fillExtraData和错误行写入
+ */
+@Name("com.mamba.excel.ValidationBatch")
+@Label("Excel Validation Batch")
+@Category({"Fox Excel", "Import"})
+@Description("校验一批导入数据")
+public class ValidationBatchEvent extends Event {
+
+    @Label("Sheet Name")
+    public String sheetName;
+
+    @Label("Row Count")
+    public long rowCount;
+
+    @Label("Valid Count")
+    public long validCount;
+
+    @Label("Invalid Count")
+    public long invalidCount;
+}
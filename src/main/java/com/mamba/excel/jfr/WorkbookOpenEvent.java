@@ -0,0 +1,31 @@
+package com.mamba.excel.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/15 9:30
+ * @description: JFR事件：导入时打开excel文件，POI引擎包含加载workbook，原生引擎包含读取共享字符串表
+ */
+@Name("com.mamba.excel.WorkbookOpen")
+@Label("Excel Workbook Open")
+@Category({"Fox Excel", "Import"})
+@Description("导入时打开excel文件")
+public class WorkbookOpenEvent extends Event {
+
+    @Label("File Name")
+    public String fileName;
+
+    @Label("Reader Type")
+    public String readerType;
+
+    @Label("File Size")
+    @DataAmount(DataAmount.BYTES)
+    public long bytes;
+}
@@ -7,6 +7,7 @@ import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddressList;
 import org.apache.poi.xssf.usermodel.XSSFRichTextString;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,19 +27,33 @@ public class ExcelKit {
      * @param note
      */
     public static void setCellComment(ExcelWriter writer, int row, int col, String note) {
+        if (StrUtil.isBlank(note)) {
+            return;
+        }
+        setCellComment(writer.getCell(col, row), note);
+    }
+
+    /**
+     * 设置单元格备注，已有备注时替换
+     *
+     * @param cell 单元格
+     * @param note 备注内容
+     */
+    public static void setCellComment(Cell cell, String note) {
         if (StrUtil.isBlank(note)) {
             return;
         }
         // 创建单元格备注的位置
-        Sheet sheet = writer.getSheet();
-        Cell cell = writer.getCell(col, row);
+        Sheet sheet = cell.getSheet();
+        int row = cell.getRowIndex();
+        int col = cell.getColumnIndex();
         // 判断单元格如果已经有备注则删除已有的备注
         if (cell.getCellComment() != null) {
             cell.removeCellComment();
         }
 
         Drawing<?> drawing = sheet.createDrawingPatriarch();
-        CreationHelper factory = writer.getWorkbook().getCreationHelper();
+        CreationHelper factory = sheet.getWorkbook().getCreationHelper();
         ClientAnchor anchor = factory.createClientAnchor();
         // 备注的起始行
         anchor.setRow1(row);
@@ -136,7 +151,7 @@ public class ExcelKit {
                 int columnNum = cell.getColumnIndex();
                 int columnWidth = sheet.getColumnWidth(columnNum) / 256;
                 if (cell.getCellType() == CellType.STRING) {
-                    int length = cell.getStringCellValue().getBytes().length;
+                    int length = cell.getStringCellValue().getBytes(StandardCharsets.UTF_8).length;
                     if (columnWidth < length) {
                         columnWidth = length;
                     }
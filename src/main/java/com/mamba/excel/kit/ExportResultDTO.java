@@ -0,0 +1,21 @@
+package com.mamba.excel.kit;
+
+import com.mamba.excel.metrics.ExportMetrics;
+import lombok.Data;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/13 10:00
+ * @description: 导出结果DTO
+ */
+@Data
+public class ExportResultDTO {
+    /** 导出指标 */
+    private ExportMetrics metrics;
+
+    public ExportResultDTO() {
+        super();
+        metrics = new ExportMetrics();
+    }
+}
@@ -1,10 +1,12 @@
 package com.mamba.excel.kit;
 
 import com.mamba.excel.annotation.ExcelSheet;
+import com.mamba.excel.metrics.ImportMetrics;
 import lombok.Builder;
 import lombok.Data;
 import org.apache.commons.compress.utils.Lists;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,21 +17,30 @@ import java.util.List;
  * @description: 导入结果DTO
  */
 @Data
-public class ImportResultDTO {
+public class ImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     /** 是否包含错误数据 */
     private boolean hasErrorData;
     /** 导入结果详情（分sheet） */
     private List<SheetResult> sheetResultList;
+    /** 导入指标 */
+    private ImportMetrics metrics;
 
     public ImportResultDTO() {
         super();
         hasErrorData = false;
         sheetResultList = Lists.newArrayList();
+        metrics = new ImportMetrics();
     }
 
     @Data
     @Builder
-    public static class SheetResult {
+    public static class SheetResult implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
         /** 导入Sheet的注解定义 */
         private ExcelSheet excelSheet;
         /** 导入成功的数据 */
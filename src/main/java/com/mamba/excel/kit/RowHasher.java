@@ -0,0 +1,75 @@
+package com.mamba.excel.kit;
+
+import cn.hutool.core.util.NumberUtil;
+import cn.hutool.core.util.StrUtil;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/18 9:20
+ * @description: 整行哈希。对行中单元格的规范化值计算64位哈希，用于单次遍历检测重复行：
+ *               字符串去掉首尾空白，空白单元格等同于空值，数值去掉末尾的0（1.0与"1"相同），日期取毫秒数
+ */
+public class RowHasher {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private RowHasher() {
+    }
+
+    /**
+     * 计算整行哈希
+     *
+     * @param rowCells 行的单元格值
+     * @param projection 参与计算的列，为null时计算全部列
+     * @return 64位哈希
+     */
+    public static long hash(List<Object> rowCells, boolean[] projection) {
+        long h = FNV_OFFSET;
+        int columnCount = projection == null ? rowCells.size() : projection.length;
+        for (int i = 0; i < columnCount; i++) {
+            if (projection != null && !projection[i]) {
+                continue;
+            }
+            String value = normalize(i < rowCells.size() ? rowCells.get(i) : null);
+            for (int k = 0; k < value.length(); k++) {
+                h = (h ^ value.charAt(k)) * FNV_PRIME;
+            }
+            // 列分隔，同样的字符拆在不同的列中哈希不同
+            h = (h ^ (0x10000 | value.length())) * FNV_PRIME;
+        }
+        return fmix64(h);
+    }
+
+    private static String normalize(Object cell) {
+        if (cell == null) {
+            return "";
+        }
+        if (cell instanceof CharSequence) {
+            return StrUtil.trim((CharSequence)cell);
+        }
+        if (cell instanceof Number) {
+            return NumberUtil.toStr((Number)cell);
+        }
+        if (cell instanceof Date) {
+            return Long.toString(((Date)cell).getTime());
+        }
+        return cell.toString().trim();
+    }
+
+    /**
+     * MurmurHash3的64位收尾，让FNV结果的每一位都充分扩散
+     */
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
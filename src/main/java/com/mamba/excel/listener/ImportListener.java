@@ -0,0 +1,65 @@
+package com.mamba.excel.listener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/14 9:15
+ * @description: 行级导入监听器，通过ExcelImporter.addListener注册，多个监听器按注册顺序调用。
+ *               流式导入时配合onBatch可以边读边入库，导入器不保留完整的数据列表
+ */
+public interface ImportListener {
+
+    /**
+     * sheet开始导入，表头校验之前
+     *
+     * @param context sheet上下文
+     */
+    default void onSheetStart(ImportSheetContext context) {}
+
+    /**
+     * 读取到一行数据，绑定成DTO之前。rawRow可能被读取器复用，只在回调期间有效
+     *
+     * @param context sheet上下文
+     * @param rawRow 原始单元格值，未映射的列为null
+     * @param rowIndex 行下标，从0开始，与excel中的行号相差1
+     */
+    default void onRow(ImportSheetContext context, List<Object> rawRow, long rowIndex) {}
+
+    /**
+     * 一行数据校验完成
+     *
+     * @param context sheet上下文
+     * @param data 绑定后的DTO，校验通过时已经过fillExtraData处理
+     * @param rowIndex 行下标，从0开始
+     * @param errors 校验不通过的字段和原因，校验通过时为空
+     */
+    default void onRowValidated(ImportSheetContext context, Object data, long rowIndex,
+        Map<String, List<String>> errors) {}
+
+    /**
+     * 一批校验通过的数据，批次大小由ExcelImporter.batchSize决定。回调结束后导入器不再引用这批数据
+     *
+     * @param context sheet上下文
+     * @param validDataList 校验通过的数据
+     */
+    default void onBatch(ImportSheetContext context, List<Object> validDataList) {}
+
+    /**
+     * sheet导入结束
+     *
+     * @param context sheet上下文
+     */
+    default void onSheetEnd(ImportSheetContext context) {}
+
+    /**
+     * 绑定或校验数据出错，回调后异常继续抛出，导入终止
+     *
+     * @param context sheet上下文
+     * @param e 异常
+     * @param rowIndex 出错的行下标，从0开始
+     */
+    default void onError(ImportSheetContext context, Exception e, long rowIndex) {}
+}
@@ -0,0 +1,24 @@
+package com.mamba.excel.listener;
+
+import com.mamba.excel.metrics.SheetImportMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/14 9:10
+ * @description: 导入监听器回调时的sheet上下文
+ */
+@Getter
+@AllArgsConstructor
+public class ImportSheetContext {
+    /** 表格定义类 */
+    private final Class<?> sheetDefinition;
+    /** sheet名称 */
+    private final String sheetName;
+    /** sheet下标 */
+    private final int sheetIndex;
+    /** sheet导入指标，onSheetEnd时已统计完成 */
+    private final SheetImportMetrics metrics;
+}
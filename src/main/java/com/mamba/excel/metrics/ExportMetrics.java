@@ -0,0 +1,38 @@
+package com.mamba.excel.metrics;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/13 9:35
+ * @description: 一次导出的指标，耗时单位均为纳秒
+ */
+@Data
+public class ExportMetrics {
+    /** 写出的字节数 */
+    private long bytesWritten;
+    /** 导出总耗时 */
+    private long totalNanos;
+    /** 输出耗时：workbook序列化或sheet组装、压缩 */
+    private long writeNanos;
+    /** 各sheet的指标 */
+    private List<SheetExportMetrics> sheetMetricsList = new ArrayList<>();
+
+    /**
+     * @return 所有sheet的数据行数
+     */
+    public long getRowCount() {
+        return sheetMetricsList.stream().mapToLong(SheetExportMetrics::getRowCount).sum();
+    }
+
+    /**
+     * @return 每秒导出的行数
+     */
+    public double getRowsPerSecond() {
+        return MetricsKit.perSecond(getRowCount(), totalNanos);
+    }
+}
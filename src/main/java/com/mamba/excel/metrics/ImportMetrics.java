@@ -0,0 +1,62 @@
+package com.mamba.excel.metrics;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/13 9:25
+ * @description: 一次导入的指标，耗时单位均为纳秒
+ */
+@Data
+public class ImportMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 导入的文件名 */
+    private String fileName;
+    /** 读取的文件字节数 */
+    private long bytesRead;
+    /** 导入总耗时，包含错误excel的输出 */
+    private long totalNanos;
+    /** 错误excel的字节数，没有输出错误excel时为0 */
+    private long errorWorkbookBytes;
+    /** 错误excel的输出耗时 */
+    private long errorWorkbookNanos;
+    /** 是否命中导入结果缓存，命中时sheet指标为空，总耗时只包含计算文件哈希和读取缓存 */
+    private boolean cacheHit;
+    /** 各sheet的指标，顺序与导入顺序一致 */
+    private List<SheetImportMetrics> sheetMetricsList = new ArrayList<>();
+
+    /**
+     * @return 所有sheet的数据行数
+     */
+    public long getRowCount() {
+        return sheetMetricsList.stream().mapToLong(SheetImportMetrics::getRowCount).sum();
+    }
+
+    /**
+     * @return 所有sheet校验不通过的行数
+     */
+    public long getInvalidCount() {
+        return sheetMetricsList.stream().mapToLong(SheetImportMetrics::getInvalidCount).sum();
+    }
+
+    /**
+     * @return 所有sheet中内存同时保留的最大行数
+     */
+    public long getPeakRowBufferSize() {
+        return sheetMetricsList.stream().mapToLong(SheetImportMetrics::getPeakRowBufferSize).max().orElse(0);
+    }
+
+    /**
+     * @return 每秒处理的行数
+     */
+    public double getRowsPerSecond() {
+        return MetricsKit.perSecond(getRowCount(), totalNanos);
+    }
+}
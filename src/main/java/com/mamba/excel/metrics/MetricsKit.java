@@ -0,0 +1,61 @@
+package com.mamba.excel.metrics;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/13 9:50
+ * @description: 指标工具类
+ */
+public class MetricsKit {
+
+    private MetricsKit() {
+    }
+
+    /**
+     * 计算每秒处理量
+     *
+     * @param count 处理量
+     * @param nanos 耗时，纳秒
+     * @return 每秒处理量，耗时为0时返回0
+     */
+    public static double perSecond(long count, long nanos) {
+        return nanos <= 0 ? 0 : count * 1_000_000_000D / nanos;
+    }
+
+    /**
+     * 统计写出字节数的输出流，close时不关闭目标流
+     */
+    public static class CountingOutputStream extends FilterOutputStream {
+        /** 已写出的字节数 */
+        private long count;
+
+        public CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mamba.excel.metrics;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/13 9:40
+ * @description: 导入导出指标监听器，用来对接监控系统。com包下带无参构造方法的实现类会被自动注册，
+ *               也可以通过MetricsListenerRegistry.register手动注册
+ */
+public interface MetricsListener {
+
+    /**
+     * 导入结束，包含错误excel的输出
+     *
+     * @param metrics 导入指标
+     */
+    default void onImport(ImportMetrics metrics) {}
+
+    /**
+     * 导出结束
+     *
+     * @param metrics 导出指标
+     */
+    default void onExport(ExportMetrics metrics) {}
+}
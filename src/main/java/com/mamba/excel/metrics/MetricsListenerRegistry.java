@@ -0,0 +1,101 @@
+package com.mamba.excel.metrics;
+
+import com.mamba.utils.ReflectUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/13 9:45
+ * @description: 指标监听器注册表。与导入数据处理器一样扫描包下的实现类自动注册，监听器抛出的异常只记录日志，不影响导入导出
+ */
+@Slf4j
+public class MetricsListenerRegistry {
+
+    private static final List<MetricsListener> LISTENER_LIST = new CopyOnWriteArrayList<>();
+
+    static {
+        // 取类包名.分割后的第一个作为待扫描包
+        String packageName = MetricsListenerRegistry.class.getName().split("\\.")[0];
+        Set<Class<? extends MetricsListener>> classSet =
+            ReflectUtil.scanClassBySuper(packageName, MetricsListener.class);
+        classSet.forEach(clazz -> {
+            // 只自动注册带public无参构造方法的具体类，匿名类、lambda等需要手动注册
+            if (!isAutoRegistrable(clazz)) {
+                return;
+            }
+            try {
+                LISTENER_LIST.add(clazz.getDeclaredConstructor().newInstance());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private MetricsListenerRegistry() {
+    }
+
+    private static boolean isAutoRegistrable(Class<?> clazz) {
+        int modifiers = clazz.getModifiers();
+        if (clazz.isInterface() || Modifier.isAbstract(modifiers) || !Modifier.isPublic(modifiers)
+            || clazz.isAnonymousClass() || clazz.isLocalClass()
+            || (clazz.isMemberClass() && !Modifier.isStatic(modifiers))) {
+            return false;
+        }
+        return Arrays.stream(clazz.getConstructors()).anyMatch(constructor -> constructor.getParameterCount() == 0);
+    }
+
+    /**
+     * 手动注册监听器
+     *
+     * @param listener 监听器
+     */
+    public static void register(MetricsListener listener) {
+        LISTENER_LIST.add(listener);
+    }
+
+    /**
+     * 注销监听器
+     *
+     * @param listener 监听器
+     */
+    public static void unregister(MetricsListener listener) {
+        LISTENER_LIST.remove(listener);
+    }
+
+    /**
+     * 发布导入指标
+     *
+     * @param metrics 导入指标
+     */
+    public static void publish(ImportMetrics metrics) {
+        for (MetricsListener listener : LISTENER_LIST) {
+            try {
+                listener.onImport(metrics);
+            } catch (Exception e) {
+                log.error("导入指标监听器处理出错", e);
+            }
+        }
+    }
+
+    /**
+     * 发布导出指标
+     *
+     * @param metrics 导出指标
+     */
+    public static void publish(ExportMetrics metrics) {
+        for (MetricsListener listener : LISTENER_LIST) {
+            try {
+                listener.onExport(metrics);
+            } catch (Exception e) {
+                log.error("导出指标监听器处理出错", e);
+            }
+        }
+    }
+}
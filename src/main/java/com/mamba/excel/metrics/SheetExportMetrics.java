@@ -0,0 +1,26 @@
+package com.mamba.excel.metrics;
+
+import lombok.Data;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/13 9:30
+ * @description: 单个sheet的导出指标，续写的sheet单独统计，耗时单位均为纳秒
+ */
+@Data
+public class SheetExportMetrics {
+    /** sheet名称 */
+    private String sheetName;
+    /** 数据行数，不含表头 */
+    private long rowCount;
+    /** 生成耗时：取单元格值、写入sheet、计算列宽 */
+    private long renderNanos;
+
+    /**
+     * @return 每秒生成的行数
+     */
+    public double getRowsPerSecond() {
+        return MetricsKit.perSecond(rowCount, renderNanos);
+    }
+}
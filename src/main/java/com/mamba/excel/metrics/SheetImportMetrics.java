@@ -0,0 +1,56 @@
+package com.mamba.excel.metrics;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/13 9:20
+ * @description: 单个sheet的导入指标，耗时单位均为纳秒
+ */
+@Data
+public class SheetImportMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** sheet名称 */
+    private String sheetName;
+    /** 读取到的数据行数，不含表头和空行 */
+    private long rowCount;
+    /** 校验通过的行数 */
+    private long validCount;
+    /** 校验不通过的行数 */
+    private long invalidCount;
+    /** 断点续传时跳过的已提交行数，不计入rowCount、validCount和invalidCount */
+    private long skippedRowCount;
+    /** 解析耗时：读取sheet xml、解码单元格 */
+    private long parseNanos;
+    /** 绑定耗时：行数据转DTO */
+    private long bindNanos;
+    /** 批量预取耗时：处理器的prefetch */
+    private long prefetchNanos;
+    /** 校验耗时：checkData和fillExtraData */
+    private long validateNanos;
+    /** 处理器回调耗时：validDataList和invalidDataList */
+    private long handlerNanos;
+    /** 异常数据写入错误excel的耗时 */
+    private long errorRowNanos;
+    /** 内存中同时保留的最大行数 */
+    private long peakRowBufferSize;
+
+    /**
+     * @return sheet导入总耗时
+     */
+    public long getTotalNanos() {
+        return parseNanos + bindNanos + prefetchNanos + validateNanos + handlerNanos + errorRowNanos;
+    }
+
+    /**
+     * @return 每秒处理的行数
+     */
+    public double getRowsPerSecond() {
+        return MetricsKit.perSecond(rowCount, getTotalNanos());
+    }
+}
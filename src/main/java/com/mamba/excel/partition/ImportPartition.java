@@ -0,0 +1,72 @@
+package com.mamba.excel.partition;
+
+import com.mamba.excel.reference.ReferenceIndex;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 9:30
+ * @description: 导入分区，由ExcelImporter.partition扫描文件后生成，包含若干sheet上连续的行范围。可以序列化后交给其他线程、进程或节点，
+ *               通过ExcelImporter.setPartition只导入范围内的行，各分区的导入结果和错误excel再由PartitionMerger合并
+ */
+@Getter
+@AllArgsConstructor
+public class ImportPartition implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 分区下标，从0开始 */
+    private final int partitionIndex;
+    /** 分区总数 */
+    private final int partitionCount;
+    /** 分区内的行范围，按导入顺序，每个sheet最多一个 */
+    private final List<RowRange> rangeList;
+    /** 扫描时校验被引用sheet的全部行建立的引用索引，所有分区共用；没有sheet被引用时为null，此时分区导入自行校验范围之外的被引用行 */
+    private final ReferenceIndex referenceIndex;
+
+    /**
+     * 获取sheet在分区内的行范围
+     *
+     * @param sheetDefinition 表格定义类
+     * @return 行范围，sheet不在分区内时返回null
+     */
+    public RowRange getRange(Class sheetDefinition) {
+        for (RowRange range : rangeList) {
+            if (range.getSheetDefinition().equals(sheetDefinition.getName())) {
+                return range;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 分区内的数据行数
+     */
+    public long getRowCount() {
+        return rangeList.stream().mapToLong(RowRange::getRowCount).sum();
+    }
+
+    /**
+     * sheet上连续的行范围，首尾都是非空的数据行
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RowRange implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** 表格定义类名 */
+        private final String sheetDefinition;
+        /** 第一行的行下标 */
+        private final long startRowIndex;
+        /** 最后一行的行下标，包含 */
+        private final long endRowIndex;
+        /** 范围内的数据行数，不含空行 */
+        private final long rowCount;
+    }
+}
@@ -0,0 +1,276 @@
+package com.mamba.excel.partition;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.io.IoUtil;
+import com.mamba.excel.csv.CsvFormat;
+import com.mamba.excel.csv.CsvReader;
+import com.mamba.excel.csv.CsvWriter;
+import com.mamba.excel.kit.ExcelKit;
+import com.mamba.excel.kit.ImportResultDTO;
+import com.mamba.excel.metrics.ImportMetrics;
+import com.mamba.excel.metrics.SheetImportMetrics;
+import com.mamba.excel.session.ImportSession;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Comment;
+import org.apache.poi.ss.usermodel.DataValidation;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 10:30
+ * @description: 合并各分区的导入结果和错误excel。分区按下标顺序传入，合并后各sheet的数据和错误行与不分区导入时的顺序一致
+ */
+public class PartitionMerger {
+
+    private PartitionMerger() {
+    }
+
+    /**
+     * 合并各分区的导入结果。每个分区都包含全部sheet的结果，按位置合并数据列表和sheet指标；分区并行执行，总耗时取最长的分区
+     *
+     * @param resultList 按分区下标排列的导入结果
+     * @return 合并后的导入结果
+     */
+    public static ImportResultDTO mergeResults(List<ImportResultDTO> resultList) {
+        ImportResultDTO merged = new ImportResultDTO();
+        List<ImportResultDTO.SheetResult> mergedSheetList = merged.getSheetResultList();
+        for (ImportResultDTO result : resultList) {
+            merged.setHasErrorData(merged.isHasErrorData() || result.isHasErrorData());
+            List<ImportResultDTO.SheetResult> sheetResultList = result.getSheetResultList();
+            for (int i = 0; i < sheetResultList.size(); i++) {
+                ImportResultDTO.SheetResult sheetResult = sheetResultList.get(i);
+                if (i == mergedSheetList.size()) {
+                    mergedSheetList.add(ImportResultDTO.SheetResult.builder().excelSheet(sheetResult.getExcelSheet())
+                        .validDataList(new ArrayList()).invalidDataList(new ArrayList()).build());
+                }
+                if (sheetResult.getValidDataList() != null) {
+                    mergedSheetList.get(i).getValidDataList().addAll(sheetResult.getValidDataList());
+                }
+                if (sheetResult.getInvalidDataList() != null) {
+                    mergedSheetList.get(i).getInvalidDataList().addAll(sheetResult.getInvalidDataList());
+                }
+            }
+            mergeMetrics(merged.getMetrics(), result.getMetrics());
+        }
+        return merged;
+    }
+
+    /**
+     * 合并各分区的错误excel：第一个分区的错误excel作为模板，后面分区每个sheet表头之后的行依次追加到同名sheet，
+     * 单元格的值、样式、错误提示备注和下拉框一起复制。分区的错误excel都要读入内存，适合错误行不多的场景。
+     * 隐藏的导入会话sheet只属于单个分区，合并后去掉
+     *
+     * @param fragmentList 按分区下标排列的错误excel，没有错误数据的分区可以传不存在的文件
+     * @param headerRowNumber excel中表头的行数
+     * @param target 合并后的错误excel
+     * @return 是否有错误excel，所有分区都没有错误excel时不生成文件
+     */
+    public static boolean mergeErrorWorkbooks(List<File> fragmentList, int headerRowNumber, File target) {
+        Workbook workbook = null;
+        try {
+            for (File fragment : fragmentList) {
+                if (!fragment.isFile()) {
+                    continue;
+                }
+                Workbook fragmentWorkbook = readWorkbook(fragment);
+                if (workbook == null) {
+                    workbook = fragmentWorkbook;
+                    int sessionSheetIndex = workbook.getSheetIndex(ImportSession.SESSION_SHEET_NAME);
+                    if (sessionSheetIndex >= 0) {
+                        workbook.removeSheetAt(sessionSheetIndex);
+                    }
+                    continue;
+                }
+                try {
+                    appendWorkbook(workbook, fragmentWorkbook, headerRowNumber);
+                } finally {
+                    IoUtil.close(fragmentWorkbook);
+                }
+            }
+            if (workbook == null) {
+                return false;
+            }
+            try (OutputStream out = new FileOutputStream(target)) {
+                workbook.write(out);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        } finally {
+            IoUtil.close(workbook);
+        }
+    }
+
+    /**
+     * 合并各分区的CSV、TSV错误报告：第一个分区的报告整体保留，后面分区跳过表头行
+     *
+     * @param fragmentList 按分区下标排列的错误报告，没有错误数据的分区可以传不存在的文件
+     * @param format 文件格式
+     * @param headerRowNumber 报告中表头的行数
+     * @param target 合并后的错误报告
+     * @return 是否有错误报告，所有分区都没有错误报告时不生成文件
+     */
+    public static boolean mergeErrorReports(List<File> fragmentList, CsvFormat format, int headerRowNumber,
+        File target) {
+        boolean merged = false;
+        try (OutputStream out = new FileOutputStream(target); CsvWriter csvWriter = new CsvWriter(out, format)) {
+            for (File fragment : fragmentList) {
+                if (!fragment.isFile()) {
+                    continue;
+                }
+                boolean first = !merged;
+                try (CsvReader csvReader = new CsvReader(fragment, format)) {
+                    csvReader.read(0, (sheetIndex, rowIndex, rowCells) -> {
+                        if (first || rowIndex >= headerRowNumber) {
+                            writeRow(csvWriter, rowCells);
+                        }
+                    });
+                }
+                merged = true;
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        if (!merged) {
+            FileUtil.del(target);
+        }
+        return merged;
+    }
+
+    private static void writeRow(CsvWriter csvWriter, List<Object> rowCells) {
+        try {
+            csvWriter.writeRow(rowCells.toArray());
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    private static Workbook readWorkbook(File file) throws IOException {
+        // 从流中读取，关闭时不会写回分区的错误excel
+        try (InputStream in = new FileInputStream(file)) {
+            return new XSSFWorkbook(in);
+        }
+    }
+
+    /**
+     * 把分区错误excel中每个sheet表头之后的行追加到同名sheet
+     */
+    private static void appendWorkbook(Workbook workbook, Workbook fragmentWorkbook, int headerRowNumber) {
+        // 分区workbook中的样式下标 -> 合并后workbook中的样式
+        Map<Short, CellStyle> styleMap = new HashMap<>(16);
+        for (Sheet fragmentSheet : fragmentWorkbook) {
+            Sheet sheet = workbook.getSheet(fragmentSheet.getSheetName());
+            if (sheet == null) {
+                continue;
+            }
+            int rowOffset = Math.max(sheet.getLastRowNum() + 1, headerRowNumber) - headerRowNumber;
+            for (int i = headerRowNumber; i <= fragmentSheet.getLastRowNum(); i++) {
+                Row fragmentRow = fragmentSheet.getRow(i);
+                if (fragmentRow == null) {
+                    continue;
+                }
+                Row row = sheet.createRow(i + rowOffset);
+                for (Cell fragmentCell : fragmentRow) {
+                    copyCell(fragmentCell, row.createCell(fragmentCell.getColumnIndex()), styleMap);
+                }
+            }
+            for (DataValidation validation : fragmentSheet.getDataValidations()) {
+                String[] values = validation.getValidationConstraint().getExplicitListValues();
+                if (values == null) {
+                    continue;
+                }
+                for (CellRangeAddress address : validation.getRegions().getCellRangeAddresses()) {
+                    if (address.getFirstRow() >= headerRowNumber) {
+                        ExcelKit.setDropdownList(sheet, address.getFirstRow() + rowOffset, address.getFirstColumn(),
+                            address.getLastRow() + rowOffset, address.getLastColumn(), values);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void copyCell(Cell fragmentCell, Cell cell, Map<Short, CellStyle> styleMap) {
+        switch (fragmentCell.getCellType()) {
+            case STRING:
+                cell.setCellValue(fragmentCell.getStringCellValue());
+                break;
+            case NUMERIC:
+                cell.setCellValue(fragmentCell.getNumericCellValue());
+                break;
+            case BOOLEAN:
+                cell.setCellValue(fragmentCell.getBooleanCellValue());
+                break;
+            case FORMULA:
+                cell.setCellFormula(fragmentCell.getCellFormula());
+                break;
+            default:
+                break;
+        }
+        CellStyle fragmentStyle = fragmentCell.getCellStyle();
+        if (fragmentStyle.getIndex() != 0) {
+            cell.setCellStyle(styleMap.computeIfAbsent(fragmentStyle.getIndex(), index -> {
+                CellStyle style = cell.getSheet().getWorkbook().createCellStyle();
+                style.cloneStyleFrom(fragmentStyle);
+                return style;
+            }));
+        }
+        Comment comment = fragmentCell.getCellComment();
+        if (comment != null) {
+            ExcelKit.setCellComment(cell, comment.getString().getString());
+        }
+    }
+
+    /**
+     * 合并导入指标，sheet指标按位置累加
+     */
+    private static void mergeMetrics(ImportMetrics merged, ImportMetrics metrics) {
+        if (merged.getFileName() == null) {
+            merged.setFileName(metrics.getFileName());
+        }
+        merged.setBytesRead(Math.max(merged.getBytesRead(), metrics.getBytesRead()));
+        merged.setTotalNanos(Math.max(merged.getTotalNanos(), metrics.getTotalNanos()));
+        merged.setErrorWorkbookBytes(merged.getErrorWorkbookBytes() + metrics.getErrorWorkbookBytes());
+        merged.setErrorWorkbookNanos(merged.getErrorWorkbookNanos() + metrics.getErrorWorkbookNanos());
+        List<SheetImportMetrics> mergedSheetList = merged.getSheetMetricsList();
+        List<SheetImportMetrics> sheetMetricsList = metrics.getSheetMetricsList();
+        for (int i = 0; i < sheetMetricsList.size(); i++) {
+            SheetImportMetrics sheetMetrics = sheetMetricsList.get(i);
+            if (i == mergedSheetList.size()) {
+                SheetImportMetrics mergedSheet = new SheetImportMetrics();
+                mergedSheet.setSheetName(sheetMetrics.getSheetName());
+                mergedSheetList.add(mergedSheet);
+            }
+            SheetImportMetrics mergedSheet = mergedSheetList.get(i);
+            mergedSheet.setRowCount(mergedSheet.getRowCount() + sheetMetrics.getRowCount());
+            mergedSheet.setValidCount(mergedSheet.getValidCount() + sheetMetrics.getValidCount());
+            mergedSheet.setInvalidCount(mergedSheet.getInvalidCount() + sheetMetrics.getInvalidCount());
+            mergedSheet.setSkippedRowCount(mergedSheet.getSkippedRowCount() + sheetMetrics.getSkippedRowCount());
+            mergedSheet.setParseNanos(mergedSheet.getParseNanos() + sheetMetrics.getParseNanos());
+            mergedSheet.setBindNanos(mergedSheet.getBindNanos() + sheetMetrics.getBindNanos());
+            mergedSheet.setPrefetchNanos(mergedSheet.getPrefetchNanos() + sheetMetrics.getPrefetchNanos());
+            mergedSheet.setValidateNanos(mergedSheet.getValidateNanos() + sheetMetrics.getValidateNanos());
+            mergedSheet.setHandlerNanos(mergedSheet.getHandlerNanos() + sheetMetrics.getHandlerNanos());
+            mergedSheet.setErrorRowNanos(mergedSheet.getErrorRowNanos() + sheetMetrics.getErrorRowNanos());
+            mergedSheet.setPeakRowBufferSize(
+                Math.max(mergedSheet.getPeakRowBufferSize(), sheetMetrics.getPeakRowBufferSize()));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.mamba.excel.reader;
+
+import cn.hutool.poi.excel.ExcelReader;
+import cn.hutool.poi.excel.ExcelUtil;
+import cn.hutool.poi.excel.cell.CellUtil;
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.poi.excel.sax.handler.RowHandler;
+
+import com.mamba.excel.xlsx.SheetSelectiveZipEntrySource;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/9 14:18
+ * @description: 基于hutool ExcelReader（POI usermodel）的sheet行读取器。xlsx可以按sheet筛选打开，
+ *               未选中的sheet在打开workbook时不解压、不解析；xls是单个二进制流，只能整体打开
+ */
+public class PoiSheetReader implements SheetReader {
+
+    /** Excel读取工具类 */
+    private final ExcelReader reader;
+    /** 列投影，为null时读取所有列 */
+    private boolean[] projection;
+
+    public PoiSheetReader(File file) {
+        this.reader = ExcelUtil.getReader(file);
+    }
+
+    /**
+     * 按sheet筛选打开，未选中的sheet读取时视为空sheet，名称和下标不变
+     *
+     * @param file excel文件
+     * @param sheetFilter 按(sheet下标, sheet名称)判断是否需要解析该sheet
+     */
+    public PoiSheetReader(File file, BiPredicate<Integer, String> sheetFilter) {
+        this.reader = isXlsx(file) ? new ExcelReader(openXlsx(file, sheetFilter), 0) : ExcelUtil.getReader(file);
+    }
+
+    @Override
+    public void read(int sheetIndex, RowHandler rowHandler) {
+        projection = null;
+        reader.setSheet(sheetIndex);
+        int lastRowNum = reader.getSheet().getLastRowNum();
+        for (int i = 0; i <= lastRowNum; i++) {
+            rowHandler.handle(sheetIndex, i, projection == null ? reader.readRow(i) : readProjectedRow(i));
+        }
+        rowHandler.doAfterAllAnalysed();
+    }
+
+    @Override
+    public void setProjection(boolean[] projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * 只读取投影中的列
+     *
+     * @param rowIndex 行下标
+     * @return 行的单元格值，未投影的列为null
+     */
+    private List<Object> readProjectedRow(int rowIndex) {
+        Row row = reader.getSheet().getRow(rowIndex);
+        if (row == null) {
+            return Collections.emptyList();
+        }
+        int lastColumn = Math.min(row.getLastCellNum(), projection.length);
+        List<Object> rowCells = new ArrayList<>(Math.max(lastColumn, 0));
+        for (int i = 0; i < lastColumn; i++) {
+            rowCells.add(projection[i] ? CellUtil.getCellValue(row.getCell(i)) : null);
+        }
+        return rowCells;
+    }
+
+    @Override
+    public String getSheetName(int sheetIndex) {
+        return reader.getWorkbook().getSheetName(sheetIndex);
+    }
+
+    @Override
+    public int getSheetIndex(String sheetName) {
+        return reader.getWorkbook().getSheetIndex(sheetName);
+    }
+
+    @Override
+    public void close() {
+        reader.close();
+    }
+
+    private static boolean isXlsx(File file) {
+        try {
+            return FileMagic.valueOf(file) == FileMagic.OOXML;
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 通过按sheet筛选的压缩包条目来源打开xlsx
+     */
+    private static XSSFWorkbook openXlsx(File file, BiPredicate<Integer, String> sheetFilter) {
+        SheetSelectiveZipEntrySource source = null;
+        try {
+            source = new SheetSelectiveZipEntrySource(file, sheetFilter);
+            return new XSSFWorkbook(OPCPackage.open(source));
+        } catch (IOException | InvalidFormatException e) {
+            IoUtil.close(source);
+            throw new IORuntimeException(e);
+        } catch (RuntimeException e) {
+            IoUtil.close(source);
+            throw e;
+        }
+    }
+}
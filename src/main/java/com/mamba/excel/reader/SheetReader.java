@@ -0,0 +1,55 @@
+package com.mamba.excel.reader;
+
+import cn.hutool.poi.excel.sax.handler.RowHandler;
+
+import java.io.Closeable;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/9 14:10
+ * @description: sheet行读取器，ExcelImporter通过它逐行获取单元格数据，屏蔽具体的解析引擎
+ */
+public interface SheetReader extends Closeable {
+
+    /**
+     * 逐行读取指定sheet。回调的rowIndex从0开始，rowCells按列下标排列，空单元格为null；
+     * 单元格值的类型与hutool ExcelReader一致：字符串、Long、Double、Boolean、DateTime
+     *
+     * @param sheetIndex sheet下标，从0开始
+     * @param rowHandler 行处理器
+     */
+    void read(int sheetIndex, RowHandler rowHandler);
+
+    /**
+     * 设置列投影，之后读取的行只解析投影中为true的列，其余列不解码、不做类型转换，返回null。
+     * 在行处理器中调用时立即对后续行生效，每次read开始时重置为解析所有列
+     *
+     * @param projection 列下标 -> 是否需要解析，为null时解析所有列
+     */
+    void setProjection(boolean[] projection);
+
+    /**
+     * 获取sheet名称
+     *
+     * @param sheetIndex sheet下标，从0开始
+     * @return sheet名称
+     */
+    String getSheetName(int sheetIndex);
+
+    /**
+     * 按名称查找sheet下标。默认实现依次调用getSheetName，直到返回null
+     *
+     * @param sheetName sheet名称
+     * @return sheet下标，不存在时返回-1
+     */
+    default int getSheetIndex(String sheetName) {
+        String name;
+        for (int i = 0; (name = getSheetName(i)) != null; i++) {
+            if (name.equals(sheetName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
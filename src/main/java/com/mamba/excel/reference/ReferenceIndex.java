@@ -0,0 +1,188 @@
+package com.mamba.excel.reference;
+
+import cn.hutool.core.util.ReflectUtil;
+import cn.hutool.core.util.StrUtil;
+import com.mamba.excel.collection.StringIntMap;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/17 9:30
+ * @description: 跨sheet引用索引。被引用的sheet导入时把校验通过的数据中被引用属性的值写入哈希索引，
+ *               引用该sheet的列逐行检查时只需一次查找，不用遍历getAllDataMap中的数据。值统一转成去掉首尾空白的字符串比较，
+ *               索引中同时记录值第一次出现的excel行号。可以序列化，分区导入时随ImportPartition交给各个工作节点
+ */
+public class ReferenceIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** sheet定义类 -> 被引用的属性索引 */
+    private final Map<Class<?>, List<FieldIndex>> indexMap = new HashMap<>(8);
+
+    /**
+     * 为sheet的属性建立索引，同一个属性只建立一次
+     *
+     * @param sheetDefinition 被引用的sheet定义类
+     * @param fieldName 被引用的属性名
+     * @throws IllegalArgumentException 类中没有该属性时抛出
+     */
+    public void register(Class<?> sheetDefinition, String fieldName) {
+        List<FieldIndex> fieldIndexList = indexMap.computeIfAbsent(sheetDefinition, k -> new ArrayList<>(2));
+        if (getFieldIndex(sheetDefinition, fieldName) != null) {
+            return;
+        }
+        Field field = ReflectUtil.getField(sheetDefinition, fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(sheetDefinition.getName() + "中没有属性" + fieldName);
+        }
+        field.setAccessible(true);
+        fieldIndexList.add(new FieldIndex(field));
+    }
+
+    /**
+     * @param sheetDefinition sheet定义类
+     * @return 是否有属性被其他sheet引用
+     */
+    public boolean isReferenced(Class<?> sheetDefinition) {
+        List<FieldIndex> fieldIndexList = indexMap.get(sheetDefinition);
+        return fieldIndexList != null && !fieldIndexList.isEmpty();
+    }
+
+    /**
+     * 把一条数据中被引用属性的值写入索引，sheet没有被引用时直接返回
+     *
+     * @param sheetDefinition sheet定义类
+     * @param data 校验通过的数据
+     * @param rowIndex 数据所在的行下标
+     */
+    public void add(Class<?> sheetDefinition, Object data, long rowIndex) {
+        List<FieldIndex> fieldIndexList = indexMap.get(sheetDefinition);
+        if (fieldIndexList == null) {
+            return;
+        }
+        for (FieldIndex fieldIndex : fieldIndexList) {
+            String key = toKey(ReflectUtil.getFieldValue(data, fieldIndex.field));
+            if (key != null) {
+                fieldIndex.values.putIfAbsent(key, (int)rowIndex + 1, 0);
+            }
+        }
+    }
+
+    /**
+     * 合并另一个索引中的值，两边都有的值保留当前索引中的行号。另一个索引中的属性在当前索引中没有注册时一并注册
+     *
+     * @param other 另一个索引，例如上次导入保存的索引
+     */
+    public void putAll(ReferenceIndex other) {
+        other.indexMap.forEach((sheetDefinition, otherFieldIndexList) -> {
+            for (FieldIndex otherFieldIndex : otherFieldIndexList) {
+                register(sheetDefinition, otherFieldIndex.fieldName);
+                StringIntMap values = getFieldIndex(sheetDefinition, otherFieldIndex.fieldName).values;
+                otherFieldIndex.values.forEach((key, rowNumber) -> values.putIfAbsent(key, rowNumber, 0));
+            }
+        });
+    }
+
+    /**
+     * 判断被引用sheet的属性中是否存在该值
+     *
+     * @param sheetDefinition 被引用的sheet定义类
+     * @param fieldName 被引用的属性名
+     * @param value 引用的值
+     * @return 是否存在
+     * @throws IllegalArgumentException 没有为该属性建立索引时抛出
+     */
+    public boolean contains(Class<?> sheetDefinition, String fieldName, Object value) {
+        return getRowNumber(sheetDefinition, fieldName, value) > 0;
+    }
+
+    /**
+     * 获取值在被引用sheet中第一次出现的excel行号
+     *
+     * @param sheetDefinition 被引用的sheet定义类
+     * @param fieldName 被引用的属性名
+     * @param value 引用的值
+     * @return excel行号，从1开始，不存在时返回-1
+     * @throws IllegalArgumentException 没有为该属性建立索引时抛出
+     */
+    public int getRowNumber(Class<?> sheetDefinition, String fieldName, Object value) {
+        FieldIndex fieldIndex = getFieldIndex(sheetDefinition, fieldName);
+        if (fieldIndex == null) {
+            throw new IllegalArgumentException(sheetDefinition.getName() + "." + fieldName + "没有建立引用索引");
+        }
+        String key = toKey(value);
+        return key == null ? -1 : fieldIndex.values.get(key, -1);
+    }
+
+    /**
+     * @param sheetDefinition 被引用的sheet定义类
+     * @param fieldName 被引用的属性名
+     * @return 索引中不同值的个数，没有建立索引时返回0
+     */
+    public int size(Class<?> sheetDefinition, String fieldName) {
+        FieldIndex fieldIndex = getFieldIndex(sheetDefinition, fieldName);
+        return fieldIndex == null ? 0 : fieldIndex.values.size();
+    }
+
+    /**
+     * 统一转成去掉首尾空白的字符串，空值返回null
+     *
+     * @param value 属性值或单元格值
+     * @return 索引键
+     */
+    static String toKey(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String key = StrUtil.trim(value.toString());
+        return key.isEmpty() ? null : key;
+    }
+
+    private FieldIndex getFieldIndex(Class<?> sheetDefinition, String fieldName) {
+        List<FieldIndex> fieldIndexList = indexMap.get(sheetDefinition);
+        if (fieldIndexList == null) {
+            return null;
+        }
+        for (FieldIndex fieldIndex : fieldIndexList) {
+            if (fieldIndex.fieldName.equals(fieldName)) {
+                return fieldIndex;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 单个属性的索引
+     */
+    private static class FieldIndex implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /** 声明属性的类，反序列化时重新查找属性 */
+        private final Class<?> declaringClass;
+        /** 属性名 */
+        private final String fieldName;
+        /** 被引用的属性，不参与序列化 */
+        private transient Field field;
+        /** 属性值 -> 第一次出现的excel行号 */
+        private final StringIntMap values = new StringIntMap();
+
+        private FieldIndex(Field field) {
+            this.declaringClass = field.getDeclaringClass();
+            this.fieldName = field.getName();
+            this.field = field;
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            field = ReflectUtil.getField(declaringClass, fieldName);
+            field.setAccessible(true);
+        }
+    }
+}
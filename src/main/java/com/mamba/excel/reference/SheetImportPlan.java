@@ -0,0 +1,129 @@
+package com.mamba.excel.reference;
+
+import com.mamba.excel.config.ExcelConfig;
+import com.mamba.excel.config.SheetPlan;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/17 9:30
+ * @description: sheet导入计划。按@ExcelColumn的ref对sheet做拓扑排序，被引用的sheet排在引用它的sheet之前，
+ *               没有引用关系的sheet保持传入顺序；同时预编译每个sheet的配置。生成后只读，可以由ImportEngine缓存复用，
+ *               每次导入通过registerReferences把被引用的属性注册到本次导入的引用索引中
+ */
+public class SheetImportPlan {
+
+    /** 按依赖排好序的sheet定义类 */
+    @Getter
+    private final List<Class> sheetList;
+    /** sheet定义类 -> sheet计划 */
+    private final Map<Class, SheetPlan> sheetPlanMap = new HashMap<>(8);
+    /** sheet定义类 -> 配置了引用的列 */
+    private final Map<Class, List<ExcelConfig.ColumnConfig>> referenceColumnMap = new HashMap<>(8);
+    /** 需要读取的sheet下标 */
+    private final Set<Integer> sheetIndexSet = new HashSet<>(8);
+    /** 需要读取的sheet名称 */
+    private final Set<String> sheetNameSet = new HashSet<>(8);
+
+    private SheetImportPlan(List<Class> sheetDefinitionList) {
+        for (Class sheetDefinition : sheetDefinitionList) {
+            SheetPlan sheetPlan = SheetPlan.of(sheetDefinition);
+            sheetPlanMap.put(sheetDefinition, sheetPlan);
+            sheetIndexSet.add(sheetPlan.getSheetConfig().getIndex());
+            sheetNameSet.add(sheetPlan.getSheetConfig().getName());
+            List<ExcelConfig.ColumnConfig> referenceColumnList = new ArrayList<>(2);
+            for (ExcelConfig.ColumnConfig columnConfig : sheetPlan.getColumnConfigList()) {
+                if (columnConfig.getRef() == null) {
+                    continue;
+                }
+                if (columnConfig.getRef() == sheetDefinition) {
+                    throw new RuntimeException(sheetDefinition.getName() + "." + columnConfig.getFieldName()
+                        + "不能引用所在的sheet");
+                }
+                if (!sheetDefinitionList.contains(columnConfig.getRef())) {
+                    throw new RuntimeException(sheetDefinition.getName() + "." + columnConfig.getFieldName() + "引用的"
+                        + columnConfig.getRef().getName() + "不在导入的sheet中");
+                }
+                referenceColumnList.add(columnConfig);
+            }
+            referenceColumnMap.put(sheetDefinition, referenceColumnList);
+        }
+        List<Class> orderedList = new ArrayList<>(sheetDefinitionList.size());
+        Set<Class> visiting = new HashSet<>();
+        for (Class sheetDefinition : sheetDefinitionList) {
+            visit(sheetDefinition, visiting, orderedList);
+        }
+        this.sheetList = Collections.unmodifiableList(orderedList);
+    }
+
+    /**
+     * 生成导入计划
+     *
+     * @param sheetDefinitionList 表格定义列表
+     * @return 导入计划
+     * @throws RuntimeException 引用的sheet不在导入列表中，或者sheet之间存在循环引用时抛出
+     */
+    public static SheetImportPlan of(List<Class> sheetDefinitionList) {
+        return new SheetImportPlan(sheetDefinitionList);
+    }
+
+    /**
+     * 把所有被引用的属性注册到引用索引中
+     *
+     * @param referenceIndex 本次导入的引用索引
+     */
+    public void registerReferences(ReferenceIndex referenceIndex) {
+        for (List<ExcelConfig.ColumnConfig> referenceColumnList : referenceColumnMap.values()) {
+            for (ExcelConfig.ColumnConfig columnConfig : referenceColumnList) {
+                referenceIndex.register(columnConfig.getRef(), columnConfig.getRefField());
+            }
+        }
+    }
+
+    /**
+     * @param sheetDefinition sheet定义类
+     * @return 该sheet的计划
+     */
+    public SheetPlan getSheetPlan(Class sheetDefinition) {
+        return sheetPlanMap.get(sheetDefinition);
+    }
+
+    /**
+     * @param sheetDefinition sheet定义类
+     * @return 该sheet中配置了引用的列
+     */
+    public List<ExcelConfig.ColumnConfig> getReferenceColumnList(Class sheetDefinition) {
+        return referenceColumnMap.getOrDefault(sheetDefinition, Collections.emptyList());
+    }
+
+    /**
+     * 判断workbook中的sheet是否需要读取，下标或名称与任一@ExcelSheet匹配即需要读取
+     *
+     * @param sheetIndex sheet下标
+     * @param sheetName sheet名称
+     * @return 是否需要读取
+     */
+    public boolean isSheetRequested(int sheetIndex, String sheetName) {
+        return sheetIndexSet.contains(sheetIndex) || sheetNameSet.contains(sheetName);
+    }
+
+    /**
+     * 深度优先遍历，先加入引用的sheet再加入自身
+     */
+    private void visit(Class sheetDefinition, Set<Class> visiting, List<Class> orderedList) {
+        if (orderedList.contains(sheetDefinition)) {
+            return;
+        }
+        if (!visiting.add(sheetDefinition)) {
+            throw new RuntimeException("sheet之间存在循环引用：" + sheetDefinition.getName());
+        }
+        for (ExcelConfig.ColumnConfig columnConfig : referenceColumnMap.get(sheetDefinition)) {
+            visit(columnConfig.getRef(), visiting, orderedList);
+        }
+        visiting.remove(sheetDefinition);
+        orderedList.add(sheetDefinition);
+    }
+}
@@ -0,0 +1,33 @@
+package com.mamba.excel.session;
+
+import com.mamba.excel.collection.LongIntMap;
+import com.mamba.excel.reference.ReferenceIndex;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/28 9:30
+ * @description: 导入会话，保存一次导入结束时的校验索引：跨sheet引用索引和整行哈希。错误excel中隐藏的会话sheet记录会话id和
+ *               每个错误行在原始excel中的行下标，修改后再次导入时只对错误excel中的行重新绑定和校验，引用和重复检查基于这里保存的索引。
+ *               保存后只读，再次导入时复制一份使用
+ */
+@Getter
+@AllArgsConstructor
+public class ImportSession {
+
+    /** 错误excel中隐藏的会话sheet名称 */
+    public static final String SESSION_SHEET_NAME = "_fox_import_session";
+
+    /** 会话id */
+    private final String sessionId;
+    /** 跨sheet引用索引，包含所有校验通过的数据 */
+    private final ReferenceIndex referenceIndex;
+    /** sheet定义类名 -> 整行哈希 -> 第一次出现的excel行号，不检测整行重复时为空 */
+    private final Map<String, LongIntMap> rowHashMap;
+    /** 保存时间，毫秒 */
+    private final long createTime;
+}
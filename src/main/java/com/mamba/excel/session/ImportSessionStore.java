@@ -0,0 +1,32 @@
+package com.mamba.excel.session;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/28 9:30
+ * @description: 导入会话存储，实现需要线程安全，过期和容量淘汰由实现负责。默认实现：内存MemoryImportSessionStore
+ */
+public interface ImportSessionStore {
+
+    /**
+     * 获取导入会话
+     *
+     * @param sessionId 会话id
+     * @return 导入会话，不存在或已过期时返回null
+     */
+    ImportSession get(String sessionId);
+
+    /**
+     * 保存导入会话，会话id已存在时覆盖
+     *
+     * @param session 导入会话
+     */
+    void put(ImportSession session);
+
+    /**
+     * 删除导入会话
+     *
+     * @param sessionId 会话id
+     */
+    void remove(String sessionId);
+}
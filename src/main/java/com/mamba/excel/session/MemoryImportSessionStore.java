@@ -0,0 +1,72 @@
+package com.mamba.excel.session;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/28 9:30
+ * @description: 内存中的导入会话存储，按最近访问顺序淘汰，超过存活时间的会话在访问时删除。
+ *               会话只保存索引不保存导入数据，但数据量大时引用索引和整行哈希仍然不小，容量按并发修改错误excel的用户数设置
+ */
+public class MemoryImportSessionStore implements ImportSessionStore {
+
+    /** 默认最多保存的会话个数 */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+    /** 默认存活时间，留给用户修改错误excel */
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+
+    /** 存活时间，毫秒 */
+    private final long ttlMillis;
+    /** 会话id -> 会话，按访问顺序排列 */
+    private final Map<String, ImportSession> sessionMap;
+
+    public MemoryImportSessionStore() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL);
+    }
+
+    /**
+     * 构造方法
+     *
+     * @param maxEntries 最多保存的会话个数
+     * @param ttl 存活时间
+     */
+    public MemoryImportSessionStore(int maxEntries, Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.sessionMap = new LinkedHashMap<String, ImportSession>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ImportSession> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized ImportSession get(String sessionId) {
+        ImportSession session = sessionMap.get(sessionId);
+        if (session != null && System.currentTimeMillis() - session.getCreateTime() > ttlMillis) {
+            sessionMap.remove(sessionId);
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public synchronized void put(ImportSession session) {
+        sessionMap.put(session.getSessionId(), session);
+    }
+
+    @Override
+    public synchronized void remove(String sessionId) {
+        sessionMap.remove(sessionId);
+    }
+
+    /**
+     * @return 会话个数，包含已过期但还没有被访问到的
+     */
+    public synchronized int size() {
+        return sessionMap.size();
+    }
+}
@@ -0,0 +1,278 @@
+package com.mamba.excel.xls;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.poi.excel.sax.handler.RowHandler;
+import com.mamba.excel.reader.SheetReader;
+import org.apache.poi.hssf.eventusermodel.AbortableHSSFListener;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFEventFactory;
+import org.apache.poi.hssf.eventusermodel.HSSFRequest;
+import org.apache.poi.hssf.eventusermodel.HSSFUserException;
+import org.apache.poi.hssf.eventusermodel.MissingRecordAwareHSSFListener;
+import org.apache.poi.hssf.eventusermodel.dummyrecord.LastCellOfRowDummyRecord;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/26 9:30
+ * @description: xls流式导入，基于POI HSSF事件模型逐条处理BIFF记录，不创建HSSFWorkbook。共享字符串表（SST）在workbook全局区读取，
+ *               单元格格式由FormatTrackingHSSFListener跟踪，缺失的行、列由MissingRecordAwareHSSFListener补齐行结束标记。
+ *               每次read重新扫描workbook流，读完目标sheet立即中止。单元格值的类型与hutool ExcelReader保持一致
+ */
+public class XlsReader implements SheetReader {
+
+    /** 中止事件处理的返回值 */
+    private static final short ABORT = 1;
+
+    /** xls文件系统，只读打开 */
+    private final POIFSFileSystem fileSystem;
+    /** sheet记录，按workbook中的顺序 */
+    private final List<BoundSheetRecord> boundSheetList = new ArrayList<>();
+    /** 列投影，为null时解析所有列 */
+    private boolean[] projection;
+
+    public XlsReader(File file) {
+        try {
+            this.fileSystem = new POIFSFileSystem(file, true);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        try {
+            // 只处理workbook全局区，读到第一个sheet时中止
+            process(new RecordListener(-1, null));
+        } catch (RuntimeException e) {
+            IoUtil.close(fileSystem);
+            throw e;
+        }
+    }
+
+    @Override
+    public void read(int sheetIndex, RowHandler rowHandler) {
+        projection = null;
+        if (sheetIndex < 0 || sheetIndex >= boundSheetList.size()) {
+            // 与POI引擎保持一致，不存在的sheet视为空sheet
+            rowHandler.doAfterAllAnalysed();
+            return;
+        }
+        // sheet在流中的顺序按BOF位置，不一定与workbook中的顺序一致
+        BoundSheetRecord[] orderedSheets = BoundSheetRecord.orderByBofPosition(boundSheetList);
+        int ordinal = Arrays.asList(orderedSheets).indexOf(boundSheetList.get(sheetIndex));
+        RecordListener listener = new RecordListener(ordinal, (rowIndex, rowCells) ->
+            rowHandler.handle(sheetIndex, rowIndex, rowCells));
+        process(listener);
+        rowHandler.doAfterAllAnalysed();
+    }
+
+    @Override
+    public void setProjection(boolean[] projection) {
+        this.projection = projection;
+    }
+
+    @Override
+    public String getSheetName(int sheetIndex) {
+        return sheetIndex < boundSheetList.size() ? boundSheetList.get(sheetIndex).getSheetname() : null;
+    }
+
+    @Override
+    public void close() {
+        IoUtil.close(fileSystem);
+    }
+
+    private void process(RecordListener listener) {
+        HSSFRequest request = new HSSFRequest();
+        request.addListenerForAllRecords(listener);
+        try {
+            new HSSFEventFactory().abortableProcessWorkbookEvents(request, fileSystem);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        } catch (HSSFUserException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 行回调
+     */
+    private interface RowCallback {
+
+        /**
+         * 处理一行
+         *
+         * @param rowIndex 行下标，从0开始
+         * @param rowCells 行的单元格值
+         */
+        void handle(long rowIndex, List<Object> rowCells);
+    }
+
+    /**
+     * BIFF记录处理器。外层是可中止的监听器，依次经过格式跟踪、缺失记录补齐，再分发到processRecord
+     */
+    private class RecordListener extends AbortableHSSFListener {
+        /** 目标sheet在流中的序号，-1表示只读取全局区 */
+        private final int targetOrdinal;
+        /** 行回调 */
+        private final RowCallback callback;
+        /** 格式跟踪，包裹缺失记录补齐 */
+        private final FormatTrackingHSSFListener formatListener;
+        /** 共享字符串表 */
+        private SSTRecord sst;
+        /** BOF嵌套深度，图表等子流嵌套在sheet中 */
+        private int depth;
+        /** 当前顶层sheet在流中的序号 */
+        private int ordinal = -1;
+        /** 是否已经读完需要的内容 */
+        private boolean done;
+        /** 当前行的单元格值 */
+        private List<Object> rowCells;
+        /** 等待StringRecord的公式单元格列下标，-1表示没有 */
+        private int pendingStringColumn = -1;
+
+        private RecordListener(int targetOrdinal, RowCallback callback) {
+            this.targetOrdinal = targetOrdinal;
+            this.callback = callback;
+            this.formatListener = new FormatTrackingHSSFListener(new MissingRecordAwareHSSFListener(this));
+        }
+
+        @Override
+        public short abortableProcessRecord(Record record) {
+            formatListener.processRecord(record);
+            return done ? ABORT : 0;
+        }
+
+        @Override
+        public void processRecord(Record record) {
+            switch (record.getSid()) {
+                case BOFRecord.sid:
+                    if (depth == 0 && ((BOFRecord)record).getType() != BOFRecord.TYPE_WORKBOOK) {
+                        ordinal++;
+                        done = targetOrdinal < 0;
+                    }
+                    depth++;
+                    return;
+                case EOFRecord.sid:
+                    depth--;
+                    done = depth == 0 && ordinal >= 0 && ordinal == targetOrdinal;
+                    return;
+                case BoundSheetRecord.sid:
+                    if (targetOrdinal < 0) {
+                        boundSheetList.add((BoundSheetRecord)record);
+                    }
+                    return;
+                case SSTRecord.sid:
+                    sst = (SSTRecord)record;
+                    return;
+                default:
+                    break;
+            }
+            if (callback == null || ordinal != targetOrdinal || depth != 1) {
+                return;
+            }
+            if (record instanceof LastCellOfRowDummyRecord) {
+                callback.handle(((LastCellOfRowDummyRecord)record).getRow(),
+                    rowCells == null ? new ArrayList<>() : rowCells);
+                rowCells = null;
+                return;
+            }
+            if (record.getSid() == StringRecord.sid) {
+                if (pendingStringColumn >= 0) {
+                    rowCells.set(pendingStringColumn, ((StringRecord)record).getString());
+                    pendingStringColumn = -1;
+                }
+                return;
+            }
+            if (record instanceof CellValueRecordInterface) {
+                CellValueRecordInterface cell = (CellValueRecordInterface)record;
+                int column = cell.getColumn();
+                if (rowCells == null) {
+                    rowCells = new ArrayList<>();
+                }
+                while (rowCells.size() <= column) {
+                    rowCells.add(null);
+                }
+                if (projection == null || column < projection.length && projection[column]) {
+                    rowCells.set(column, getCellValue(cell, column));
+                }
+            }
+        }
+
+        /**
+         * 转换单元格值，规则与hutool CellUtil.getCellValue一致，空白单元格为null
+         */
+        private Object getCellValue(CellValueRecordInterface cell, int column) {
+            switch (((Record)cell).getSid()) {
+                case LabelSSTRecord.sid:
+                    return sst.getString(((LabelSSTRecord)cell).getSSTIndex()).getString();
+                case LabelRecord.sid:
+                    return ((LabelRecord)cell).getValue();
+                case NumberRecord.sid:
+                    return getNumericValue(cell, ((NumberRecord)cell).getValue());
+                case BoolErrRecord.sid:
+                    BoolErrRecord boolErr = (BoolErrRecord)cell;
+                    return boolErr.isBoolean() ? boolErr.getBooleanValue() : null;
+                case FormulaRecord.sid:
+                    FormulaRecord formula = (FormulaRecord)cell;
+                    CellType resultType = formula.getCachedResultTypeEnum();
+                    if (resultType == CellType.STRING) {
+                        // 字符串结果在紧跟的StringRecord中
+                        pendingStringColumn = column;
+                        return null;
+                    }
+                    if (resultType == CellType.BOOLEAN) {
+                        return formula.getCachedBooleanValue();
+                    }
+                    if (resultType == CellType.NUMERIC) {
+                        return getNumericValue(cell, formula.getValue());
+                    }
+                    return null;
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * 数字单元格：日期格式转成DateTime（只有时间时转成LocalTime），格式中没有小数点并且是整数时转成Long，其余转成Double
+         */
+        private Object getNumericValue(CellValueRecordInterface cell, double number) {
+            int formatIndex = formatListener.getFormatIndex(cell);
+            String format = formatListener.getFormatString(cell);
+            if (org.apache.poi.ss.usermodel.DateUtil.isADateFormat(formatIndex, format)) {
+                LocalDateTime dateTime = org.apache.poi.ss.usermodel.DateUtil.getLocalDateTime(number);
+                if (dateTime.getYear() == 1899) {
+                    return dateTime.toLocalTime();
+                }
+                return DateUtil.date(dateTime);
+            }
+            if (format == null || format.indexOf('.') < 0) {
+                long longPart = (long)number;
+                if ((double)longPart == number) {
+                    return longPart;
+                }
+            }
+            return Double.parseDouble(NumberToTextConverter.toText(number));
+        }
+    }
+}
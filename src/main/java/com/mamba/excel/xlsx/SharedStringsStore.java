@@ -0,0 +1,186 @@
+package com.mamba.excel.xlsx;
+
+import cn.hutool.core.io.IORuntimeException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/10 9:40
+ * @description: 导入用的紧凑共享字符串表。所有字符串首尾相接存放在一个char[]中，用偏移量数组做索引，
+ *               字符总数超过阈值后转存到临时文件并以内存映射方式读取。只有被单元格实际引用时才创建String对象
+ *               只用于原生导入引擎XlsxReader，POI引擎由XSSFWorkbook加载POI自带的共享字符串表
+ */
+public class SharedStringsStore implements Closeable {
+
+    /** 默认转存阈值：800万字符（约16MB堆内存） */
+    public static final int DEFAULT_SPILL_THRESHOLD = 8 * 1024 * 1024;
+    /** 内存映射的分段大小（字符数） */
+    private static final int SEGMENT_CHARS = 256 * 1024 * 1024;
+
+    /** 转存阈值（字符数） */
+    private final int spillThreshold;
+    /** 内存中的字符缓冲区，转存后作为写缓冲区 */
+    private char[] chars = new char[4096];
+    /** 内存中已使用的字符数 */
+    private int charLength;
+    /** 第i个字符串的起始偏移量，第i+1个的起始偏移量即第i个的结束偏移量 */
+    private long[] offsets = new long[1025];
+    /** 字符串个数 */
+    private int size;
+    /** 转存的临时文件，未转存时为null */
+    private File spillFile;
+    /** 临时文件通道 */
+    private FileChannel channel;
+    /** 已写入临时文件的字符数 */
+    private long spilledChars;
+    /** 临时文件的内存映射分段 */
+    private CharBuffer[] segments;
+
+    public SharedStringsStore() {
+        this(DEFAULT_SPILL_THRESHOLD);
+    }
+
+    public SharedStringsStore(int spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    /**
+     * 追加一个字符串
+     *
+     * @param value 字符串内容，追加后可以复用
+     */
+    public void add(CharSequence value) {
+        if (size + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        int length = value.length();
+        if (channel == null && charLength + length > spillThreshold) {
+            spill();
+        }
+        if (channel != null && charLength + length > chars.length) {
+            flushToFile();
+        }
+        if (charLength + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charLength + length));
+        }
+        for (int i = 0; i < length; i++) {
+            chars[charLength + i] = value.charAt(i);
+        }
+        charLength += length;
+        size++;
+        offsets[size] = spilledChars + charLength;
+    }
+
+    /**
+     * 结束追加。转存过的数据写完后以只读方式映射到内存
+     */
+    public void seal() {
+        if (channel == null || segments != null) {
+            return;
+        }
+        flushToFile();
+        try {
+            int segmentCount = (int)((spilledChars + SEGMENT_CHARS - 1) / SEGMENT_CHARS);
+            segments = new CharBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long)i * SEGMENT_CHARS;
+                long length = Math.min(SEGMENT_CHARS, spilledChars - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start * 2, length * 2).asCharBuffer();
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * 获取字符串，每次调用都会创建新的String对象
+     *
+     * @param index 共享字符串下标
+     * @return 字符串
+     */
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("共享字符串下标越界: " + index);
+        }
+        long start = offsets[index];
+        int length = (int)(offsets[index + 1] - start);
+        if (channel == null) {
+            return new String(chars, (int)start, length);
+        }
+        seal();
+        char[] value = new char[length];
+        for (int i = 0; i < length; ) {
+            long position = start + i;
+            CharBuffer segment = segments[(int)(position / SEGMENT_CHARS)].duplicate();
+            segment.position((int)(position % SEGMENT_CHARS));
+            int count = Math.min(length - i, segment.remaining());
+            segment.get(value, i, count);
+            i += count;
+        }
+        return new String(value);
+    }
+
+    /**
+     * @return 字符串个数
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        segments = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignore) {
+                // ignore
+            }
+            channel = null;
+        }
+        if (spillFile != null && !spillFile.delete()) {
+            spillFile.deleteOnExit();
+        }
+    }
+
+    /**
+     * 转存到临时文件，之后chars只作为写缓冲区
+     */
+    private void spill() {
+        try {
+            spillFile = Files.createTempFile("fox-excel-sst", ".bin").toFile();
+            channel = new RandomAccessFile(spillFile, "rw").getChannel();
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        flushToFile();
+        chars = new char[64 * 1024];
+    }
+
+    private void flushToFile() {
+        if (charLength == 0) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(charLength * 2);
+            buffer.asCharBuffer().put(chars, 0, charLength);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, spilledChars * 2 + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        spilledChars += charLength;
+        charLength = 0;
+    }
+}
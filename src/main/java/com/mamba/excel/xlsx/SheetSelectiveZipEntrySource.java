@@ -0,0 +1,107 @@
+package com.mamba.excel.xlsx;
+
+import cn.hutool.core.io.IoUtil;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.poi.openxml4j.util.ZipEntrySource;
+import org.apache.poi.openxml4j.util.ZipFileZipEntrySource;
+import org.apache.poi.openxml4j.util.ZipSecureFile;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/27 10:05
+ * @description: 按sheet筛选的xlsx压缩包条目来源，交给OPCPackage打开。未选中的sheet xml替换为空的worksheet，
+ *               其关系文件替换为空关系，图表、批注、透视表等随sheet加载的部件不再被引用；透视表缓存记录同样替换为空。
+ *               sheet的顺序、名称保持不变，被替换的条目从不解压
+ */
+public class SheetSelectiveZipEntrySource implements ZipEntrySource {
+
+    private static final byte[] EMPTY_WORKSHEET =
+        ("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData/></worksheet>")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY_RELATIONSHIPS =
+        ("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\"/>")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EMPTY_PIVOT_CACHE_RECORDS = ("<pivotCacheRecords "
+        + "xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"0\"/>")
+            .getBytes(StandardCharsets.UTF_8);
+    private static final String PIVOT_CACHE_RECORDS = "pivotCacheRecords";
+
+    /** 原始压缩包 */
+    private final ZipFileZipEntrySource source;
+    /** 被替换的条目路径 -> 替换内容 */
+    private final Map<String, byte[]> stubMap = new HashMap<>(16);
+
+    /**
+     * 构造方法
+     *
+     * @param file xlsx文件
+     * @param sheetFilter 按(sheet下标, sheet名称)判断是否需要解析该sheet
+     * @throws IOException 文件不是有效的xlsx时抛出
+     */
+    public SheetSelectiveZipEntrySource(File file, BiPredicate<Integer, String> sheetFilter) throws IOException {
+        this.source = new ZipFileZipEntrySource(new ZipSecureFile(file));
+        try {
+            XlsxWorkbook workbook = new XlsxWorkbook(path -> {
+                ZipArchiveEntry entry = source.getEntry(path);
+                return entry == null ? null : source.getInputStream(entry);
+            });
+            List<String> sheetPathList = workbook.getSheetPathList();
+            for (int i = 0; i < sheetPathList.size(); i++) {
+                String sheetPath = sheetPathList.get(i);
+                if (sheetPath == null || sheetFilter.test(i, workbook.getSheetNameList().get(i))) {
+                    continue;
+                }
+                stubMap.put(sheetPath, EMPTY_WORKSHEET);
+                stubMap.put(XlsxWorkbook.getRelationsPath(sheetPath), EMPTY_RELATIONSHIPS);
+            }
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            IoUtil.close(source);
+            throw e instanceof IOException ? (IOException)e : new IOException(e);
+        }
+    }
+
+    @Override
+    public Enumeration<? extends ZipArchiveEntry> getEntries() {
+        return source.getEntries();
+    }
+
+    @Override
+    public ZipArchiveEntry getEntry(String path) {
+        return source.getEntry(path);
+    }
+
+    @Override
+    public InputStream getInputStream(ZipArchiveEntry entry) throws IOException {
+        String name = entry.getName();
+        byte[] stub = stubMap.get(name);
+        if (stub == null && name.substring(name.lastIndexOf('/') + 1).startsWith(PIVOT_CACHE_RECORDS)
+            && name.endsWith(".xml")) {
+            // 透视表缓存记录只用于刷新透视表，读取单元格值时用不到
+            stub = EMPTY_PIVOT_CACHE_RECORDS;
+        }
+        return stub == null ? source.getInputStream(entry) : new ByteArrayInputStream(stub);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return source.isClosed();
+    }
+}
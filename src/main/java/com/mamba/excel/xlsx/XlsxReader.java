@@ -0,0 +1,372 @@
+package com.mamba.excel.xlsx;
+
+import cn.hutool.core.date.DateUtil;
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.poi.excel.sax.handler.RowHandler;
+import com.mamba.excel.reader.SheetReader;
+import lombok.Setter;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.util.NumberToTextConverter;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/9 15:02
+ * @description: 原生xlsx导入，直接打开xlsx压缩包，用StAX逐行解析sheet xml，不创建POI的Workbook、Row、Cell对象。
+ *               单元格值的类型与hutool ExcelReader保持一致，可以无缝替换ExcelImporter的POI引擎
+ */
+public class XlsxReader implements SheetReader {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        // 禁用DTD和外部实体，防止XXE
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /** xlsx压缩包 */
+    private final ZipFile zipFile;
+    /** workbook目录 */
+    private final XlsxWorkbook workbook;
+    /** sheet名称，按workbook中的顺序 */
+    private final List<String> sheetNameList;
+    /** sheet xml在压缩包中的路径，按workbook中的顺序 */
+    private final List<String> sheetPathList;
+    /** 共享字符串表 */
+    private SharedStringsStore sharedStrings;
+    /** 共享字符串表转存到临时文件的阈值（字符数） */
+    @Setter
+    private int sharedStringsSpillThreshold = SharedStringsStore.DEFAULT_SPILL_THRESHOLD;
+    /** 列投影，为null时解析所有列 */
+    private boolean[] projection;
+    /** 当前行中下一个单元格的列下标，单元格没有r属性时使用 */
+    private int nextColumn;
+    /** 读取文本的缓冲区 */
+    private final StringBuilder textBuilder = new StringBuilder();
+    /** 样式下标 -> 是否日期格式 */
+    private boolean[] dateStyles;
+    /** 样式下标 -> 是否带小数的数字格式 */
+    private boolean[] decimalStyles;
+
+    public XlsxReader(File file) {
+        try {
+            this.zipFile = new ZipFile(file);
+        } catch (IOException e) {
+            throw new IORuntimeException(e);
+        }
+        try {
+            this.workbook = new XlsxWorkbook(path -> {
+                ZipEntry entry = zipFile.getEntry(path);
+                return entry == null ? null : zipFile.getInputStream(entry);
+            });
+        } catch (IOException | XMLStreamException e) {
+            IoUtil.close(zipFile);
+            throw new IORuntimeException(e);
+        }
+        this.sheetNameList = workbook.getSheetNameList();
+        this.sheetPathList = workbook.getSheetPathList();
+    }
+
+    @Override
+    public void read(int sheetIndex, RowHandler rowHandler) {
+        if (sheetIndex < 0 || sheetIndex >= sheetPathList.size()) {
+            // 与POI引擎保持一致，不存在的sheet视为空sheet
+            rowHandler.doAfterAllAnalysed();
+            return;
+        }
+        projection = null;
+        InputStream in = null;
+        XMLStreamReader xml = null;
+        try {
+            loadSharedStrings();
+            loadStyles();
+            in = getInputStream(sheetPathList.get(sheetIndex));
+            xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            List<Object> rowCells = null;
+            long rowIndex = -1;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = xml.getLocalName();
+                    if ("row".equals(name)) {
+                        String r = xml.getAttributeValue(null, "r");
+                        rowIndex = r == null ? rowIndex + 1 : Long.parseLong(r) - 1;
+                        rowCells = new ArrayList<>();
+                        nextColumn = 0;
+                    } else if ("c".equals(name) && rowCells != null) {
+                        readCell(xml, rowCells);
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "row".equals(xml.getLocalName())) {
+                    rowHandler.handle(sheetIndex, rowIndex, rowCells);
+                    rowCells = null;
+                }
+            }
+            rowHandler.doAfterAllAnalysed();
+        } catch (IOException | XMLStreamException e) {
+            throw new IORuntimeException(e);
+        } finally {
+            closeQuietly(xml);
+            IoUtil.close(in);
+        }
+    }
+
+    @Override
+    public void setProjection(boolean[] projection) {
+        this.projection = projection;
+    }
+
+    @Override
+    public String getSheetName(int sheetIndex) {
+        return sheetIndex < sheetNameList.size() ? sheetNameList.get(sheetIndex) : null;
+    }
+
+    @Override
+    public void close() {
+        if (sharedStrings != null) {
+            sharedStrings.close();
+        }
+        IoUtil.close(zipFile);
+    }
+
+    /**
+     * 解析单元格，当前位置为c的开始标签，结束时位于c的结束标签。未投影的列直接跳过
+     */
+    private void readCell(XMLStreamReader xml, List<Object> rowCells) throws XMLStreamException {
+        String ref = xml.getAttributeValue(null, "r");
+        int column = ref == null ? nextColumn : getColumnIndex(ref);
+        nextColumn = column + 1;
+        if (projection != null && (column >= projection.length || !projection[column])) {
+            skipElement(xml);
+            return;
+        }
+        String type = xml.getAttributeValue(null, "t");
+        String s = xml.getAttributeValue(null, "s");
+        String value = null;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    value = xml.getElementText();
+                } else if ("is".equals(name)) {
+                    textBuilder.setLength(0);
+                    readText(xml, "is", textBuilder);
+                    value = textBuilder.toString();
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                break;
+            }
+        }
+        while (rowCells.size() < column) {
+            rowCells.add(null);
+        }
+        rowCells.add(getCellValue(type, s == null ? 0 : Integer.parseInt(s), value));
+    }
+
+    /**
+     * 根据单元格类型和样式转换单元格值，规则与hutool CellUtil.getCellValue一致
+     */
+    private Object getCellValue(String type, int style, String value) {
+        if (value == null) {
+            return StrUtil.EMPTY;
+        }
+        if (type == null || "n".equals(type)) {
+            double number = Double.parseDouble(value);
+            if (style < dateStyles.length && dateStyles[style]) {
+                LocalDateTime dateTime = org.apache.poi.ss.usermodel.DateUtil.getLocalDateTime(number);
+                if (dateTime.getYear() == 1899) {
+                    return dateTime.toLocalTime();
+                }
+                return DateUtil.date(dateTime);
+            }
+            if (!(style < decimalStyles.length && decimalStyles[style])) {
+                long longPart = (long)number;
+                if ((double)longPart == number) {
+                    return longPart;
+                }
+            }
+            return Double.parseDouble(NumberToTextConverter.toText(number));
+        }
+        switch (type) {
+            case "s":
+                return sharedStrings.get(Integer.parseInt(value));
+            case "b":
+                return "1".equals(value);
+            case "d":
+                return DateUtil.parse(value);
+            default:
+                // inlineStr、str、e
+                return value;
+        }
+    }
+
+    /**
+     * 读取富文本，拼接所有t节点的文本，忽略拼音rPh。文本直接从解析器的字符数组追加到sb，不创建中间String
+     */
+    private static void readText(XMLStreamReader xml, String endName, StringBuilder sb) throws XMLStreamException {
+        boolean phonetic = false;
+        boolean text = false;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("rPh".equals(name)) {
+                    phonetic = true;
+                } else if ("t".equals(name)) {
+                    text = !phonetic;
+                }
+            } else if (text && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE)) {
+                sb.append(xml.getTextCharacters(), xml.getTextStart(), xml.getTextLength());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("rPh".equals(name)) {
+                    phonetic = false;
+                } else if ("t".equals(name)) {
+                    text = false;
+                } else if (endName.equals(name)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 跳过当前元素及其子元素，结束时位于当前元素的结束标签
+     */
+    private static void skipElement(XMLStreamReader xml) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * 根据单元格引用获取列下标，例如AB12 -> 27
+     */
+    private static int getColumnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length(); i++) {
+            char c = ref.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    /**
+     * 加载共享字符串表，只在第一次读取sheet时加载
+     */
+    private void loadSharedStrings() throws IOException, XMLStreamException {
+        if (sharedStrings != null) {
+            return;
+        }
+        sharedStrings = new SharedStringsStore(sharedStringsSpillThreshold);
+        String sharedStringsPath = workbook.getSharedStringsPath();
+        if (sharedStringsPath == null || zipFile.getEntry(sharedStringsPath) == null) {
+            return;
+        }
+        InputStream in = getInputStream(sharedStringsPath);
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "si".equals(xml.getLocalName())) {
+                    textBuilder.setLength(0);
+                    readText(xml, "si", textBuilder);
+                    sharedStrings.add(textBuilder);
+                }
+            }
+            sharedStrings.seal();
+        } finally {
+            closeQuietly(xml);
+            IoUtil.close(in);
+        }
+    }
+
+    /**
+     * 加载样式表中单元格样式的数字格式，只在第一次读取sheet时加载
+     */
+    private void loadStyles() throws IOException, XMLStreamException {
+        if (dateStyles != null) {
+            return;
+        }
+        List<Integer> formatIdList = new ArrayList<>();
+        Map<Integer, String> customFormatMap = new HashMap<>(16);
+        String stylesPath = workbook.getStylesPath();
+        if (stylesPath != null && zipFile.getEntry(stylesPath) != null) {
+            InputStream in = getInputStream(stylesPath);
+            XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+            try {
+                boolean cellXfs = false;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = xml.getLocalName();
+                        if ("numFmt".equals(name)) {
+                            customFormatMap.put(Integer.parseInt(xml.getAttributeValue(null, "numFmtId")),
+                                xml.getAttributeValue(null, "formatCode"));
+                        } else if ("cellXfs".equals(name)) {
+                            cellXfs = true;
+                        } else if ("xf".equals(name) && cellXfs) {
+                            String numFmtId = xml.getAttributeValue(null, "numFmtId");
+                            formatIdList.add(numFmtId == null ? 0 : Integer.parseInt(numFmtId));
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && "cellXfs".equals(xml.getLocalName())) {
+                        cellXfs = false;
+                    }
+                }
+            } finally {
+                closeQuietly(xml);
+                IoUtil.close(in);
+            }
+        }
+        dateStyles = new boolean[formatIdList.size()];
+        decimalStyles = new boolean[formatIdList.size()];
+        for (int i = 0; i < formatIdList.size(); i++) {
+            int formatId = formatIdList.get(i);
+            String format = customFormatMap.getOrDefault(formatId, BuiltinFormats.getBuiltinFormat(formatId));
+            dateStyles[i] = org.apache.poi.ss.usermodel.DateUtil.isADateFormat(formatId, format);
+            decimalStyles[i] = format != null && format.indexOf('.') >= 0;
+        }
+    }
+
+    private InputStream getInputStream(String path) throws IOException {
+        ZipEntry entry = zipFile.getEntry(path);
+        if (entry == null) {
+            throw new IOException("xlsx中不存在" + path);
+        }
+        return zipFile.getInputStream(entry);
+    }
+
+    private static void closeQuietly(XMLStreamReader xml) {
+        if (xml != null) {
+            try {
+                xml.close();
+            } catch (XMLStreamException ignore) {
+                // ignore
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.mamba.excel.xlsx;
+
+import com.mamba.excel.collection.StringIntMap;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/8 10:32
+ * @description: 原生xlsx导出的流式共享字符串表。字符串首次出现时追加到临时文件，内存中只保留去重用的下标，
+ *               多个sheet并行生成时可以共用同一个实例
+ */
+public class XlsxSharedStrings implements Closeable {
+
+    /** 字符串 -> 共享字符串下标 */
+    private final StringIntMap indexMap = new StringIntMap();
+    /** 共享字符串临时文件 */
+    private final File tempFile;
+    /** 临时文件输出流 */
+    private final Writer out;
+    /** 引用次数，对应sst的count属性 */
+    private long count;
+
+    public XlsxSharedStrings() throws IOException {
+        this.tempFile = Files.createTempFile("fox-excel-sst", ".xml").toFile();
+        this.out = new BufferedWriter(
+            new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /**
+     * 获取字符串的共享下标，首次出现时追加到共享字符串表
+     *
+     * @param value 字符串
+     * @return 共享字符串下标
+     * @throws IOException 写入临时文件出错时抛出
+     */
+    public synchronized int indexOf(String value) throws IOException {
+        count++;
+        int index = indexMap.size();
+        int existingIndex = indexMap.putIfAbsent(value, index, -1);
+        if (existingIndex >= 0) {
+            return existingIndex;
+        }
+        out.write("<si><t xml:space=\"preserve\">");
+        XlsxSheetPart.writeEscaped(out, value);
+        out.write("</t></si>");
+        return index;
+    }
+
+    /**
+     * 输出xl/sharedStrings.xml
+     *
+     * @param target 输出流，不会被关闭
+     * @throws IOException 写入出错时抛出
+     */
+    public synchronized void write(OutputStream target) throws IOException {
+        out.flush();
+        Writer head = new OutputStreamWriter(target, StandardCharsets.UTF_8);
+        head.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        head.write("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"" + count
+            + "\" uniqueCount=\"" + indexMap.size() + "\">");
+        head.flush();
+        Files.copy(tempFile.toPath(), target);
+        head.write("</sst>");
+        head.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+        Files.deleteIfExists(tempFile.toPath());
+    }
+}
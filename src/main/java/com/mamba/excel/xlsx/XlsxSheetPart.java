@@ -0,0 +1,318 @@
+package com.mamba.excel.xlsx;
+
+import lombok.Getter;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/8 10:45
+ * @description: 原生xlsx导出的单个sheet。行数据直接以SpreadsheetML写入私有的临时文件，同时统计列宽，
+ *               不依赖workbook对象，可以在工作线程中独立生成，最后由XlsxWriter组装到xlsx包中
+ */
+public class XlsxSheetPart implements Closeable {
+
+    /** 列宽的最小字符数，与POI默认列宽一致 */
+    private static final int MIN_COLUMN_WIDTH = 8;
+    /** 单元格引用的列名缓存，A、B...AA、AB... */
+    private static final String[] COLUMN_NAMES = new String[256];
+
+    static {
+        for (int i = 0; i < COLUMN_NAMES.length; i++) {
+            COLUMN_NAMES[i] = toColumnName(i);
+        }
+    }
+
+    /** sheet名称 */
+    @Getter
+    private final String sheetName;
+    /** 列宽，单位为字符数 */
+    private final int[] columnWidths;
+    /** 每列的单元格样式下标 */
+    private final int[] columnStyles;
+    /** 样式表 */
+    private final XlsxStyles styles;
+    /** 共享字符串表，为null时使用内联字符串 */
+    private final XlsxSharedStrings sharedStrings;
+    /** sheetData临时文件 */
+    private final File tempFile;
+    /** 临时文件输出流 */
+    private final Writer out;
+    /** 下拉框 */
+    private final List<Dropdown> dropdownList = new ArrayList<>();
+    /** 整数转字符的缓冲区 */
+    private final char[] numberBuffer = new char[20];
+    /** 已写入的行数 */
+    @Getter
+    private int rowCount;
+
+    XlsxSheetPart(String sheetName, int columnCount, XlsxStyles styles, XlsxSharedStrings sharedStrings)
+        throws IOException {
+        this.sheetName = sheetName;
+        this.columnWidths = new int[columnCount];
+        this.columnStyles = new int[columnCount];
+        Arrays.fill(columnStyles, XlsxStyles.STYLE_CELL);
+        this.styles = styles;
+        this.sharedStrings = sharedStrings;
+        this.tempFile = Files.createTempFile("fox-excel-sheet", ".xml").toFile();
+        this.out = new BufferedWriter(
+            new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    /**
+     * 写入一行数据，values可以在调用方复用
+     *
+     * @param values 单元格值，下标即列下标
+     * @throws IOException 写入临时文件出错时抛出
+     */
+    public void writeRow(Object[] values) throws IOException {
+        int rowNumber = ++rowCount;
+        out.write("<row r=\"");
+        writeLong(rowNumber);
+        out.write("\">");
+        for (int k = 0; k < values.length && k < columnWidths.length; k++) {
+            writeCell(k, rowNumber, values[k]);
+        }
+        out.write("</row>");
+    }
+
+    /**
+     * 设置日期单元格列，该列的数值单元格按format显示为日期
+     *
+     * @param column 列下标
+     * @param format excel单元格格式
+     * @param width 列宽的最小字符数
+     */
+    public void setDateColumn(int column, String format, int width) {
+        columnStyles[column] = styles.getDateStyle(format);
+        columnWidths[column] = Math.max(columnWidths[column], width);
+    }
+
+    /**
+     * 添加下拉框
+     *
+     * @param column 列下标
+     * @param firstRow 起始行下标，从0开始
+     * @param lastRow 结束行下标，从0开始
+     * @param values 下拉框选项，用逗号拼接后不能超过excel显式列表的255个字符，由调用方检查
+     */
+    public void addDropdown(int column, int firstRow, int lastRow, String[] values) {
+        dropdownList.add(new Dropdown(column, firstRow, lastRow, values));
+    }
+
+    private void writeCell(int column, int rowNumber, Object value) throws IOException {
+        out.write("<c r=\"");
+        out.write(getColumnName(column));
+        writeLong(rowNumber);
+        out.write("\" s=\"");
+        writeLong(columnStyles[column]);
+        out.write('"');
+        if (value == null) {
+            out.write("/>");
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short
+            || value instanceof Byte) {
+            out.write("><v>");
+            writeLong(((Number)value).longValue());
+            out.write("</v></c>");
+        } else if (value instanceof BigDecimal) {
+            out.write("><v>");
+            out.write(((BigDecimal)value).toPlainString());
+            out.write("</v></c>");
+        } else if (value instanceof Number && isFinite((Number)value)) {
+            out.write("><v>");
+            out.write(value.toString());
+            out.write("</v></c>");
+        } else if (value instanceof Boolean) {
+            out.write(" t=\"b\"><v>");
+            out.write((Boolean)value ? '1' : '0');
+            out.write("</v></c>");
+        } else {
+            String str = value.toString();
+            columnWidths[column] = Math.max(columnWidths[column], getByteLength(str));
+            if (sharedStrings != null) {
+                out.write(" t=\"s\"><v>");
+                writeLong(sharedStrings.indexOf(str));
+                out.write("</v></c>");
+            } else {
+                out.write(" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(out, str);
+                out.write("</t></is></c>");
+            }
+        }
+    }
+
+    /**
+     * 输出完整的worksheet xml
+     *
+     * @param target 输出流，不会被关闭
+     * @throws IOException 写入出错时抛出
+     */
+    void writeTo(OutputStream target) throws IOException {
+        out.flush();
+        Writer head = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        head.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        head.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+            + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">");
+        head.write("<sheetFormatPr defaultRowHeight=\"15\"/>");
+        if (columnWidths.length > 0) {
+            head.write("<cols>");
+            for (int k = 0; k < columnWidths.length; k++) {
+                head.write("<col min=\"" + (k + 1) + "\" max=\"" + (k + 1) + "\" width=\""
+                    + Math.max(MIN_COLUMN_WIDTH, columnWidths[k]) + "\" customWidth=\"1\"/>");
+            }
+            head.write("</cols>");
+        }
+        head.write("<sheetData>");
+        head.flush();
+        Files.copy(tempFile.toPath(), target);
+        head.write("</sheetData>");
+        if (!dropdownList.isEmpty()) {
+            head.write("<dataValidations count=\"" + dropdownList.size() + "\">");
+            for (Dropdown dropdown : dropdownList) {
+                String columnName = getColumnName(dropdown.column);
+                head.write("<dataValidation type=\"list\" allowBlank=\"1\" showErrorMessage=\"1\" sqref=\""
+                    + columnName + (dropdown.firstRow + 1) + ":" + columnName + (dropdown.lastRow + 1)
+                    + "\"><formula1>&quot;");
+                writeEscaped(head, String.join(",", dropdown.values));
+                head.write("&quot;</formula1></dataValidation>");
+            }
+            head.write("</dataValidations>");
+        }
+        head.write("</worksheet>");
+        head.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+        Files.deleteIfExists(tempFile.toPath());
+    }
+
+    /**
+     * 结束写入，刷新临时文件
+     *
+     * @throws IOException 写入出错时抛出
+     */
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.write(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        int pos = numberBuffer.length;
+        do {
+            numberBuffer[--pos] = (char)('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        out.write(numberBuffer, pos, numberBuffer.length - pos);
+    }
+
+    private static boolean isFinite(Number value) {
+        double d = value.doubleValue();
+        return !Double.isNaN(d) && !Double.isInfinite(d);
+    }
+
+    /**
+     * 计算字符串的UTF-8字节数，与ExcelKit.setAutoSizeColumn的列宽规则一致，但不创建byte数组
+     */
+    private static int getByteLength(String str) {
+        int length = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * 转义xml特殊字符，并去掉xml不允许的控制字符
+     *
+     * @param out 输出流
+     * @param str 字符串
+     * @throws IOException 写入出错时抛出
+     */
+    static void writeEscaped(Writer out, String str) throws IOException {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '<':
+                    out.write("&lt;");
+                    break;
+                case '>':
+                    out.write("&gt;");
+                    break;
+                case '&':
+                    out.write("&amp;");
+                    break;
+                case '"':
+                    out.write("&quot;");
+                    break;
+                default:
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        out.write(c);
+                    }
+            }
+        }
+    }
+
+    /**
+     * 获取列名
+     *
+     * @param column 列下标，从0开始
+     * @return 列名，例如A、AB
+     */
+    public static String getColumnName(int column) {
+        return column < COLUMN_NAMES.length ? COLUMN_NAMES[column] : toColumnName(column);
+    }
+
+    private static String toColumnName(int column) {
+        StringBuilder sb = new StringBuilder();
+        int n = column + 1;
+        while (n > 0) {
+            int mod = (n - 1) % 26;
+            sb.insert(0, (char)('A' + mod));
+            n = (n - 1) / 26;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 下拉框
+     */
+    private static class Dropdown {
+        private final int column;
+        private final int firstRow;
+        private final int lastRow;
+        private final String[] values;
+
+        private Dropdown(int column, int firstRow, int lastRow, String[] values) {
+            this.column = column;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.values = values;
+        }
+    }
+}
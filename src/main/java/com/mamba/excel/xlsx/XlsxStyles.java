@@ -0,0 +1,80 @@
+package com.mamba.excel.xlsx;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/8 10:20
+ * @description: 原生xlsx导出的样式表，单元格样式与hutool ExcelWriter默认样式保持一致（细边框、居中），
+ *               日期单元格在普通单元格样式的基础上追加自定义数字格式
+ */
+public class XlsxStyles {
+
+    /** 默认样式下标 */
+    public static final int STYLE_DEFAULT = 0;
+    /** 普通单元格样式下标：细边框、水平垂直居中 */
+    public static final int STYLE_CELL = 1;
+    /** 自定义数字格式的起始id，之前的id为excel内置格式 */
+    private static final int CUSTOM_FORMAT_ID = 164;
+
+    /** 日期单元格格式，下标i对应样式下标STYLE_CELL + 1 + i、数字格式id CUSTOM_FORMAT_ID + i */
+    private final List<String> dateFormatList = new ArrayList<>();
+
+    /**
+     * 获取日期单元格样式，相同格式只注册一次，多个sheet并行生成时可以同时调用
+     *
+     * @param format excel单元格格式，例如yyyy-mm-dd
+     * @return 样式下标
+     */
+    public synchronized int getDateStyle(String format) {
+        int index = dateFormatList.indexOf(format);
+        if (index < 0) {
+            index = dateFormatList.size();
+            dateFormatList.add(format);
+        }
+        return STYLE_CELL + 1 + index;
+    }
+
+    /**
+     * 输出xl/styles.xml
+     *
+     * @param out 输出流
+     * @throws IOException 写入出错时抛出
+     */
+    public synchronized void write(Writer out) throws IOException {
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        if (!dateFormatList.isEmpty()) {
+            out.write("<numFmts count=\"" + dateFormatList.size() + "\">");
+            for (int i = 0; i < dateFormatList.size(); i++) {
+                out.write("<numFmt numFmtId=\"" + (CUSTOM_FORMAT_ID + i) + "\" formatCode=\"");
+                XlsxSheetPart.writeEscaped(out, dateFormatList.get(i));
+                out.write("\"/>");
+            }
+            out.write("</numFmts>");
+        }
+        out.write("<fonts count=\"1\"><font><sz val=\"11\"/><name val=\"宋体\"/><family val=\"2\"/></font></fonts>");
+        out.write("<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+            + "<fill><patternFill patternType=\"gray125\"/></fill></fills>");
+        out.write("<borders count=\"2\"><border><left/><right/><top/><bottom/><diagonal/></border>"
+            + "<border><left style=\"thin\"/><right style=\"thin\"/><top style=\"thin\"/><bottom style=\"thin\"/>"
+            + "<diagonal/></border></borders>");
+        out.write("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>");
+        out.write("<cellXfs count=\"" + (STYLE_CELL + 1 + dateFormatList.size()) + "\">");
+        out.write("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>");
+        out.write("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyBorder=\"1\" "
+            + "applyAlignment=\"1\"><alignment horizontal=\"center\" vertical=\"center\"/></xf>");
+        for (int i = 0; i < dateFormatList.size(); i++) {
+            out.write("<xf numFmtId=\"" + (CUSTOM_FORMAT_ID + i) + "\" fontId=\"0\" fillId=\"0\" borderId=\"1\" "
+                + "xfId=\"0\" applyNumberFormat=\"1\" applyBorder=\"1\" applyAlignment=\"1\">"
+                + "<alignment horizontal=\"center\" vertical=\"center\"/></xf>");
+        }
+        out.write("</cellXfs>");
+        out.write("<cellStyles count=\"1\"><cellStyle name=\"常规\" xfId=\"0\" builtinId=\"0\"/></cellStyles>");
+        out.write("</styleSheet>");
+    }
+}
@@ -0,0 +1,157 @@
+package com.mamba.excel.xlsx;
+
+import cn.hutool.core.io.IoUtil;
+import lombok.Getter;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/27 9:20
+ * @description: xlsx的workbook目录，只解析包关系、workbook.xml和workbook的关系文件，得到sheet名称、sheet xml路径，
+ *               以及共享字符串表、样式表的路径，不读取任何sheet内容
+ */
+@Getter
+public class XlsxWorkbook {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        // 禁用DTD和外部实体，防止XXE
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private static final String RELATIONSHIP_OFFICE_DOCUMENT = "/officeDocument";
+    private static final String RELATIONSHIP_SHARED_STRINGS = "/sharedStrings";
+    private static final String RELATIONSHIP_STYLES = "/styles";
+
+    /** sheet名称，按workbook中的顺序 */
+    private final List<String> sheetNameList = new ArrayList<>();
+    /** sheet xml在压缩包中的路径，按workbook中的顺序 */
+    private final List<String> sheetPathList = new ArrayList<>();
+    /** 共享字符串表路径 */
+    private String sharedStringsPath;
+    /** 样式表路径 */
+    private String stylesPath;
+
+    /**
+     * 压缩包条目读取
+     */
+    @FunctionalInterface
+    public interface PartSource {
+
+        /**
+         * 打开压缩包中的条目
+         *
+         * @param path 压缩包内的路径
+         * @return 条目内容，条目不存在时返回null
+         * @throws IOException 读取出错时抛出
+         */
+        InputStream open(String path) throws IOException;
+    }
+
+    public XlsxWorkbook(PartSource source) throws IOException, XMLStreamException {
+        String workbookPath = "xl/workbook.xml";
+        for (String[] relation : readRelations(source, "_rels/.rels", "")) {
+            if (relation[1].endsWith(RELATIONSHIP_OFFICE_DOCUMENT)) {
+                workbookPath = relation[2];
+            }
+        }
+        String workbookDir = workbookPath.substring(0, workbookPath.lastIndexOf('/') + 1);
+        Map<String, String> targetMap = new HashMap<>(16);
+        for (String[] relation : readRelations(source, getRelationsPath(workbookPath), workbookDir)) {
+            targetMap.put(relation[0], relation[2]);
+            if (relation[1].endsWith(RELATIONSHIP_SHARED_STRINGS)) {
+                sharedStringsPath = relation[2];
+            } else if (relation[1].endsWith(RELATIONSHIP_STYLES)) {
+                stylesPath = relation[2];
+            }
+        }
+        InputStream in = source.open(workbookPath);
+        if (in == null) {
+            throw new IOException("xlsx中不存在" + workbookPath);
+        }
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(xml.getLocalName())) {
+                    String id = null;
+                    for (int i = 0; i < xml.getAttributeCount(); i++) {
+                        if ("id".equals(xml.getAttributeLocalName(i))) {
+                            id = xml.getAttributeValue(i);
+                        }
+                    }
+                    sheetNameList.add(xml.getAttributeValue(null, "name"));
+                    sheetPathList.add(targetMap.get(id));
+                }
+            }
+        } finally {
+            closeQuietly(xml);
+            IoUtil.close(in);
+        }
+    }
+
+    /**
+     * 获取条目对应的关系文件路径，如xl/worksheets/sheet1.xml -> xl/worksheets/_rels/sheet1.xml.rels
+     *
+     * @param path 压缩包内的路径
+     * @return 关系文件路径
+     */
+    public static String getRelationsPath(String path) {
+        int index = path.lastIndexOf('/') + 1;
+        return path.substring(0, index) + "_rels/" + path.substring(index) + ".rels";
+    }
+
+    /**
+     * 读取关系文件
+     *
+     * @param source 压缩包条目读取
+     * @param path 关系文件路径
+     * @param baseDir 相对路径的基准目录
+     * @return [Id, Type, 压缩包内的绝对路径]
+     */
+    private static List<String[]> readRelations(PartSource source, String path, String baseDir)
+        throws IOException, XMLStreamException {
+        List<String[]> relationList = new ArrayList<>();
+        InputStream in = source.open(path);
+        if (in == null) {
+            return relationList;
+        }
+        XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && "Relationship".equals(xml.getLocalName())) {
+                    String target = xml.getAttributeValue(null, "Target");
+                    target = target.startsWith("/") ? target.substring(1) : baseDir + target;
+                    relationList.add(
+                        new String[] {xml.getAttributeValue(null, "Id"), xml.getAttributeValue(null, "Type"), target});
+                }
+            }
+        } finally {
+            closeQuietly(xml);
+            IoUtil.close(in);
+        }
+        return relationList;
+    }
+
+    private static void closeQuietly(XMLStreamReader xml) {
+        if (xml != null) {
+            try {
+                xml.close();
+            } catch (XMLStreamException ignore) {
+                // ignore
+            }
+        }
+    }
+}
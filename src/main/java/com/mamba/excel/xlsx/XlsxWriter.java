@@ -0,0 +1,159 @@
+package com.mamba.excel.xlsx;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/8 11:20
+ * @description: 原生xlsx导出，直接将SpreadsheetML写入ZipOutputStream，不经过POI usermodel。
+ *               使用方式：createSheetPart生成sheet数据 -> addSheet按顺序组装 -> finish输出workbook等公共部件
+ */
+public class XlsxWriter implements Closeable {
+
+    /** xlsx压缩包输出流 */
+    private final ZipOutputStream zip;
+    /** 共享字符串表，为null时使用内联字符串 */
+    private final XlsxSharedStrings sharedStrings;
+    /** 样式表 */
+    private final XlsxStyles styles = new XlsxStyles();
+    /** 已组装的sheet名称 */
+    private final List<String> sheetNameList = new ArrayList<>();
+
+    /**
+     * 构造方法
+     *
+     * @param out 输出流，finish时不会被关闭
+     * @param useSharedStrings 是否使用共享字符串表，重复值较多时可以减小文件体积
+     * @throws IOException 创建共享字符串临时文件出错时抛出
+     */
+    public XlsxWriter(OutputStream out, boolean useSharedStrings) throws IOException {
+        this.zip = new ZipOutputStream(out);
+        this.sharedStrings = useSharedStrings ? new XlsxSharedStrings() : null;
+    }
+
+    /**
+     * 创建sheet，返回的XlsxSheetPart可以在其他线程中写入数据
+     *
+     * @param sheetName sheet名称
+     * @param columnCount 列数
+     * @return sheet
+     * @throws IOException 创建临时文件出错时抛出
+     */
+    public XlsxSheetPart createSheetPart(String sheetName, int columnCount) throws IOException {
+        return new XlsxSheetPart(sheetName, columnCount, styles, sharedStrings);
+    }
+
+    /**
+     * 将sheet组装到xlsx包中，sheet顺序即调用顺序，组装后sheet的临时文件会被删除
+     *
+     * @param sheetPart sheet
+     * @throws IOException 写入出错时抛出
+     */
+    public void addSheet(XlsxSheetPart sheetPart) throws IOException {
+        try {
+            sheetNameList.add(sheetPart.getSheetName());
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetNameList.size() + ".xml"));
+            sheetPart.writeTo(zip);
+            zip.closeEntry();
+        } finally {
+            sheetPart.close();
+        }
+    }
+
+    /**
+     * 输出workbook、样式表、共享字符串表等公共部件，并结束压缩包
+     *
+     * @throws IOException 写入出错时抛出
+     */
+    public void finish() throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        out.write("<Default Extension=\"rels\" "
+            + "ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        out.write("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        out.write("<Override PartName=\"/xl/workbook.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        out.write("<Override PartName=\"/xl/styles.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>");
+        if (sharedStrings != null) {
+            out.write("<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\""
+                + "application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>");
+        }
+        for (int i = 1; i <= sheetNameList.size(); i++) {
+            out.write("<Override PartName=\"/xl/worksheets/sheet" + i + ".xml\" "
+                + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        out.write("</Types>");
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("_rels/.rels"));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        out.write("<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/"
+            + "relationships/officeDocument\" Target=\"xl/workbook.xml\"/>");
+        out.write("</Relationships>");
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" "
+            + "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">");
+        out.write("<bookViews><workbookView/></bookViews><sheets>");
+        for (int i = 1; i <= sheetNameList.size(); i++) {
+            out.write("<sheet name=\"");
+            XlsxSheetPart.writeEscaped(out, sheetNameList.get(i - 1));
+            out.write("\" sheetId=\"" + i + "\" r:id=\"rId" + i + "\"/>");
+        }
+        out.write("</sheets></workbook>");
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/_rels/workbook.xml.rels"));
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        out.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetNameList.size(); i++) {
+            out.write("<Relationship Id=\"rId" + i + "\" Type=\"http://schemas.openxmlformats.org/officeDocument/"
+                + "2006/relationships/worksheet\" Target=\"worksheets/sheet" + i + ".xml\"/>");
+        }
+        int relationId = sheetNameList.size();
+        out.write("<Relationship Id=\"rId" + (++relationId) + "\" Type=\"http://schemas.openxmlformats.org/"
+            + "officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>");
+        if (sharedStrings != null) {
+            out.write("<Relationship Id=\"rId" + (++relationId) + "\" Type=\"http://schemas.openxmlformats.org/"
+                + "officeDocument/2006/relationships/sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        }
+        out.write("</Relationships>");
+        out.flush();
+        zip.closeEntry();
+
+        zip.putNextEntry(new ZipEntry("xl/styles.xml"));
+        styles.write(out);
+        out.flush();
+        zip.closeEntry();
+
+        if (sharedStrings != null) {
+            zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+            sharedStrings.write(zip);
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sharedStrings != null) {
+            sharedStrings.close();
+        }
+    }
+}
@@ -10,7 +10,10 @@ import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author 00351634
@@ -21,21 +24,20 @@ import java.util.Objects;
 @Slf4j
 public class EnumConverter implements ObjectSerializer, ObjectDeserializer {
 
+    /** 枚举类名 -> 显示值 -> 枚举常量，每个枚举类只反射一次 */
+    private static final Map<String, Map<String, Object>> DISPLAY_CACHE = new ConcurrentHashMap<>(32);
+
     @Override
     public <T> T deserialze(DefaultJSONParser parser, Type type, Object fieldName) {
         String value = parser.parseObject(String.class);
         if (StrUtil.isNotEmpty(value)) {
             try {
-                Class<?> enumClass = Class.forName(type.getTypeName());
-                Field field = enumClass.getDeclaredField(EnumDefinition.DISPLAY_FIELD);
-                field.setAccessible(true);
-                for (Object enumConstant : enumClass.getEnumConstants()) {
-                    Object fieldValue = field.get(enumConstant);
-                    if (Objects.equals(fieldValue.toString(), value)) {
-                        return (T)enumConstant;
-                    }
+                Object enumConstant = DISPLAY_CACHE.computeIfAbsent(type.getTypeName(), EnumConverter::getDisplayMap)
+                    .get(value);
+                if (enumConstant == null) {
+                    throw new IllegalStateException("枚举参数异常");
                 }
-                throw new IllegalStateException("枚举参数异常");
+                return (T)enumConstant;
             } catch (Exception e) {
                 log.error("枚举参数异常: {}", e);
                 throw new IllegalStateException(e);
@@ -44,6 +46,27 @@ public class EnumConverter implements ObjectSerializer, ObjectDeserializer {
         return null;
     }
 
+    /**
+     * 反射获取枚举常量的显示值，显示值重复时取第一个常量
+     *
+     * @param typeName 枚举类名
+     * @return 显示值 -> 枚举常量
+     */
+    private static Map<String, Object> getDisplayMap(String typeName) {
+        try {
+            Class<?> enumClass = Class.forName(typeName);
+            Field field = enumClass.getDeclaredField(EnumDefinition.DISPLAY_FIELD);
+            field.setAccessible(true);
+            Map<String, Object> map = new HashMap<>(16);
+            for (Object enumConstant : enumClass.getEnumConstants()) {
+                map.putIfAbsent(Objects.toString(field.get(enumConstant)), enumConstant);
+            }
+            return map;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features)
         throws IOException {
@@ -5,6 +5,7 @@ import cn.hutool.core.util.ReflectUtil;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
+import javax.validation.metadata.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.util.Set;
 
@@ -59,4 +60,29 @@ public class ValidateUtils {
         return validator.validateProperty(object, property, groups);
     }
 
+    /**
+     * 验证给定的值是否符合类中指定属性的约束条件，不需要对象实例
+     *
+     * @param beanType 属性所在的类
+     * @param property 要验证的属性名称
+     * @param value 属性值
+     * @param groups 要验证的约束组，可以传入多个约束组
+     * @return 包含所有验证失败的约束违规信息的集合
+     */
+    public static <T> Set<ConstraintViolation<T>> validateValue(final Class<T> beanType, final String property,
+        final Object value, Class<?>... groups) {
+        return validator.validateValue(beanType, property, value, groups);
+    }
+
+    /**
+     * 获取类中指定属性的约束描述
+     *
+     * @param beanType 属性所在的类
+     * @param property 属性名称
+     * @return 属性的约束描述，属性上没有约束时返回null
+     */
+    public static PropertyDescriptor getConstraintsForProperty(final Class<?> beanType, final String property) {
+        return validator.getConstraintsForClass(beanType).getConstraintsForProperty(property);
+    }
+
 }
@@ -0,0 +1,83 @@
+package com.mamba.excel;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.kit.ImportResultDTO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/24 10:10
+ * @description: 引擎会话测试类，多个线程共享一个引擎并发导入、导出，检查会话之间互不影响
+ */
+public class EngineSessionTest {
+
+    private static final int THREADS = 4;
+
+    @Test
+    public void testConcurrentSessions() throws Exception {
+        ImportEngine importEngine = ImportEngine.builder().batchSize(5).build();
+        ExportEngine exportEngine = ExportEngine.builder().build();
+        File dir = Files.createTempDirectory("fox-excel-engine").toFile();
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<ImportResultDTO>> futureList = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int rows = 10 + i * 5;
+                String filePath = new File(dir, "person" + i + ".xlsx").getPath();
+                String errorPath = new File(dir, "error" + i + ".xlsx").getPath();
+                futureList.add(executorService.submit(() -> {
+                    ExcelExporter exporter = exportEngine.newSession();
+                    exporter.exportData(Collections.singletonList(new ExcelSheetData<PersonDTO>()
+                        .setSheetDefinition(PersonDTO.class).setData(getPersonList(rows))), filePath);
+                    ExcelImporter importer = importEngine.newSession(filePath);
+                    importer.importData(Collections.singletonList(PersonDTO.class), errorPath,
+                        (importResultDTO, errorExcelExporter) -> true);
+                    return importer.getImportResultDTO();
+                }));
+            }
+            for (int i = 0; i < THREADS; i++) {
+                int rows = 10 + i * 5;
+                ImportResultDTO importResultDTO = futureList.get(i).get();
+                Assert.assertEquals(rows / 5, importResultDTO.getMetrics().getInvalidCount());
+                Assert.assertEquals(rows - rows / 5, importResultDTO.getMetrics().getSheetMetricsList().get(0)
+                    .getValidCount());
+            }
+            // 同样的表格定义列表共享一个导入计划
+            Assert.assertSame(importEngine.getImportPlan(Collections.singletonList(PersonDTO.class)),
+                importEngine.getImportPlan(Arrays.asList(PersonDTO.class)));
+            Assert.assertSame(exportEngine.getSheetPlan(PersonDTO.class), exportEngine.getSheetPlan(PersonDTO.class));
+        } finally {
+            executorService.shutdownNow();
+            FileUtil.del(dir);
+        }
+    }
+
+    /**
+     * 每5行中有1行年龄超过100
+     */
+    private static List<PersonDTO> getPersonList(int rows) {
+        List<PersonDTO> personList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            PersonDTO person = new PersonDTO();
+            person.setName("name" + i);
+            person.setAge(i % 5 == 0 ? 200 : 20 + i);
+            person.setStaffCode(String.format("S%03d", i));
+            personList.add(person);
+        }
+        return personList;
+    }
+}
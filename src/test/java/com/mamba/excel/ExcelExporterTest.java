@@ -0,0 +1,197 @@
+package com.mamba.excel;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.poi.excel.BigExcelWriter;
+import com.mamba.excel.config.SheetPlan;
+import com.mamba.excel.dto.CurrencyDTO;
+import com.mamba.excel.dto.JobLogState;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/26 14:20
+ * @description: 导出测试类，检查大数据量导出续写sheet和zip分片的sheet名称、行数和列宽，以及getWriter的导出行为
+ */
+public class ExcelExporterTest {
+
+    /** 大于流式workbook保留的行数，确保已写出的行也参与列宽统计 */
+    private static final int MAX_ROWS_PER_SHEET = 150;
+
+    private static final String LONG_ADDRESS = "广东省深圳市龙岗区坂田街道华为基地研发中心A区";
+
+    @Test
+    public void testRolloverSheet() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-export").toFile();
+        try {
+            String filePath = new File(dir, "person.xlsx").getPath();
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.setMaxRowsPerSheet(MAX_ROWS_PER_SHEET);
+            exporter.exportData(getExcelSheetDataList(400), filePath);
+            try (Workbook workbook = WorkbookFactory.create(new File(filePath))) {
+                assertSheet(workbook, 0, "人员信息", 0, 150);
+                assertSheet(workbook, 1, "人员信息 (2)", 150, 150);
+                assertSheet(workbook, 2, "人员信息 (3)", 300, 100);
+                Assert.assertEquals(3, workbook.getNumberOfSheets());
+                // 第一行的长地址已经写出到临时文件，仍然参与列宽统计
+                Assert.assertTrue(workbook.getSheetAt(0).getColumnWidth(2) / 256
+                    >= LONG_ADDRESS.getBytes(StandardCharsets.UTF_8).length);
+                Assert.assertEquals(1, workbook.getSheetAt(2).getDataValidations().size());
+            }
+            Assert.assertEquals(3, exporter.getExportResultDTO().getMetrics().getSheetMetricsList().size());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testRolloverSheetNameUnique() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-export").toFile();
+        try {
+            // 两个长名称截断后的前缀相同，第二个sheet的续写序号跳过已被第一个sheet使用的名称
+            String prefix = StrUtil.repeat('P', 27);
+            Map<Class, String> sheetNameMap = new HashMap<>(4);
+            sheetNameMap.put(PersonDTO.class, prefix + "人员信息");
+            sheetNameMap.put(CurrencyDTO.class, prefix + "币种信息");
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.setMaxRowsPerSheet(MAX_ROWS_PER_SHEET);
+            exporter.setSheetPlanProvider(clazz -> {
+                SheetPlan sheetPlan = SheetPlan.of(clazz);
+                sheetPlan.getSheetConfig().setName(sheetNameMap.get(clazz));
+                sheetPlan.getSheetConfig().setIndex(clazz == PersonDTO.class ? 0 : 1);
+                return sheetPlan;
+            });
+            List<CurrencyDTO> currencyList = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                CurrencyDTO currency = new CurrencyDTO();
+                currency.setCurrencyCode("C" + i);
+                currency.setCurrencyName("currency" + i);
+                currencyList.add(currency);
+            }
+            List<ExcelSheetData> excelSheetDataList = new ArrayList<>(getExcelSheetDataList(400));
+            excelSheetDataList.add(new ExcelSheetData<CurrencyDTO>().setSheetDefinition(CurrencyDTO.class)
+                .setData(currencyList));
+            String filePath = new File(dir, "person.xlsx").getPath();
+            exporter.exportData(excelSheetDataList, filePath);
+            try (Workbook workbook = WorkbookFactory.create(new File(filePath))) {
+                Assert.assertEquals(5, workbook.getNumberOfSheets());
+                assertSheet(workbook, 0, prefix + "人员信息", 0, 150);
+                assertSheet(workbook, 1, prefix + " (2)", 150, 150);
+                assertSheet(workbook, 2, prefix + " (3)", 300, 100);
+                Assert.assertEquals(prefix + "币种信息", workbook.getSheetAt(3).getSheetName());
+                Assert.assertEquals(150, workbook.getSheetAt(3).getLastRowNum());
+                Assert.assertEquals(prefix + " (4)", workbook.getSheetAt(4).getSheetName());
+                Assert.assertEquals("C150", workbook.getSheetAt(4).getRow(1).getCell(0).getStringCellValue());
+            }
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testGetWriterBeforeExport() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-export").toFile();
+        try {
+            // 导出前调用getWriter写入的内容保留在导出的文件中
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.getWriter().writeCellValue(10, 0, "自定义内容");
+            String filePath = new File(dir, "person.xlsx").getPath();
+            exporter.exportData(getExcelSheetDataList(10), filePath);
+            Assert.assertFalse(exporter.getWriter() instanceof BigExcelWriter);
+            try (Workbook workbook = WorkbookFactory.create(new File(filePath))) {
+                assertSheet(workbook, 0, "人员信息", 0, 10);
+                Assert.assertEquals("自定义内容", workbook.getSheetAt(0).getRow(0).getCell(10).getStringCellValue());
+            }
+
+            // 导出前没有调用getWriter时使用流式workbook，导出后返回写入数据的流式工具类
+            ExcelExporter streamingExporter = new ExcelExporter();
+            streamingExporter.exportData(getExcelSheetDataList(10), new File(dir, "streaming.xlsx").getPath());
+            Assert.assertTrue(streamingExporter.getWriter() instanceof BigExcelWriter);
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testZipShard() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-export").toFile();
+        try {
+            String filePath = new File(dir, "person.zip").getPath();
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.setMaxRowsPerSheet(MAX_ROWS_PER_SHEET);
+            exporter.exportZip(getExcelSheetDataList(400), filePath, 250);
+            try (ZipFile zipFile = new ZipFile(filePath)) {
+                List<String> entryNameList = new ArrayList<>();
+                Collections.list(zipFile.entries()).forEach(entry -> entryNameList.add(entry.getName()));
+                Assert.assertEquals(2, entryNameList.size());
+                Assert.assertEquals("person-1.xlsx", entryNameList.get(0));
+                Assert.assertEquals("person-2.xlsx", entryNameList.get(1));
+                try (Workbook workbook = readEntry(zipFile, zipFile.getEntry("person-1.xlsx"))) {
+                    Assert.assertEquals(2, workbook.getNumberOfSheets());
+                    assertSheet(workbook, 0, "人员信息", 0, 150);
+                    assertSheet(workbook, 1, "人员信息 (2)", 150, 100);
+                }
+                try (Workbook workbook = readEntry(zipFile, zipFile.getEntry("person-2.xlsx"))) {
+                    Assert.assertEquals(1, workbook.getNumberOfSheets());
+                    assertSheet(workbook, 0, "人员信息", 250, 150);
+                }
+            }
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    private static Workbook readEntry(ZipFile zipFile, ZipEntry entry) throws Exception {
+        byte[] bytes = IoUtil.readBytes(zipFile.getInputStream(entry));
+        return WorkbookFactory.create(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * 检查sheet名称、表头和数据行，数据行的姓名为name + 原始下标
+     */
+    private static void assertSheet(Workbook workbook, int sheetIndex, String sheetName, int firstDataIndex,
+        int rowCount) {
+        Sheet sheet = workbook.getSheetAt(sheetIndex);
+        Assert.assertEquals(sheetName, sheet.getSheetName());
+        Assert.assertEquals(rowCount, sheet.getLastRowNum());
+        Assert.assertEquals("姓名", sheet.getRow(0).getCell(0).getStringCellValue());
+        Assert.assertEquals("name" + firstDataIndex, sheet.getRow(1).getCell(0).getStringCellValue());
+        Assert.assertEquals("name" + (firstDataIndex + rowCount - 1),
+            sheet.getRow(rowCount).getCell(0).getStringCellValue());
+    }
+
+    private static List<ExcelSheetData> getExcelSheetDataList(int rows) {
+        List<PersonDTO> personList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            PersonDTO person = new PersonDTO();
+            person.setName("name" + i);
+            person.setAge(20 + i % 50);
+            person.setAddress(i == 0 ? LONG_ADDRESS : "深圳");
+            person.setStaffCode(String.format("S%03d", i));
+            person.setJobLogState(JobLogState.values()[i % JobLogState.values().length]);
+            personList.add(person);
+        }
+        return Collections.singletonList(new ExcelSheetData<PersonDTO>().setSheetDefinition(PersonDTO.class)
+            .setData(personList));
+    }
+}
@@ -0,0 +1,236 @@
+package com.mamba.excel.cache;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.dto.CurrencyDTO;
+import com.mamba.excel.dto.CurrencyExcelDataHandler;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.kit.ImportResultDTO;
+import com.mamba.excel.partition.ImportPartition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/3 9:40
+ * @description: 导入结果缓存测试类，检查同一个文件重复导入时命中缓存、不再入库，导入结果回调照常调用
+ */
+public class ImportCacheTest {
+
+    @Test
+    public void testCacheHit() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-cache").toFile();
+        try {
+            // 第3行币种代码为空，校验不通过
+            String filePath = exportCurrency(dir, "currency.xlsx", "CNY", "USD", null, "EUR");
+            File errorFile = new File(dir, "error.xlsx");
+            MemoryImportCacheStore cacheStore = new MemoryImportCacheStore();
+            CurrencyExcelDataHandler.PERSISTED_LIST.clear();
+            List<ImportResultDTO> callbackList = new ArrayList<>();
+
+            ExcelImporter importer = newImporter(filePath, cacheStore);
+            importer.importData(Collections.singletonList(CurrencyDTO.class), errorFile.getPath(),
+                (importResultDTO, errorExcelExporter) -> callbackList.add(importResultDTO));
+            Assert.assertFalse(importer.getImportResultDTO().getMetrics().isCacheHit());
+            Assert.assertEquals(Arrays.asList("CNY", "USD", "EUR"), CurrencyExcelDataHandler.PERSISTED_LIST);
+            Assert.assertEquals(1, cacheStore.size());
+            byte[] errorWorkbook = FileUtil.readBytes(errorFile);
+            FileUtil.del(errorFile);
+
+            // 再次上传同一个文件，命中缓存：不再入库，回调照常调用，错误excel与上次相同
+            ExcelImporter cachedImporter = newImporter(filePath, cacheStore);
+            cachedImporter.importData(Collections.singletonList(CurrencyDTO.class), errorFile.getPath(),
+                (importResultDTO, errorExcelExporter) -> callbackList.add(importResultDTO));
+            Assert.assertTrue(cachedImporter.getImportResultDTO().getMetrics().isCacheHit());
+            Assert.assertEquals(3, CurrencyExcelDataHandler.PERSISTED_LIST.size());
+            Assert.assertEquals(2, callbackList.size());
+            ImportResultDTO cachedResult = callbackList.get(1);
+            Assert.assertSame(cachedImporter.getImportResultDTO(), cachedResult);
+            Assert.assertTrue(cachedResult.isHasErrorData());
+            Assert.assertEquals(3, cachedResult.getSheetResultList().get(0).getValidDataList().size());
+            Assert.assertEquals(1, cachedResult.getSheetResultList().get(0).getInvalidDataList().size());
+            Assert.assertArrayEquals(errorWorkbook, FileUtil.readBytes(errorFile));
+            Assert.assertEquals(4, cachedImporter.getAllDataMap().get(CurrencyDTO.class.getName()).size());
+
+            // 文件内容不同时不命中
+            String otherPath = exportCurrency(dir, "other.xlsx", "CNY", "JPY");
+            ExcelImporter otherImporter = newImporter(otherPath, cacheStore);
+            otherImporter.importData(Collections.singletonList(CurrencyDTO.class));
+            Assert.assertFalse(otherImporter.getImportResultDTO().getMetrics().isCacheHit());
+            Assert.assertEquals(5, CurrencyExcelDataHandler.PERSISTED_LIST.size());
+            Assert.assertEquals(2, cacheStore.size());
+        } finally {
+            CurrencyExcelDataHandler.PERSISTED_LIST.clear();
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testCacheHitCallbackRejects() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-cache").toFile();
+        try {
+            String filePath = exportCurrency(dir, "currency.xlsx", "CNY", "USD");
+            File errorFile = new File(dir, "error.xlsx");
+            // 磁盘缓存，缓存项序列化后再读取
+            DiskImportCacheStore cacheStore = new DiskImportCacheStore(new File(dir, "cache"), 4,
+                Duration.ofMinutes(10));
+            CurrencyExcelDataHandler.PERSISTED_LIST.clear();
+
+            newImporter(filePath, cacheStore).importData(Collections.singletonList(CurrencyDTO.class),
+                errorFile.getPath(), (importResultDTO, errorExcelExporter) -> true);
+            Assert.assertFalse(errorFile.exists());
+
+            // 上次没有错误excel，命中缓存后回调返回false，输出回调中写入的内容
+            ExcelImporter cachedImporter = newImporter(filePath, cacheStore);
+            cachedImporter.importData(Collections.singletonList(CurrencyDTO.class), errorFile.getPath(),
+                (importResultDTO, errorExcelExporter) -> {
+                    Assert.assertFalse(importResultDTO.isHasErrorData());
+                    Assert.assertEquals(2, importResultDTO.getSheetResultList().get(0).getValidDataList().size());
+                    errorExcelExporter.getWriter().writeCellValue(0, 0, "币种重复上传");
+                    return false;
+                });
+            Assert.assertTrue(cachedImporter.getImportResultDTO().getMetrics().isCacheHit());
+            Assert.assertEquals(2, CurrencyExcelDataHandler.PERSISTED_LIST.size());
+            Assert.assertTrue(errorFile.isFile());
+        } finally {
+            CurrencyExcelDataHandler.PERSISTED_LIST.clear();
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testHandlerNotCacheable() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-cache").toFile();
+        try {
+            // PersonExcelDataHandler没有允许缓存，每次都重新解析、校验
+            PersonDTO personDTO = new PersonDTO();
+            personDTO.setName("张三");
+            personDTO.setAge(20);
+            String filePath = new File(dir, "person.xlsx").getPath();
+            new ExcelExporter().exportData(Collections.singletonList(new ExcelSheetData<PersonDTO>()
+                .setSheetDefinition(PersonDTO.class).setData(Collections.singletonList(personDTO))), filePath);
+            MemoryImportCacheStore cacheStore = new MemoryImportCacheStore();
+            for (int i = 0; i < 2; i++) {
+                ExcelImporter importer = newImporter(filePath, cacheStore);
+                importer.importData(Collections.singletonList(PersonDTO.class));
+                Assert.assertFalse(importer.getImportResultDTO().getMetrics().isCacheHit());
+                Assert.assertEquals(1, importer.getAllDataMap().get(PersonDTO.class.getName()).size());
+            }
+            Assert.assertEquals(0, cacheStore.size());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testCachedListsCopied() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-cache").toFile();
+        try {
+            String filePath = exportCurrency(dir, "currency.xlsx", "CNY", "USD", null);
+            MemoryImportCacheStore cacheStore = new MemoryImportCacheStore();
+            List<Class> sheetList = Collections.singletonList(CurrencyDTO.class);
+            String sheetName = CurrencyDTO.class.getName();
+
+            // 导入完成后修改导入器中的结果，不影响已经缓存的结果
+            ExcelImporter importer = newImporter(filePath, cacheStore);
+            importer.importData(sheetList);
+            importer.getImportResultDTO().getSheetResultList().get(0).getValidDataList().clear();
+            importer.getAllDataMap().get(sheetName).clear();
+
+            // 每次命中得到各自的列表
+            ExcelImporter firstHit = newImporter(filePath, cacheStore);
+            firstHit.importData(sheetList);
+            ExcelImporter secondHit = newImporter(filePath, cacheStore);
+            secondHit.importData(sheetList);
+            Assert.assertTrue(firstHit.getImportResultDTO().getMetrics().isCacheHit());
+            List firstValidList = firstHit.getImportResultDTO().getSheetResultList().get(0).getValidDataList();
+            List secondValidList = secondHit.getImportResultDTO().getSheetResultList().get(0).getValidDataList();
+            Assert.assertNotSame(firstValidList, secondValidList);
+            Assert.assertEquals(2, firstValidList.size());
+            firstValidList.clear();
+            firstHit.getImportResultDTO().getSheetResultList().get(0).getInvalidDataList().clear();
+            firstHit.getAllDataMap().remove(sheetName);
+            Assert.assertEquals(2, secondValidList.size());
+            Assert.assertEquals(1,
+                secondHit.getImportResultDTO().getSheetResultList().get(0).getInvalidDataList().size());
+            Assert.assertEquals(3, secondHit.getAllDataMap().get(sheetName).size());
+        } finally {
+            CurrencyExcelDataHandler.PERSISTED_LIST.clear();
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testPartitionNotSharedWithFullImport() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-cache").toFile();
+        try {
+            String filePath = exportCurrency(dir, "currency.xlsx", "CNY", "USD", "EUR", "JPY", "GBP", "HKD");
+            MemoryImportCacheStore cacheStore = new MemoryImportCacheStore();
+            List<Class> sheetList = Collections.singletonList(CurrencyDTO.class);
+            List<ImportPartition> partitionList = newImporter(filePath, null).partition(sheetList, 2);
+            CurrencyExcelDataHandler.PERSISTED_LIST.clear();
+
+            // 分区导入只缓存分区内的结果
+            ExcelImporter partitionImporter = newImporter(filePath, cacheStore);
+            partitionImporter.setPartition(partitionList.get(0));
+            partitionImporter.importData(sheetList);
+            Assert.assertFalse(partitionImporter.getImportResultDTO().getMetrics().isCacheHit());
+            Assert.assertEquals(Arrays.asList("CNY", "USD", "EUR"), CurrencyExcelDataHandler.PERSISTED_LIST);
+
+            // 同一个文件不分区导入时不能命中分区的缓存
+            ExcelImporter fullImporter = newImporter(filePath, cacheStore);
+            fullImporter.importData(sheetList);
+            Assert.assertFalse(fullImporter.getImportResultDTO().getMetrics().isCacheHit());
+            Assert.assertEquals(6,
+                fullImporter.getImportResultDTO().getSheetResultList().get(0).getValidDataList().size());
+            Assert.assertEquals(9, CurrencyExcelDataHandler.PERSISTED_LIST.size());
+            Assert.assertEquals(2, cacheStore.size());
+
+            // 其他分区同样不命中，同一个分区再次导入时命中
+            for (int i = 1; i >= 0; i--) {
+                ExcelImporter importer = newImporter(filePath, cacheStore);
+                importer.setPartition(partitionList.get(i));
+                importer.importData(sheetList);
+                Assert.assertEquals(i == 0, importer.getImportResultDTO().getMetrics().isCacheHit());
+                Assert.assertEquals(3,
+                    importer.getImportResultDTO().getSheetResultList().get(0).getValidDataList().size());
+            }
+            Assert.assertEquals(12, CurrencyExcelDataHandler.PERSISTED_LIST.size());
+            Assert.assertEquals(3, cacheStore.size());
+        } finally {
+            CurrencyExcelDataHandler.PERSISTED_LIST.clear();
+            FileUtil.del(dir);
+        }
+    }
+
+    private static ExcelImporter newImporter(String filePath, ImportCacheStore cacheStore) {
+        ExcelImporter importer = new ExcelImporter(filePath);
+        importer.setCacheStore(cacheStore);
+        return importer;
+    }
+
+    private static String exportCurrency(File dir, String fileName, String... currencyCodes) {
+        List<CurrencyDTO> currencyList = new ArrayList<>();
+        for (String currencyCode : currencyCodes) {
+            CurrencyDTO currencyDTO = new CurrencyDTO();
+            currencyDTO.setCurrencyCode(currencyCode);
+            currencyDTO.setCurrencyName("名称" + currencyCode);
+            currencyList.add(currencyDTO);
+        }
+        String filePath = new File(dir, fileName).getPath();
+        new ExcelExporter().exportData(Collections.singletonList(new ExcelSheetData<CurrencyDTO>()
+            .setSheetDefinition(CurrencyDTO.class).setData(currencyList)), filePath);
+        return filePath;
+    }
+}
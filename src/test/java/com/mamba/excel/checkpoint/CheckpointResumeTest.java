@@ -0,0 +1,258 @@
+package com.mamba.excel.checkpoint;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.dto.AccountDTO;
+import com.mamba.excel.dto.AccountExcelDataHandler;
+import com.mamba.excel.dto.LedgerDTO;
+import com.mamba.excel.dto.LedgerExcelDataHandler;
+import com.mamba.excel.dto.PaymentDTO;
+import com.mamba.excel.dto.PaymentExcelDataHandler;
+import com.mamba.excel.handler.ExcelDataHandlerFactory;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.metrics.SheetImportMetrics;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/31 14:20
+ * @description: 断点续传测试类：第3批入库时中断，重启后跳过已提交的行继续导入，已入库的数据不重复处理，处理器状态和错误行都能恢复
+ */
+public class CheckpointResumeTest {
+
+    @Test
+    public void testResumeAfterFailure() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-checkpoint").toFile();
+        LedgerExcelDataHandler handler =
+            (LedgerExcelDataHandler)ExcelDataHandlerFactory.getExcelDataHandler(LedgerDTO.class);
+        try {
+            // 23行数据，第4行和第13行金额为负数
+            List<LedgerDTO> ledgerList = new ArrayList<>();
+            long expectedTotal = 0;
+            for (int i = 1; i <= 23; i++) {
+                LedgerDTO ledgerDTO = new LedgerDTO();
+                ledgerDTO.setBillNo(String.format("B%03d", i));
+                ledgerDTO.setAmount(i == 4 || i == 13 ? -i : i);
+                expectedTotal += i == 4 || i == 13 ? 0 : i;
+                ledgerList.add(ledgerDTO);
+            }
+            String filePath = new File(dir, "ledger.xlsx").getPath();
+            new ExcelExporter().exportData(Collections.singletonList(
+                new ExcelSheetData<LedgerDTO>().setSheetDefinition(LedgerDTO.class).setData(ledgerList)), filePath);
+            CheckpointStore checkpointStore = new FileCheckpointStore(new File(dir, "checkpoint"));
+            String errorPath = new File(dir, "error.xlsx").getPath();
+
+            LedgerExcelDataHandler.PERSISTED_LIST.clear();
+            LedgerExcelDataHandler.failOnBatch = 3;
+            handler.reset();
+            ExcelImporter importer = newImporter(filePath, checkpointStore);
+            try {
+                importer.importData(Collections.singletonList(LedgerDTO.class), errorPath,
+                    (importResultDTO, errorExcelExporter) -> true);
+                Assert.fail("第3批入库时应该中断");
+            } catch (RuntimeException expected) {
+                // expected
+            }
+            Assert.assertEquals(9, LedgerExcelDataHandler.PERSISTED_LIST.size());
+            Assert.assertEquals(1, FileUtil.ls(new File(dir, "checkpoint").getPath()).length);
+
+            // 模拟进程重启
+            LedgerExcelDataHandler.failOnBatch = 0;
+            handler.reset();
+            importer = newImporter(filePath, checkpointStore);
+            importer.importData(Collections.singletonList(LedgerDTO.class), errorPath,
+                (importResultDTO, errorExcelExporter) -> true);
+
+            List<String> persistedList = LedgerExcelDataHandler.PERSISTED_LIST;
+            Assert.assertEquals(21, persistedList.size());
+            Assert.assertEquals(21, new HashSet<>(persistedList).size());
+            Assert.assertEquals(expectedTotal, LedgerExcelDataHandler.lastTotalAmount);
+            SheetImportMetrics metrics = importer.getImportResultDTO().getMetrics().getSheetMetricsList().get(0);
+            Assert.assertEquals(10, metrics.getSkippedRowCount());
+            Assert.assertEquals(12, metrics.getValidCount());
+            Assert.assertEquals(1, metrics.getInvalidCount());
+            Assert.assertTrue(importer.getImportResultDTO().isHasErrorData());
+            // 断点之前的错误行按保存的错误提示写入错误excel
+            try (InputStream in = new FileInputStream(errorPath); Workbook workbook = new XSSFWorkbook(in)) {
+                Sheet sheet = workbook.getSheetAt(0);
+                Assert.assertEquals("B004", sheet.getRow(1).getCell(0).getStringCellValue());
+                Assert.assertEquals("B013", sheet.getRow(2).getCell(0).getStringCellValue());
+            }
+            Assert.assertEquals(0, FileUtil.ls(new File(dir, "checkpoint").getPath()).length);
+        } finally {
+            LedgerExcelDataHandler.failOnBatch = 0;
+            handler.reset();
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testResumeWithReferencedSheet() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-checkpoint").toFile();
+        AccountExcelDataHandler handler =
+            (AccountExcelDataHandler)ExcelDataHandlerFactory.getExcelDataHandler(AccountDTO.class);
+        try {
+            // 账号在excel中是小写，处理器填充额外数据时转成大写，付款sheet按大写账号引用
+            List<AccountDTO> accountList = new ArrayList<>();
+            List<PaymentDTO> paymentList = new ArrayList<>();
+            for (int i = 1; i <= 12; i++) {
+                AccountDTO accountDTO = new AccountDTO();
+                accountDTO.setAccountNo(String.format("a%03d", i));
+                accountDTO.setAccountName("户名" + i);
+                accountList.add(accountDTO);
+                PaymentDTO paymentDTO = new PaymentDTO();
+                paymentDTO.setPaymentNo(String.format("P%03d", i));
+                paymentDTO.setAccountNo(String.format("A%03d", i));
+                paymentList.add(paymentDTO);
+            }
+            String filePath = new File(dir, "payment.xlsx").getPath();
+            new ExcelExporter().exportData(Arrays.asList(
+                new ExcelSheetData<AccountDTO>().setSheetDefinition(AccountDTO.class).setData(accountList),
+                new ExcelSheetData<PaymentDTO>().setSheetDefinition(PaymentDTO.class).setData(paymentList)), filePath);
+            CheckpointStore checkpointStore = new FileCheckpointStore(new File(dir, "checkpoint"));
+            String errorPath = new File(dir, "error.xlsx").getPath();
+            List<Class> sheetDefinitionList = Arrays.asList(AccountDTO.class, PaymentDTO.class);
+
+            AccountExcelDataHandler.PERSISTED_LIST.clear();
+            PaymentExcelDataHandler.PERSISTED_LIST.clear();
+            AccountExcelDataHandler.failOnBatch = 2;
+            handler.reset();
+            try {
+                newImporter(filePath, checkpointStore).importData(sheetDefinitionList, errorPath,
+                    (importResultDTO, errorExcelExporter) -> true);
+                Assert.fail("账户sheet第2批入库时应该中断");
+            } catch (RuntimeException expected) {
+                // expected
+            }
+            Assert.assertEquals(5, AccountExcelDataHandler.PERSISTED_LIST.size());
+
+            // 模拟进程重启，跳过的5个账户同样按填充额外数据后的大写账号写入引用索引
+            AccountExcelDataHandler.failOnBatch = 0;
+            handler.reset();
+            ExcelImporter importer = newImporter(filePath, checkpointStore);
+            importer.importData(sheetDefinitionList, errorPath, (importResultDTO, errorExcelExporter) -> true);
+
+            Assert.assertFalse(importer.getImportResultDTO().isHasErrorData());
+            Assert.assertEquals(12, AccountExcelDataHandler.PERSISTED_LIST.size());
+            Assert.assertEquals(12, PaymentExcelDataHandler.PERSISTED_LIST.size());
+            SheetImportMetrics metrics = importer.getImportResultDTO().getMetrics().getSheetMetricsList().get(0);
+            Assert.assertEquals(5, metrics.getSkippedRowCount());
+        } finally {
+            AccountExcelDataHandler.failOnBatch = 0;
+            handler.reset();
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testErrorRowsAppendedPerBatch() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-checkpoint").toFile();
+        LedgerExcelDataHandler handler =
+            (LedgerExcelDataHandler)ExcelDataHandlerFactory.getExcelDataHandler(LedgerDTO.class);
+        try {
+            // 13行数据，第4行和第13行金额为负数，每5行一批
+            List<LedgerDTO> ledgerList = new ArrayList<>();
+            for (int i = 1; i <= 13; i++) {
+                LedgerDTO ledgerDTO = new LedgerDTO();
+                ledgerDTO.setBillNo(String.format("B%03d", i));
+                ledgerDTO.setAmount(i == 4 || i == 13 ? -i : i);
+                ledgerList.add(ledgerDTO);
+            }
+            String filePath = new File(dir, "ledger.xlsx").getPath();
+            new ExcelExporter().exportData(Collections.singletonList(
+                new ExcelSheetData<LedgerDTO>().setSheetDefinition(LedgerDTO.class).setData(ledgerList)), filePath);
+            List<ImportCheckpoint> checkpointList = new ArrayList<>();
+            CheckpointStore recordingStore = new FileCheckpointStore(new File(dir, "checkpoint")) {
+                @Override
+                public synchronized void append(ImportCheckpoint checkpoint) {
+                    checkpointList.add(checkpoint);
+                    super.append(checkpoint);
+                }
+            };
+
+            LedgerExcelDataHandler.PERSISTED_LIST.clear();
+            handler.reset();
+            newImporter(filePath, recordingStore).importData(Collections.singletonList(LedgerDTO.class));
+
+            // 每批一条记录，只包含本批次的错误行，最后一条记录sheet全部提交
+            Assert.assertEquals(4, checkpointList.size());
+            Assert.assertEquals(Collections.singleton(4L), checkpointList.get(0).getErrorRowMap().keySet());
+            Assert.assertTrue(checkpointList.get(1).getErrorRowMap().isEmpty());
+            Assert.assertEquals(Collections.singleton(13L), checkpointList.get(2).getErrorRowMap().keySet());
+            Assert.assertEquals(13, checkpointList.get(2).getRowIndex());
+            Assert.assertEquals(Collections.singletonList(LedgerDTO.class.getName()),
+                checkpointList.get(3).getCompletedSheetList());
+            Assert.assertTrue(checkpointList.get(3).getErrorRowMap().isEmpty());
+        } finally {
+            handler.reset();
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testIncompleteRecordDropped() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-checkpoint").toFile();
+        try {
+            FileCheckpointStore checkpointStore = new FileCheckpointStore(dir);
+            checkpointStore.append(newCheckpoint(4, 3L));
+            checkpointStore.append(newCheckpoint(9, 7L));
+            // 模拟写入第3条记录时进程退出：长度已经写入，内容只写了一部分
+            File file = FileUtil.ls(dir.getPath())[0];
+            try (OutputStream out = new FileOutputStream(file, true)) {
+                out.write(new byte[] {0, 0, 1, 0, 1, 2, 3});
+            }
+            long validLength = file.length() - 7;
+
+            List<ImportCheckpoint> checkpointList = checkpointStore.get("ledger");
+            Assert.assertEquals(2, checkpointList.size());
+            Assert.assertEquals(9, checkpointList.get(1).getRowIndex());
+            Assert.assertEquals(validLength, file.length());
+
+            // 截断后可以继续追加
+            checkpointStore.append(newCheckpoint(14, 12L));
+            checkpointList = checkpointStore.get("ledger");
+            Assert.assertEquals(3, checkpointList.size());
+            Assert.assertEquals(Collections.singleton(12L), checkpointList.get(2).getErrorRowMap().keySet());
+
+            checkpointStore.remove("ledger");
+            Assert.assertTrue(checkpointStore.get("ledger").isEmpty());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    private static ImportCheckpoint newCheckpoint(long rowIndex, long errorRowIndex) {
+        Map<Long, Map<String, List<String>>> errorRowMap = new HashMap<>(2);
+        errorRowMap.put(errorRowIndex, Collections.singletonMap("amount", Collections.singletonList("金额不能为负数")));
+        return new ImportCheckpoint("ledger", new ArrayList<>(), LedgerDTO.class.getName(), rowIndex, rowIndex * 10,
+            errorRowMap, System.currentTimeMillis());
+    }
+
+    private static ExcelImporter newImporter(String filePath, CheckpointStore checkpointStore) {
+        ExcelImporter importer = new ExcelImporter(filePath);
+        importer.setStreaming(true);
+        importer.setBatchSize(5);
+        importer.setCheckpointStore(checkpointStore);
+        return importer;
+    }
+}
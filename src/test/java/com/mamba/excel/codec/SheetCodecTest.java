@@ -0,0 +1,76 @@
+package com.mamba.excel.codec;
+
+import cn.hutool.core.date.DateUtil;
+import com.alibaba.fastjson.JSON;
+import com.mamba.excel.config.ExcelConfig;
+import com.mamba.excel.dto.JobLogState;
+import com.mamba.excel.dto.PersonDTO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/23 10:40
+ * @description: 编译期生成的sheet编解码器测试类，生成的编解码器与JSON绑定、反射取值的结果一致
+ */
+public class SheetCodecTest {
+
+    @Test
+    public void testGenerated() {
+        SheetCodec<PersonDTO> codec = SheetCodecs.get(PersonDTO.class);
+        Assert.assertNotNull(codec);
+        List<ExcelConfig.ColumnConfig> columnConfigList = ExcelConfig.getColumnConfig(PersonDTO.class);
+        Assert.assertEquals(columnConfigList.stream().map(ExcelConfig.ColumnConfig::getHeader)
+            .collect(Collectors.toList()), Arrays.asList(codec.getHeaders()));
+        for (int i = 0; i < columnConfigList.size(); i++) {
+            Assert.assertSame(codec, columnConfigList.get(i).getCodec());
+            Assert.assertEquals(i, columnConfigList.get(i).getCodecColumn());
+        }
+        // 没有@ExcelSheet的类不生成
+        Assert.assertNull(SheetCodecs.get(SheetCodecTest.class));
+    }
+
+    @Test
+    public void testBindSameAsJson() {
+        SheetCodec<PersonDTO> codec = SheetCodecs.get(PersonDTO.class);
+        List<ExcelConfig.ColumnConfig> columnConfigList = ExcelConfig.getColumnConfig(PersonDTO.class);
+        List<Object[]> rowList = Arrays.asList(
+            new Object[] {"张三", 30L, "上海市", 1001L, DateUtil.parse("2024-12-21 12:30:00"), "2024-12-21",
+                "2024-12-21", "2024-12-21 12:30:00", "成功"},
+            new Object[] {"李四", "31", 1.5D, "1002", "2024-01-02 08:00:00", DateUtil.parse("2024-01-02"),
+                DateUtil.parse("2024-01-02"), DateUtil.parse("2024-01-02 08:00:00"), "数据异常"},
+            new Object[] {"", 32.0D, null, "", "", null, "", null, ""},
+            new Object[] {null, "", "", null, null, "", null, "", null});
+        for (Object[] row : rowList) {
+            PersonDTO byCodec = codec.newInstance();
+            Map<String, Object> map = new HashMap<>(16);
+            for (int i = 0; i < columnConfigList.size(); i++) {
+                ExcelConfig.ColumnConfig columnConfig = columnConfigList.get(i);
+                codec.setCellValue(byCodec, columnConfig.getCodecColumn(), row[i]);
+                map.put(columnConfig.getFieldName(), columnConfig.getConverter().toFieldValue(row[i]));
+            }
+            PersonDTO byJson = JSON.parseObject(JSON.toJSONString(map), PersonDTO.class);
+            Assert.assertEquals(byJson, byCodec);
+        }
+    }
+
+    @Test
+    public void testCellValueSameAsReflection() {
+        SheetCodec<PersonDTO> codec = SheetCodecs.get(PersonDTO.class);
+        PersonDTO person = new PersonDTO();
+        person.setName("张三");
+        person.setAge(30);
+        person.setBirthday(DateUtil.parse("2024-12-21 12:30:00"));
+        person.setJoinDay(DateUtil.parse("2024-12-21"));
+        person.setJobLogState(JobLogState.Failed);
+        List<ExcelConfig.ColumnConfig> columnConfigList = ExcelConfig.getColumnConfig(PersonDTO.class);
+        for (ExcelConfig.ColumnConfig columnConfig : columnConfigList) {
+            Assert.assertEquals(columnConfig.getConverter().toCellValue(person),
+                codec.getCellValue(person, columnConfig.getCodecColumn()));
+        }
+    }
+}
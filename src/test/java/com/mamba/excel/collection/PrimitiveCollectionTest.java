@@ -0,0 +1,157 @@
+package com.mamba.excel.collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/19 16:00
+ * @description: 原始类型集合测试类，检查LongIntMap、StringIntMap的探测冲突、扩容和IntList的扩容
+ */
+public class PrimitiveCollectionTest {
+
+    @Test
+    public void testLongIntMapProbing() {
+        // 预计16个键值对时容量为32，找出落在同一个槽位的键，插入时沿线性探测依次后移
+        LongIntMap map = new LongIntMap(16);
+        Assert.assertEquals(32, LongIntMap.tableSizeFor(16, 0.5F));
+        List<Long> collidedList = new ArrayList<>();
+        int slot = LongIntMap.mix(1L) & 31;
+        for (long key = 1; collidedList.size() < 6; key++) {
+            if ((LongIntMap.mix(key) & 31) == slot) {
+                collidedList.add(key);
+            }
+        }
+        for (int i = 0; i < collidedList.size(); i++) {
+            Assert.assertEquals(-1, map.putIfAbsent(collidedList.get(i), i, -1));
+        }
+        for (int i = 0; i < collidedList.size(); i++) {
+            Assert.assertEquals(i, map.get(collidedList.get(i), -1));
+            Assert.assertEquals(i, map.putIfAbsent(collidedList.get(i), 100, -1));
+        }
+        Assert.assertFalse(map.containsKey(collidedList.get(collidedList.size() - 1) + 1));
+        map.put(collidedList.get(2), 200);
+        Assert.assertEquals(200, map.get(collidedList.get(2), -1));
+        Assert.assertEquals(6, map.size());
+
+        // 键0不占用槽位
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertEquals(-1, map.putIfAbsent(0, 7, -1));
+        Assert.assertEquals(7, map.putIfAbsent(0, 8, -1));
+        Assert.assertEquals(7, map.get(0, -1));
+        Assert.assertEquals(7, map.size());
+    }
+
+    @Test
+    public void testLongIntMapResize() {
+        LongIntMap map = new LongIntMap(1);
+        Map<Long, Integer> expectedMap = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            // 连续整数、负数和64位哈希混合，扩容多次
+            long key = i % 3 == 0 ? i : i % 3 == 1 ? -i : (long)i * 0x9E3779B97F4A7C15L;
+            map.put(key, i);
+            expectedMap.put(key, i);
+        }
+        map.put(Long.MIN_VALUE, -1);
+        expectedMap.put(Long.MIN_VALUE, -1);
+        Assert.assertEquals(expectedMap.size(), map.size());
+        expectedMap.forEach((key, value) -> Assert.assertEquals(value.intValue(), map.get(key, Integer.MIN_VALUE)));
+        Assert.assertEquals(Integer.MIN_VALUE, map.get(Long.MAX_VALUE, Integer.MIN_VALUE));
+
+        // 副本与原表互不影响
+        LongIntMap copy = map.copy();
+        copy.put(Long.MAX_VALUE, 1);
+        map.put(3, 100);
+        Assert.assertFalse(map.containsKey(Long.MAX_VALUE));
+        Assert.assertEquals(3, copy.get(3, -1));
+        Assert.assertEquals(expectedMap.size() + 1, copy.size());
+
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertFalse(map.containsKey(0));
+        Assert.assertFalse(map.containsKey(3));
+        Assert.assertEquals(-1, map.putIfAbsent(3, 1, -1));
+    }
+
+    @Test
+    public void testStringIntMapProbing() {
+        // "Aa"和"BB"的hashCode相同，组合出的字符串哈希全部相同，探测时靠equals区分
+        String[] keys = {"AaAa", "AaBB", "BBAa", "BBBB"};
+        Assert.assertEquals(keys[0].hashCode(), keys[3].hashCode());
+        StringIntMap map = new StringIntMap(4);
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertEquals(-1, map.putIfAbsent(keys[i], i, -1));
+        }
+        for (int i = 0; i < keys.length; i++) {
+            Assert.assertTrue(map.containsKey(keys[i]));
+            Assert.assertEquals(i, map.get(keys[i], -1));
+            Assert.assertEquals(i, map.putIfAbsent(new String(keys[i]), 100, -1));
+        }
+        Assert.assertFalse(map.containsKey("AaAaAa"));
+        map.put("BBAa", 200);
+        Assert.assertEquals(200, map.get("BBAa", -1));
+        Assert.assertEquals(4, map.size());
+        Assert.assertEquals(-1, map.putIfAbsent("", 5, -1));
+        Assert.assertEquals(5, map.get("", -1));
+    }
+
+    @Test
+    public void testStringIntMapResize() {
+        StringIntMap map = new StringIntMap(1);
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals(-1, map.putIfAbsent("key" + i, i, -1));
+        }
+        Assert.assertEquals(5000, map.size());
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals(i, map.get("key" + i, -1));
+        }
+        Map<String, Integer> visitedMap = new HashMap<>();
+        map.forEach(visitedMap::put);
+        Assert.assertEquals(5000, visitedMap.size());
+        Assert.assertEquals(4999, visitedMap.get("key4999").intValue());
+
+        map.clear();
+        Assert.assertEquals(0, map.size());
+        Assert.assertFalse(map.containsKey("key0"));
+        map.forEach((key, value) -> Assert.fail("清空后不应该有键值对"));
+    }
+
+    @Test
+    public void testIntList() {
+        IntList list = new IntList(1);
+        Assert.assertTrue(list.isEmpty());
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * 2);
+        }
+        Assert.assertEquals(1000, list.size());
+        Assert.assertEquals(0, list.get(0));
+        Assert.assertEquals(1998, list.get(999));
+        int[] array = list.toArray();
+        Assert.assertEquals(1000, array.length);
+        Assert.assertEquals(998, array[499]);
+        try {
+            list.get(1000);
+            Assert.fail("下标越界时应该抛出异常");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+
+        list.clear();
+        Assert.assertTrue(list.isEmpty());
+        Assert.assertEquals(0, list.toArray().length);
+        list.add(7);
+        Assert.assertEquals(7, list.get(0));
+        try {
+            list.get(1);
+            Assert.fail("清空后旧的元素不能再访问");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+}
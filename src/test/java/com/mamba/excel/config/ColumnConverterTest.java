@@ -0,0 +1,102 @@
+package com.mamba.excel.config;
+
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.dto.JobLogState;
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/26 16:05
+ * @description: 列值转换器测试类，检查日期、枚举的导入导出转换和excel单元格格式映射
+ */
+public class ColumnConverterTest {
+
+    private static final LocalDateTime UPDATE_TIME = LocalDateTime.of(2025, 3, 1, 13, 30, 15);
+
+    @Test
+    public void testDateConvert() {
+        ColumnConverter createDay = ColumnConverter.of(DateDTO.class, "createDay");
+        Assert.assertEquals("2025-03-01", createDay.formatValue(UPDATE_TIME.toLocalDate()));
+        Assert.assertEquals(UPDATE_TIME.toLocalDate(), createDay.bind("2025-03-01"));
+
+        ColumnConverter updateTime = ColumnConverter.of(DateDTO.class, "updateTime");
+        Assert.assertEquals("2025/03/01 13:30", updateTime.formatValue(UPDATE_TIME));
+        Assert.assertEquals(UPDATE_TIME.withSecond(0), updateTime.bind("2025/03/01 13:30"));
+        // 解析失败时原样返回
+        Assert.assertEquals("2025-03-01", updateTime.toFieldValue("2025-03-01"));
+
+        // 日期单元格导出为excel日期序列号，2025-03-01为45717
+        ColumnConverter dateCell = ColumnConverter.of(DateDTO.class, "dateCell");
+        Date date = Date.from(UPDATE_TIME.atZone(ZoneId.systemDefault()).toInstant());
+        double excelDate = (Double)dateCell.formatValue(date);
+        Assert.assertEquals(45717, (int)excelDate);
+        Assert.assertEquals((13 * 3600 + 30 * 60 + 15) / 86400D, excelDate - 45717, 1e-9);
+        Assert.assertTrue(dateCell.isDateCell());
+        Assert.assertEquals(date, dateCell.bind(date));
+    }
+
+    @Test
+    public void testEnumConvert() {
+        ColumnConverter jobLogState = ColumnConverter.of(DateDTO.class, "jobLogState");
+        Assert.assertEquals("成功", jobLogState.formatValue(JobLogState.Success));
+        Assert.assertEquals(JobLogState.Success, jobLogState.bind("成功"));
+        // comment匹配不到时按name匹配
+        Assert.assertEquals(JobLogState.Failed, jobLogState.bind("Failed"));
+        try {
+            jobLogState.bind("未知");
+            Assert.fail("匹配不到的EnumDefinition枚举应该抛出异常");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().contains("未知"));
+        }
+        Assert.assertNull(jobLogState.getExcelFormat());
+    }
+
+    @Test
+    public void testExcelFormat() {
+        Assert.assertEquals("yyyy-MM-dd", ColumnConverter.of(DateDTO.class, "createDay").getExcelFormat());
+        Assert.assertEquals("yyyy-MM-dd \"at\" hh:mm:ss.000 AM/PM",
+            ColumnConverter.of(DateDTO.class, "amPm").getExcelFormat());
+        Assert.assertEquals("yyyy\"年\"MM\"月\" \"o'clock\" HH\"'\"",
+            ColumnConverter.of(DateDTO.class, "quoted").getExcelFormat());
+    }
+
+    @Test
+    public void testColumnConfigConverter() {
+        List<ExcelConfig.ColumnConfig> columnConfigList = ExcelConfig.getColumnConfig(DateDTO.class);
+        for (ExcelConfig.ColumnConfig columnConfig : columnConfigList) {
+            Assert.assertSame(ColumnConverter.of(DateDTO.class, columnConfig.getFieldName()),
+                columnConfig.getConverter());
+        }
+    }
+
+    @Data
+    private static class DateDTO {
+
+        @ExcelColumn(value = "创建日期", index = 0)
+        private LocalDate createDay;
+
+        @ExcelColumn(value = "更新时间", index = 1, format = "yyyy/MM/dd HH:mm")
+        private LocalDateTime updateTime;
+
+        @ExcelColumn(value = "日期单元格", index = 2, dateCell = true)
+        private Date dateCell;
+
+        @ExcelColumn(value = "上下午", index = 3, format = "yyyy-MM-dd 'at' hh:mm:ss.SSS a")
+        private LocalDateTime amPm;
+
+        @ExcelColumn(value = "引号", index = 4, format = "yyyy'年'MM'月' 'o''clock' HH''")
+        private LocalDateTime quoted;
+
+        @ExcelColumn(value = "状态", index = 5, enumDefinition = JobLogState.class)
+        private JobLogState jobLogState;
+    }
+}
@@ -0,0 +1,132 @@
+package com.mamba.excel.csv;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.StrUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.config.ReaderType;
+import com.mamba.excel.config.WriterType;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.kit.ImportResultDTO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/25 14:10
+ * @description: CSV、TSV导入导出测试类：引号转义、跨缓冲区的长字段、列投影，以及导出、导入、错误报告再导入的完整流程
+ */
+public class CsvRoundTripTest {
+
+    @Test
+    public void testTokenizer() throws Exception {
+        String longText = StrUtil.repeat("长", 100_000);
+        String content = "\uFEFFa,b,c\r\n" + "1,\"x,y\",\"say \"\"hi\"\"\"\n" + "\n" + "2,\"multi\r\nline\"," + longText
+            + "\n" + "3,,";
+        File file = Files.createTempFile("fox-excel", ".csv").toFile();
+        try {
+            FileUtil.writeString(content, file, StandardCharsets.UTF_8);
+            List<List<Object>> rowList = new ArrayList<>();
+            try (CsvReader reader = new CsvReader(file, CsvFormat.CSV)) {
+                reader.read(0, (sheetIndex, rowIndex, rowCells) -> rowList.add(rowCells));
+                Assert.assertEquals(5, rowList.size());
+                Assert.assertEquals(Arrays.asList("a", "b", "c"), rowList.get(0));
+                Assert.assertEquals(Arrays.asList("1", "x,y", "say \"hi\""), rowList.get(1));
+                Assert.assertEquals(Collections.singletonList(null), rowList.get(2));
+                Assert.assertEquals(Arrays.asList("2", "multi\r\nline", longText), rowList.get(3));
+                Assert.assertEquals(Arrays.asList("3", null, null), rowList.get(4));
+
+                // 投影外的列不创建字符串
+                rowList.clear();
+                reader.read(0, (sheetIndex, rowIndex, rowCells) -> {
+                    if (rowIndex == 0) {
+                        reader.setProjection(new boolean[] {false, true});
+                    }
+                    rowList.add(rowCells);
+                });
+                Assert.assertEquals(Arrays.asList(null, "x,y", null), rowList.get(1));
+            }
+        } finally {
+            FileUtil.del(file);
+        }
+    }
+
+    @Test
+    public void testCsvRoundTrip() throws Exception {
+        checkRoundTrip(WriterType.CSV, ReaderType.CSV, CsvFormat.CSV);
+    }
+
+    @Test
+    public void testTsvRoundTrip() throws Exception {
+        checkRoundTrip(WriterType.TSV, ReaderType.TSV, CsvFormat.TSV);
+    }
+
+    private void checkRoundTrip(WriterType writerType, ReaderType readerType, CsvFormat format) throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-csv").toFile();
+        try {
+            String filePath = new File(dir, "person." + format.getExtension()).getPath();
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.setWriterType(writerType);
+            exporter.exportData(Collections.singletonList(new ExcelSheetData<PersonDTO>()
+                .setSheetDefinition(PersonDTO.class).setData(getPersonList())), filePath);
+            Assert.assertEquals(20, exporter.getExportResultDTO().getMetrics().getSheetMetricsList().get(0)
+                .getRowCount());
+
+            String errorPath = new File(dir, "error." + format.getExtension()).getPath();
+            ImportResultDTO importResultDTO = importFile(filePath, errorPath, readerType, format);
+            Assert.assertEquals(4, importResultDTO.getMetrics().getInvalidCount());
+            Assert.assertEquals(16, importResultDTO.getMetrics().getSheetMetricsList().get(0).getValidCount());
+            Assert.assertEquals(16, importResultDTO.getSheetResultList().get(0).getValidDataList().stream()
+                .filter(person -> "name, \"quoted\"".equals(((PersonDTO)person).getAddress())).count());
+
+            // 错误报告：表头 + 4行错误数据，最后一列是错误提示
+            List<String> lineList = FileUtil.readUtf8Lines(errorPath);
+            Assert.assertEquals(5, lineList.size());
+            Assert.assertTrue(lineList.get(0).endsWith(format.getDelimiter() + ExcelImporter.ERROR_MESSAGE_HEADER));
+            Assert.assertTrue(lineList.get(1).contains("年龄: [年龄不能超过100]"));
+
+            // 错误报告可以直接再次导入
+            importResultDTO = importFile(errorPath, new File(dir, "error2." + format.getExtension()).getPath(),
+                readerType, format);
+            Assert.assertEquals(4, importResultDTO.getMetrics().getInvalidCount());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    private static ImportResultDTO importFile(String filePath, String errorPath, ReaderType readerType,
+        CsvFormat format) {
+        ExcelImporter importer = new ExcelImporter(filePath);
+        importer.setReaderType(readerType);
+        importer.setErrorReportFormat(format);
+        importer.importData(Collections.singletonList(PersonDTO.class), errorPath,
+            (importResultDTO, errorExcelExporter) -> true);
+        return importer.getImportResultDTO();
+    }
+
+    /**
+     * 每5行中有1行年龄超过100，地址包含分隔符和引号
+     */
+    private static List<PersonDTO> getPersonList() {
+        List<PersonDTO> personList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            PersonDTO person = new PersonDTO();
+            person.setName("name" + i);
+            person.setAge(i % 5 == 0 ? 200 : 20 + i);
+            person.setAddress("name, \"quoted\"");
+            person.setStaffCode(String.format("S%03d", i));
+            personList.add(person);
+        }
+        return personList;
+    }
+}
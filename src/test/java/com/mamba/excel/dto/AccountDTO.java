@@ -0,0 +1,24 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.annotation.ExcelSheet;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 10:00
+ * @description: Account excel DTO，被PaymentDTO引用，断点续传测试使用
+ */
+@Data
+@ExcelSheet(value = "账户", index = 0)
+public class AccountDTO {
+
+    @NotBlank(message = "账号不能为空")
+    @ExcelColumn(value = "账号", index = 0)
+    private String accountNo;
+    @ExcelColumn(value = "户名", index = 1)
+    private String accountName;
+}
@@ -0,0 +1,59 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.handler.AbstractExcelDataHandler;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 10:00
+ * @description: AccountDTO 导入处理器，填充额外数据时把账号转成大写，可以模拟在第N批入库时进程中断
+ */
+@NoArgsConstructor
+public class AccountExcelDataHandler extends AbstractExcelDataHandler<AccountDTO> {
+
+    /** 已入库的账号，模拟数据库 */
+    public static final List<String> PERSISTED_LIST = new ArrayList<>();
+    /** 第几次入库时抛出异常，0表示不抛出 */
+    public static int failOnBatch;
+
+    private int batchCount;
+
+    @Override
+    public String getDataClazz() {
+        return AccountDTO.class.getName();
+    }
+
+    @Override
+    public AccountDTO fillExtraData(AccountDTO accountDTO) {
+        accountDTO.setAccountNo(accountDTO.getAccountNo().toUpperCase());
+        return accountDTO;
+    }
+
+    @Override
+    public Map<String, List<String>> checkData(AccountDTO accountDTO, ExcelImporter importer) {
+        return this.validateData(accountDTO);
+    }
+
+    @Override
+    public void validDataList(List<AccountDTO> validDataList) {
+        if (++batchCount == failOnBatch) {
+            throw new IllegalStateException("模拟进程中断");
+        }
+        for (AccountDTO accountDTO : validDataList) {
+            PERSISTED_LIST.add(accountDTO.getAccountNo());
+        }
+    }
+
+    /**
+     * 处理器是单例，模拟进程重启时清空内存中的状态
+     */
+    public void reset() {
+        batchCount = 0;
+    }
+}
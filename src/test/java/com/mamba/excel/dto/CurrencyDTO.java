@@ -0,0 +1,25 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.annotation.ExcelSheet;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import java.io.Serializable;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/3 9:40
+ * @description: Currency excel DTO，处理器允许缓存导入结果，导入结果缓存测试使用
+ */
+@Data
+@ExcelSheet(value = "币种", index = 0)
+public class CurrencyDTO implements Serializable {
+
+    @NotBlank(message = "币种代码不能为空")
+    @ExcelColumn(value = "币种代码", index = 0)
+    private String currencyCode;
+    @ExcelColumn(value = "币种名称", index = 1)
+    private String currencyName;
+}
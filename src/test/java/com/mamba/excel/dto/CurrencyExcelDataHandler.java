@@ -0,0 +1,44 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.handler.AbstractExcelDataHandler;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/3 9:40
+ * @description: CurrencyDTO 导入处理器，允许缓存导入结果
+ */
+@NoArgsConstructor
+public class CurrencyExcelDataHandler extends AbstractExcelDataHandler<CurrencyDTO> {
+
+    /** 已入库的币种代码，模拟数据库 */
+    public static final List<String> PERSISTED_LIST = new ArrayList<>();
+
+    @Override
+    public String getDataClazz() {
+        return CurrencyDTO.class.getName();
+    }
+
+    @Override
+    public boolean cacheable() {
+        return true;
+    }
+
+    @Override
+    public Map<String, List<String>> checkData(CurrencyDTO currencyDTO, ExcelImporter importer) {
+        return this.validateData(currencyDTO);
+    }
+
+    @Override
+    public void validDataList(List<CurrencyDTO> validDataList) {
+        for (CurrencyDTO currencyDTO : validDataList) {
+            PERSISTED_LIST.add(currencyDTO.getCurrencyCode());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mamba.excel.dto;
+
+import java.util.*;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/21 10:10
+ * @description: 部门数据源的内存替身，模拟数据库批量查询，记录查询次数和每次查询的键个数
+ */
+public class InMemoryDepartmentSource {
+
+    private static final InMemoryDepartmentSource INSTANCE = new InMemoryDepartmentSource();
+
+    /** 部门编码 -> 部门名称 */
+    private final Map<String, String> departmentMap = new HashMap<>();
+    /** 每次查询的键个数 */
+    private final List<Integer> querySizeList = new ArrayList<>();
+
+    public static InMemoryDepartmentSource getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void reset(Map<String, String> departmentMap) {
+        this.departmentMap.clear();
+        this.departmentMap.putAll(departmentMap);
+        this.querySizeList.clear();
+    }
+
+    /**
+     * 按部门编码批量查询，相当于select ... where code in (...)
+     *
+     * @param codeList 部门编码
+     * @return 部门编码 -> 部门名称，只包含存在的部门
+     */
+    public synchronized Map<String, String> findByCodes(Collection<String> codeList) {
+        querySizeList.add(codeList.size());
+        Map<String, String> result = new HashMap<>(codeList.size() * 2);
+        for (String code : codeList) {
+            if (departmentMap.containsKey(code)) {
+                result.put(code, departmentMap.get(code));
+            }
+        }
+        return result;
+    }
+
+    public synchronized List<Integer> getQuerySizeList() {
+        return new ArrayList<>(querySizeList);
+    }
+}
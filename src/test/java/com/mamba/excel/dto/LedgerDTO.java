@@ -0,0 +1,28 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.annotation.ExcelSheet;
+import lombok.Data;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/31 14:00
+ * @description: Ledger excel DTO，断点续传测试使用
+ */
+@Data
+@ExcelSheet(value = "台账", index = 0)
+public class LedgerDTO {
+
+    @NotBlank(message = "单号不能为空")
+    @ExcelColumn(value = "单号", index = 0)
+    private String billNo;
+    @NotNull(message = "金额不能为空")
+    @Min(value = 0, message = "金额不能为负数")
+    @ExcelColumn(value = "金额", index = 1)
+    private Integer amount;
+}
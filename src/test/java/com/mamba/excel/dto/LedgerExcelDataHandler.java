@@ -0,0 +1,70 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.handler.AbstractExcelDataHandler;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/31 14:00
+ * @description: LedgerDTO 导入处理器，累计已入库的金额作为断点状态，可以模拟在第N批入库时进程中断
+ */
+@NoArgsConstructor
+public class LedgerExcelDataHandler extends AbstractExcelDataHandler<LedgerDTO> {
+
+    /** 已入库的单号，模拟数据库 */
+    public static final List<String> PERSISTED_LIST = new ArrayList<>();
+    /** 第几次入库时抛出异常，0表示不抛出 */
+    public static int failOnBatch;
+    /** 导入结束时的累计金额 */
+    public static long lastTotalAmount;
+
+    private int batchCount;
+    private long totalAmount;
+
+    @Override
+    public String getDataClazz() {
+        return LedgerDTO.class.getName();
+    }
+
+    @Override
+    public Map<String, List<String>> checkData(LedgerDTO ledgerDTO, ExcelImporter importer) {
+        return this.validateData(ledgerDTO);
+    }
+
+    @Override
+    public void validDataList(List<LedgerDTO> validDataList) {
+        if (++batchCount == failOnBatch) {
+            throw new IllegalStateException("模拟进程中断");
+        }
+        for (LedgerDTO ledgerDTO : validDataList) {
+            PERSISTED_LIST.add(ledgerDTO.getBillNo());
+            totalAmount += ledgerDTO.getAmount();
+        }
+        lastTotalAmount = totalAmount;
+    }
+
+    /**
+     * 处理器是单例，模拟进程重启时清空内存中的状态
+     */
+    public void reset() {
+        batchCount = 0;
+        totalAmount = 0;
+    }
+
+    @Override
+    public Serializable checkpointState() {
+        return totalAmount;
+    }
+
+    @Override
+    public void restoreCheckpointState(Serializable state) {
+        totalAmount = (Long)state;
+    }
+}
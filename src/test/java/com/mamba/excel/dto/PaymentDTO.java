@@ -0,0 +1,24 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.annotation.ExcelSheet;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 10:00
+ * @description: Payment excel DTO，账号引用AccountDTO，断点续传测试使用
+ */
+@Data
+@ExcelSheet(value = "付款", index = 1)
+public class PaymentDTO {
+
+    @NotBlank(message = "付款单号不能为空")
+    @ExcelColumn(value = "付款单号", index = 0)
+    private String paymentNo;
+    @ExcelColumn(value = "账号", index = 1, ref = AccountDTO.class)
+    private String accountNo;
+}
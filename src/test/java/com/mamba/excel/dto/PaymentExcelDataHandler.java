@@ -0,0 +1,39 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.handler.AbstractExcelDataHandler;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 10:00
+ * @description: PaymentDTO 导入处理器
+ */
+@NoArgsConstructor
+public class PaymentExcelDataHandler extends AbstractExcelDataHandler<PaymentDTO> {
+
+    /** 已入库的付款单号，模拟数据库 */
+    public static final List<String> PERSISTED_LIST = new ArrayList<>();
+
+    @Override
+    public String getDataClazz() {
+        return PaymentDTO.class.getName();
+    }
+
+    @Override
+    public Map<String, List<String>> checkData(PaymentDTO paymentDTO, ExcelImporter importer) {
+        return this.validateData(paymentDTO);
+    }
+
+    @Override
+    public void validDataList(List<PaymentDTO> validDataList) {
+        for (PaymentDTO paymentDTO : validDataList) {
+            PERSISTED_LIST.add(paymentDTO.getPaymentNo());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.handler.AbstractExcelDataHandler;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/17 10:00
+ * @description: PersonPositionDTO 导入处理器，只做注解校验，引用检查由导入器完成
+ */
+@NoArgsConstructor
+public class PersonPositionExcelDataHandler extends AbstractExcelDataHandler<PersonPositionDTO> {
+
+    /** 已入库的工号，模拟数据库 */
+    public static final List<String> PERSISTED_LIST = new ArrayList<>();
+
+    @Override
+    public String getDataClazz() {
+        return PersonPositionDTO.class.getName();
+    }
+
+    @Override
+    public Map<String, List<String>> checkData(PersonPositionDTO positionDTO, ExcelImporter importer) {
+        return this.validateData(positionDTO);
+    }
+
+    @Override
+    public void validDataList(List<PersonPositionDTO> validDataList) {
+        for (PersonPositionDTO positionDTO : validDataList) {
+            PERSISTED_LIST.add(positionDTO.getStaffCode());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.mamba.excel.dto;
+
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.annotation.ExcelSheet;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/21 10:10
+ * @description: Staff excel DTO，部门编码需要到外部数据源校验
+ */
+@Data
+@ExcelSheet(value = "员工部门", index = 0)
+public class StaffDTO {
+
+    @NotBlank(message = "工号不能为空")
+    @ExcelColumn(value = "工号", index = 0)
+    private String staffCode;
+    @NotBlank(message = "部门编码不能为空")
+    @ExcelColumn(value = "部门编码", index = 1)
+    private String deptCode;
+    /** 部门名称，校验通过后从查询结果中填充 */
+    private String deptName;
+}
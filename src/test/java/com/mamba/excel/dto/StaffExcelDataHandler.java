@@ -0,0 +1,53 @@
+package com.mamba.excel.dto;
+
+import cn.hutool.core.collection.CollectionUtil;
+import cn.hutool.core.collection.ListUtil;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.handler.AbstractExcelDataHandler;
+import com.mamba.excel.handler.LookupContext;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/21 10:10
+ * @description: StaffDTO 导入处理器，每批数据的部门编码一次批量查询
+ */
+@NoArgsConstructor
+public class StaffExcelDataHandler extends AbstractExcelDataHandler<StaffDTO> {
+
+    private static final String DEPARTMENT = "department";
+
+    @Override
+    public String getDataClazz() {
+        return StaffDTO.class.getName();
+    }
+
+    @Override
+    public void prefetch(Collection<StaffDTO> chunk, LookupContext context) {
+        Set<String> codeSet = chunk.stream().map(StaffDTO::getDeptCode).filter(code -> code != null)
+            .collect(Collectors.toSet());
+        context.putAll(DEPARTMENT, InMemoryDepartmentSource.getInstance().findByCodes(codeSet));
+    }
+
+    @Override
+    public Map<String, List<String>> checkData(StaffDTO staffDTO, ExcelImporter importer) {
+        Map<String, List<String>> resultMap = this.validateData(staffDTO);
+        if (CollectionUtil.isEmpty(resultMap) && !importer.getLookupContext().contains(DEPARTMENT,
+            staffDTO.getDeptCode())) {
+            resultMap.put("deptCode", ListUtil.toList("部门编码" + staffDTO.getDeptCode() + "不存在"));
+        }
+        return resultMap;
+    }
+
+    @Override
+    public void validDataList(List<StaffDTO> validDataList) {
+        // 数据入库
+    }
+}
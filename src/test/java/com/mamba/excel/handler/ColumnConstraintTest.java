@@ -0,0 +1,117 @@
+package com.mamba.excel.handler;
+
+import com.mamba.excel.annotation.PureConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.Payload;
+import javax.validation.constraints.Pattern;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/22 10:10
+ * @description: 按值缓存的属性校验测试类，纯校验约束每个不同的值只执行一次，其他约束每行执行
+ */
+public class ColumnConstraintTest {
+
+    private static final int ROWS = 1000;
+
+    @Test
+    public void testMemoizeByDistinctValue() {
+        CountingValidator.COUNT.set(0);
+        ImpureValidator.COUNT.set(0);
+        String[] statuses = {"在职", "离职", "未知状态"};
+        int invalidCount = 0;
+        for (int i = 0; i < ROWS; i++) {
+            String status = statuses[i % statuses.length];
+            StatusRow statusRow = new StatusRow(status, status, "D" + i % 7);
+            for (ColumnConstraint columnConstraint : ColumnConstraint.of(StatusRow.class)) {
+                List<String> messageList = columnConstraint.validate(statusRow);
+                if (!messageList.isEmpty()) {
+                    Assert.assertEquals("status", columnConstraint.getFieldName());
+                    Assert.assertEquals("状态不正确", messageList.get(0));
+                    invalidCount++;
+                }
+            }
+        }
+        Assert.assertEquals(ROWS / statuses.length, invalidCount);
+
+        // 自定义纯校验每个不同的值只执行一次，未标记@PureConstraint的每行执行
+        Assert.assertEquals(statuses.length, CountingValidator.COUNT.get());
+        Assert.assertEquals(ROWS, ImpureValidator.COUNT.get());
+        for (ColumnConstraint columnConstraint : ColumnConstraint.of(StatusRow.class)) {
+            if ("deptCode".equals(columnConstraint.getFieldName())) {
+                Assert.assertFalse(columnConstraint.isMemoized());
+            } else {
+                Assert.assertTrue(columnConstraint.isMemoized());
+                Assert.assertEquals(statuses.length, columnConstraint.getEvaluateCount());
+            }
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class StatusRow {
+        @Pattern(regexp = "在职|离职", message = "状态不正确")
+        private String status;
+        @Counting
+        private String remark;
+        @Impure
+        private String deptCode;
+    }
+
+    @PureConstraint
+    @Constraint(validatedBy = CountingValidator.class)
+    @Target(ElementType.FIELD)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Counting {
+        String message() default "备注不正确";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    @Constraint(validatedBy = ImpureValidator.class)
+    @Target(ElementType.FIELD)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Impure {
+        String message() default "部门不存在";
+
+        Class<?>[] groups() default {};
+
+        Class<? extends Payload>[] payload() default {};
+    }
+
+    public static class CountingValidator implements ConstraintValidator<Counting, String> {
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            COUNT.incrementAndGet();
+            return true;
+        }
+    }
+
+    public static class ImpureValidator implements ConstraintValidator<Impure, String> {
+        static final AtomicInteger COUNT = new AtomicInteger();
+
+        @Override
+        public boolean isValid(String value, ConstraintValidatorContext context) {
+            COUNT.incrementAndGet();
+            return true;
+        }
+    }
+}
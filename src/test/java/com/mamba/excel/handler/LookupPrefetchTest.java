@@ -0,0 +1,80 @@
+package com.mamba.excel.handler;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.lang.Pair;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.FoxExcel;
+import com.mamba.excel.dto.InMemoryDepartmentSource;
+import com.mamba.excel.dto.StaffDTO;
+import com.mamba.excel.kit.ImportResultDTO;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/21 10:10
+ * @description: 批量预取测试类，部门数据源使用内存替身，检查每批数据只查询一次
+ */
+public class LookupPrefetchTest {
+
+    private static final int ROWS = 25;
+    private static final int BATCH_SIZE = 10;
+
+    @Test
+    public void testPrefetchPerBatch() throws Exception {
+        checkImport(false);
+    }
+
+    @Test
+    public void testPrefetchPerBatchStreaming() throws Exception {
+        checkImport(true);
+    }
+
+    private void checkImport(boolean streaming) throws Exception {
+        Map<String, String> departmentMap = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            departmentMap.put("D" + i, "部门" + i);
+        }
+        InMemoryDepartmentSource.getInstance().reset(departmentMap);
+        File dir = Files.createTempDirectory("fox-excel-prefetch").toFile();
+        try {
+            String filePath = new File(dir, "staff.xlsx").getPath();
+            FoxExcel.write(filePath, Pair.of(StaffDTO.class, getStaffList()));
+            ExcelImporter importer = new ExcelImporter(filePath);
+            importer.setBatchSize(BATCH_SIZE);
+            importer.setStreaming(streaming);
+            importer.importData(Collections.singletonList(StaffDTO.class), new File(dir, "error.xlsx").getPath(),
+                (importResultDTO, errorExcelExporter) -> true);
+
+            // 25行分3批，每批一次批量查询
+            List<Integer> querySizeList = InMemoryDepartmentSource.getInstance().getQuerySizeList();
+            Assert.assertEquals(3, querySizeList.size());
+            Assert.assertTrue(querySizeList.stream().allMatch(size -> size <= BATCH_SIZE));
+            ImportResultDTO importResultDTO = importer.getImportResultDTO();
+            Assert.assertEquals(ROWS / 6 + 1, importResultDTO.getMetrics().getInvalidCount());
+            Assert.assertEquals(ROWS - ROWS / 6 - 1, importResultDTO.getMetrics().getSheetMetricsList().get(0)
+                .getValidCount());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    /**
+     * 每6行中有1行的部门编码不存在
+     */
+    private static List<StaffDTO> getStaffList() {
+        List<StaffDTO> staffList = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            StaffDTO staff = new StaffDTO();
+            staff.setStaffCode(String.format("S%03d", i));
+            staff.setDeptCode(i % 6 == 0 ? "X" + i : "D" + i % 5);
+            staffList.add(staff);
+        }
+        return staffList;
+    }
+}
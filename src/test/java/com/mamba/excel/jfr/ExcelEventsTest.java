@@ -0,0 +1,76 @@
+package com.mamba.excel.jfr;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.lang.Pair;
+import com.mamba.excel.FoxExcel;
+import com.mamba.excel.FoxExcelDiskTest;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.dto.PositionDTO;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/15 10:20
+ * @description: JFR事件测试类，录制一次导出和带错误数据的导入，检查各阶段事件都已提交
+ */
+public class ExcelEventsTest {
+
+    private static final List<String> EVENT_NAMES = Arrays.asList("com.mamba.excel.WorkbookOpen",
+        "com.mamba.excel.SheetParse", "com.mamba.excel.ValidationBatch", "com.mamba.excel.HandlerCallback",
+        "com.mamba.excel.ErrorWorkbook", "com.mamba.excel.Flush");
+
+    @Test
+    public void testRecordImportAndExport() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-jfr").toFile();
+        Path dump = new File(dir, "excel.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            EVENT_NAMES.forEach(name -> recording.enable(name).withoutThreshold());
+            recording.start();
+            String filePath = new File(dir, "test.xlsx").getPath();
+            FoxExcel.write(filePath, Pair.of(PersonDTO.class, FoxExcelDiskTest.getErrorPersonList()),
+                Pair.of(PositionDTO.class, FoxExcelDiskTest.getPositionList()));
+            boolean success = FoxExcel.read(filePath, new File(dir, "error.xlsx").getPath(), PersonDTO.class,
+                PositionDTO.class);
+            Assert.assertFalse(success);
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> eventList = RecordingFile.readAllEvents(dump);
+            for (String name : EVENT_NAMES) {
+                Assert.assertTrue(name + "未提交", eventList.stream()
+                    .anyMatch(event -> name.equals(event.getEventType().getName())));
+            }
+            List<RecordedEvent> parseList = getEvents(eventList, "com.mamba.excel.SheetParse");
+            Assert.assertEquals(2, parseList.size());
+            Assert.assertEquals("人员信息", parseList.get(0).getString("sheetName"));
+            Assert.assertEquals(2, parseList.get(0).getLong("rowCount"));
+            RecordedEvent batch = getEvents(eventList, "com.mamba.excel.ValidationBatch").get(0);
+            Assert.assertEquals(1, batch.getLong("validCount"));
+            Assert.assertEquals(1, batch.getLong("invalidCount"));
+            RecordedEvent errorWorkbook = getEvents(eventList, "com.mamba.excel.ErrorWorkbook").get(0);
+            Assert.assertEquals(1, errorWorkbook.getLong("errorRowCount"));
+            Assert.assertEquals(new File(dir, "error.xlsx").length(), errorWorkbook.getLong("bytes"));
+            Assert.assertTrue(getEvents(eventList, "com.mamba.excel.Flush").stream()
+                .allMatch(event -> event.getLong("bytes") > 0));
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    private static List<RecordedEvent> getEvents(List<RecordedEvent> eventList, String name) {
+        return eventList.stream().filter(event -> name.equals(event.getEventType().getName()))
+            .collect(Collectors.toList());
+    }
+}
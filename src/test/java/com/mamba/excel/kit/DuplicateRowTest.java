@@ -0,0 +1,120 @@
+package com.mamba.excel.kit;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.config.ReaderType;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.listener.ImportListener;
+import com.mamba.excel.listener.ImportSheetContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/18 14:10
+ * @description: 整行重复检测测试类，检查规范化后相同的行按校验不通过处理，错误标在第一列上并指向第一次出现的行
+ */
+public class DuplicateRowTest {
+
+    @Test
+    public void testRowHasher() {
+        long hash = RowHasher.hash(Arrays.asList("A001", 1, null), null);
+        // 字符串去掉首尾空白，数值去掉末尾的0，空白单元格等同于空值
+        Assert.assertEquals(hash, RowHasher.hash(Arrays.asList(" A001 ", 1.0D, " "), null));
+        Assert.assertEquals(hash, RowHasher.hash(Arrays.asList("A001", "1", ""), null));
+        Assert.assertNotEquals(hash, RowHasher.hash(Arrays.asList("A0011", null, null), null));
+        // 同样的字符拆在不同的列中哈希不同
+        Assert.assertNotEquals(RowHasher.hash(Arrays.asList("ab", "c"), null),
+            RowHasher.hash(Arrays.asList("a", "bc"), null));
+        // 不参与计算的列不影响哈希
+        boolean[] projection = {true, false};
+        Assert.assertEquals(RowHasher.hash(Arrays.asList("A001", "x"), projection),
+            RowHasher.hash(Arrays.asList("A001", "y"), projection));
+        Date date = new Date(1740800000000L);
+        Assert.assertEquals(RowHasher.hash(Collections.singletonList(date), null),
+            RowHasher.hash(Collections.singletonList(1740800000000L), null));
+    }
+
+    @Test
+    public void testDetectDuplicateRows() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-duplicate").toFile();
+        try {
+            String filePath = new File(dir, "person.xlsx").getPath();
+            new ExcelExporter().exportData(Collections.singletonList(new ExcelSheetData<PersonDTO>()
+                .setSheetDefinition(PersonDTO.class)
+                .setData(Arrays.asList(newPerson("张三", 20), newPerson("李四", 30), newPerson("张三", 20),
+                    newPerson(" 张三 ", 20), newPerson("张三", 21), newPerson("李四", 30)))), filePath);
+
+            for (ReaderType readerType : new ReaderType[] {ReaderType.POI, ReaderType.NATIVE}) {
+                for (boolean streaming : new boolean[] {false, true}) {
+                    List<String> validNameList = new ArrayList<>();
+                    Map<Long, List<String>> errorMap = importPerson(filePath, dir, readerType, streaming, true,
+                        validNameList);
+                    String message = readerType + ",streaming=" + streaming;
+                    Assert.assertEquals(message, 3, errorMap.size());
+                    Assert.assertEquals(message, Collections.singletonList("整行数据与第2行重复"), errorMap.get(4L));
+                    Assert.assertEquals(message, Collections.singletonList("整行数据与第2行重复"), errorMap.get(5L));
+                    Assert.assertEquals(message, Collections.singletonList("整行数据与第3行重复"), errorMap.get(7L));
+                    Assert.assertEquals(message, Arrays.asList("张三", "李四", "张三"), validNameList);
+                }
+            }
+
+            // 不开启时重复行照常校验通过
+            List<String> validNameList = new ArrayList<>();
+            Assert.assertTrue(importPerson(filePath, dir, ReaderType.POI, false, false, validNameList).isEmpty());
+            Assert.assertEquals(6, validNameList.size());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    /**
+     * 导入人员sheet
+     *
+     * @param validNameList 收集校验通过的姓名
+     * @return excel行号 -> 姓名列的错误提示
+     */
+    private static Map<Long, List<String>> importPerson(String filePath, File dir, ReaderType readerType,
+        boolean streaming, boolean detectDuplicateRows, List<String> validNameList) {
+        Map<Long, List<String>> errorMap = new TreeMap<>();
+        ExcelImporter importer = new ExcelImporter(filePath);
+        importer.setReaderType(readerType);
+        importer.setStreaming(streaming);
+        importer.setBatchSize(2);
+        importer.setDetectDuplicateRows(detectDuplicateRows);
+        importer.addListener(new ImportListener() {
+            @Override
+            public void onRowValidated(ImportSheetContext context, Object data, long rowIndex,
+                Map<String, List<String>> errors) {
+                if (errors.isEmpty()) {
+                    validNameList.add(((PersonDTO)data).getName());
+                } else {
+                    errorMap.put(rowIndex + 1, errors.get("name"));
+                }
+            }
+        });
+        importer.importData(Collections.singletonList(PersonDTO.class), new File(dir, "error.xlsx").getPath(),
+            (importResultDTO, errorExcelExporter) -> true);
+        Assert.assertEquals(!errorMap.isEmpty(), importer.getImportResultDTO().isHasErrorData());
+        return errorMap;
+    }
+
+    private static PersonDTO newPerson(String name, int age) {
+        PersonDTO person = new PersonDTO();
+        person.setName(name);
+        person.setAge(age);
+        return person;
+    }
+}
@@ -0,0 +1,185 @@
+package com.mamba.excel.listener;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.metrics.SheetImportMetrics;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/27 16:30
+ * @description: 导入监听器测试类，检查回调顺序、流式导入的批次和内存中保留的行数，以及绑定出错时的onError
+ */
+public class ImportListenerTest {
+
+    private File dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("fox-excel-listener").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtil.del(dir);
+    }
+
+    @Test
+    public void testStreamingBatches() {
+        RecordingListener listener = new RecordingListener();
+        ExcelImporter importer = importPerson(true, listener);
+
+        Assert.assertEquals("start", listener.eventList.get(0));
+        Assert.assertEquals("end", listener.eventList.get(listener.eventList.size() - 1));
+        Assert.assertEquals(23, listener.rowIndexList.size());
+        Assert.assertEquals(Long.valueOf(1), listener.rowIndexList.get(0));
+        Assert.assertEquals(Arrays.asList("name4", "name13"), listener.invalidNameList);
+        // 每累计5行（含错误行）交给处理器一次，onBatch只包含校验通过的数据
+        Assert.assertEquals(Arrays.asList(4, 5, 4, 5, 3), listener.batchSizeList);
+        Assert.assertEquals(21, listener.validCount);
+        SheetImportMetrics metrics = importer.getImportResultDTO().getMetrics().getSheetMetricsList().get(0);
+        Assert.assertTrue(metrics.getPeakRowBufferSize() <= 5);
+    }
+
+    @Test
+    public void testNonStreamingBatches() {
+        RecordingListener listener = new RecordingListener();
+        ExcelImporter importer = importPerson(false, listener);
+
+        Assert.assertEquals(23, listener.rowIndexList.size());
+        Assert.assertEquals(Arrays.asList("name4", "name13"), listener.invalidNameList);
+        // 处理器一次拿到完整列表，监听器按batchSize分片
+        Assert.assertEquals(Arrays.asList(5, 5, 5, 5, 1), listener.batchSizeList);
+        Assert.assertEquals(21, listener.validCount);
+        SheetImportMetrics metrics = importer.getImportResultDTO().getMetrics().getSheetMetricsList().get(0);
+        Assert.assertEquals(23, metrics.getPeakRowBufferSize());
+    }
+
+    @Test
+    public void testBindError() throws Exception {
+        File file = new File(dir, "person.xlsx");
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("人员信息");
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("姓名");
+            header.createCell(1).setCellValue("年龄");
+            for (int i = 1; i <= 5; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("name" + i);
+                if (i == 3) {
+                    row.createCell(1).setCellValue("不是数字");
+                } else {
+                    row.createCell(1).setCellValue(20 + i);
+                }
+            }
+            workbook.write(out);
+        }
+        RecordingListener listener = new RecordingListener();
+        ExcelImporter importer = new ExcelImporter(file.getPath());
+        importer.setStreaming(true);
+        importer.addListener(listener);
+        try {
+            importer.importData(Collections.singletonList(PersonDTO.class), new File(dir, "error.xlsx").getPath(),
+                (importResultDTO, errorExcelExporter) -> true);
+            Assert.fail("年龄不是数字时绑定应该出错");
+        } catch (RuntimeException expected) {
+            // expected
+        }
+        Assert.assertEquals(Collections.singletonList(3L), listener.errorRowIndexList);
+    }
+
+    /**
+     * 导入23个人员，第4、13个年龄超过100
+     */
+    private ExcelImporter importPerson(boolean streaming, ImportListener listener) {
+        List<PersonDTO> personList = new ArrayList<>();
+        for (int i = 1; i <= 23; i++) {
+            PersonDTO personDTO = new PersonDTO();
+            personDTO.setName("name" + i);
+            personDTO.setAge(i == 4 || i == 13 ? 100 + i : 20 + i);
+            personList.add(personDTO);
+        }
+        String filePath = new File(dir, "person.xlsx").getPath();
+        new ExcelExporter().exportData(Collections.singletonList(
+            new ExcelSheetData<PersonDTO>().setSheetDefinition(PersonDTO.class).setData(personList)), filePath);
+        ExcelImporter importer = new ExcelImporter(filePath);
+        importer.setStreaming(streaming);
+        importer.setBatchSize(5);
+        importer.addListener(listener);
+        importer.importData(Collections.singletonList(PersonDTO.class), new File(dir, "error.xlsx").getPath(),
+            (importResultDTO, errorExcelExporter) -> true);
+        return importer;
+    }
+
+    /**
+     * 记录回调的监听器
+     */
+    private static class RecordingListener implements ImportListener {
+
+        private final List<String> eventList = new ArrayList<>();
+        private final List<Long> rowIndexList = new ArrayList<>();
+        private final List<String> invalidNameList = new ArrayList<>();
+        private final List<Integer> batchSizeList = new ArrayList<>();
+        private final List<Long> errorRowIndexList = new ArrayList<>();
+        private int validCount;
+
+        @Override
+        public void onSheetStart(ImportSheetContext context) {
+            eventList.add("start");
+        }
+
+        @Override
+        public void onRow(ImportSheetContext context, List<Object> rawRow, long rowIndex) {
+            eventList.add("row");
+            rowIndexList.add(rowIndex);
+        }
+
+        @Override
+        public void onRowValidated(ImportSheetContext context, Object data, long rowIndex,
+            Map<String, List<String>> errors) {
+            eventList.add("validated");
+            if (errors.isEmpty()) {
+                validCount++;
+            } else {
+                invalidNameList.add(((PersonDTO)data).getName());
+            }
+        }
+
+        @Override
+        public void onBatch(ImportSheetContext context, List<Object> validDataList) {
+            eventList.add("batch");
+            batchSizeList.add(validDataList.size());
+        }
+
+        @Override
+        public void onSheetEnd(ImportSheetContext context) {
+            eventList.add("end");
+        }
+
+        @Override
+        public void onError(ImportSheetContext context, Exception e, long rowIndex) {
+            errorRowIndexList.add(rowIndex);
+        }
+    }
+}
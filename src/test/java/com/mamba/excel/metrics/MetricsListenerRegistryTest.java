@@ -0,0 +1,87 @@
+package com.mamba.excel.metrics;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/26 17:30
+ * @description: 指标监听器注册表测试类，检查自动注册、手动注册和监听器异常只记录日志
+ */
+public class MetricsListenerRegistryTest {
+
+    @Test
+    public void testAutoRegister() throws Exception {
+        File file = File.createTempFile("fox-excel-metrics", ".xlsx");
+        try {
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.exportData(getExcelSheetDataList(), file.getPath());
+            Assert.assertTrue(
+                RecordingListener.EXPORT_METRICS_LIST.contains(exporter.getExportResultDTO().getMetrics()));
+        } finally {
+            FileUtil.del(file);
+        }
+    }
+
+    @Test
+    public void testListenerException() {
+        List<ImportMetrics> importMetricsList = new ArrayList<>();
+        MetricsListener failingListener = new MetricsListener() {
+            @Override
+            public void onImport(ImportMetrics metrics) {
+                throw new IllegalStateException("监听器异常");
+            }
+        };
+        MetricsListener recordingListener = new MetricsListener() {
+            @Override
+            public void onImport(ImportMetrics metrics) {
+                importMetricsList.add(metrics);
+            }
+        };
+        MetricsListenerRegistry.register(failingListener);
+        MetricsListenerRegistry.register(recordingListener);
+        try {
+            ImportMetrics metrics = new ImportMetrics();
+            // 前一个监听器的异常不影响发布方和后面的监听器
+            MetricsListenerRegistry.publish(metrics);
+            Assert.assertEquals(Collections.singletonList(metrics), importMetricsList);
+        } finally {
+            MetricsListenerRegistry.unregister(failingListener);
+            MetricsListenerRegistry.unregister(recordingListener);
+        }
+        MetricsListenerRegistry.publish(new ImportMetrics());
+        Assert.assertEquals(1, importMetricsList.size());
+    }
+
+    private static List<ExcelSheetData> getExcelSheetDataList() {
+        PersonDTO person = new PersonDTO();
+        person.setName("name");
+        person.setAge(20);
+        return Collections.singletonList(new ExcelSheetData<PersonDTO>().setSheetDefinition(PersonDTO.class)
+            .setData(Collections.singletonList(person)));
+    }
+
+    /**
+     * 扫描包时自动注册的监听器
+     */
+    public static class RecordingListener implements MetricsListener {
+
+        private static final List<ExportMetrics> EXPORT_METRICS_LIST = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onExport(ExportMetrics metrics) {
+            EXPORT_METRICS_LIST.add(metrics);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.mamba.excel.partition;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.ObjectUtil;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.kit.ImportResultDTO;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 14:00
+ * @description: 本地多进程模拟集群：每个分区启动一个独立的JVM运行PartitionWorker，分区和导入结果通过序列化文件传递，
+ *               各进程并行导入同一个文件，全部结束后收集导入结果和错误excel
+ */
+public class LocalPartitionCluster {
+
+    /** 单个工作进程的超时时间 */
+    private static final long TIMEOUT_SECONDS = 120;
+
+    /** 工作目录，存放分区、导入结果、错误excel和进程日志 */
+    private final File workDir;
+
+    public LocalPartitionCluster(File workDir) {
+        this.workDir = FileUtil.mkdir(workDir);
+    }
+
+    /**
+     * 创建导入器，分区扫描、工作进程和不分区的对照导入使用同样的参数
+     *
+     * @param filePath 文件路径
+     * @return 导入器
+     */
+    static ExcelImporter newImporter(String filePath) {
+        ExcelImporter importer = new ExcelImporter(filePath);
+        importer.setStreaming(true);
+        importer.setBatchSize(8);
+        importer.setDetectDuplicateRows(true);
+        return importer;
+    }
+
+    /**
+     * 每个分区启动一个工作进程并等待全部结束
+     *
+     * @param filePath 文件路径
+     * @param sheetDefinitionList 表格定义列表
+     * @param partitionList 分区列表
+     * @return 按分区下标排列的导入结果
+     * @throws Exception 进程启动失败、超时或者非正常退出时抛出
+     */
+    public List<ImportResultDTO> run(String filePath, List<Class> sheetDefinitionList,
+        List<ImportPartition> partitionList) throws Exception {
+        String java = new File(System.getProperty("java.home"), "bin/java").getPath();
+        String sheetNames = sheetDefinitionList.stream().map(Class::getName).collect(Collectors.joining(","));
+        List<Process> processList = new ArrayList<>();
+        for (ImportPartition partition : partitionList) {
+            int index = partition.getPartitionIndex();
+            File partitionFile = new File(workDir, "partition-" + index + ".bin");
+            FileUtil.writeBytes(ObjectUtil.serialize(partition), partitionFile);
+            ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                PartitionWorker.class.getName(), filePath, partitionFile.getPath(), getResultFile(index).getPath(),
+                getErrorFragment(index).getPath(), sheetNames);
+            builder.redirectErrorStream(true);
+            builder.redirectOutput(getLogFile(index));
+            processList.add(builder.start());
+        }
+        List<ImportResultDTO> resultList = new ArrayList<>();
+        for (int i = 0; i < processList.size(); i++) {
+            Process process = processList.get(i);
+            if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                processList.forEach(Process::destroyForcibly);
+                throw new IllegalStateException("分区" + i + "导入超时");
+            }
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException("分区" + i + "导入失败：\n"
+                    + FileUtil.readString(getLogFile(i), StandardCharsets.UTF_8));
+            }
+            resultList.add(ObjectUtil.deserialize(FileUtil.readBytes(getResultFile(i))));
+        }
+        return resultList;
+    }
+
+    /**
+     * @param partitionCount 分区数
+     * @return 按分区下标排列的错误excel，没有错误数据的分区文件不存在
+     */
+    public List<File> getErrorFragments(int partitionCount) {
+        List<File> fragmentList = new ArrayList<>();
+        for (int i = 0; i < partitionCount; i++) {
+            fragmentList.add(getErrorFragment(i));
+        }
+        return fragmentList;
+    }
+
+    private File getResultFile(int index) {
+        return new File(workDir, "result-" + index + ".bin");
+    }
+
+    private File getErrorFragment(int index) {
+        return new File(workDir, "error-" + index + ".xlsx");
+    }
+
+    private File getLogFile(int index) {
+        return new File(workDir, "worker-" + index + ".log");
+    }
+}
@@ -0,0 +1,30 @@
+package com.mamba.excel.partition;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.util.ObjectUtil;
+import com.mamba.excel.ExcelImporter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 14:00
+ * @description: 分区导入的工作进程，由LocalPartitionCluster启动，相当于集群中的一个节点。
+ *               参数：文件路径、序列化的分区文件、导入结果输出文件、错误excel路径、逗号分隔的sheet定义类名
+ */
+public class PartitionWorker {
+
+    public static void main(String[] args) throws Exception {
+        ImportPartition partition = ObjectUtil.deserialize(FileUtil.readBytes(args[1]));
+        List<Class> sheetDefinitionList = new ArrayList<>();
+        for (String className : args[4].split(",")) {
+            sheetDefinitionList.add(Class.forName(className));
+        }
+        ExcelImporter importer = LocalPartitionCluster.newImporter(args[0]);
+        importer.setPartition(partition);
+        importer.importData(sheetDefinitionList, args[3], (importResultDTO, errorExcelExporter) -> true);
+        FileUtil.writeBytes(ObjectUtil.serialize(importer.getImportResultDTO()), args[2]);
+    }
+}
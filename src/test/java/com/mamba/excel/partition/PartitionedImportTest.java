@@ -0,0 +1,182 @@
+package com.mamba.excel.partition;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.dto.PersonPositionDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.kit.ImportResultDTO;
+import com.mamba.excel.metrics.SheetImportMetrics;
+import com.mamba.excel.reference.ReferenceIndex;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/4/1 14:30
+ * @description: 分区导入测试类：扫描后分成3个分区，由3个独立进程并行导入，合并后的指标和错误excel与不分区导入完全一致，
+ *               包括跨分区的整行重复和引用了其他分区中无效数据的行
+ */
+public class PartitionedImportTest {
+
+    private static final List<Class> SHEET_LIST = Arrays.asList(PersonDTO.class, PersonPositionDTO.class);
+
+    @Test
+    public void testMultiProcessImportMatchesSingleProcess() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-partition").toFile();
+        try {
+            String filePath = createWorkbook(dir);
+            List<ImportPartition> partitionList = LocalPartitionCluster.newImporter(filePath).partition(SHEET_LIST, 3);
+            Assert.assertEquals(3, partitionList.size());
+            for (ImportPartition partition : partitionList) {
+                Assert.assertEquals(20, partition.getRowCount());
+            }
+            Assert.assertEquals(PersonPositionDTO.class.getName(),
+                partitionList.get(2).getRangeList().get(0).getSheetDefinition());
+            // 扫描时校验人员sheet建立引用索引：39个不同工号中年龄超过100的5个不写入
+            ReferenceIndex referenceIndex = partitionList.get(0).getReferenceIndex();
+            Assert.assertEquals(34, referenceIndex.size(PersonDTO.class, "staffCode"));
+            Assert.assertFalse(referenceIndex.contains(PersonDTO.class, "staffCode", "S007"));
+
+            ExcelImporter importer = LocalPartitionCluster.newImporter(filePath);
+            File singleError = new File(dir, "error.xlsx");
+            importer.importData(SHEET_LIST, singleError.getPath(), (importResultDTO, errorExcelExporter) -> true);
+            ImportResultDTO expected = importer.getImportResultDTO();
+
+            LocalPartitionCluster cluster = new LocalPartitionCluster(new File(dir, "cluster"));
+            ImportResultDTO merged = PartitionMerger.mergeResults(cluster.run(filePath, SHEET_LIST, partitionList));
+            File mergedError = new File(dir, "merged.xlsx");
+            Assert.assertTrue(PartitionMerger.mergeErrorWorkbooks(cluster.getErrorFragments(3), 1, mergedError));
+
+            Assert.assertTrue(merged.isHasErrorData());
+            Assert.assertEquals(2, merged.getSheetResultList().size());
+            for (int i = 0; i < 2; i++) {
+                SheetImportMetrics expectedSheet = expected.getMetrics().getSheetMetricsList().get(i);
+                SheetImportMetrics mergedSheet = merged.getMetrics().getSheetMetricsList().get(i);
+                Assert.assertEquals(expectedSheet.getSheetName(), mergedSheet.getSheetName());
+                Assert.assertEquals(expectedSheet.getRowCount(), mergedSheet.getRowCount());
+                Assert.assertEquals(expectedSheet.getValidCount(), mergedSheet.getValidCount());
+                Assert.assertEquals(expectedSheet.getInvalidCount(), mergedSheet.getInvalidCount());
+            }
+            // 年龄超过100的5行、与第4行重复的1行；引用了无效人员的2行和不存在工号的1行
+            Assert.assertEquals(6, merged.getMetrics().getSheetMetricsList().get(0).getInvalidCount());
+            Assert.assertEquals(3, merged.getMetrics().getSheetMetricsList().get(1).getInvalidCount());
+            Assert.assertEquals(readErrorWorkbook(singleError), readErrorWorkbook(mergedError));
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testStopReadingAfterPartition() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-partition").toFile();
+        try {
+            String filePath = createWorkbook(dir);
+            List<Class> sheetList = Collections.singletonList(PersonDTO.class);
+            List<ImportPartition> partitionList = LocalPartitionCluster.newImporter(filePath).partition(sheetList, 2);
+            ImportPartition.RowRange range = partitionList.get(0).getRangeList().get(0);
+            Assert.assertEquals(1, range.getStartRowIndex());
+            Assert.assertEquals(20, range.getEndRowIndex());
+
+            ExcelImporter importer = LocalPartitionCluster.newImporter(filePath);
+            importer.setPartition(partitionList.get(0));
+            importer.importData(sheetList);
+            SheetImportMetrics metrics = importer.getImportResultDTO().getMetrics().getSheetMetricsList().get(0);
+            Assert.assertEquals(20, metrics.getRowCount());
+            Assert.assertEquals(2, metrics.getInvalidCount());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testUseScannedReferenceIndex() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-partition").toFile();
+        try {
+            String filePath = createWorkbook(dir);
+            ImportPartition partition = LocalPartitionCluster.newImporter(filePath).partition(SHEET_LIST, 3).get(2);
+            // 换成只有S002的索引，分区导入直接使用分区中的索引，不再读取和校验人员sheet
+            ReferenceIndex referenceIndex = new ReferenceIndex();
+            referenceIndex.register(PersonDTO.class, "staffCode");
+            PersonDTO person = new PersonDTO();
+            person.setStaffCode("S002");
+            referenceIndex.add(PersonDTO.class, person, 2);
+
+            ExcelImporter importer = LocalPartitionCluster.newImporter(filePath);
+            importer.setPartition(new ImportPartition(partition.getPartitionIndex(), partition.getPartitionCount(),
+                partition.getRangeList(), referenceIndex));
+            importer.importData(SHEET_LIST);
+            List<SheetImportMetrics> metricsList = importer.getImportResultDTO().getMetrics().getSheetMetricsList();
+            Assert.assertEquals(0, metricsList.get(0).getRowCount());
+            Assert.assertEquals(20, metricsList.get(1).getRowCount());
+            Assert.assertEquals(1, metricsList.get(1).getValidCount());
+            Assert.assertEquals(19, metricsList.get(1).getInvalidCount());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    /**
+     * 40个人员，工号是7的倍数的行年龄超过100，最后一行与第4行完全相同；20个职务，引用偶数工号，最后一个工号不存在
+     */
+    private static String createWorkbook(File dir) {
+        List<PersonDTO> personList = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            int n = i == 40 ? 4 : i;
+            PersonDTO person = new PersonDTO();
+            person.setName("name" + n);
+            person.setAge(n % 7 == 0 ? 200 : 20 + n);
+            person.setStaffCode(String.format("S%03d", n));
+            personList.add(person);
+        }
+        List<PersonPositionDTO> positionList = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            PersonPositionDTO position = new PersonPositionDTO();
+            position.setStaffCode(i == 20 ? "S099" : String.format("S%03d", i * 2));
+            position.setName("职务" + i);
+            positionList.add(position);
+        }
+        String filePath = new File(dir, "person.xlsx").getPath();
+        new ExcelExporter().exportData(Arrays.asList(
+            new ExcelSheetData<PersonDTO>().setSheetDefinition(PersonDTO.class).setData(personList),
+            new ExcelSheetData<PersonPositionDTO>().setSheetDefinition(PersonPositionDTO.class).setData(positionList)), filePath);
+        return filePath;
+    }
+
+    /**
+     * 按sheet、行读出错误excel中每个单元格的显示文本和错误提示，以及下拉框的数量
+     */
+    private static List<String> readErrorWorkbook(File file) throws Exception {
+        List<String> cellList = new ArrayList<>();
+        DataFormatter formatter = new DataFormatter();
+        try (InputStream in = new FileInputStream(file); Workbook workbook = new XSSFWorkbook(in)) {
+            for (Sheet sheet : workbook) {
+                cellList.add(sheet.getSheetName() + ":" + sheet.getDataValidations().size());
+                for (Row row : sheet) {
+                    for (Cell cell : row) {
+                        cellList.add(row.getRowNum() + "," + cell.getColumnIndex() + "=" + formatter.formatCellValue(cell)
+                            + (cell.getCellComment() == null ? "" : "|" + cell.getCellComment().getString().getString()));
+                    }
+                }
+            }
+        }
+        return cellList;
+    }
+}
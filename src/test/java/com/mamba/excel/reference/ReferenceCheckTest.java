@@ -0,0 +1,154 @@
+package com.mamba.excel.reference;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.dto.PersonPositionDTO;
+import com.mamba.excel.dto.PersonPositionExcelDataHandler;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.listener.ImportListener;
+import com.mamba.excel.listener.ImportSheetContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/17 10:00
+ * @description: 跨sheet引用检查测试类，检查被引用sheet先导入、引用值去空白匹配、不存在的值报错，以及索引中只有校验通过的行及其行号
+ */
+public class ReferenceCheckTest {
+
+    @Test
+    public void testReferenceCheck() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-reference").toFile();
+        try {
+            // 第3个人员年龄超过100，校验不通过，工号不写入索引；第5个人员的工号与第1个相同
+            List<PersonDTO> personList = Arrays.asList(newPerson("S001", 20), newPerson("S002", 30),
+                newPerson("S003", 120), newPerson("S004", 40), newPerson("S001", 50));
+            List<PersonPositionDTO> positionList = Arrays.asList(newPosition("S001"), newPosition(" S002 "),
+                newPosition("S009"), newPosition("S003"), newPosition(null));
+            String filePath = new File(dir, "person.xlsx").getPath();
+            new ExcelExporter().exportData(Arrays.asList(
+                new ExcelSheetData<PersonDTO>().setSheetDefinition(PersonDTO.class).setData(personList),
+                new ExcelSheetData<PersonPositionDTO>().setSheetDefinition(PersonPositionDTO.class)
+                    .setData(positionList)), filePath);
+
+            PersonPositionExcelDataHandler.PERSISTED_LIST.clear();
+            List<String> sheetNameList = new ArrayList<>();
+            Map<String, Map<String, List<String>>> errorMap = new HashMap<>();
+            ExcelImporter importer = new ExcelImporter(filePath);
+            importer.addListener(new ImportListener() {
+                @Override
+                public void onSheetStart(ImportSheetContext context) {
+                    sheetNameList.add(context.getSheetName());
+                }
+
+                @Override
+                public void onRowValidated(ImportSheetContext context, Object data, long rowIndex,
+                    Map<String, List<String>> errors) {
+                    if (!errors.isEmpty()) {
+                        errorMap.put(context.getSheetName() + (rowIndex + 1), errors);
+                    }
+                }
+            });
+            // 职务sheet写在前面，按引用关系先导入人员sheet
+            importer.importData(Arrays.asList(PersonPositionDTO.class, PersonDTO.class),
+                new File(dir, "error.xlsx").getPath(), (importResultDTO, errorExcelExporter) -> true);
+
+            Assert.assertEquals(Arrays.asList("人员信息", "人员职务信息"), sheetNameList);
+            Assert.assertEquals(4, errorMap.size());
+            Assert.assertTrue(errorMap.get("人员信息4").containsKey("age"));
+            Assert.assertEquals(Collections.singletonList("工号【S009】在人员信息中不存在"),
+                errorMap.get("人员职务信息4").get("staffCode"));
+            Assert.assertEquals(Collections.singletonList("工号【S003】在人员信息中不存在"),
+                errorMap.get("人员职务信息5").get("staffCode"));
+            // 空值不做引用检查，只有@NotBlank的错误
+            Assert.assertEquals(Collections.singletonList("工号不能为空"), errorMap.get("人员职务信息6").get("staffCode"));
+            Assert.assertEquals(Arrays.asList("S001", " S002 "), PersonPositionExcelDataHandler.PERSISTED_LIST);
+
+            ReferenceIndex referenceIndex = importer.getReferenceIndex();
+            Assert.assertEquals(3, referenceIndex.size(PersonDTO.class, "staffCode"));
+            Assert.assertTrue(referenceIndex.contains(PersonDTO.class, "staffCode", " S004 "));
+            Assert.assertFalse(referenceIndex.contains(PersonDTO.class, "staffCode", "S003"));
+            Assert.assertFalse(referenceIndex.contains(PersonDTO.class, "staffCode", " "));
+            // 索引中保存第一次出现的excel行号
+            Assert.assertEquals(2, referenceIndex.getRowNumber(PersonDTO.class, "staffCode", "S001"));
+            Assert.assertEquals(5, referenceIndex.getRowNumber(PersonDTO.class, "staffCode", " S004 "));
+            Assert.assertEquals(-1, referenceIndex.getRowNumber(PersonDTO.class, "staffCode", "S003"));
+            try {
+                referenceIndex.contains(PersonDTO.class, "name", "nameS001");
+                Assert.fail("没有建立索引的属性应该抛出异常");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        } finally {
+            PersonPositionExcelDataHandler.PERSISTED_LIST.clear();
+            FileUtil.del(dir);
+        }
+    }
+
+    @Test
+    public void testReferencedSheetMissing() {
+        ExcelImporter importer = new ExcelImporter("person.xlsx");
+        try {
+            importer.importData(Collections.singletonList(PersonPositionDTO.class));
+            Assert.fail("被引用的sheet不在导入列表中时应该抛出异常");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("不在导入的sheet中"));
+        }
+    }
+
+    @Test
+    public void testMergeIndex() {
+        ReferenceIndex referenceIndex = new ReferenceIndex();
+        referenceIndex.register(PersonDTO.class, "staffCode");
+        referenceIndex.add(PersonDTO.class, newPerson("S001", 20), 1);
+        // 没有被引用的sheet直接忽略
+        referenceIndex.add(PersonPositionDTO.class, newPosition("S001"), 1);
+        Assert.assertFalse(referenceIndex.isReferenced(PersonPositionDTO.class));
+        Assert.assertTrue(referenceIndex.isReferenced(PersonDTO.class));
+
+        ReferenceIndex lastIndex = new ReferenceIndex();
+        lastIndex.register(PersonDTO.class, "staffCode");
+        lastIndex.add(PersonDTO.class, newPerson("S001", 30), 9);
+        lastIndex.add(PersonDTO.class, newPerson("S002", 40), 10);
+        referenceIndex.putAll(lastIndex);
+        // 两边都有的值保留当前索引中的行号
+        Assert.assertEquals(2, referenceIndex.size(PersonDTO.class, "staffCode"));
+        Assert.assertEquals(2, referenceIndex.getRowNumber(PersonDTO.class, "staffCode", "S001"));
+        Assert.assertEquals(11, referenceIndex.getRowNumber(PersonDTO.class, "staffCode", "S002"));
+        Assert.assertFalse(referenceIndex.contains(PersonDTO.class, "staffCode", " "));
+        try {
+            referenceIndex.contains(PersonDTO.class, "name", "张三");
+            Assert.fail("没有建立索引的属性应该抛出异常");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private static PersonDTO newPerson(String staffCode, int age) {
+        PersonDTO person = new PersonDTO();
+        person.setName("name" + staffCode);
+        person.setAge(age);
+        person.setStaffCode(staffCode);
+        return person;
+    }
+
+    private static PersonPositionDTO newPosition(String staffCode) {
+        PersonPositionDTO position = new PersonPositionDTO();
+        position.setStaffCode(staffCode);
+        position.setName("职务" + staffCode);
+        return position;
+    }
+}
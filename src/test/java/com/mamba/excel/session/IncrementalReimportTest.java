@@ -0,0 +1,128 @@
+package com.mamba.excel.session;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.dto.PersonPositionDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.metrics.ImportMetrics;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.SheetVisibility;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/28 14:20
+ * @description: 错误excel增量再次导入测试类：修改后的错误excel只校验其中的行，引用和整行重复基于首次导入保存的索引检查，
+ *               错误行保持原始行号
+ */
+public class IncrementalReimportTest {
+
+    private static final List<Class> SHEET_LIST = Arrays.asList(PersonDTO.class, PersonPositionDTO.class);
+
+    @Test
+    public void testReimportCorrectedErrorWorkbook() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-session").toFile();
+        try {
+            String filePath = new File(dir, "person.xlsx").getPath();
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.exportData(Arrays.asList(
+                new ExcelSheetData<PersonDTO>().setSheetDefinition(PersonDTO.class).setData(getPersonList()),
+                new ExcelSheetData<PersonPositionDTO>().setSheetDefinition(PersonPositionDTO.class).setData(Arrays.asList(
+                    newPosition("S001", "经理"), newPosition("S005", "主管"), newPosition("S099", "职员")))),
+                filePath);
+            ImportSessionStore sessionStore = new MemoryImportSessionStore();
+
+            // 首次导入：年龄超过100的2行、与第2行重复的1行，引用了无效人员和不存在工号的2行职务
+            String errorPath = new File(dir, "error.xlsx").getPath();
+            ExcelImporter importer = importFile(filePath, errorPath, sessionStore);
+            Assert.assertEquals(5, importer.getImportResultDTO().getMetrics().getInvalidCount());
+            String sessionId = importer.getSessionId();
+            Assert.assertNotNull(sessionStore.get(sessionId));
+
+            // 修改错误excel：S005的年龄改成30，S099改成只在首次导入中出现的S002
+            try (InputStream in = new FileInputStream(errorPath); Workbook workbook = new XSSFWorkbook(in)) {
+                Assert.assertEquals(SheetVisibility.VERY_HIDDEN,
+                    workbook.getSheetVisibility(workbook.getSheetIndex(ImportSession.SESSION_SHEET_NAME)));
+                workbook.getSheet("人员信息").getRow(1).getCell(1).setCellValue(30);
+                workbook.getSheet("人员职务信息").getRow(2).getCell(0).setCellValue("S002");
+                try (OutputStream out = new FileOutputStream(errorPath)) {
+                    workbook.write(out);
+                }
+            }
+
+            String errorPath2 = new File(dir, "error2.xlsx").getPath();
+            importer = importFile(errorPath, errorPath2, sessionStore);
+            ImportMetrics metrics = importer.getImportResultDTO().getMetrics();
+            Assert.assertEquals(sessionId, importer.getSessionId());
+            Assert.assertEquals(2, metrics.getSheetMetricsList().get(0).getInvalidCount());
+            Assert.assertEquals(1, metrics.getSheetMetricsList().get(0).getValidCount());
+            Assert.assertEquals(0, metrics.getSheetMetricsList().get(1).getInvalidCount());
+            Assert.assertEquals(2, metrics.getSheetMetricsList().get(1).getValidCount());
+
+            // 剩下的错误行保持原始行下标，重复提示指向原始excel中的行
+            try (InputStream in = new FileInputStream(errorPath2); Workbook workbook = new XSSFWorkbook(in)) {
+                Sheet sessionSheet = workbook.getSheet(ImportSession.SESSION_SHEET_NAME);
+                Assert.assertEquals(sessionId, sessionSheet.getRow(0).getCell(1).getStringCellValue());
+                Assert.assertEquals(10, (int)sessionSheet.getRow(1).getCell(2).getNumericCellValue());
+                Assert.assertEquals(11, (int)sessionSheet.getRow(2).getCell(2).getNumericCellValue());
+                Assert.assertTrue(workbook.getSheet("人员信息").getRow(2).getCell(0).getCellComment().getString()
+                    .getString().contains("第2行"));
+            }
+
+            // 没有会话时，S002在错误excel中找不到，重复行也检查不出来
+            importer = importFile(errorPath, new File(dir, "error3.xlsx").getPath(), null);
+            metrics = importer.getImportResultDTO().getMetrics();
+            Assert.assertEquals(1, metrics.getSheetMetricsList().get(0).getInvalidCount());
+            Assert.assertEquals(1, metrics.getSheetMetricsList().get(1).getInvalidCount());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    private static ExcelImporter importFile(String filePath, String errorPath, ImportSessionStore sessionStore) {
+        ExcelImporter importer = new ExcelImporter(filePath);
+        importer.setDetectDuplicateRows(true);
+        importer.setSessionStore(sessionStore);
+        importer.importData(SHEET_LIST, errorPath, (importResultDTO, errorExcelExporter) -> true);
+        return importer;
+    }
+
+    /**
+     * 10个人员，每5行中有1行年龄超过100，最后一行与第一行完全相同
+     */
+    private static List<PersonDTO> getPersonList() {
+        List<PersonDTO> personList = new ArrayList<>();
+        for (int i = 1; i <= 11; i++) {
+            int n = i == 11 ? 1 : i;
+            PersonDTO person = new PersonDTO();
+            person.setName("name" + n);
+            person.setAge(n % 5 == 0 ? 200 : 20 + n);
+            person.setStaffCode(String.format("S%03d", n));
+            personList.add(person);
+        }
+        return personList;
+    }
+
+    private static PersonPositionDTO newPosition(String staffCode, String name) {
+        PersonPositionDTO position = new PersonPositionDTO();
+        position.setStaffCode(staffCode);
+        position.setName(name);
+        return position;
+    }
+}
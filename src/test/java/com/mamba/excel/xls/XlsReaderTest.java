@@ -0,0 +1,141 @@
+package com.mamba.excel.xls;
+
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.config.ReaderType;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ImportResultDTO;
+import com.mamba.excel.reader.PoiSheetReader;
+import com.mamba.excel.reader.SheetReader;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/26 14:10
+ * @description: xls流式导入测试类，单元格值与POI引擎逐个比对，并检查原生引擎按魔数识别xls
+ */
+public class XlsReaderTest {
+
+    @Test
+    public void testSameCellValuesAsPoi() throws Exception {
+        File file = Files.createTempFile("fox-excel", ".xls").toFile();
+        try {
+            try (Workbook workbook = new HSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+                CellStyle dateStyle = workbook.createCellStyle();
+                dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+                CellStyle decimalStyle = workbook.createCellStyle();
+                decimalStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+                Sheet sheet = workbook.createSheet("第一页");
+                Row header = sheet.createRow(0);
+                for (int i = 0; i < 6; i++) {
+                    header.createCell(i).setCellValue("列" + i);
+                }
+                for (int i = 1; i <= 50; i++) {
+                    // 每7行留一个空行
+                    if (i % 7 == 0) {
+                        continue;
+                    }
+                    Row row = sheet.createRow(i);
+                    row.createCell(0).setCellValue("文本" + i);
+                    row.createCell(1).setCellValue(i);
+                    row.createCell(2).setCellValue(i + 0.5);
+                    row.getCell(2).setCellStyle(i % 2 == 0 ? decimalStyle : null);
+                    row.createCell(3).setCellValue(LocalDateTime.of(2024, 1, 1, 8, 30).plusDays(i));
+                    row.getCell(3).setCellStyle(dateStyle);
+                    // 第4列留空
+                    row.createCell(5).setCellFormula("\"F\"&B" + (i + 1));
+                    row.createCell(6).setCellValue(i % 2 == 0);
+                }
+                workbook.createSheet("第二页").createRow(0).createCell(0).setCellValue("只有一行");
+                workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+                workbook.write(out);
+            }
+            try (SheetReader xlsReader = new XlsReader(file); SheetReader poiReader = new PoiSheetReader(file)) {
+                for (int sheetIndex = 0; sheetIndex < 2; sheetIndex++) {
+                    Assert.assertEquals(poiReader.getSheetName(sheetIndex), xlsReader.getSheetName(sheetIndex));
+                    List<List<Object>> expected = readNonEmptyRows(poiReader, sheetIndex);
+                    List<List<Object>> actual = readNonEmptyRows(xlsReader, sheetIndex);
+                    Assert.assertEquals(expected, actual);
+                }
+                Assert.assertEquals("F1", readNonEmptyRows(xlsReader, 0).get(1).get(5));
+                Assert.assertTrue(readNonEmptyRows(xlsReader, 2).isEmpty());
+            }
+        } finally {
+            FileUtil.del(file);
+        }
+    }
+
+    @Test
+    public void testNativeImportDetectsXls() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-xls").toFile();
+        try {
+            // 扩展名是xlsx，内容是xls，按魔数识别
+            File file = new File(dir, "person.xlsx");
+            try (Workbook workbook = new HSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+                Sheet sheet = workbook.createSheet("人员信息");
+                String[] headers = {"姓名", "年龄", "地址", "工号", "生日", "入职日期", "创建时间", "更新时间", "测试枚举"};
+                Row header = sheet.createRow(0);
+                for (int i = 0; i < headers.length; i++) {
+                    header.createCell(i).setCellValue(headers[i]);
+                }
+                for (int i = 1; i <= 10; i++) {
+                    Row row = sheet.createRow(i);
+                    row.createCell(0).setCellValue("name" + i);
+                    row.createCell(1).setCellValue(i % 5 == 0 ? 200 : 20 + i);
+                    row.createCell(3).setCellValue(String.format("S%03d", i));
+                    row.createCell(6).setCellValue("2024-01-0" + (i % 9 + 1));
+                }
+                workbook.write(out);
+            }
+            ImportResultDTO nativeResult = importFile(file, ReaderType.NATIVE, dir);
+            ImportResultDTO poiResult = importFile(file, ReaderType.POI, dir);
+            Assert.assertEquals(2, nativeResult.getMetrics().getInvalidCount());
+            Assert.assertEquals(poiResult.getMetrics().getInvalidCount(), nativeResult.getMetrics().getInvalidCount());
+            Assert.assertEquals(poiResult.getSheetResultList().get(0).getValidDataList(),
+                nativeResult.getSheetResultList().get(0).getValidDataList());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    private static ImportResultDTO importFile(File file, ReaderType readerType, File dir) {
+        ExcelImporter importer = new ExcelImporter(file.getPath());
+        importer.setReaderType(readerType);
+        importer.importData(Collections.singletonList(PersonDTO.class), new File(dir, "error.xlsx").getPath(),
+            (importResultDTO, errorExcelExporter) -> true);
+        return importer.getImportResultDTO();
+    }
+
+    /**
+     * 读取sheet中的非空行，去掉行尾的null，两个引擎对空行和行尾空单元格的处理不影响导入结果
+     */
+    private static List<List<Object>> readNonEmptyRows(SheetReader reader, int sheetIndex) {
+        List<List<Object>> rowList = new ArrayList<>();
+        reader.read(sheetIndex, (index, rowIndex, rowCells) -> {
+            List<Object> row = new ArrayList<>(rowCells);
+            while (!row.isEmpty() && row.get(row.size() - 1) == null) {
+                row.remove(row.size() - 1);
+            }
+            if (!row.isEmpty()) {
+                rowList.add(row);
+            }
+        });
+        return rowList;
+    }
+}
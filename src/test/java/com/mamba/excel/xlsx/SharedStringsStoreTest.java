@@ -0,0 +1,74 @@
+package com.mamba.excel.xlsx;
+
+import cn.hutool.core.util.ReflectUtil;
+import cn.hutool.core.util.StrUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/27 10:20
+ * @description: 紧凑共享字符串表测试类，检查内存中的紧凑存储、超过阈值后的转存、内存映射读取和临时文件清理
+ */
+public class SharedStringsStoreTest {
+
+    @Test
+    public void testPackedBuffer() {
+        try (SharedStringsStore store = new SharedStringsStore()) {
+            StringBuilder value = new StringBuilder();
+            List<String> expectedList = new ArrayList<>();
+            for (int i = 0; i < 3000; i++) {
+                // 追加后复用同一个StringBuilder，存储的是字符拷贝
+                value.setLength(0);
+                value.append("字符串").append(i);
+                store.add(value);
+                expectedList.add(value.toString());
+            }
+            store.add("");
+            store.seal();
+            Assert.assertEquals(3001, store.size());
+            for (int i = 0; i < expectedList.size(); i++) {
+                Assert.assertEquals(expectedList.get(i), store.get(i));
+            }
+            Assert.assertEquals("", store.get(3000));
+            Assert.assertNull(ReflectUtil.getFieldValue(store, "spillFile"));
+            try {
+                store.get(3001);
+                Assert.fail("下标越界应该抛出异常");
+            } catch (IndexOutOfBoundsException e) {
+                Assert.assertTrue(e.getMessage().contains("3001"));
+            }
+        }
+    }
+
+    @Test
+    public void testSpillAndMappedLookup() {
+        SharedStringsStore store = new SharedStringsStore(64);
+        List<String> expectedList = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            expectedList.add("value-" + i);
+        }
+        // 超过写缓冲区大小的长字符串，写入时先把缓冲区刷到文件
+        expectedList.add(10, StrUtil.repeat('长', 70000));
+        expectedList.add(StrUtil.repeat("末尾", 40000));
+        for (String value : expectedList) {
+            store.add(value);
+        }
+        File spillFile = (File)ReflectUtil.getFieldValue(store, "spillFile");
+        Assert.assertNotNull(spillFile);
+        Assert.assertTrue(spillFile.exists());
+        // 未seal时读取会先seal，再从内存映射中读取
+        Assert.assertEquals(expectedList.get(expectedList.size() - 1), store.get(expectedList.size() - 1));
+        for (int i = 0; i < expectedList.size(); i++) {
+            Assert.assertEquals(expectedList.get(i), store.get(i));
+        }
+        Assert.assertEquals(expectedList.size(), store.size());
+        store.close();
+        Assert.assertFalse(spillFile.exists());
+    }
+}
@@ -0,0 +1,132 @@
+package com.mamba.excel.xlsx;
+
+import cn.hutool.core.io.FileUtil;
+import cn.hutool.core.io.IoUtil;
+import com.mamba.excel.ExcelImporter;
+import com.mamba.excel.config.ReaderType;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ImportResultDTO;
+import com.mamba.excel.reader.PoiSheetReader;
+import com.mamba.excel.reader.SheetReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/27 14:30
+ * @description: 按sheet筛选打开测试类，未导入的sheet xml被破坏后，POI引擎仍然可以导入，说明这些条目从未被解析
+ */
+public class SheetSelectiveOpenTest {
+
+    @Test
+    public void testUnrequestedSheetsNeverParsed() throws Exception {
+        File dir = Files.createTempDirectory("fox-excel-selective").toFile();
+        try {
+            File file = new File(dir, "person.xlsx");
+            createWorkbook(file);
+            corruptSheets(file, "xl/worksheets/sheet2.xml", "xl/worksheets/sheet3.xml");
+
+            // 整体打开会解析所有sheet
+            try {
+                new PoiSheetReader(file).close();
+                Assert.fail("损坏的sheet应该导致整体打开失败");
+            } catch (RuntimeException expected) {
+                // expected
+            }
+
+            try (SheetReader reader = new PoiSheetReader(file, (index, name) -> index == 0)) {
+                Assert.assertEquals("人员信息", reader.getSheetName(0));
+                Assert.assertEquals("透视", reader.getSheetName(1));
+                Assert.assertEquals("字典", reader.getSheetName(2));
+                Assert.assertEquals(11, countRows(reader, 0));
+                Assert.assertEquals(0, countRows(reader, 1));
+            }
+            // 按名称选中
+            try (SheetReader reader = new PoiSheetReader(file, (index, name) -> "人员信息".equals(name))) {
+                Assert.assertEquals(11, countRows(reader, 0));
+            }
+
+            ExcelImporter importer = new ExcelImporter(file.getPath());
+            importer.setReaderType(ReaderType.POI);
+            importer.importData(Collections.singletonList(PersonDTO.class), new File(dir, "error.xlsx").getPath(),
+                (importResultDTO, errorExcelExporter) -> true);
+            ImportResultDTO importResultDTO = importer.getImportResultDTO();
+            Assert.assertEquals(2, importResultDTO.getMetrics().getInvalidCount());
+            Assert.assertEquals(8, importResultDTO.getSheetResultList().get(0).getValidDataList().size());
+        } finally {
+            FileUtil.del(dir);
+        }
+    }
+
+    private static void createWorkbook(File file) throws Exception {
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet("人员信息");
+            String[] headers = {"姓名", "年龄", "地址", "工号", "生日", "入职日期", "创建时间", "更新时间", "测试枚举"};
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < headers.length; i++) {
+                header.createCell(i).setCellValue(headers[i]);
+            }
+            for (int i = 1; i <= 10; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("name" + i);
+                row.createCell(1).setCellValue(i % 5 == 0 ? 200 : 20 + i);
+                row.createCell(3).setCellValue(String.format("S%03d", i));
+            }
+            for (String name : new String[] {"透视", "字典"}) {
+                Sheet auxiliary = workbook.createSheet(name);
+                for (int i = 0; i < 100; i++) {
+                    auxiliary.createRow(i).createCell(0).setCellValue(name + i);
+                }
+            }
+            workbook.write(out);
+        }
+    }
+
+    /**
+     * 把指定的sheet xml替换成无法解析的内容
+     */
+    private static void corruptSheets(File file, String... sheetPaths) throws Exception {
+        List<String> corruptList = new ArrayList<>();
+        Collections.addAll(corruptList, sheetPaths);
+        File corrupted = new File(file.getParentFile(), "corrupted.xlsx");
+        try (ZipFile zipFile = new ZipFile(file);
+            ZipOutputStream out = new ZipOutputStream(new FileOutputStream(corrupted))) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                if (corruptList.contains(entry.getName())) {
+                    out.write("<worksheet><sheetData><row>".getBytes(StandardCharsets.UTF_8));
+                } else {
+                    IoUtil.copy(zipFile.getInputStream(entry), out);
+                }
+                out.closeEntry();
+            }
+        }
+        FileUtil.move(corrupted, file, true);
+    }
+
+    private static int countRows(SheetReader reader, int sheetIndex) {
+        int[] count = new int[1];
+        reader.read(sheetIndex, (index, rowIndex, rowCells) -> count[0]++);
+        return count[0];
+    }
+}
@@ -0,0 +1,165 @@
+package com.mamba.excel.xlsx;
+
+import cn.hutool.core.date.DateTime;
+import cn.hutool.core.io.FileUtil;
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.config.WriterType;
+import com.mamba.excel.dto.PersonDTO;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.excel.reader.PoiSheetReader;
+import com.mamba.excel.reader.SheetReader;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/27 15:40
+ * @description: 原生xlsx读取器测试类，共享字符串、内联字符串、日期格式的数字和列投影的读取结果与POI引擎逐个比对
+ */
+public class XlsxReaderTest {
+
+    private static final LocalDateTime START_TIME = LocalDateTime.of(2024, 1, 1, 8, 30);
+
+    @Test
+    public void testSharedStringsSameAsPoi() throws Exception {
+        File file = Files.createTempFile("fox-excel", ".xlsx").toFile();
+        try {
+            writeTypedWorkbook(file);
+            try (SheetReader xlsxReader = new XlsxReader(file); SheetReader poiReader = new PoiSheetReader(file)) {
+                for (int sheetIndex = 0; sheetIndex < 2; sheetIndex++) {
+                    Assert.assertEquals(poiReader.getSheetName(sheetIndex), xlsxReader.getSheetName(sheetIndex));
+                    Assert.assertEquals(readNonEmptyRows(poiReader, sheetIndex, null),
+                        readNonEmptyRows(xlsxReader, sheetIndex, null));
+                }
+                List<Object> row = readNonEmptyRows(xlsxReader, 0, null).get(1);
+                Assert.assertEquals(Arrays.asList("文本1", 1L, 1.5D, new DateTime(
+                    Timestamp.valueOf(START_TIME.plusDays(1))), null, "F1", false), row);
+                Assert.assertNull(xlsxReader.getSheetName(2));
+                Assert.assertTrue(readNonEmptyRows(xlsxReader, 2, null).isEmpty());
+            }
+        } finally {
+            FileUtil.del(file);
+        }
+    }
+
+    @Test
+    public void testInlineStringsSameAsPoi() throws Exception {
+        File file = Files.createTempFile("fox-excel", ".xlsx").toFile();
+        try {
+            List<PersonDTO> personList = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                PersonDTO person = new PersonDTO();
+                person.setName("<name&" + i + ">");
+                person.setAge(20 + i);
+                person.setStaffCode(String.format("S%03d", i));
+                personList.add(person);
+            }
+            // 原生导出引擎默认写内联字符串
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.setWriterType(WriterType.NATIVE);
+            exporter.exportData(Collections.singletonList(new ExcelSheetData<PersonDTO>()
+                .setSheetDefinition(PersonDTO.class).setData(personList)), file.getPath());
+            try (SheetReader xlsxReader = new XlsxReader(file); SheetReader poiReader = new PoiSheetReader(file)) {
+                List<List<Object>> actual = readNonEmptyRows(xlsxReader, 0, null);
+                Assert.assertEquals(readNonEmptyRows(poiReader, 0, null), actual);
+                Assert.assertEquals(11, actual.size());
+                // 空值写为带样式的空单元格，与POI一样读成空字符串
+                Assert.assertEquals(Arrays.asList("<name&3>", 23L, "", "S003", "", "", "", "", ""), actual.get(4));
+            }
+        } finally {
+            FileUtil.del(file);
+        }
+    }
+
+    @Test
+    public void testProjectionSameAsPoi() throws Exception {
+        File file = Files.createTempFile("fox-excel", ".xlsx").toFile();
+        try {
+            writeTypedWorkbook(file);
+            // 只解析文本、小数和日期列，其余列返回null
+            boolean[] projection = {true, false, true, true, false, false};
+            try (SheetReader xlsxReader = new XlsxReader(file); SheetReader poiReader = new PoiSheetReader(file)) {
+                List<List<Object>> expected = readNonEmptyRows(poiReader, 0, projection);
+                Assert.assertEquals(expected, readNonEmptyRows(xlsxReader, 0, projection));
+                // 表头在设置投影之前读取，所有列都解析
+                Assert.assertEquals(Arrays.asList("列0", "列1", "列2", "列3", "列4", "列5", "列6"), expected.get(0));
+                Assert.assertEquals(Arrays.asList("文本2", null, 2.5D, new DateTime(
+                    Timestamp.valueOf(START_TIME.plusDays(2)))), expected.get(2));
+            }
+        } finally {
+            FileUtil.del(file);
+        }
+    }
+
+    /**
+     * 写入带文本、整数、小数、日期、空列、公式和布尔值的xlsx，每7行留一个空行
+     */
+    private static void writeTypedWorkbook(File file) throws Exception {
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = new FileOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+            CellStyle decimalStyle = workbook.createCellStyle();
+            decimalStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+            Sheet sheet = workbook.createSheet("第一页");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < 7; i++) {
+                header.createCell(i).setCellValue("列" + i);
+            }
+            for (int i = 1; i <= 50; i++) {
+                if (i % 7 == 0) {
+                    continue;
+                }
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("文本" + i);
+                row.createCell(1).setCellValue(i);
+                row.createCell(2).setCellValue(i + 0.5);
+                row.getCell(2).setCellStyle(i % 2 == 0 ? decimalStyle : null);
+                row.createCell(3).setCellValue(START_TIME.plusDays(i));
+                row.getCell(3).setCellStyle(dateStyle);
+                // 第4列留空
+                row.createCell(5).setCellFormula("\"F\"&B" + (i + 1));
+                row.createCell(6).setCellValue(i % 2 == 0);
+            }
+            workbook.createSheet("第二页").createRow(0).createCell(0).setCellValue("只有一行");
+            workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+            workbook.write(out);
+        }
+    }
+
+    /**
+     * 读取sheet中的非空行，去掉行尾的null；projection不为null时读完表头后设置列投影
+     */
+    private static List<List<Object>> readNonEmptyRows(SheetReader reader, int sheetIndex, boolean[] projection) {
+        List<List<Object>> rowList = new ArrayList<>();
+        reader.read(sheetIndex, (index, rowIndex, rowCells) -> {
+            List<Object> row = new ArrayList<>(rowCells);
+            while (!row.isEmpty() && row.get(row.size() - 1) == null) {
+                row.remove(row.size() - 1);
+            }
+            if (!row.isEmpty()) {
+                rowList.add(row);
+            }
+            if (rowIndex == 0 && projection != null) {
+                reader.setProjection(projection);
+            }
+        });
+        return rowList;
+    }
+}
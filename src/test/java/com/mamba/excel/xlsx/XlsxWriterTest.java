@@ -0,0 +1,146 @@
+package com.mamba.excel.xlsx;
+
+import com.mamba.excel.ExcelExporter;
+import com.mamba.excel.annotation.ExcelColumn;
+import com.mamba.excel.annotation.ExcelSheet;
+import com.mamba.excel.config.WriterType;
+import com.mamba.excel.dto.JobLogState;
+import com.mamba.excel.kit.ExcelSheetData;
+import com.mamba.serializer.EnumDefinition;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataValidation;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author 00351634
+ * @version 1.0
+ * @date 2025/3/27 11:10
+ * @description: 原生导出引擎测试类，导出后用POI读回，检查单元格值、共享字符串、日期格式和下拉框
+ */
+public class XlsxWriterTest {
+
+    private static final LocalDateTime UPDATE_TIME = LocalDateTime.of(2025, 3, 1, 13, 30);
+
+    @Test
+    public void testInlineStringRoundTrip() throws Exception {
+        try (XSSFWorkbook workbook = export(false)) {
+            assertSheet(workbook.getSheetAt(0));
+            Assert.assertEquals(0, workbook.getSharedStringSource().getUniqueCount());
+        }
+    }
+
+    @Test
+    public void testSharedStringRoundTrip() throws Exception {
+        try (XSSFWorkbook workbook = export(true)) {
+            assertSheet(workbook.getSheetAt(0));
+            // 表头6个、名称3个、状态和长状态各4个，重复的字符串只写入一次
+            Assert.assertEquals(17, workbook.getSharedStringSource().getUniqueCount());
+        }
+    }
+
+    private static XSSFWorkbook export(boolean useSharedStrings) throws Exception {
+        List<RoundTripDTO> dataList = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            RoundTripDTO roundTripDTO = new RoundTripDTO();
+            roundTripDTO.setName(i % 3 == 0 ? "<A&B>\"引号\"" : "名称" + (i % 3));
+            roundTripDTO.setAmount(i == 5 ? null : i * 100);
+            roundTripDTO.setPrice(new BigDecimal("12.50").add(BigDecimal.valueOf(i)));
+            roundTripDTO.setUpdateTime(UPDATE_TIME.plusDays(i));
+            roundTripDTO.setState(JobLogState.values()[i % JobLogState.values().length]);
+            roundTripDTO.setLongState(LongCommentState.values()[i % LongCommentState.values().length]);
+            dataList.add(roundTripDTO);
+        }
+        File file = Files.createTempFile("fox-excel-native", ".xlsx").toFile();
+        try {
+            ExcelExporter exporter = new ExcelExporter();
+            exporter.setWriterType(WriterType.NATIVE);
+            exporter.setUseSharedStrings(useSharedStrings);
+            exporter.exportData(Collections.singletonList(
+                new ExcelSheetData<RoundTripDTO>().setSheetDefinition(RoundTripDTO.class).setData(dataList)),
+                file.getPath());
+            return new XSSFWorkbook(new ByteArrayInputStream(Files.readAllBytes(file.toPath())));
+        } finally {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    private static void assertSheet(Sheet sheet) {
+        Assert.assertEquals("往返", sheet.getSheetName());
+        Assert.assertEquals(20, sheet.getLastRowNum());
+        Row header = sheet.getRow(0);
+        Assert.assertEquals("名称", header.getCell(0).getStringCellValue());
+        Assert.assertEquals("长状态", header.getCell(5).getStringCellValue());
+        for (int i = 0; i < 20; i++) {
+            Row row = sheet.getRow(i + 1);
+            Assert.assertEquals(i % 3 == 0 ? "<A&B>\"引号\"" : "名称" + (i % 3), row.getCell(0).getStringCellValue());
+            if (i == 5) {
+                Assert.assertEquals(CellType.BLANK, row.getCell(1).getCellType());
+            } else {
+                Assert.assertEquals(i * 100, row.getCell(1).getNumericCellValue(), 0);
+            }
+            Assert.assertEquals(12.5 + i, row.getCell(2).getNumericCellValue(), 1e-9);
+            Assert.assertTrue(DateUtil.isCellDateFormatted(row.getCell(3)));
+            Assert.assertEquals(UPDATE_TIME.plusDays(i), row.getCell(3).getLocalDateTimeCellValue());
+            Assert.assertEquals("yyyy-MM-dd HH:mm", row.getCell(3).getCellStyle().getDataFormatString());
+            Assert.assertEquals(JobLogState.values()[i % 4].getComment(), row.getCell(4).getStringCellValue());
+        }
+        // 长状态的选项超过255个字符，只生成状态列的下拉框
+        List<? extends DataValidation> validationList = sheet.getDataValidations();
+        Assert.assertEquals(1, validationList.size());
+        Assert.assertEquals(4, validationList.get(0).getRegions().getCellRangeAddress(0).getFirstColumn());
+        Assert.assertArrayEquals(new String[] {"运行中", "成功", "失败", "数据异常"},
+            validationList.get(0).getValidationConstraint().getExplicitListValues());
+    }
+
+    @Data
+    @ExcelSheet(value = "往返", index = 0)
+    private static class RoundTripDTO {
+
+        @ExcelColumn(value = "名称", index = 0)
+        private String name;
+        @ExcelColumn(value = "数量", index = 1)
+        private Integer amount;
+        @ExcelColumn(value = "单价", index = 2)
+        private BigDecimal price;
+        @ExcelColumn(value = "更新时间", index = 3, format = "yyyy-MM-dd HH:mm", dateCell = true)
+        private LocalDateTime updateTime;
+        @ExcelColumn(value = "状态", index = 4, enumDefinition = JobLogState.class)
+        private JobLogState state;
+        @ExcelColumn(value = "长状态", index = 5, enumDefinition = LongCommentState.class)
+        private LongCommentState longState;
+    }
+
+    /**
+     * 选项用逗号拼接后超过255个字符的枚举
+     */
+    private enum LongCommentState implements EnumDefinition<String> {
+        FIRST, SECOND, THIRD, FOURTH;
+
+        @Override
+        public String getCode() {
+            return name();
+        }
+
+        @Override
+        public String getComment() {
+            return name() + "：这是一段很长很长的状态说明，用来凑够excel下拉框显式列表的二百五十五个字符上限，"
+                + "超过上限时excel打开文件会提示内容有问题";
+        }
+    }
+}